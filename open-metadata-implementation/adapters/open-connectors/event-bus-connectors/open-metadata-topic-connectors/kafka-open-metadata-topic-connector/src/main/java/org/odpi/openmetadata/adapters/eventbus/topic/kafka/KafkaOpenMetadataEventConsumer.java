@@ -48,15 +48,11 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
     private Map<TopicPartition, OffsetAndMetadata> currentOffsets = Collections.synchronizedMap(new HashMap<>());
     private long nextMessageProcessingStatusCheckTime = System.currentTimeMillis();
-    private long maxNextPollTimestampToAvoidConsumerTimeout = 0;
-    private final long maxMsBetweenPolls;
-    
-    
-    //If we get close enough to the consumer timeout timestamp, force a poll so that
-    //we do not exceed the timeout.  This parameter controls how close we can get
-    //before forcing a poll.
-    private final long consumerTimeoutPreventionSafetyWindowMs;
-    
+
+    //Set while the assigned partitions are paused because the connector has too many
+    //events waiting to be distributed.  Only used by the consumer thread.
+    private boolean partitionsPaused = false;
+
     private final long messageProcessingStatusCheckIntervalMs;
     private final long messageProcessingTimeoutMs;
     private Map<TopicPartition, Queue<KafkaIncomingEvent>> unprocessedEventQueues = new HashMap<>();
@@ -103,10 +99,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
         
-        maxMsBetweenPolls = new KafkaConfigurationWrapper(kafkaConsumerProperties).getMaxPollIntervalMs();
         this.recoverySleepTimeSec = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.RECOVERY_SLEEP_TIME);
         this.maxQueueSize = config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.MAX_QUEUE_SIZE);
-        this.consumerTimeoutPreventionSafetyWindowMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_TIMEOUT_PREVENTION_SAFETY_WINDOW_MS);
         this.pollTimeout = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.POLL_TIMEOUT);
         this.isAutoCommitEnabled = getBooleanProperty(kafkaConsumerProperties, KafkaOpenMetadataTopicConnector.ENABLE_AUTO_COMMIT_PROPERTY, false);
         this.messageProcessingStatusCheckIntervalMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS);
@@ -134,10 +128,33 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         }
     }
 
-    private void updateNextMaxPollTimestamp() {
-    	maxNextPollTimestampToAvoidConsumerTimeout = System.currentTimeMillis() + maxMsBetweenPolls - consumerTimeoutPreventionSafetyWindowMs;	
+    /**
+     * Apply backpressure when the connector has more events waiting to be distributed than the maximum
+     * queue size.  Rather than skipping polls (and risking Kafka treating the consumer as dead), the assigned
+     * partitions are paused so that polling continues without returning new records.  They are resumed once
+     * the listener thread has caught up.
+     */
+    private void applyBackpressure()
+    {
+        int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
+
+        if (nUnprocessedEvents > maxQueueSize)
+        {
+            if (! partitionsPaused)
+            {
+                log.warn("Pausing Kafka consumer since unprocessed message queue size {} is greater than {}", nUnprocessedEvents, maxQueueSize);
+                consumer.pause(consumer.assignment());
+                partitionsPaused = true;
+            }
+        }
+        else if (partitionsPaused)
+        {
+            log.info("Resuming Kafka consumer since unprocessed message queue size is {}", nUnprocessedEvents);
+            consumer.resume(consumer.paused());
+            partitionsPaused = false;
+        }
     }
-     
+
       /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -155,27 +172,14 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 //This needs to be done in the same thread since the Kafka consumer does
                 //not allow access by multiple threads
                 checkForFullyProcessedMessagesIfNeeded();
-                
-            	//if we are close to the timeout, force a poll to avoid having the consumer
-            	//be marked as dead because we have not polled often enough
-            	boolean pollRequired = System.currentTimeMillis() > maxNextPollTimestampToAvoidConsumerTimeout;
-            
-            
-                	
-            	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
-            	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
-            	{
-            		//The connector queue is too big.  Wait until the size goes down until
-            		//polling again.  If we let the events just accumulate, we will
-            		//eventually run out of memory if the consumer cannot keep up.
-            		log.warn("Skipping Kafka polling since unprocessed message queue size {} is greater than {}", nUnprocessedEvents, maxQueueSize);
-            		awaitNextPollingTime();
-            		continue;
-            	
-            	}
-
-            	updateNextMaxPollTimestamp();
 
+                //If the connector queue is too big, stop fetching new records until
+                //the listener thread catches up.  If we let the events just accumulate,
+                //we will eventually run out of memory if the listeners cannot keep up.
+                applyBackpressure();
+
+                //The poll blocks until records arrive or the poll timeout expires
+                //so there is no need to sleep between polls.
                 Duration pollDuration = Duration.ofMillis(pollTimeout);
                 ConsumerRecords<String, String> records = consumer.poll(pollDuration);
                 
@@ -252,10 +256,6 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 }
                 recoverAfterError();
             }
-            finally
-            {
-                awaitNextPollingTime();
-            }
         }
 
         if (consumer != null)
@@ -450,19 +450,6 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         return result;
     }
 
-    private void awaitNextPollingTime() {
-		try
-		{
-		    Thread.sleep(1000);
-		}
-		catch (InterruptedException e)
-		{
-		    log.error(String.format("Interruption error: %s", e.getMessage()), e);
-		}
-	}
-
-
-
     private void recoverAfterError()
     {
         log.info(String.format("Waiting %s seconds to recover", recoverySleepTimeSec));
@@ -519,6 +506,11 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     {
         public void onPartitionsAssigned(Collection<TopicPartition> partitions)
         {
+            //Newly assigned partitions must also wait while the consumer is applying backpressure
+            if (partitionsPaused)
+            {
+                consumer.pause(partitions);
+            }
         }
 
         public void onPartitionsRevoked(Collection<TopicPartition> partitions)
@@ -10,23 +10,11 @@ public enum KafkaOpenMetadataEventConsumerProperty
 {
 	/*
 	 * Controls the maximum size of the unprocessed kafka event queue. When this
-	 * size is reached, we will not poll for additional events unless a poll is
-	 * required to prevent Kafka from treating the consumer as dead.
+	 * size is reached, the consumer pauses its partitions so that polls do not
+	 * return additional events until the queue has been drained.
 	 */
 	MAX_QUEUE_SIZE("event_bus_max_queue_size", "100"),
 	
-	/*
-	 * In order to ensure that Kafka does not treat our consumer as dead, we need to
-	 * poll for messages within some configured maximum poll interval. To make sure
-	 * this happens, when we are deciding whether or not to poll Kafka we need to
-	 * see how close we are to the time when we will exceed that maximum poll
-	 * interval. If we are close enough, then we force a poll to avoid having the consumer die. 
-	 * This parameter controls how close to the timeout we need to do be in order to force a poll.
-	 * 
-	 * The value provided as a number of milliseconds.
-	 */
-	CONSUMER_TIMEOUT_PREVENTION_SAFETY_WINDOW_MS("timeout_prevention_safety_window_ms", "30000"),
-	
 	/*
 	 * This specifies the poll timeout (in ms) that we provide to kafka when we poll for
 	 * messages.
@@ -6,13 +6,11 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.WakeupException;
-import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutionException;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -21,10 +19,37 @@ import java.util.concurrent.ExecutionException;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * Events are passed to the Kafka producer asynchronously so that many events can be batched into each request
+ * to the event bus.  The number of events waiting for an acknowledgement is limited by the max_in_flight_events
+ * property.  sendEvent never waits: when more events than the max_queued_events property are waiting to be
+ * sent, they are still buffered and a warning is written to the audit log.  If Kafka fails to deliver an event,
+ * no more events are sent until all of the in-flight events have completed.  The failed events are then sent
+ * again, in their original order, and the new events are held in the buffer until all of them have been
+ * delivered.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private volatile List<String> sendBuffer = new ArrayList<>();
+    /*
+     * An event that has been passed to the Kafka producer.  The completion flags are set by the Kafka
+     * callback and are guarded by the producer object.
+     */
+    private static class InFlightEvent
+    {
+        private String  event;
+        private boolean complete     = false;
+        private boolean failed       = false;
+        private String  errorMessage = null;
+
+        InFlightEvent(String event)
+        {
+            this.event = event;
+        }
+    }
+
+    private final ArrayDeque<String>        sendBuffer     = new ArrayDeque<>();
+    private final ArrayDeque<String>        retryBuffer    = new ArrayDeque<>();
+    private final ArrayDeque<InFlightEvent> inFlightEvents = new ArrayDeque<>();
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -35,32 +60,44 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private OMRSAuditLog                    auditLog;
     private String                          listenerThreadName;
     private String                          topicName;
-    private int                             sleepTime            = 1000;
-    private static final long               recoverySleepTimeSec = 10L;
+    private int                             maxInFlightEvents;
+    private int                             maxQueuedEvents;
+    private long                            sendRetrySleepTime;
+    private long                            recoverySleepTimeSec;
 
     private String                          localServerId;
     private Properties                      producerProperties;
-    private Producer<String, String>        producer;
+    private Producer<String, String>        producer = null;
     private KafkaOpenMetadataTopicConnector connector;
 
+    /*
+     * These variables are guarded by the producer object.
+     */
     private long    messageSendCount = 0;
+    private boolean sendFailed       = false;
+    private boolean retrying         = false;
+    private boolean overThreshold    = false;
+    private long    retryTime        = 0;
+    private long    sendRetryCount   = 0;
 
 
     /**
      *
-     * Constructor for the event consumer.
+     * Constructor for the event producer.
      *
-     * @param topicName name of the topic to listen on.
+     * @param topicName name of the topic to send on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
-     * @param producerProperties properties for the consumer.
+     * @param config Egeria configuration for the producer.
+     * @param producerProperties properties for the Kafka producer.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
-    KafkaOpenMetadataEventProducer(String                          topicName,
-                                   String                          localServerId,
-                                   Properties                      producerProperties,
-                                   KafkaOpenMetadataTopicConnector connector,
-                                   OMRSAuditLog                    auditLog)
+    KafkaOpenMetadataEventProducer(String                                      topicName,
+                                   String                                      localServerId,
+                                   KafkaOpenMetadataEventProducerConfiguration config,
+                                   Properties                                  producerProperties,
+                                   KafkaOpenMetadataTopicConnector             connector,
+                                   OMRSAuditLog                                auditLog)
     {
         this.auditLog = auditLog;
         this.topicName = topicName;
@@ -69,6 +106,10 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.producerProperties = producerProperties;
         this.listenerThreadName = defaultThreadName + topicName;
 
+        this.maxInFlightEvents = Math.max(1, config.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_EVENTS));
+        this.maxQueuedEvents = Math.max(1, config.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUED_EVENTS));
+        this.sendRetrySleepTime = config.getLongProperty(KafkaOpenMetadataEventProducerProperty.SEND_RETRY_SLEEP_TIME);
+        this.recoverySleepTimeSec = config.getLongProperty(KafkaOpenMetadataEventProducerProperty.RECOVERY_SLEEP_TIME);
 
         final String           actionDescription = "new producer";
         KafkaOpenMetadataTopicConnectorAuditCode auditCode;
@@ -84,91 +125,219 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
-
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Constructor used by the tests to supply the Kafka producer.
      *
-     * @param event object containing the event properties.
-     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @param topicName name of the topic to send on.
+     * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param config Egeria configuration for the producer.
+     * @param producer Kafka producer.
+     * @param auditLog  audit log for this component.
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    KafkaOpenMetadataEventProducer(String                                      topicName,
+                                   String                                      localServerId,
+                                   KafkaOpenMetadataEventProducerConfiguration config,
+                                   Producer<String, String>                    producer,
+                                   OMRSAuditLog                                auditLog)
     {
-        final String methodName = "publishEvent";
+        this(topicName, localServerId, config, new Properties(), null, auditLog);
+
+        this.producer = producer;
+    }
 
-        boolean                  eventSent = false;
-        long                     eventRetryCount = 0;
 
-        while (!eventSent)
+    /**
+     * Passes the supplied events to the Kafka producer.  The send is asynchronous and the result is
+     * returned to sendComplete.
+     *
+     * @param eventsToSend events to send in order.
+     */
+    private void publishEvents(List<InFlightEvent> eventsToSend)
+    {
+        for (InFlightEvent inFlightEvent : eventsToSend)
         {
+            log.debug("Sending message {}", inFlightEvent.event);
+
             try
             {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
-                producer.send(record).get();
-                eventSent = true;
-                messageSendCount++;
+                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, inFlightEvent.event);
+
+                producer.send(record, (metadata, exception) -> this.sendComplete(inFlightEvent, exception));
             }
-            catch (ExecutionException error)
+            catch (WakeupException error)
+            {
+                log.error("Wake up for shut down " + error.toString());
+                this.sendComplete(inFlightEvent, error);
+            }
+            catch (Throwable error)
             {
                 /*
-                 * This may be a simple timeout or something else more
+                 * The producer may reject the record immediately, for example if it is unable to retrieve
+                 * the metadata for the topic.  This is treated in the same way as a failed delivery.
                  */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
-                if (eventRetryCount == 10)
+                log.error("Exception in sendEvent " + error.toString());
+                this.sendComplete(inFlightEvent, error);
+            }
+        }
+    }
+
+
+    /**
+     * Called when Kafka has acknowledged or failed the delivery of an event.  The completed events at the
+     * head of the in-flight queue are released.  If a delivery failed, the failed events are moved to the
+     * retry buffer once all of the in-flight events have completed.  New events are sent again once every
+     * event in the retry buffer has been delivered.
+     *
+     * @param inFlightEvent event that has completed
+     * @param error exception from Kafka, or null if the event was delivered
+     */
+    private synchronized void sendComplete(InFlightEvent inFlightEvent,
+                                           Throwable     error)
+    {
+        inFlightEvent.complete = true;
+
+        if (error != null)
+        {
+            /*
+             * This may be a simple timeout or something else more
+             */
+            log.debug("Kafka had trouble sending event: {}, exception message is {}", inFlightEvent.event, error.getMessage());
+
+            inFlightEvent.failed = true;
+            inFlightEvent.errorMessage = error.getMessage();
+            sendFailed = true;
+        }
+
+        while ((! inFlightEvents.isEmpty()) && (inFlightEvents.peekFirst().complete) && (! inFlightEvents.peekFirst().failed))
+        {
+            inFlightEvents.removeFirst();
+            messageSendCount++;
+        }
+
+        if (sendFailed)
+        {
+            for (InFlightEvent waitingEvent : inFlightEvents)
+            {
+                if (! waitingEvent.complete)
                 {
-                    eventRetryCount = 0;
+                    return;
                 }
-                else
+            }
+
+            this.requeueFailedEvents();
+        }
+        else if ((retrying) && (retryBuffer.isEmpty()) && (inFlightEvents.isEmpty()))
+        {
+            retrying = false;
+            sendRetryCount = 0;
+        }
+
+        this.notifyAll();
+    }
+
+
+    /**
+     * All in-flight events have completed and at least one failed.  Put the failed events at the front of the
+     * retry buffer, keeping their order, and set the time for the retry.  The caller must hold the lock.
+     */
+    private void requeueFailedEvents()
+    {
+        final String methodName = "publishEvent";
+
+        String                  latestError = null;
+        Iterator<InFlightEvent> iterator    = inFlightEvents.descendingIterator();
+
+        while (iterator.hasNext())
+        {
+            InFlightEvent completedEvent = iterator.next();
+
+            if (completedEvent.failed)
+            {
+                retryBuffer.addFirst(completedEvent.event);
+
+                if (latestError == null)
                 {
-                    if (eventRetryCount == 0)
-                    {
-                        KafkaOpenMetadataTopicConnectorAuditCode auditCode;
-
-                        auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP;
-                        auditLog.logRecord(methodName,
-                                           auditCode.getLogMessageId(),
-                                           auditCode.getSeverity(),
-                                           auditCode.getFormattedLogMessage(topicName,
-                                                                            Long.toString(messageSendCount),
-                                                                            Long.toString(this.getSendBufferSize()),
-                                                                            error.getMessage()),
-                                           null,
-                                           auditCode.getSystemAction(),
-                                           auditCode.getUserAction());
-                    }
-
-                    eventRetryCount++;
+                    latestError = completedEvent.errorMessage;
                 }
             }
-            catch (WakeupException error)
+            else
             {
-                log.error("Wake up for shut down " + error.toString());
+                messageSendCount++;
             }
-            catch (Throwable error)
+        }
+
+        inFlightEvents.clear();
+
+        if (sendRetryCount % 10 == 0)
+        {
+            KafkaOpenMetadataTopicConnectorAuditCode auditCode;
+
+            auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(topicName,
+                                                                Long.toString(messageSendCount),
+                                                                Long.toString(retryBuffer.size() + sendBuffer.size()),
+                                                                latestError),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+
+        sendRetryCount++;
+        sendFailed = false;
+        retrying = true;
+        retryTime = System.currentTimeMillis() + sendRetrySleepTime;
+    }
+
+
+    /**
+     * Wait until there are events to send and space in the in-flight window, then move as many events as
+     * the window allows to the in-flight queue.  While failed events are being resent, they are taken from the
+     * retry buffer and the send buffer is left alone until they have all been delivered.
+     *
+     * @return list of events to send, empty if the producer is stopping.
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private synchronized List<InFlightEvent> getEventsToSend() throws InterruptedException
+    {
+        List<InFlightEvent> eventsToSend = new ArrayList<>();
+
+        while (running)
+        {
+            long               waitTime    = retryTime - System.currentTimeMillis();
+            ArrayDeque<String> eventBuffer = retrying ? retryBuffer : sendBuffer;
+
+            if ((waitTime <= 0) && (! sendFailed) && (! eventBuffer.isEmpty()) && (inFlightEvents.size() < maxInFlightEvents))
             {
-                log.error("Exception in sendEvent " + error.toString());
-                KafkaOpenMetadataTopicConnectorErrorCode errorCode = KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT;
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(error.getClass().getName(),
-                                                                                                         topicName,
-                                                                                                         error.getMessage());
-
-                throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
-                                                    this.getClass().getName(),
-                                                    methodName,
-                                                    errorMessage,
-                                                    errorCode.getSystemAction(),
-                                                    errorCode.getUserAction(),
-                                                    error);
+                while ((! eventBuffer.isEmpty()) && (inFlightEvents.size() < maxInFlightEvents))
+                {
+                    InFlightEvent inFlightEvent = new InFlightEvent(eventBuffer.removeFirst());
+
+                    inFlightEvents.addLast(inFlightEvent);
+                    eventsToSend.add(inFlightEvent);
+                }
+
+                if (sendBuffer.size() < maxQueuedEvents)
+                {
+                    overThreshold = false;
+                }
+
+                return eventsToSend;
+            }
+
+            if (waitTime > 0)
+            {
+                this.wait(waitTime);
             }
-            finally
+            else
             {
-                /*
-                 * Producers have a thread and an in memory buffer
-                 */
-                producer.flush();
+                this.wait();
             }
         }
 
+        return eventsToSend;
     }
 
 
@@ -184,38 +353,25 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         auditLog.logRecord(listenerThreadName,
                            auditCode.getLogMessageId(),
                            auditCode.getSeverity(),
-                           auditCode.getFormattedLogMessage(topicName, Integer.toString(sendBuffer.size())),
+                           auditCode.getFormattedLogMessage(topicName, Integer.toString(getSendBufferSize())),
                            this.producerProperties.toString(),
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
 
 
-        this.producer = new KafkaProducer<>(producerProperties);
+        if (this.producer == null)
+        {
+            this.producer = new KafkaProducer<>(producerProperties);
+        }
 
         while (isRunning())
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
                 /*
-                 * If there are no events waiting then sleep
+                 * Waits until there are events to send
                  */
-                if (bufferedEvent == null)
-                {
-                    Thread.sleep(sleepTime);
-                }
-                else
-                {
-                    /*
-                     * Send all waiting events
-                     */
-                    while (bufferedEvent != null)
-                    {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
-                    }
-                }
+                this.publishEvents(this.getEventsToSend());
             }
             catch (InterruptedException   error)
             {
@@ -228,6 +384,18 @@ public class KafkaOpenMetadataEventProducer implements Runnable
             }
         }
 
+        /*
+         * Give the events already passed to Kafka the chance to be delivered.
+         */
+        try
+        {
+            this.producer.flush();
+        }
+        catch (Throwable   error)
+        {
+            log.error("Unable to flush producer " + error.getMessage());
+        }
+
         this.producer.close();
         this.producer = null;
 
@@ -235,7 +403,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         auditLog.logRecord(listenerThreadName,
                            auditCode.getLogMessageId(),
                            auditCode.getSeverity(),
-                           auditCode.getFormattedLogMessage(topicName, Integer.toString(getSendBufferSize()), Long.toString(messageSendCount)),
+                           auditCode.getFormattedLogMessage(topicName, Integer.toString(getSendBufferSize()), Long.toString(getMessageSendCount())),
                            this.producerProperties.toString(),
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
@@ -243,40 +411,60 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Supports putting events to the in memory OMRS Topic
+     * Supports putting events to the in memory OMRS Topic.  This never waits for the producer thread.  The first
+     * time the send buffer grows beyond the max_queued_events threshold, a warning is written to the audit log.
+     * It is written again if the buffer grows beyond the threshold after it has drained below it.
      *
      * @param newEvent  event to publish
      */
     private synchronized void putEvent(String  newEvent)
     {
-        sendBuffer.add(newEvent);
+        final String methodName = "sendEvent";
+
+        sendBuffer.addLast(newEvent);
+
+        if ((! overThreshold) && (sendBuffer.size() > maxQueuedEvents))
+        {
+            overThreshold = true;
+
+            KafkaOpenMetadataTopicConnectorAuditCode auditCode;
+
+            auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EVENT_BUFFER_THRESHOLD_EXCEEDED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(topicName,
+                                                                Integer.toString(maxQueuedEvents),
+                                                                Long.toString(messageSendCount),
+                                                                Integer.toString(this.getSendBufferSize())),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+
+        this.notifyAll();
     }
 
 
     /**
-     * Returns the size of the send buffer
+     * Returns the number of events that have not been acknowledged by Kafka.
      *
      * @return int
      */
-    private synchronized int getSendBufferSize()
+    synchronized int getSendBufferSize()
     {
-        return sendBuffer.size();
+        return sendBuffer.size() + retryBuffer.size() + inFlightEvents.size();
     }
 
 
     /**
-     * Returns all of the events found on the in memory OMRS Topic.
+     * Returns the number of events that have been acknowledged by Kafka.
      *
-     * @return list of received events.
+     * @return long
      */
-    private synchronized String getEvent()
+    synchronized long getMessageSendCount()
     {
-        if (sendBuffer.isEmpty())
-        {
-            return null;
-        }
-
-        return sendBuffer.remove(0);
+        return messageSendCount;
     }
 
 
@@ -335,6 +523,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private synchronized void stopRunning()
     {
         running = false;
+        this.notifyAll();
     }
 
 }
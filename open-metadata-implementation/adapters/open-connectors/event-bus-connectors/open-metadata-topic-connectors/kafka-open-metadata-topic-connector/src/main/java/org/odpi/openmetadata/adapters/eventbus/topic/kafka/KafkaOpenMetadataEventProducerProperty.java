@@ -0,0 +1,51 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer.  The batching of events
+ * into requests to Kafka is tuned through the linger.ms and batch.size properties of the
+ * Kafka producer that are passed in the producer configuration property.
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * Controls the maximum number of events that have been passed to the Kafka producer
+	 * but not yet acknowledged by the event bus.  When this number is reached, the
+	 * producer waits for acknowledgements before sending more events.
+	 */
+	MAX_IN_FLIGHT_EVENTS("max_in_flight_events", "1000"),
+
+	/*
+	 * The number of events waiting to be passed to the Kafka producer that triggers a warning in the audit log.
+	 * Events are still accepted beyond this number so that callers of sendEvent are never blocked.
+	 */
+	MAX_QUEUED_EVENTS("max_queued_events", "10000"),
+
+	/*
+	 * The amount of time to wait before resending events that Kafka failed to deliver, in ms.
+	 */
+	SEND_RETRY_SLEEP_TIME("send_retry_sleep_time_ms", "1000"),
+
+	/*
+	 * The amount of time to sleep after we encounter an unexpected error, in seconds
+	 */
+	RECOVERY_SLEEP_TIME("recovery_sleep_time_sec", "10");
+
+	private String propertyName;
+	private String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+}
@@ -2,9 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -28,6 +25,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private Properties producerProperties = new Properties();
+    private Properties producerEgeriaProperties = new Properties();
     
     private Properties consumerEgeriaProperties = new Properties();
     private Properties consumerProperties = new Properties();
@@ -37,7 +35,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private String       topicName          = null;
     private String       serverId           = null;
-    private List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
+
     /**
      * Constructor sets up the default properties for the producer and consumer.  Any properties passed through
      * the connection's additional properties will override these values.  For most environments,
@@ -51,8 +49,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("bootstrap.servers", "localhost:9092");
         producerProperties.put("acks", "all");
         producerProperties.put("retries", 1);
-        producerProperties.put("batch.size", 16384);
-        producerProperties.put("linger.ms", 0);
+        producerProperties.put("batch.size", 65536);
+        producerProperties.put("linger.ms", 5);
+        producerProperties.put("max.in.flight.requests.per.connection", 1);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
         producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
@@ -160,6 +159,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.producerPropertyName);
             copyProperties(propertiesObject, producerProperties);
 
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
+
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.consumerPropertyName);
             copyProperties(propertiesObject, consumerProperties);
             
@@ -213,7 +215,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerThread = new Thread(consumer, threadHeader + "Consumer-" + topicName);
         consumerThread.start();
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        KafkaOpenMetadataEventProducerConfiguration producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties, auditLog);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerConfig, producerProperties, this, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
         producerThread.start();
 
@@ -239,39 +242,16 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
 
     /**
-     * Look to see if there is one of more new events to process.
-     *
-     * @return a list of received events or null
-     */
-    @Override
-    protected List<IncomingEvent> checkForIncomingEvents()
-    {
-        List<IncomingEvent> newEvents = null;
-
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
-
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
-        {
-            log.debug("Checking for events.  Number of found events: {0}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
-        }
-
-        return newEvents;
-    }
-
-    /**
-     * Distribute events to other listeners.
+     * Distribute events to other listeners.  The event is handed to the listener thread which is
+     * waiting for new events.
      *
      * @param event object containing the event properties.
+     * @throws InterruptedException the consumer thread was interrupted while the event queue was full
      */
-    void distributeToListeners(IncomingEvent event)
+    void distributeToListeners(IncomingEvent event) throws InterruptedException
     {
         log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+        super.queueIncomingEvent(event);
     }
 
 
@@ -306,6 +286,6 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
      * @return int
      */
     int getNumberOfUnprocessedEvents() {
-    	return incomingEventsList.size();
+    	return super.getNumberOfQueuedEvents();
     }
 }
@@ -103,7 +103,15 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode
              OMRSAuditLogRecordSeverity.ERROR,
              "Property {0} is missing from the Kafka Event Bus configuration",
              "The system is unable to connect to the event bus.",
-             "Add the missing property to the event bus properties in the server configuration.")
+             "Add the missing property to the event bus properties in the server configuration."),
+
+    EVENT_BUFFER_THRESHOLD_EXCEEDED("OCF-KAFKA-TOPIC-CONNECTOR-0014",
+             OMRSAuditLogRecordSeverity.ACTION,
+             "More than {1} events are waiting to be sent on topic {0}.  {2} events successfully sent; {3} events buffered",
+             "Apache Kafka is not accepting events as fast as the server is producing them.  Outbound events continue to be buffered in memory.",
+             "Review the operational status of Apache Kafka and any earlier errors reported for this topic.  " +
+                                     "The buffered events are sent once Apache Kafka accepts them.  If the number of " +
+                                     "buffered events keeps growing, the server may run out of memory.")
 
     ;
 
@@ -0,0 +1,284 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the pipelined sending of events by {@link KafkaOpenMetadataEventProducer}.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final int maxInFlightEvents = 10;
+
+
+    /**
+     * Audit log destination that records the message ids of the audit log records.
+     */
+    private static class TestAuditLogDestination extends OMRSAuditLogDestination
+    {
+        private List<String> logMessageIds = Collections.synchronizedList(new ArrayList<>());
+
+        TestAuditLogDestination()
+        {
+            super(null);
+        }
+
+        @Override
+        public void logRecord(OMRSAuditLogReportingComponent reportingComponent,
+                              String                         actionDescription,
+                              String                         logMessageId,
+                              OMRSAuditLogRecordSeverity     severity,
+                              String                         logMessage,
+                              String                         additionalInformation,
+                              String                         systemAction,
+                              String                         userAction)
+        {
+            logMessageIds.add(logMessageId);
+        }
+    }
+
+
+    private void waitForSentEvents(MockProducer<String, String> mockProducer,
+                                   int                          sentEvents) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((mockProducer.history().size() < sentEvents) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(mockProducer.history().size(), sentEvents);
+    }
+
+
+    private List<String> getSentEvents(MockProducer<String, String> mockProducer)
+    {
+        List<String> sentEvents = new ArrayList<>();
+
+        for (ProducerRecord<String, String> record : mockProducer.history())
+        {
+            sentEvents.add(record.value());
+        }
+
+        return sentEvents;
+    }
+
+
+    private KafkaOpenMetadataEventProducer getProducer(MockProducer<String, String> mockProducer,
+                                                       int                          maxQueuedEvents)
+    {
+        return this.getProducer(mockProducer, maxQueuedEvents, new TestAuditLogDestination());
+    }
+
+
+    private KafkaOpenMetadataEventProducer getProducer(MockProducer<String, String> mockProducer,
+                                                       int                          maxQueuedEvents,
+                                                       OMRSAuditLogDestination      auditLogDestination)
+    {
+        Properties   properties = new Properties();
+        OMRSAuditLog auditLog   = new OMRSAuditLog(auditLogDestination,
+                                                   OMRSAuditingComponent.OPEN_METADATA_TOPIC_CONNECTOR);
+
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_EVENTS.getPropertyName(),
+                               Integer.toString(maxInFlightEvents));
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUED_EVENTS.getPropertyName(),
+                               Integer.toString(maxQueuedEvents));
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.SEND_RETRY_SLEEP_TIME.getPropertyName(), "0");
+
+        return new KafkaOpenMetadataEventProducer("testTopic",
+                                                  "testServer",
+                                                  new KafkaOpenMetadataEventProducerConfiguration(properties, auditLog),
+                                                  mockProducer,
+                                                  auditLog);
+    }
+
+
+    @Test
+    public void testInFlightWindowAndRetry() throws Exception
+    {
+        MockProducer<String, String>   mockProducer   = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        KafkaOpenMetadataEventProducer producer       = this.getProducer(mockProducer, 100);
+        Thread                         producerThread = new Thread(producer);
+
+        producerThread.start();
+
+        for (int i = 0; i < 25; i++)
+        {
+            producer.sendEvent("event" + i);
+        }
+
+        /*
+         * Only a window of events is passed to Kafka until they are acknowledged.
+         */
+        this.waitForSentEvents(mockProducer, maxInFlightEvents);
+        Thread.sleep(100);
+        assertEquals(mockProducer.history().size(), maxInFlightEvents);
+
+        for (int i = 0; i < maxInFlightEvents; i++)
+        {
+            mockProducer.completeNext();
+        }
+
+        this.waitForSentEvents(mockProducer, 2 * maxInFlightEvents);
+
+        /*
+         * The first event of the second window fails.  It is resent once the rest of the window has
+         * completed, and the events that have not yet been sent wait until it has been delivered.
+         */
+        mockProducer.errorNext(new RuntimeException("Test failure"));
+
+        for (int i = 1; i < maxInFlightEvents; i++)
+        {
+            mockProducer.completeNext();
+        }
+
+        this.waitForSentEvents(mockProducer, 2 * maxInFlightEvents + 1);
+        Thread.sleep(100);
+        assertEquals(mockProducer.history().size(), 2 * maxInFlightEvents + 1);
+
+        /*
+         * The resent event fails again and is sent once more on its own.
+         */
+        mockProducer.errorNext(new RuntimeException("Test failure"));
+
+        this.waitForSentEvents(mockProducer, 2 * maxInFlightEvents + 2);
+        Thread.sleep(100);
+        assertEquals(mockProducer.history().size(), 2 * maxInFlightEvents + 2);
+
+        mockProducer.completeNext();
+
+        this.waitForSentEvents(mockProducer, 2 * maxInFlightEvents + 7);
+
+        List<String> sentEvents = this.getSentEvents(mockProducer);
+
+        assertEquals(sentEvents.get(2 * maxInFlightEvents), "event10");
+        assertEquals(sentEvents.get(2 * maxInFlightEvents + 1), "event10");
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(sentEvents.get(2 * maxInFlightEvents + 2 + i), "event" + (20 + i));
+        }
+
+        while (mockProducer.completeNext())
+        {
+            // complete the remaining events
+        }
+
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((producer.getMessageSendCount() < 25) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(producer.getMessageSendCount(), 25);
+        assertEquals(producer.getSendBufferSize(), 0);
+
+        producer.safeCloseProducer();
+        producerThread.join(10000);
+    }
+
+
+    @Test
+    public void testSendDoesNotWaitWhenQueueIsFull() throws Exception
+    {
+        final int    maxQueuedEvents = 5;
+        final String thresholdCode   = KafkaOpenMetadataTopicConnectorAuditCode.EVENT_BUFFER_THRESHOLD_EXCEEDED.getLogMessageId();
+
+        MockProducer<String, String>   mockProducer        = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        TestAuditLogDestination        auditLogDestination = new TestAuditLogDestination();
+        KafkaOpenMetadataEventProducer producer            = this.getProducer(mockProducer, maxQueuedEvents, auditLogDestination);
+        Thread                         producerThread      = new Thread(producer);
+
+        /*
+         * The producer thread is not running, as if Kafka were unavailable.  The events beyond the threshold
+         * are still accepted without waiting and the threshold is reported once.
+         */
+        Thread senderThread = new Thread(() ->
+        {
+            for (int i = 0; i < 3 * maxQueuedEvents; i++)
+            {
+                producer.sendEvent("event" + i);
+            }
+        });
+
+        senderThread.start();
+        senderThread.join(10000);
+        assertFalse(senderThread.isAlive());
+        assertEquals(producer.getSendBufferSize(), 3 * maxQueuedEvents);
+        assertEquals(Collections.frequency(auditLogDestination.logMessageIds, thresholdCode), 1);
+
+        producerThread.start();
+
+        this.waitForSentEvents(mockProducer, 3 * maxQueuedEvents);
+
+        List<String> sentEvents = this.getSentEvents(mockProducer);
+
+        for (int i = 0; i < 3 * maxQueuedEvents; i++)
+        {
+            assertEquals(sentEvents.get(i), "event" + i);
+        }
+
+        producer.safeCloseProducer();
+        producerThread.join(10000);
+    }
+
+
+    @Test
+    public void testSendDoesNotWaitDuringRetry() throws Exception
+    {
+        MockProducer<String, String>   mockProducer   = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        KafkaOpenMetadataEventProducer producer       = this.getProducer(mockProducer, maxInFlightEvents);
+        Thread                         producerThread = new Thread(producer);
+
+        producerThread.start();
+        producer.sendEvent("event0");
+
+        this.waitForSentEvents(mockProducer, 1);
+        mockProducer.errorNext(new RuntimeException("Test failure"));
+        this.waitForSentEvents(mockProducer, 2);
+
+        /*
+         * The failed event is being resent and has not been acknowledged.  New events are accepted without
+         * waiting and are sent once it has been delivered.
+         */
+        Thread senderThread = new Thread(() ->
+        {
+            for (int i = 1; i <= 3 * maxInFlightEvents; i++)
+            {
+                producer.sendEvent("event" + i);
+            }
+        });
+
+        senderThread.start();
+        senderThread.join(10000);
+        assertFalse(senderThread.isAlive());
+        assertEquals(mockProducer.history().size(), 2);
+
+        mockProducer.completeNext();
+        this.waitForSentEvents(mockProducer, 2 + maxInFlightEvents);
+        assertEquals(this.getSentEvents(mockProducer).get(2), "event1");
+
+        producer.safeCloseProducer();
+        producerThread.join(10000);
+    }
+}
@@ -0,0 +1,272 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * AuditLogIndex is the in-memory index of the audit log records stored in the segment files.  The entries are
+ * kept in time stamp order so that a time period can be located with a binary search, and are also mapped by
+ * unique identifier for direct retrieval.  Separate time-ordered lists of the entries for each severity and
+ * each component mean that a query for one severity or component only visits the matching entries.
+ * The index is updated by the single writer thread and read concurrently by the query methods.
+ */
+class AuditLogIndex
+{
+    private final ReadWriteLock                         lock             = new ReentrantReadWriteLock();
+    private final List<AuditLogIndexEntry>              entries          = new ArrayList<>();
+    private final Map<String, List<AuditLogIndexEntry>> severityEntries  = new HashMap<>();
+    private final Map<String, List<AuditLogIndexEntry>> componentEntries = new HashMap<>();
+    private final Map<String, AuditLogIndexEntry>       guidIndex        = new HashMap<>();
+    private final Map<String, String>                   sharedValues     = new HashMap<>();
+
+
+    /**
+     * Add entries to the index.
+     *
+     * @param newEntries entries for the log records that have been written to the segment files
+     */
+    void add(List<AuditLogIndexEntry> newEntries)
+    {
+        lock.writeLock().lock();
+
+        try
+        {
+            for (AuditLogIndexEntry entry : newEntries)
+            {
+                entry.setSeverity(this.getSharedValue(entry.getSeverity()));
+                entry.setComponent(this.getSharedValue(entry.getComponent()));
+
+                this.insert(entries, entry);
+
+                if (entry.getSeverity() != null)
+                {
+                    this.insert(severityEntries.computeIfAbsent(entry.getSeverity(), key -> new ArrayList<>()), entry);
+                }
+
+                if (entry.getComponent() != null)
+                {
+                    this.insert(componentEntries.computeIfAbsent(entry.getComponent(), key -> new ArrayList<>()), entry);
+                }
+
+                guidIndex.put(entry.getGUID(), entry);
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove the entries for the log records in a segment that has been deleted.
+     *
+     * @param segment segment number
+     */
+    void removeSegment(int segment)
+    {
+        lock.writeLock().lock();
+
+        try
+        {
+            entries.removeIf(entry -> (entry.getSegment() == segment));
+            severityEntries.values().forEach(list -> list.removeIf(entry -> (entry.getSegment() == segment)));
+            componentEntries.values().forEach(list -> list.removeIf(entry -> (entry.getSegment() == segment)));
+            guidIndex.values().removeIf(entry -> (entry.getSegment() == segment));
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the index entry for a specific log record.
+     *
+     * @param guid unique identifier of the log record
+     * @return index entry or null if the log record is not known
+     */
+    AuditLogIndexEntry get(String guid)
+    {
+        lock.readLock().lock();
+
+        try
+        {
+            return guidIndex.get(guid);
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the index entries for the log records in a time period, in time stamp order.
+     *
+     * @param startTime start of the time period (inclusive)
+     * @param endTime end of the time period (inclusive)
+     * @param severity severity to match, or null for any severity
+     * @param component component name to match, or null for any component
+     * @return list of matching entries
+     */
+    List<AuditLogIndexEntry> find(long   startTime,
+                                  long   endTime,
+                                  String severity,
+                                  String component)
+    {
+        List<AuditLogIndexEntry> results = new ArrayList<>();
+
+        lock.readLock().lock();
+
+        try
+        {
+            List<AuditLogIndexEntry> candidates = entries;
+
+            if (severity != null)
+            {
+                candidates = severityEntries.get(severity);
+            }
+            else if (component != null)
+            {
+                candidates = componentEntries.get(component);
+            }
+
+            if (candidates == null)
+            {
+                return results;
+            }
+
+            for (int i = this.getPosition(candidates, startTime, false); i < candidates.size(); i++)
+            {
+                AuditLogIndexEntry entry = candidates.get(i);
+
+                if (entry.getTimeStamp() > endTime)
+                {
+                    break;
+                }
+
+                if (((severity == null) || (severity.equals(entry.getSeverity()))) &&
+                    ((component == null) || (component.equals(entry.getComponent()))))
+                {
+                    results.add(entry);
+                }
+            }
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the number of log records in the index.
+     *
+     * @return count
+     */
+    int size()
+    {
+        lock.readLock().lock();
+
+        try
+        {
+            return entries.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Add an entry to a time-ordered list.  Records normally arrive in time stamp order so the entry is added
+     * at the end.  Records created concurrently by different threads may be slightly out of order.
+     * The caller must hold the write lock.
+     *
+     * @param list list of entries in time stamp order
+     * @param entry new entry
+     */
+    private void insert(List<AuditLogIndexEntry> list,
+                        AuditLogIndexEntry       entry)
+    {
+        if (list.isEmpty() || (list.get(list.size() - 1).getTimeStamp() <= entry.getTimeStamp()))
+        {
+            list.add(entry);
+        }
+        else
+        {
+            list.add(this.getPosition(list, entry.getTimeStamp(), true), entry);
+        }
+    }
+
+
+    /**
+     * Return the position of the first entry in a time-ordered list with a time stamp after (or, if afterEqual
+     * is false, at or after) the supplied time.  The caller must hold the lock.
+     *
+     * @param list list of entries in time stamp order
+     * @param timeStamp time to search for
+     * @param afterEqual should entries with the same time stamp be skipped
+     * @return index into the list
+     */
+    private int getPosition(List<AuditLogIndexEntry> list,
+                            long                     timeStamp,
+                            boolean                  afterEqual)
+    {
+        int low  = 0;
+        int high = list.size();
+
+        while (low < high)
+        {
+            int  middle         = (low + high) >>> 1;
+            long entryTimeStamp = list.get(middle).getTimeStamp();
+
+            if ((entryTimeStamp < timeStamp) || (afterEqual && (entryTimeStamp == timeStamp)))
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    /**
+     * Return a single shared copy of a severity or component name so that each index entry does not hold its
+     * own copy.  The caller must hold the write lock.
+     *
+     * @param value string from a log record
+     * @return shared string
+     */
+    private String getSharedValue(String value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+
+        String sharedValue = sharedValues.putIfAbsent(value, value);
+
+        if (sharedValue == null)
+        {
+            return value;
+        }
+
+        return sharedValue;
+    }
+}
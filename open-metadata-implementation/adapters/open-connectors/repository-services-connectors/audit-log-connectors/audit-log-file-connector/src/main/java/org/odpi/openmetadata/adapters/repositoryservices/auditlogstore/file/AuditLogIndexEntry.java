@@ -0,0 +1,147 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+/**
+ * AuditLogIndexEntry is the in-memory index entry for a single audit log record.  It holds the values that
+ * the queries select on together with the location of the record in the segment files.  The severity and
+ * component strings are shared between entries by the AuditLogIndex so each entry is small.
+ */
+class AuditLogIndexEntry
+{
+    private String guid;
+    private long   timeStamp;
+    private String severity;
+    private String component;
+    private int    segment;
+    private long   offset;
+    private int    length;
+
+
+    /**
+     * Constructor.
+     *
+     * @param guid unique identifier of the log record
+     * @param timeStamp time that the log record was created
+     * @param severity severity of the log record
+     * @param component name of the component that created the log record
+     * @param segment number of the segment file holding the log record
+     * @param offset position of the log record in the segment file
+     * @param length number of bytes in the stored log record
+     */
+    AuditLogIndexEntry(String guid,
+                       long   timeStamp,
+                       String severity,
+                       String component,
+                       int    segment,
+                       long   offset,
+                       int    length)
+    {
+        this.guid = guid;
+        this.timeStamp = timeStamp;
+        this.severity = severity;
+        this.component = component;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+
+    /**
+     * Return the unique identifier of the log record.
+     *
+     * @return guid
+     */
+    String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Return the time that the log record was created.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getTimeStamp()
+    {
+        return timeStamp;
+    }
+
+
+    /**
+     * Return the severity of the log record.
+     *
+     * @return severity name
+     */
+    String getSeverity()
+    {
+        return severity;
+    }
+
+
+    /**
+     * Set up the shared copy of the severity.
+     *
+     * @param severity severity name
+     */
+    void setSeverity(String severity)
+    {
+        this.severity = severity;
+    }
+
+
+    /**
+     * Return the name of the component that created the log record.
+     *
+     * @return component name
+     */
+    String getComponent()
+    {
+        return component;
+    }
+
+
+    /**
+     * Set up the shared copy of the component name.
+     *
+     * @param component component name
+     */
+    void setComponent(String component)
+    {
+        this.component = component;
+    }
+
+
+    /**
+     * Return the number of the segment file holding the log record.
+     *
+     * @return segment number
+     */
+    int getSegment()
+    {
+        return segment;
+    }
+
+
+    /**
+     * Return the position of the log record in the segment file.
+     *
+     * @return byte offset
+     */
+    long getOffset()
+    {
+        return offset;
+    }
+
+
+    /**
+     * Return the number of bytes in the stored log record.
+     *
+     * @return length in bytes
+     */
+    int getLength()
+    {
+        return length;
+    }
+}
@@ -0,0 +1,919 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditLogSegmentStore manages the files of the file based audit log.  The log records are appended, one JSON
+ * document per line, to a sequence of segment files in the audit log directory.  A new segment is started when
+ * the current one reaches its maximum size or age, and whenever the store is restarted.  Existing segments are
+ * never rewritten.  When a segment is closed, the index entries for its records are written to a summary file
+ * alongside it so that a restarted store loads the summaries rather than parsing every record.  Segments older
+ * than the retention period, and the oldest segments beyond the maximum number of segments, are deleted each
+ * time a new segment is started.
+ * <p>
+ * Callers hand records to a bounded queue that is drained by a single background writer thread.  Callers only
+ * wait when the writer has fallen so far behind that the queue is full, so a burst of records slows the callers
+ * down rather than being lost.  The writer adds each batch of records to the AuditLogIndex once it has been
+ * flushed to the segment file.  Records that are queued but not yet indexed are held in a pending map so that
+ * they can still be retrieved by the queries.
+ * </p>
+ */
+class AuditLogSegmentStore implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(AuditLogSegmentStore.class);
+
+    private static final String segmentPrefix    = "auditlog-";
+    private static final String segmentSuffix    = ".log";
+    private static final String summarySuffix    = ".idx";
+    private static final int    summaryVersion   = 1;
+    private static final String writerThreadName = "FileBasedAuditLogStoreWriter";
+
+    private static final int    maxBatchSize     = 500;
+    private static final int    pollTime         = 100;
+
+    /*
+     * ObjectReader and ObjectWriter are thread-safe and are shared by all audit log stores.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader recordReader = objectMapper.readerFor(OMRSAuditLogRecord.class);
+    private static final ObjectWriter recordWriter = objectMapper.writerFor(OMRSAuditLogRecord.class);
+
+    private File                                    directory;
+    private long                                    maxSegmentSize;
+    private long                                    maxSegmentAge;
+    private long                                    retentionPeriod;
+    private int                                     maxSegments;
+
+    private BlockingQueue<OMRSAuditLogRecord>       writeQueue;
+    private Map<String, OMRSAuditLogRecord>         pendingRecords = new ConcurrentHashMap<>();
+    private Map<Integer, File>                      segmentFiles   = new ConcurrentHashMap<>();
+    private AuditLogIndex                           index          = new AuditLogIndex();
+
+    /*
+     * These variables are only used by the writer thread once it is running.
+     */
+    private int                                     currentSegment        = 0;
+    private OutputStream                            currentSegmentFile    = null;
+    private long                                    currentSegmentSize    = 0;
+    private long                                    currentSegmentStart   = 0;
+    private List<AuditLogIndexEntry>                currentSegmentEntries = new ArrayList<>();
+
+    private volatile boolean                        keepRunning  = false;
+    private Thread                                  writerThread = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param directory directory holding the segment files
+     * @param writeQueueSize maximum number of log records waiting to be written
+     * @param maxSegmentSize size in bytes at which a new segment is started
+     * @param maxSegmentAge age in milliseconds at which a new segment is started
+     * @param retentionPeriod age in milliseconds after which a segment is deleted, or zero to keep segments
+     * @param maxSegments maximum number of segments kept, or zero for no limit
+     */
+    AuditLogSegmentStore(File directory,
+                         int  writeQueueSize,
+                         long maxSegmentSize,
+                         long maxSegmentAge,
+                         long retentionPeriod,
+                         int  maxSegments)
+    {
+        this.directory = directory;
+        this.writeQueue = new ArrayBlockingQueue<>(writeQueueSize);
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxSegmentAge = maxSegmentAge;
+        this.retentionPeriod = retentionPeriod;
+        this.maxSegments = maxSegments;
+    }
+
+
+    /**
+     * Load the index from the existing segments, delete any expired segments and start the writer thread.
+     *
+     * @throws IOException the directory can not be used
+     */
+    void start() throws IOException
+    {
+        if ((! directory.isDirectory()) && (! directory.mkdirs()))
+        {
+            throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+        }
+
+        if (! directory.canWrite())
+        {
+            throw new IOException("Unable to write to directory " + directory.getAbsolutePath());
+        }
+
+        Map<Integer, File> existingSegments = new TreeMap<>();
+        File[]             files            = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                int segment = this.getSegmentNumber(file.getName());
+
+                if (segment >= 0)
+                {
+                    existingSegments.put(segment, file);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, File> segmentFile : existingSegments.entrySet())
+        {
+            this.loadSegment(segmentFile.getKey(), segmentFile.getValue());
+            currentSegment = segmentFile.getKey();
+        }
+
+        this.removeExpiredSegments();
+
+        keepRunning = true;
+
+        writerThread = new Thread(this, writerThreadName + ": " + directory.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Queue a log record for writing.  If the writer has fallen so far behind that the queue is full, this method
+     * waits for the writer to make space.  The record is only refused if the store is stopping or the calling
+     * thread is interrupted while it waits.
+     *
+     * @param logRecord record to store
+     * @return boolean true if the record was queued
+     */
+    boolean store(OMRSAuditLogRecord logRecord)
+    {
+        pendingRecords.put(logRecord.getGUID(), logRecord);
+
+        try
+        {
+            while (keepRunning)
+            {
+                if (writeQueue.offer(logRecord, pollTime, TimeUnit.MILLISECONDS))
+                {
+                    return true;
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        pendingRecords.remove(logRecord.getGUID());
+
+        return false;
+    }
+
+
+    /**
+     * Retrieve a specific log record.
+     *
+     * @param guid unique identifier of the log record
+     * @return log record or null if not known
+     * @throws IOException the record could not be read from its segment
+     */
+    OMRSAuditLogRecord get(String guid) throws IOException
+    {
+        /*
+         * The pending records are checked first since the writer removes a record from the pending map
+         * after it has been added to the index.
+         */
+        OMRSAuditLogRecord logRecord = pendingRecords.get(guid);
+
+        if (logRecord != null)
+        {
+            return logRecord;
+        }
+
+        AuditLogIndexEntry entry = index.get(guid);
+
+        if (entry != null)
+        {
+            return this.readRecord(entry);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the log records matching the supplied criteria in time stamp order.
+     *
+     * @param startTime start of the time period (inclusive)
+     * @param endTime end of the time period (inclusive)
+     * @param severity severity to match, or null for any severity
+     * @param component component name to match, or null for any component
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return, or zero for no limit
+     * @return list of log records
+     * @throws IOException a record could not be read from its segment
+     */
+    List<OMRSAuditLogRecord> find(long   startTime,
+                                  long   endTime,
+                                  String severity,
+                                  String component,
+                                  int    offset,
+                                  int    maximumRecords) throws IOException
+    {
+        Map<String, OMRSAuditLogRecord> matchingPendingRecords = new HashMap<>();
+
+        for (OMRSAuditLogRecord pendingRecord : pendingRecords.values())
+        {
+            long   timeStamp = this.getTimeStamp(pendingRecord);
+
+            if ((timeStamp >= startTime) && (timeStamp <= endTime) &&
+                ((severity == null) || (severity.equals(pendingRecord.getSeverity()))) &&
+                ((component == null) || (component.equals(this.getComponentName(pendingRecord)))))
+            {
+                matchingPendingRecords.put(pendingRecord.getGUID(), pendingRecord);
+            }
+        }
+
+        /*
+         * Pending records that have since been indexed are only returned once.
+         */
+        List<AuditLogIndexEntry> matchingEntries = index.find(startTime, endTime, severity, component);
+
+        for (AuditLogIndexEntry entry : matchingEntries)
+        {
+            matchingPendingRecords.remove(entry.getGUID());
+        }
+
+        for (OMRSAuditLogRecord pendingRecord : matchingPendingRecords.values())
+        {
+            matchingEntries.add(new AuditLogIndexEntry(pendingRecord.getGUID(),
+                                                       this.getTimeStamp(pendingRecord),
+                                                       pendingRecord.getSeverity(),
+                                                       this.getComponentName(pendingRecord),
+                                                       -1,
+                                                       0,
+                                                       0));
+        }
+
+        if (! matchingPendingRecords.isEmpty())
+        {
+            matchingEntries.sort(Comparator.comparingLong(AuditLogIndexEntry::getTimeStamp));
+        }
+
+        /*
+         * Only the records in the requested page are read from the segments.
+         */
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+        int                      endPosition;
+
+        if (maximumRecords == 0)
+        {
+            endPosition = matchingEntries.size();
+        }
+        else
+        {
+            endPosition = (int) Math.min(matchingEntries.size(), (long) offset + maximumRecords);
+        }
+
+        for (int i = offset; i < endPosition; i++)
+        {
+            AuditLogIndexEntry entry = matchingEntries.get(i);
+
+            if (entry.getSegment() < 0)
+            {
+                results.add(matchingPendingRecords.get(entry.getGUID()));
+            }
+            else
+            {
+                OMRSAuditLogRecord logRecord = this.readRecord(entry);
+
+                /*
+                 * The record is skipped if its segment was deleted after the index was searched.
+                 */
+                if (logRecord != null)
+                {
+                    results.add(logRecord);
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Stop the writer thread once it has written the queued records.
+     */
+    void stop()
+    {
+        keepRunning = false;
+
+        if (writerThread != null)
+        {
+            try
+            {
+                writerThread.join();
+
+                /*
+                 * A caller may have queued a record just as the writer finished.
+                 */
+                List<OMRSAuditLogRecord> remainingRecords = new ArrayList<>();
+
+                writeQueue.drainTo(remainingRecords);
+
+                if (! remainingRecords.isEmpty())
+                {
+                    this.writeBatch(remainingRecords);
+                    this.closeCurrentSegment();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            writerThread = null;
+        }
+    }
+
+
+    /**
+     * The writer thread takes batches of records from the queue, appends them to the current segment and
+     * indexes them once they are flushed to the file.
+     */
+    public void run()
+    {
+        List<OMRSAuditLogRecord> batch = new ArrayList<>();
+
+        while (keepRunning || (! writeQueue.isEmpty()))
+        {
+            try
+            {
+                OMRSAuditLogRecord logRecord = writeQueue.poll(pollTime, TimeUnit.MILLISECONDS);
+
+                if (logRecord != null)
+                {
+                    batch.add(logRecord);
+                    writeQueue.drainTo(batch, maxBatchSize - 1);
+
+                    this.writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Audit log writer interrupted");
+            }
+        }
+
+        this.closeCurrentSegment();
+    }
+
+
+    /**
+     * Append a batch of log records to the segment files and add them to the index.
+     *
+     * @param batch list of log records
+     */
+    private void writeBatch(List<OMRSAuditLogRecord> batch)
+    {
+        List<AuditLogIndexEntry> newEntries = new ArrayList<>();
+
+        for (OMRSAuditLogRecord logRecord : batch)
+        {
+            try
+            {
+                byte[] recordBytes = recordWriter.writeValueAsBytes(logRecord);
+
+                this.checkSegment(recordBytes.length + 1);
+
+                currentSegmentFile.write(recordBytes);
+                currentSegmentFile.write('\n');
+
+                AuditLogIndexEntry entry = new AuditLogIndexEntry(logRecord.getGUID(),
+                                                                  this.getTimeStamp(logRecord),
+                                                                  logRecord.getSeverity(),
+                                                                  this.getComponentName(logRecord),
+                                                                  currentSegment,
+                                                                  currentSegmentSize,
+                                                                  recordBytes.length);
+
+                newEntries.add(entry);
+                currentSegmentEntries.add(entry);
+
+                currentSegmentSize = currentSegmentSize + recordBytes.length + 1;
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to write audit log record " + logRecord + " to " + directory.getAbsolutePath(), error);
+
+                /*
+                 * The next record starts a new segment.
+                 */
+                this.closeCurrentSegment();
+            }
+        }
+
+        try
+        {
+            if (currentSegmentFile != null)
+            {
+                currentSegmentFile.flush();
+            }
+
+            index.add(newEntries);
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to flush audit log segment " + currentSegment + " in " + directory.getAbsolutePath(), error);
+
+            this.closeCurrentSegment();
+        }
+
+        for (OMRSAuditLogRecord logRecord : batch)
+        {
+            pendingRecords.remove(logRecord.getGUID());
+        }
+    }
+
+
+    /**
+     * Make sure there is a current segment with space for the next record, starting a new segment if the
+     * current one has reached its maximum size or age.
+     *
+     * @param recordLength number of bytes about to be written
+     * @throws IOException the new segment could not be created
+     */
+    private void checkSegment(int recordLength) throws IOException
+    {
+        if (currentSegmentFile != null)
+        {
+            boolean segmentFull    = (currentSegmentSize > 0) && (currentSegmentSize + recordLength > maxSegmentSize);
+            boolean segmentExpired = (System.currentTimeMillis() - currentSegmentStart) > maxSegmentAge;
+
+            if (segmentFull || segmentExpired)
+            {
+                this.closeCurrentSegment();
+            }
+        }
+
+        if (currentSegmentFile == null)
+        {
+            currentSegment++;
+
+            File segmentFile = new File(directory, this.getSegmentFileName(currentSegment));
+
+            currentSegmentFile = new BufferedOutputStream(new FileOutputStream(segmentFile, true));
+            currentSegmentSize = segmentFile.length();
+            currentSegmentStart = System.currentTimeMillis();
+
+            segmentFiles.put(currentSegment, segmentFile);
+
+            log.debug("Started audit log segment " + segmentFile.getAbsolutePath());
+
+            this.removeExpiredSegments();
+        }
+    }
+
+
+    /**
+     * Close the current segment and write the summary of its records.
+     */
+    private void closeCurrentSegment()
+    {
+        if (currentSegmentFile != null)
+        {
+            try
+            {
+                currentSegmentFile.close();
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to close audit log segment " + currentSegment + " in " + directory.getAbsolutePath(), error);
+            }
+
+            currentSegmentFile = null;
+
+            this.writeSummary(segmentFiles.get(currentSegment), currentSegmentEntries);
+            currentSegmentEntries = new ArrayList<>();
+        }
+    }
+
+
+    /**
+     * Delete the segments that are older than the retention period, and the oldest segments beyond the maximum
+     * number of segments.  The segment being written is never deleted.  The segment's records are removed from
+     * the index before its files are deleted.
+     */
+    private void removeExpiredSegments()
+    {
+        TreeSet<Integer> segments = new TreeSet<>(segmentFiles.keySet());
+
+        if (currentSegmentFile != null)
+        {
+            segments.remove(currentSegment);
+        }
+
+        int  segmentCount = segmentFiles.size();
+        long expiryTime   = System.currentTimeMillis() - retentionPeriod;
+
+        for (Integer segment : segments)
+        {
+            File    segmentFile = segmentFiles.get(segment);
+            boolean expired     = (retentionPeriod > 0) && (segmentFile.lastModified() < expiryTime);
+            boolean surplus     = (maxSegments > 0) && (segmentCount > maxSegments);
+
+            if (expired || surplus)
+            {
+                index.removeSegment(segment);
+                segmentFiles.remove(segment);
+                segmentCount--;
+
+                File summaryFile = this.getSummaryFile(segmentFile);
+
+                if (! segmentFile.delete())
+                {
+                    log.error("Unable to delete audit log segment " + segmentFile.getAbsolutePath());
+                }
+                else if (summaryFile.exists() && (! summaryFile.delete()))
+                {
+                    log.debug("Unable to delete audit log summary " + summaryFile.getAbsolutePath());
+                }
+                else
+                {
+                    log.debug("Removed audit log segment " + segmentFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add the records in an existing segment to the index.  The entries are read from the segment's summary if
+     * it has one that matches the segment.  Otherwise, for example because the server stopped before the
+     * segment was closed, the records are read from the segment and the summary is written.
+     *
+     * @param segment segment number
+     * @param segmentFile file holding the segment
+     * @throws IOException the segment can not be read
+     */
+    private void loadSegment(int  segment,
+                             File segmentFile) throws IOException
+    {
+        List<AuditLogIndexEntry> entries = this.readSummary(segment, segmentFile);
+
+        if (entries == null)
+        {
+            entries = this.parseSegment(segment, segmentFile);
+            this.writeSummary(segmentFile, entries);
+        }
+
+        segmentFiles.put(segment, segmentFile);
+        index.add(entries);
+
+        log.debug("Loaded " + entries.size() + " audit log records from " + segmentFile.getAbsolutePath());
+    }
+
+
+    /**
+     * Return the index entries for the records in a segment by parsing each record.  A partly written final
+     * line, for example from a server that stopped while writing, is skipped.
+     *
+     * @param segment segment number
+     * @param segmentFile file holding the segment
+     * @return list of index entries
+     * @throws IOException the segment can not be read
+     */
+    private List<AuditLogIndexEntry> parseSegment(int  segment,
+                                                  File segmentFile) throws IOException
+    {
+        List<AuditLogIndexEntry> entries      = new ArrayList<>();
+        byte[]                   segmentBytes = Files.readAllBytes(segmentFile.toPath());
+        int                      lineStart    = 0;
+
+        for (int i = 0; i < segmentBytes.length; i++)
+        {
+            if (segmentBytes[i] == '\n')
+            {
+                int length = i - lineStart;
+
+                try
+                {
+                    OMRSAuditLogRecord logRecord = recordReader.readValue(segmentBytes, lineStart, length);
+
+                    entries.add(new AuditLogIndexEntry(logRecord.getGUID(),
+                                                       this.getTimeStamp(logRecord),
+                                                       logRecord.getSeverity(),
+                                                       this.getComponentName(logRecord),
+                                                       segment,
+                                                       lineStart,
+                                                       length));
+                }
+                catch (IOException error)
+                {
+                    log.debug("Skipping unreadable audit log record in " + segmentFile.getAbsolutePath(), error);
+                }
+
+                lineStart = i + 1;
+            }
+        }
+
+        return entries;
+    }
+
+
+    /**
+     * Write the summary of a closed segment: the length of the segment followed by the index entries of its
+     * records.  The summary is written to a temporary file and then renamed so a partly written summary is
+     * never read.
+     *
+     * @param segmentFile file holding the segment
+     * @param entries index entries for the records in the segment
+     */
+    private void writeSummary(File                     segmentFile,
+                              List<AuditLogIndexEntry> entries)
+    {
+        File summaryFile   = this.getSummaryFile(segmentFile);
+        File temporaryFile = new File(directory, summaryFile.getName() + ".tmp");
+
+        try
+        {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+            {
+                output.writeInt(summaryVersion);
+                output.writeLong(segmentFile.length());
+                output.writeInt(entries.size());
+
+                for (AuditLogIndexEntry entry : entries)
+                {
+                    output.writeUTF(entry.getGUID());
+                    output.writeLong(entry.getTimeStamp());
+                    this.writeOptionalString(output, entry.getSeverity());
+                    this.writeOptionalString(output, entry.getComponent());
+                    output.writeLong(entry.getOffset());
+                    output.writeInt(entry.getLength());
+                }
+            }
+
+            Files.move(temporaryFile.toPath(), summaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException error)
+        {
+            /*
+             * The segment is still usable - it is parsed when the store restarts.
+             */
+            log.error("Unable to write audit log summary " + summaryFile.getAbsolutePath(), error);
+
+            if (! temporaryFile.delete())
+            {
+                log.debug("Unable to delete " + temporaryFile.getAbsolutePath());
+            }
+        }
+    }
+
+
+    /**
+     * Read the summary of a segment.
+     *
+     * @param segment segment number
+     * @param segmentFile file holding the segment
+     * @return list of index entries, or null if there is no usable summary for the segment
+     */
+    private List<AuditLogIndexEntry> readSummary(int  segment,
+                                                 File segmentFile)
+    {
+        File summaryFile = this.getSummaryFile(segmentFile);
+
+        if (! summaryFile.exists())
+        {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(summaryFile))))
+        {
+            long segmentLength = segmentFile.length();
+
+            if ((input.readInt() != summaryVersion) || (input.readLong() != segmentLength))
+            {
+                return null;
+            }
+
+            int                      entryCount = input.readInt();
+            List<AuditLogIndexEntry> entries    = new ArrayList<>(entryCount);
+
+            for (int i = 0; i < entryCount; i++)
+            {
+                AuditLogIndexEntry entry = new AuditLogIndexEntry(input.readUTF(),
+                                                                  input.readLong(),
+                                                                  this.readOptionalString(input),
+                                                                  this.readOptionalString(input),
+                                                                  segment,
+                                                                  input.readLong(),
+                                                                  input.readInt());
+
+                if (entry.getOffset() + entry.getLength() > segmentLength)
+                {
+                    return null;
+                }
+
+                entries.add(entry);
+            }
+
+            return entries;
+        }
+        catch (IOException error)
+        {
+            log.debug("Ignoring unreadable audit log summary " + summaryFile.getAbsolutePath(), error);
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Write a string that may be null to a summary.
+     *
+     * @param output summary being written
+     * @param value string or null
+     * @throws IOException the summary can not be written
+     */
+    private void writeOptionalString(DataOutputStream output,
+                                     String           value) throws IOException
+    {
+        output.writeBoolean(value != null);
+
+        if (value != null)
+        {
+            output.writeUTF(value);
+        }
+    }
+
+
+    /**
+     * Read a string that may be null from a summary.
+     *
+     * @param input summary being read
+     * @return string or null
+     * @throws IOException the summary can not be read
+     */
+    private String readOptionalString(DataInputStream input) throws IOException
+    {
+        if (input.readBoolean())
+        {
+            return input.readUTF();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Read a log record from its segment.
+     *
+     * @param entry index entry for the log record
+     * @return log record, or null if the segment has been deleted
+     * @throws IOException the segment can not be read
+     */
+    private OMRSAuditLogRecord readRecord(AuditLogIndexEntry entry) throws IOException
+    {
+        File   segmentFile = segmentFiles.get(entry.getSegment());
+        byte[] recordBytes = new byte[entry.getLength()];
+
+        if (segmentFile == null)
+        {
+            return null;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile, "r"))
+        {
+            file.seek(entry.getOffset());
+            file.readFully(recordBytes);
+        }
+        catch (FileNotFoundException error)
+        {
+            return null;
+        }
+
+        return recordReader.readValue(recordBytes);
+    }
+
+
+    /**
+     * Return the time stamp of a log record.
+     *
+     * @param logRecord log record
+     * @return milliseconds since the epoch
+     */
+    private long getTimeStamp(OMRSAuditLogRecord logRecord)
+    {
+        if (logRecord.getTimeStamp() == null)
+        {
+            return 0;
+        }
+
+        return logRecord.getTimeStamp().getTime();
+    }
+
+
+    /**
+     * Return the name of the component that created a log record.
+     *
+     * @param logRecord log record
+     * @return component name or null
+     */
+    private String getComponentName(OMRSAuditLogRecord logRecord)
+    {
+        OMRSAuditLogReportingComponent reportingComponent = logRecord.getReportingComponent();
+
+        if (reportingComponent == null)
+        {
+            return null;
+        }
+
+        return reportingComponent.getComponentName();
+    }
+
+
+    /**
+     * Return the file name for a segment.
+     *
+     * @param segment segment number
+     * @return file name
+     */
+    private String getSegmentFileName(int segment)
+    {
+        return String.format("%s%08d%s", segmentPrefix, segment, segmentSuffix);
+    }
+
+
+    /**
+     * Return the summary file for a segment.
+     *
+     * @param segmentFile file holding the segment
+     * @return summary file
+     */
+    private File getSummaryFile(File segmentFile)
+    {
+        String segmentFileName = segmentFile.getName();
+
+        return new File(directory, segmentFileName.substring(0, segmentFileName.length() - segmentSuffix.length()) + summarySuffix);
+    }
+
+
+    /**
+     * Return the segment number from a file name.
+     *
+     * @param fileName name of a file in the audit log directory
+     * @return segment number or -1 if the file is not a segment
+     */
+    private int getSegmentNumber(String fileName)
+    {
+        if (fileName.startsWith(segmentPrefix) && fileName.endsWith(segmentSuffix))
+        {
+            try
+            {
+                return Integer.parseInt(fileName.substring(segmentPrefix.length(),
+                                                           fileName.length() - segmentSuffix.length()));
+            }
+            catch (NumberFormatException error)
+            {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+}
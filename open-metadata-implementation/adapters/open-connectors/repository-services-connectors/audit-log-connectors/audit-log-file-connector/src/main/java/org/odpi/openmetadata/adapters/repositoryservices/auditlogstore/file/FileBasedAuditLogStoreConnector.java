@@ -5,24 +5,59 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in the directory named in the endpoint of the connection.  The audit log records
+ * are appended to a sequence of segment files by a background writer so that the callers of storeLogRecord
+ * do not normally wait for the disk.  An in-memory index of the records' time stamps, severities and components,
+ * loaded from the segments' summary files when the connector starts, supports the query methods.
+ * <p>
+ * The following configuration properties may be set in the connection:
+ * </p>
+ * <ul>
+ *     <li>maxSegmentSize - size in bytes at which a new segment file is started (default 16MB).</li>
+ *     <li>maxSegmentAge - age in minutes at which a new segment file is started (default 1 day).</li>
+ *     <li>writeQueueSize - number of log records that can be waiting for the writer (default 10000).
+ *         When the queue is full, storeLogRecord waits for the writer.</li>
+ *     <li>retentionDays - age in days after which a segment file is deleted, or 0 to keep
+ *         segments regardless of age (default 30).</li>
+ *     <li>maxSegments - maximum number of segment files kept, or 0 for no limit (default 0).</li>
+ * </ul>
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
+    private static final String defaultDirectoryName  = "omrs.auditlog";
+    private static final int    defaultMaxSegmentSize = 16 * 1024 * 1024;
+    private static final int    defaultMaxSegmentAge  = 24 * 60;
+    private static final int    defaultWriteQueueSize = 10000;
+    private static final int    defaultRetentionDays  = 30;
+    private static final int    defaultMaxSegments    = 0;
+
+    private String               directoryName  = defaultDirectoryName;
+    private int                  maxSegmentSize = defaultMaxSegmentSize;
+    private int                  maxSegmentAge  = defaultMaxSegmentAge;
+    private int                  writeQueueSize = defaultWriteQueueSize;
+    private int                  retentionDays  = defaultRetentionDays;
+    private int                  maxSegments    = defaultMaxSegments;
+
+    private AuditLogSegmentStore segmentStore   = null;
+
 
     /**
      * Default constructor used by the connector provider.
@@ -58,7 +93,28 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
         log.debug("AuditLogRecord: " + logRecord.toString());
 
-        return null;
+        if (segmentStore == null)
+        {
+            return null;
+        }
+
+        if (logRecord.getGUID() == null)
+        {
+            logRecord.setGUID(UUID.randomUUID().toString());
+        }
+
+        if (! segmentStore.store(logRecord))
+        {
+            /*
+             * The store is stopping or the caller was interrupted while waiting for the writer.  The record is
+             * passed to the server's log so it is not lost completely.
+             */
+            log.error("Audit log store " + directoryName + " is not accepting records, unable to store: " + logRecord.toString());
+
+            return null;
+        }
+
+        return logRecord.getGUID();
     }
 
 
@@ -71,8 +127,25 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public OMRSAuditLogRecord  getAuditLogRecord(String     logRecordId) throws InvalidParameterException
     {
+        final String   methodName = "getAuditLogRecord";
+
+        this.validateQueryValue(logRecordId, "logRecordId", methodName);
 
-        return null;
+        if (segmentStore == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return segmentStore.get(logRecordId);
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to read audit log record " + logRecordId + " from " + directoryName, error);
+
+            return null;
+        }
     }
 
 
@@ -94,7 +167,9 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int     maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsByTimeStamp";
+
+        return this.findLogRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
     /**
@@ -117,7 +192,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                  int      maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsBySeverity";
+
+        this.validateQueryValue(severity, "severity", methodName);
+
+        return this.findLogRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -141,7 +220,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int    maximumRecords) throws InvalidParameterException,
                                                                                                 PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsByComponent";
+
+        this.validateQueryValue(component, "component", methodName);
+
+        return this.findLogRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -152,7 +235,83 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public void start() throws ConnectorCheckedException
     {
+        final String   methodName = "start";
+
         super.start();
+
+        if (super.connectionProperties != null)
+        {
+            EndpointProperties endpoint = super.connectionProperties.getEndpoint();
+
+            if ((endpoint != null) && (endpoint.getAddress() != null))
+            {
+                directoryName = endpoint.getAddress();
+            }
+
+            Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object   maxSegmentSize = configurationProperties.get("maxSegmentSize");
+                Object   maxSegmentAge  = configurationProperties.get("maxSegmentAge");
+                Object   writeQueueSize = configurationProperties.get("writeQueueSize");
+                Object   retentionDays  = configurationProperties.get("retentionDays");
+                Object   maxSegments    = configurationProperties.get("maxSegments");
+
+                if (maxSegmentSize instanceof Integer)
+                {
+                    this.maxSegmentSize = (Integer)maxSegmentSize;
+                }
+
+                if (maxSegmentAge instanceof Integer)
+                {
+                    this.maxSegmentAge = (Integer)maxSegmentAge;
+                }
+
+                if (writeQueueSize instanceof Integer)
+                {
+                    this.writeQueueSize = (Integer)writeQueueSize;
+                }
+
+                if (retentionDays instanceof Integer)
+                {
+                    this.retentionDays = (Integer)retentionDays;
+                }
+
+                if (maxSegments instanceof Integer)
+                {
+                    this.maxSegments = (Integer)maxSegments;
+                }
+            }
+        }
+
+        AuditLogSegmentStore newSegmentStore = new AuditLogSegmentStore(new File(directoryName),
+                                                                        writeQueueSize,
+                                                                        maxSegmentSize,
+                                                                        maxSegmentAge * 60L * 1000L,
+                                                                        retentionDays * 24L * 60L * 60L * 1000L,
+                                                                        maxSegments);
+        try
+        {
+            newSegmentStore.start();
+        }
+        catch (IOException error)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.UNUSABLE_AUDIT_LOG_STORE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(super.connectorInstanceId,
+                                                                                                            directoryName,
+                                                                                                            error.getMessage());
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction(),
+                                                error);
+        }
+
+        segmentStore = newSegmentStore;
     }
 
 
@@ -163,6 +322,130 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (segmentStore != null)
+        {
+            /*
+             * Waits for the queued log records to be written.
+             */
+            segmentStore.stop();
+            segmentStore = null;
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * Validate the parameters of a query and retrieve the matching log records.
+     *
+     * @param severity severity to match, or null for any severity
+     * @param component component name to match, or null for any component
+     * @param startDate  start of time period, or null for the start of the log
+     * @param endDate  end of time period, or null for the end of the log
+     * @param offset  offset of full collection to begin the return results
+     * @param maximumRecords  maximum number of log records to return, or zero for no limit
+     * @param methodName calling method
+     * @return list of log records in time stamp order
+     * @throws InvalidParameterException the start date is after the end date.
+     * @throws PagingErrorException the offset or maximumRecords is negative.
+     */
+    private List<OMRSAuditLogRecord> findLogRecords(String severity,
+                                                    String component,
+                                                    Date   startDate,
+                                                    Date   endDate,
+                                                    int    offset,
+                                                    int    maximumRecords,
+                                                    String methodName) throws InvalidParameterException,
+                                                                              PagingErrorException
+    {
+        long startTime = Long.MIN_VALUE;
+        long endTime   = Long.MAX_VALUE;
+
+        if (startDate != null)
+        {
+            startTime = startDate.getTime();
+        }
+
+        if (endDate != null)
+        {
+            endTime = endDate.getTime();
+        }
+
+        if (startTime > endTime)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_LOG_RECORD_DATES;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(startDate.toString(),
+                                                                                                            endDate.toString(),
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_LOG_RECORD_PAGING;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(Integer.toString(offset),
+                                                                                                            Integer.toString(maximumRecords),
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new PagingErrorException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction());
+        }
+
+        if (segmentStore == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return segmentStore.find(startTime, endTime, severity, component, offset, maximumRecords);
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to read audit log records from " + directoryName, error);
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Throw an exception if a mandatory query value is null.
+     *
+     * @param value value supplied by the caller
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the value is null
+     */
+    private void validateQueryValue(String value,
+                                    String parameterName,
+                                    String methodName) throws InvalidParameterException
+    {
+        if (value == null)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.NULL_LOG_RECORD_QUERY_VALUE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(parameterName,
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+    }
 }
@@ -0,0 +1,351 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the storage and retrieval of audit log records by {@link FileBasedAuditLogStoreConnector}.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final int    recordCount = 200;
+    private static final long   baseTime    = 1500000000000L;
+
+    private File directory;
+
+
+    @BeforeMethod
+    public void createDirectory() throws Exception
+    {
+        directory = Files.createTempDirectory("auditlog").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory()
+    {
+        File[] files = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+
+    private FileBasedAuditLogStoreConnector getConnector() throws Exception
+    {
+        return this.getConnector(new HashMap<>());
+    }
+
+
+    private FileBasedAuditLogStoreConnector getConnector(Map<String, Object> configurationProperties) throws Exception
+    {
+        Connection          connection              = new Connection();
+        Endpoint            endpoint                = new Endpoint();
+
+        endpoint.setAddress(directory.getAbsolutePath());
+        connection.setEndpoint(endpoint);
+
+        /*
+         * Small segments so that the records are spread over several files.
+         */
+        configurationProperties.put("maxSegmentSize", 4096);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize("testAuditLog", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    private OMRSAuditLogRecord getLogRecord(int i)
+    {
+        OMRSAuditLogRecordOriginator   originator = new OMRSAuditLogRecordOriginator();
+        OMRSAuditLogReportingComponent component  = new OMRSAuditLogReportingComponent(i % 4,
+                                                                                       "Component" + (i % 4),
+                                                                                       "Test component",
+                                                                                       null);
+        List<String>                   additionalInformation = new ArrayList<>();
+
+        originator.setServerName("testServer");
+        additionalInformation.add("Line one\nLine two");
+
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord(originator,
+                                                              component,
+                                                              (i % 10 == 0) ? "Error" : "Information",
+                                                              "TEST-" + i,
+                                                              "Test message " + i,
+                                                              additionalInformation,
+                                                              null,
+                                                              null);
+
+        logRecord.setTimeStamp(new Date(baseTime + i));
+
+        return logRecord;
+    }
+
+
+    private List<String> storeLogRecords(FileBasedAuditLogStoreConnector connector) throws Exception
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            guids.add(connector.storeLogRecord(this.getLogRecord(i)));
+        }
+
+        return guids;
+    }
+
+
+    private int countFiles(String suffix)
+    {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(suffix));
+
+        assertNotNull(files);
+
+        return files.length;
+    }
+
+
+    private void checkQueries(FileBasedAuditLogStoreConnector connector,
+                              List<String>                    guids) throws Exception
+    {
+        OMRSAuditLogRecord logRecord = connector.getAuditLogRecord(guids.get(17));
+
+        assertNotNull(logRecord);
+        assertEquals(logRecord.getMessageId(), "TEST-17");
+        assertEquals(logRecord.getReportingComponent().getComponentName(), "Component1");
+        assertEquals(logRecord.getAdditionalInformation().get(0), "Line one\nLine two");
+
+        List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 50),
+                                                                                   new Date(baseTime + 149),
+                                                                                   10,
+                                                                                   20);
+        assertEquals(results.size(), 20);
+
+        for (int i = 0; i < 20; i++)
+        {
+            assertEquals(results.get(i).getMessageId(), "TEST-" + (60 + i));
+        }
+
+        results = connector.getAuditLogRecordsBySeverity("Error", null, null, 0, 0);
+
+        assertEquals(results.size(), recordCount / 10);
+
+        results = connector.getAuditLogRecordsByComponent("Component2", new Date(baseTime), null, 0, 0);
+
+        assertEquals(results.size(), recordCount / 4);
+
+        for (OMRSAuditLogRecord componentRecord : results)
+        {
+            assertEquals(componentRecord.getReportingComponent().getComponentName(), "Component2");
+        }
+
+        assertNull(connector.getAuditLogRecord("unknownGUID"));
+    }
+
+
+    @Test
+    public void testStoreAndQuery() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = this.getConnector();
+        List<String>                    guids     = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            guids.add(connector.storeLogRecord(this.getLogRecord(i)));
+        }
+
+        /*
+         * Records are retrievable straight away, whether or not the writer has reached them.
+         */
+        this.checkQueries(connector, guids);
+
+        connector.disconnect();
+
+        File[] segments = directory.listFiles();
+
+        assertNotNull(segments);
+        assertTrue(segments.length > 1);
+
+        /*
+         * A new connector rebuilds the index from the segment files.
+         */
+        connector = this.getConnector();
+
+        this.checkQueries(connector, guids);
+
+        guids.add(connector.storeLogRecord(this.getLogRecord(recordCount)));
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0).size(), recordCount + 1);
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testStoreWaitsForWriter() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("writeQueueSize", 1);
+
+        FileBasedAuditLogStoreConnector connector = this.getConnector(configurationProperties);
+        List<String>                    guids     = this.storeLogRecords(connector);
+
+        /*
+         * No record is refused even though the writer can only have one waiting.
+         */
+        for (String guid : guids)
+        {
+            assertNotNull(guid);
+        }
+
+        this.checkQueries(connector, guids);
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testSummariesLoadedAtStartup() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = this.getConnector();
+        List<String>                    guids     = this.storeLogRecords(connector);
+
+        connector.disconnect();
+
+        int segmentCount = this.countFiles(".log");
+
+        assertTrue(segmentCount > 1);
+        assertEquals(this.countFiles(".idx"), segmentCount);
+
+        connector = this.getConnector();
+        this.checkQueries(connector, guids);
+        connector.disconnect();
+
+        /*
+         * A segment without a usable summary is read in full and its summary is written again.
+         */
+        File[] summaries = directory.listFiles((dir, name) -> name.endsWith(".idx"));
+
+        assertNotNull(summaries);
+        assertTrue(summaries[0].delete());
+        Files.write(summaries[1].toPath(), new byte[] { 0, 0, 0, 1, 0 });
+
+        connector = this.getConnector();
+        this.checkQueries(connector, guids);
+        connector.disconnect();
+
+        assertEquals(this.countFiles(".idx"), this.countFiles(".log"));
+    }
+
+
+    @Test
+    public void testOldestSegmentsRemoved() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("maxSegments", 2);
+
+        FileBasedAuditLogStoreConnector connector = this.getConnector(configurationProperties);
+        List<String>                    guids     = this.storeLogRecords(connector);
+
+        connector.disconnect();
+
+        assertEquals(this.countFiles(".log"), 2);
+        assertEquals(this.countFiles(".idx"), 2);
+
+        connector = this.getConnector(configurationProperties);
+
+        assertNull(connector.getAuditLogRecord(guids.get(0)));
+        assertEquals(connector.getAuditLogRecord(guids.get(recordCount - 1)).getMessageId(), "TEST-" + (recordCount - 1));
+
+        List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+        assertTrue(results.size() < recordCount);
+        assertEquals(results.get(results.size() - 1).getMessageId(), "TEST-" + (recordCount - 1));
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testInvalidParameters() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = this.getConnector();
+
+        try
+        {
+            connector.storeLogRecord(null);
+            fail();
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            connector.getAuditLogRecord(null);
+            fail();
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 1), new Date(baseTime), 0, 0);
+            fail();
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsBySeverity("Error", null, null, -1, 0);
+            fail();
+        }
+        catch (PagingErrorException error)
+        {
+            // expected
+        }
+
+        connector.disconnect();
+    }
+}
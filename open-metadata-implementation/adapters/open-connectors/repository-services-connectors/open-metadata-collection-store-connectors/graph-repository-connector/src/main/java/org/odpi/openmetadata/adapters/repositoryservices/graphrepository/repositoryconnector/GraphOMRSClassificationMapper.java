@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
@@ -37,6 +36,8 @@ public class GraphOMRSClassificationMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSClassificationMapper.class);
 
+    private static final GraphOMRSPropertiesCodec propertiesCodec = new GraphOMRSPropertiesCodec();
+
     private String metadataCollectionId;
     private String repositoryName;
     private OMRSRepositoryHelper repositoryHelper;
@@ -100,13 +101,13 @@ public class GraphOMRSClassificationMapper {
         InstanceProperties classificationProperties = classification.getProperties();
         if (classificationProperties != null) {
 
-            // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
+            // First write the complete properties in binary form, replacing any JSON written by an earlier release
             try {
-                jsonString = objectMapper.writeValueAsString(classificationProperties);
-                log.debug("{} classification has serialized properties {}", methodName, jsonString);
-                vertex.property("classificationProperties", jsonString);
+                vertex.property(PROPERTY_KEY_CLASSIFICATION_PROPERTIES, propertiesCodec.encode(classificationProperties));
+                log.debug("{} classification has serialized properties {}", methodName, classificationProperties);
+                VertexProperty jsonProperty = vertex.property(PROPERTY_KEY_CLASSIFICATION_PROPERTIES_JSON);
+                if (jsonProperty != null)
+                    jsonProperty.remove();
             } catch (Throwable exc) {
                 log.error("{} Caught exception from classification mapper", methodName);
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.CLASSIFICATION_PROPERTIES_ERROR;
@@ -306,10 +307,9 @@ public class GraphOMRSClassificationMapper {
 
         List<String> maintainedByList = classification.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = propertiesCodec.encodeStringList(maintainedByList);
                 vertex.property(PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -356,13 +356,14 @@ public class GraphOMRSClassificationMapper {
 
         mapVertexToInstanceAuditHeader(vertex, classification);
 
-        // properties
-        String stringProps = (String) getVertexProperty(vertex, "classificationProperties");
+        // properties - vertices that have not been rewritten since an earlier release hold JSON rather than binary
+        byte[] encodedProps = (byte[]) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_PROPERTIES);
+        String stringProps = (encodedProps == null) ? (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_PROPERTIES_JSON) : null;
 
-        if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
+        if (encodedProps != null || stringProps != null) {
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = (encodedProps != null) ? propertiesCodec.decode(encodedProps)
+                                                                               : propertiesCodec.decodeJSON(stringProps);
                 log.debug("{} classification has deserialized properties {}", methodName, instanceProperties);
                 classification.setProperties(instanceProperties);
             } catch (Throwable exc) {
@@ -446,9 +447,8 @@ public class GraphOMRSClassificationMapper {
         // maintainedBy
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = propertiesCodec.decodeStringList(maintainedByString);
                 log.debug("{} vertex has deserialized maintainedBy list {}", methodName, maintainedByList);
                 classification.setMaintainedBy(maintainedByList);
 
@@ -218,6 +218,47 @@ public class GraphOMRSConstants {
 
 
 
+    /*
+     *  INSTANCE PROPERTIES
+     *
+     *  The complete instance properties of each entity, relationship and classification are held in one binary
+     *  property encoded by GraphOMRSPropertiesCodec. Graphs created by earlier releases hold them as JSON in the
+     *  legacy keys, which are read if the binary property is absent and removed when the instance is next written.
+     */
+
+    public static final String PROPERTY_KEY_ENTITY_PROPERTIES                    = "instancePropertiesBinary";
+    public static final String PROPERTY_KEY_RELATIONSHIP_PROPERTIES              = "relationshipPropertiesBinary";
+    public static final String PROPERTY_KEY_CLASSIFICATION_PROPERTIES            = "classificationPropertiesBinary";
+
+    public static final String PROPERTY_KEY_ENTITY_PROPERTIES_JSON               = "instanceProperties";
+    public static final String PROPERTY_KEY_RELATIONSHIP_PROPERTIES_JSON         = "relationshipProperties";
+    public static final String PROPERTY_KEY_CLASSIFICATION_PROPERTIES_JSON       = "classificationProperties";
+
+
+
+    /*
+     *  HISTORY
+     *
+     *  When history is enabled, each update or removal of an entity or relationship first saves the version being
+     *  replaced in a History vertex. The vertex records the period in which the version was current and holds the
+     *  complete instance in serialized form. The History vertices of an entity are chained by PreviousVersion edges,
+     *  starting from the entity's own vertex with the most recent. The History vertices of a relationship are chained
+     *  in the same way, starting from the most recent History vertex.
+     */
+
+    public static final String PROPERTY_KEY_PREFIX_HISTORY                       = "vh";
+
+    public static final String PROPERTY_NAME_VALID_FROM                          = "validFrom";
+    public static final String PROPERTY_NAME_VALID_TO                            = "validTo";
+    public static final String PROPERTY_NAME_INSTANCE                            = "instance";
+
+    public static final String PROPERTY_KEY_HISTORY_GUID                         = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_GUID;
+    public static final String PROPERTY_KEY_HISTORY_VALID_FROM                   = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_VALID_FROM;
+    public static final String PROPERTY_KEY_HISTORY_VALID_TO                     = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_VALID_TO;
+    public static final String PROPERTY_KEY_HISTORY_INSTANCE                     = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_INSTANCE;
+
+
+
     public enum ElementType {
         Vertex,
         Edge
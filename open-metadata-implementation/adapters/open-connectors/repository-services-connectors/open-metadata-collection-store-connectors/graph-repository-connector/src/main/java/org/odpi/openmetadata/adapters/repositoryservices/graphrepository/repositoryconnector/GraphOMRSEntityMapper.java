@@ -3,7 +3,6 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -30,7 +29,9 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorExceptio
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +44,8 @@ public class GraphOMRSEntityMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSEntityMapper.class);
 
+    private static final GraphOMRSPropertiesCodec propertiesCodec = new GraphOMRSPropertiesCodec();
+
     private String                          metadataCollectionId;
     private String                          repositoryName;
     private OMRSRepositoryHelper            repositoryHelper;
@@ -114,6 +117,30 @@ public class GraphOMRSEntityMapper {
         }
     }
 
+    /*
+     * Store the complete instance properties in their binary form, replacing any JSON written by an earlier release.
+     */
+    private void setInstanceProperties(Vertex vertex, InstanceProperties instanceProperties) throws IOException {
+        vertex.property(PROPERTY_KEY_ENTITY_PROPERTIES, propertiesCodec.encode(instanceProperties));
+        removeCoreProperty(vertex, PROPERTY_KEY_ENTITY_PROPERTIES_JSON);
+    }
+
+    /*
+     * Retrieve the instance properties stored on the vertex. Only the named properties are decoded - or all of them
+     * if propertyNames is null. Vertices that have not been rewritten since an earlier release hold JSON instead.
+     */
+    private InstanceProperties getInstanceProperties(Vertex vertex, Collection<String> propertyNames) throws IOException {
+        byte[] encodedProperties = (byte[]) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_PROPERTIES);
+        if (encodedProperties != null) {
+            return propertiesCodec.decode(encodedProperties, propertyNames);
+        }
+        String jsonProperties = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_PROPERTIES_JSON);
+        if (jsonProperties != null) {
+            return propertiesCodec.decodeJSON(jsonProperties);
+        }
+        return null;
+    }
+
 
 
 
@@ -132,13 +159,10 @@ public class GraphOMRSEntityMapper {
         InstanceProperties instanceProperties = entity.getProperties();
         if (instanceProperties != null) {
 
-            // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
+            // First write the complete properties in binary form - this is what is read back when the entity is retrieved
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
-                log.debug("{} entity has serialized properties {}", methodName, jsonString);
-                vertex.property("instanceProperties", jsonString);
+                setInstanceProperties(vertex, instanceProperties);
+                log.debug("{} entity has serialized properties {}", methodName, instanceProperties);
             } catch (Throwable exc) {
                 log.error("{} Caught exception from entity mapper", methodName);
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
@@ -198,13 +222,10 @@ public class GraphOMRSEntityMapper {
 
         InstanceProperties uniqueProperties = entity.getUniqueProperties();
         if (uniqueProperties != null) {
-            // First approach was to write properties as json - could be useful for text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
+            // First write the unique properties in binary form - this is what is read back when the proxy is retrieved
             try {
-                jsonString = objectMapper.writeValueAsString(uniqueProperties);
-                log.debug("{} entity proxy has serialized unique properties {}", methodName, jsonString);
-                vertex.property("instanceProperties", jsonString);
+                setInstanceProperties(vertex, uniqueProperties);
+                log.debug("{} entity proxy has serialized unique properties {}", methodName, uniqueProperties);
             } catch (Throwable exc) {
                 log.error("{} caught exception {}", methodName, exc.getMessage());
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
@@ -388,10 +409,9 @@ public class GraphOMRSEntityMapper {
         // can be indexed even on Relationships. Queries can use textRegex to search/retrieve.
         if (entity.getMaintainedBy() != null) {
             List<String> maintainers = entity.getMaintainedBy();
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainers);
+                jsonString = propertiesCodec.encodeStringList(maintainers);
                 log.debug("{} entity maintainedBy serialized to {}", methodName, jsonString);
                 vertex.property(PROPERTY_KEY_ENTITY_MAINTAINED_BY, jsonString);
             }
@@ -460,27 +480,24 @@ public class GraphOMRSEntityMapper {
         mapVertexToEntitySummary(vertex, entity);
 
         // properties
-        String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
-
-        if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+        try {
+            InstanceProperties instanceProperties = getInstanceProperties(vertex, null);
+            if (instanceProperties != null) {
                 log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
                 entity.setProperties(instanceProperties);
-            } catch (Throwable exc) {
-                log.error("{} caught exception {}", methodName, exc.getMessage());
-                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entity.getGUID(), methodName,
-                        this.getClass().getName(),
-                        repositoryName);
-                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
             }
+        } catch (Throwable exc) {
+            log.error("{} caught exception {}", methodName, exc.getMessage());
+            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entity.getGUID(), methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
         }
 
     }
@@ -520,36 +537,40 @@ public class GraphOMRSEntityMapper {
                     errorCode.getUserAction());
         }
 
-        // properties
-        String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
+        // properties - a proxy only carries the unique properties, so only those are decoded
+        try {
+            List<String> uniquePropertyNames = new ArrayList<>();
+            List<TypeDefAttribute> propertiesDefinition = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
 
-        if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+            if (propertiesDefinition != null)
+            {
+                for (TypeDefAttribute typeDefAttribute : propertiesDefinition)
+                {
+                    if ((typeDefAttribute != null) && (typeDefAttribute.isUnique()) && (typeDefAttribute.getAttributeName() != null))
+                    {
+                        uniquePropertyNames.add(typeDefAttribute.getAttributeName());
+                    }
+                }
+            }
+
+            if (uniquePropertyNames.isEmpty()) {
+                log.debug("{} entity type has no unique properties", methodName);
+                return;
+            }
+
+            InstanceProperties instanceProperties = getInstanceProperties(vertex, uniquePropertyNames);
+
+            if (instanceProperties != null) {
                 log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
-                List<TypeDefAttribute> propertiesDefinition = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
                 InstanceProperties uniqueAttributes = new InstanceProperties();
 
-                if (propertiesDefinition != null)
+                for (String propertyName : uniquePropertyNames)
                 {
-                    for (TypeDefAttribute typeDefAttribute : propertiesDefinition)
+                    InstancePropertyValue propertyValue = instanceProperties.getPropertyValue(propertyName);
+
+                    if (propertyValue != null)
                     {
-                        if (typeDefAttribute != null)
-                        {
-                            String propertyName = typeDefAttribute.getAttributeName();
-
-                            if ((typeDefAttribute.isUnique()) && (propertyName != null))
-                            {
-                                InstancePropertyValue propertyValue = instanceProperties.getPropertyValue(
-                                        propertyName);
-
-                                if (propertyValue != null)
-                                {
-                                    uniqueAttributes.setProperty(propertyName, propertyValue);
-                                }
-                            }
-                        }
+                        uniqueAttributes.setProperty(propertyName, propertyValue);
                     }
                 }
 
@@ -557,23 +578,23 @@ public class GraphOMRSEntityMapper {
                 {
                     entity.setUniqueProperties(uniqueAttributes);
                 }
-
-            } catch (Throwable exc) {
-                log.error("{} caught exception {}", methodName, exc.getMessage());
-                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entity.getGUID(), methodName,
-                        this.getClass().getName(),
-                        repositoryName);
-                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
             }
-        }
-        else {
-            log.debug("{} vertex has no instance properties {}", methodName);
+            else {
+                log.debug("{} vertex has no instance properties", methodName);
+            }
+
+        } catch (Throwable exc) {
+            log.error("{} caught exception {}", methodName, exc.getMessage());
+            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entity.getGUID(), methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
         }
 
     }
@@ -637,9 +658,8 @@ public class GraphOMRSEntityMapper {
 
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = propertiesCodec.decodeStringList(maintainedByString);
                 log.debug("{} entity has deserialized maintainBy {}", methodName, maintainedByList);
                 entity.setMaintainedBy(maintainedByList);
             } catch (Throwable exc) {
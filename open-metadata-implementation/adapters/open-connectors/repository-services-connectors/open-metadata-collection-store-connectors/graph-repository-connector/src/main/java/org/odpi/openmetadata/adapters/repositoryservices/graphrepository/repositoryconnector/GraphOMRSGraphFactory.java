@@ -26,6 +26,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
@@ -51,12 +52,48 @@ public class GraphOMRSGraphFactory {
         String
     }
 
+    /*
+     * The root namespaces of the JanusGraph configuration options. Connector configuration properties with names
+     * in these namespaces are passed through to JanusGraph.
+     */
+    private static final String[] janusGraphConfigurationNamespaces = {
+            "storage.", "cache.", "ids.", "index.", "query.", "schema.", "graph.",
+            "tx.", "metrics.", "attributes.", "log.", "computer.", "cluster."
+    };
+
+    private static final String STORAGE_BACKEND_KEY       = "storage.backend";
+    private static final String STORAGE_DIRECTORY_KEY     = "storage.directory";
+    private static final String INDEX_BACKEND_KEY         = "index." + INDEX_NAME + ".backend";
+    private static final String INDEX_DIRECTORY_KEY       = "index." + INDEX_NAME + ".directory";
+    private static final String STORAGE_BATCH_LOADING_KEY = "storage.batch-loading";
+    private static final String DEFAULT_STORAGE_BACKEND   = "berkeleyje";
+    private static final String DEFAULT_INDEX_BACKEND     = "lucene";
+    private static final String INMEMORY_STORAGE_BACKEND  = "inmemory";
+
+
     public static JanusGraph open(String       metadataCollectionId,
                                   String       repositoryName,
                                   OMRSAuditLog auditLog)
             throws
             RepositoryErrorException
     {
+        return open(metadataCollectionId, repositoryName, auditLog, null);
+    }
+
+
+    /*
+     * Open the graph database for the repository. The storage and index backends default to an embedded berkeleyje
+     * store and lucene index under ./<repositoryName>-graph-repository. Any of the supplied configuration properties
+     * that are JanusGraph settings (such as cache.db-cache, cache.db-cache-size, ids.block-size, storage.buffer-size or
+     * storage.backend) override or extend these defaults.
+     */
+    public static JanusGraph open(String              metadataCollectionId,
+                                  String              repositoryName,
+                                  OMRSAuditLog        auditLog,
+                                  Map<String, Object> configurationProperties)
+            throws
+            RepositoryErrorException
+    {
 
         final String methodName = "open";
 
@@ -69,24 +106,22 @@ public class GraphOMRSGraphFactory {
         // Use the JGF.Builder and construct the configuration in-line.
         // There is no synch yet on this.
 
-        // Run with a Lucene indexing backend for now - if you pull in ES you need to use JG-server
+        // Run with a Lucene indexing backend by default - if you pull in ES you need to use JG-server
         // or start your own ES cluster. If/when you pull the janusgraph-es module into the build
         // you will need to configure the component-scan otherwise Spring boot tries to autoconfigure a
         // REST client which fails (on HttpHost).
 
-        final String serverRepositoryPath = repositoryName + "-graph-repository";
+        Map<String, Object> graphConfiguration = getGraphConfiguration(repositoryName, configurationProperties);
 
-        final String storageBackend = "berkeleyje";
-        final String storagePath = "./"+serverRepositoryPath+"/berkeley";
+        final String storagePath = graphConfiguration.containsKey(STORAGE_DIRECTORY_KEY) ?
+                graphConfiguration.get(STORAGE_DIRECTORY_KEY).toString() : graphConfiguration.get(STORAGE_BACKEND_KEY).toString();
 
-        final String indexBackend = "lucene";
-        final String indexPath = "./"+serverRepositoryPath+"/searchindex";
+        JanusGraphFactory.Builder config = JanusGraphFactory.build();
 
-        JanusGraphFactory.Builder config = JanusGraphFactory.build().
-                set("storage.backend", storageBackend).
-                set("storage.directory", storagePath).
-                set("index.search.backend", indexBackend).
-                set("index.search.directory", indexPath);
+        for (String settingName : graphConfiguration.keySet()) {
+            log.debug("{} graph setting {} = {}", methodName, settingName, graphConfiguration.get(settingName));
+            config = config.set(settingName, graphConfiguration.get(settingName));
+        }
 
         try {
 
@@ -258,6 +293,72 @@ public class GraphOMRSGraphFactory {
 
 
 
+    /*
+     * Build the JanusGraph settings for the repository from the defaults and the JanusGraph settings in the
+     * connector's configuration properties. The default directories are only used with the default backends -
+     * the inmemory storage backend and remote index backends do not use a directory.
+     */
+    static Map<String, Object> getGraphConfiguration(String              repositoryName,
+                                                     Map<String, Object> configurationProperties)
+    {
+        final String serverRepositoryPath = repositoryName + "-graph-repository";
+
+        Map<String, Object> graphConfiguration = new LinkedHashMap<>();
+        Map<String, Object> suppliedSettings   = new HashMap<>();
+
+        if (configurationProperties != null) {
+            for (String propertyName : configurationProperties.keySet()) {
+                Object propertyValue = configurationProperties.get(propertyName);
+
+                if ((propertyName != null) && (propertyValue != null) && isJanusGraphSetting(propertyName)) {
+                    suppliedSettings.put(propertyName, propertyValue);
+                }
+            }
+        }
+
+        String storageBackend = suppliedSettings.getOrDefault(STORAGE_BACKEND_KEY, DEFAULT_STORAGE_BACKEND).toString();
+        String indexBackend   = suppliedSettings.getOrDefault(INDEX_BACKEND_KEY, DEFAULT_INDEX_BACKEND).toString();
+
+        graphConfiguration.put(STORAGE_BACKEND_KEY, storageBackend);
+        if (!INMEMORY_STORAGE_BACKEND.equals(storageBackend)) {
+            graphConfiguration.put(STORAGE_DIRECTORY_KEY, "./" + serverRepositoryPath + "/berkeley");
+        }
+
+        graphConfiguration.put(INDEX_BACKEND_KEY, indexBackend);
+        if (DEFAULT_INDEX_BACKEND.equals(indexBackend)) {
+            graphConfiguration.put(INDEX_DIRECTORY_KEY, "./" + serverRepositoryPath + "/searchindex");
+        }
+
+        /*
+         * JanusGraph disables automatic schema creation when batch loading is enabled. The property keys of the
+         * control vertex and of the type-defined attributes are created automatically, so batch loading cannot be used.
+         */
+        if (suppliedSettings.remove(STORAGE_BATCH_LOADING_KEY) != null) {
+            log.warn("Graph setting {} for repository {} is ignored because the graph repository relies on automatic schema creation",
+                     STORAGE_BATCH_LOADING_KEY, repositoryName);
+        }
+
+        graphConfiguration.putAll(suppliedSettings);
+
+        return graphConfiguration;
+    }
+
+
+    /*
+     * Return true if the property name is in one of the JanusGraph configuration namespaces.
+     */
+    private static boolean isJanusGraphSetting(String propertyName)
+    {
+        for (String namespace : janusGraphConfigurationNamespaces) {
+            if (propertyName.startsWith(namespace)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
     // This method is idempotent.
     private static void initialize(JanusGraph graph)
         throws
@@ -288,6 +389,11 @@ public class GraphOMRSGraphFactory {
                 management.makeEdgeLabel("Relationship").make();
             if (management.getEdgeLabel("Classifier") == null)
                 management.makeEdgeLabel("Classifier").make();
+            // Superseded versions of entities and relationships are kept in History vertices, chained by PreviousVersion edges
+            if (management.getVertexLabel("History") == null)
+                management.makeVertexLabel("History").make();
+            if (management.getEdgeLabel("PreviousVersion") == null)
+                management.makeEdgeLabel("PreviousVersion").make();
             management.commit();
 
             /*
@@ -390,6 +496,17 @@ public class GraphOMRSGraphFactory {
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_INSTANCE_LICENSE,         PROPERTY_KEY_CLASSIFICATION_INSTANCE_LICENSE);
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_REPLICATED_BY,            PROPERTY_KEY_CLASSIFICATION_REPLICATED_BY);
 
+            /*
+             *  History indexes
+             */
+
+            // A History vertex is found by the guid of the instance it is a version of, and is pruned by the time
+            // at which it stopped being current - which needs a range query and hence a mixed index:
+
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_GUID,                     PROPERTY_KEY_HISTORY_GUID, false);
+
+            createMixedIndexForVertexProperty(PROPERTY_NAME_VALID_TO,                     PROPERTY_KEY_HISTORY_VALID_TO, "java.util.Date", MixedIndexMapping.Default);
+
         }
         catch (Exception e) {
 
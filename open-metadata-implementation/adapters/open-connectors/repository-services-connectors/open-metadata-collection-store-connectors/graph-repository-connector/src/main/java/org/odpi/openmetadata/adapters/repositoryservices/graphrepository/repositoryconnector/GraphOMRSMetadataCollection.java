@@ -31,12 +31,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * The GraphOMRSMetadataCollection provides a local open metadata repository that uses a graph store as its
- * persistence layer.
+ * persistence layer.  When the graph store keeps the history of versions, an entity or relationship can be
+ * retrieved by its GUID as it was at an earlier time.  Searches as of an earlier time are not supported.
  */
 public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollectionBase
 {
@@ -81,8 +84,16 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         this.auditLog = auditLog;
 
+        /*
+         * The configuration properties of the connection may contain JanusGraph settings for the graph database.
+         */
+        Map<String, Object> configurationProperties = null;
+        if ((parentConnector != null) && (parentConnector.getConnection() != null)) {
+            configurationProperties = parentConnector.getConnection().getConfigurationProperties();
+        }
+
         try {
-            this.graphStore = new GraphOMRSMetadataStore(metadataCollectionId, repositoryName, repositoryHelper, auditLog);
+            this.graphStore = new GraphOMRSMetadataStore(metadataCollectionId, repositoryName, repositoryHelper, auditLog, configurationProperties);
         }
         catch(RepositoryErrorException e) {
             log.error("{} could not create graph metadata collection for repository name {}", methodName, repositoryName);
@@ -91,6 +102,17 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    /**
+     * Shut down the graph store.  This is called when the connector is disconnected.
+     */
+    void shutdown()
+    {
+        if (graphStore != null) {
+            graphStore.shutdown();
+        }
+    }
+
+
     // verifyTypeDef will always return result from superclass because all knowledge of types is delegated to the RCM.
     public boolean verifyTypeDef(String  userId,
                                  TypeDef typeDef)
@@ -386,6 +408,88 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getEntityDetail as of an earlier time - only available when the graph store keeps the history of versions
+    public EntityDetail getEntityDetail(String     userId,
+                                        String     guid,
+                                        Date       asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            EntityProxyOnlyException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetail";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceParameterValidation(userId, guid, asOfTime, methodName);
+
+        if (asOfTime == null) {
+            return this.getEntityDetail(userId, guid);
+        }
+
+        if (!graphStore.isHistoryEnabled()) {
+            log.error("{} does not support asOfTime without history enabled", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        /*
+         * Perform operation
+         */
+
+        EntityDetail entity = graphStore.getEntityDetailFromStore(guid, asOfTime);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, guid, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        return entity;
+    }
+
+
+    // getEntityDetails
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation - the entities are retrieved in a single traversal of the graph
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        if (! guids.isEmpty())
+        {
+            for (EntityDetail entity : graphStore.getEntityDetailsFromStore(guids))
+            {
+                if (entity.getStatus() != InstanceStatus.DELETED)
+                {
+                    results.add(entity);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     // addRelationship
     public Relationship addRelationship(String               userId,
                                         String               relationshipTypeGUID,
@@ -570,6 +674,86 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getRelationship as of an earlier time - only available when the graph store keeps the history of versions
+    public Relationship getRelationship(String    userId,
+                                        String    guid,
+                                        Date      asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            RelationshipNotKnownException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationship";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceParameterValidation(userId, guid, asOfTime, methodName);
+
+        if (asOfTime == null) {
+            return this.getRelationship(userId, guid);
+        }
+
+        if (!graphStore.isHistoryEnabled()) {
+            log.error("{} does not support asOfTime without history enabled", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        /*
+         * Process operation
+         */
+        Relationship  relationship = graphStore.getRelationshipFromStore(guid, asOfTime);
+
+        repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
+        repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
+
+        return relationship;
+    }
+
+
+    // getRelationships
+    public List<Relationship> getRelationships(String        userId,
+                                               List<String>  guids)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Process operation - the relationships are retrieved in a single traversal of the graph
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        if (! guids.isEmpty())
+        {
+            for (Relationship relationship : graphStore.getRelationshipsFromStore(guids))
+            {
+                if (relationship.getStatus() != InstanceStatus.DELETED)
+                {
+                    results.add(relationship);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     // updateEntityStatus
     public EntityDetail updateEntityStatus(String           userId,
                                            String           entityGUID,
@@ -1236,15 +1420,15 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
          * Perform operation
          */
 
-        ArrayList<EntityDetail> returnEntities = null;
-
-
         String specifiedTypeName = null;
         if (entityTypeGUID != null) {
             TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, entityTypeGUIDParameterName, entityTypeGUID, methodName);
             specifiedTypeName = typeDef.getName();
         }
 
+        // The entities of the specified type and all of its sub-types are searched in a single traversal.
+        Map<String, InstanceProperties> matchPropertiesByType = new HashMap<>();
+
         TypeDefGallery activeTypes = repositoryHelper.getActiveTypeDefGallery();
         List<TypeDef> allTypeDefs = activeTypes.getTypeDefs();
 
@@ -1265,41 +1449,21 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
                 }
 
-                // Invoke a type specific search. The search will expect the regexp to match fully to the value.
-                List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesByProperty(actualTypeName, matchProperties, matchCriteria, true);
-
-                if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty()) {
-                    if (returnEntities == null) {
-                        returnEntities = new ArrayList<>();
-                    }
-                    log.info("{}: for type {} found {} entities", methodName, typeDef.getName(), entitiesForCurrentType.size());
-                    returnEntities.addAll(entitiesForCurrentType);
-                } else {
-                    log.info("{}: for type {} found no entities", methodName, typeDef.getName());
-                }
-
+                matchPropertiesByType.put(actualTypeName, matchProperties);
             }
         }
 
-        // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-        if (returnEntities == null) {
-            return null;
-        }
-        else {
-            List<EntityDetail> retainedEntities = new ArrayList<>();
-            for (EntityDetail entity : returnEntities) {
-                if (entity != null) {
-                    if ((entity.getStatus() != InstanceStatus.DELETED)
-                            && (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity))) {
-
-                        retainedEntities.add(entity);
-                    }
-                }
-            }
-
-            return repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
-        }
+        // The search will expect the regexp to match fully to the value. Soft deleted entities are eliminated and any
+        // status and classification filtering, sequencing and paging is applied by the graph store.
+        return graphStore.findEntitiesByProperty(matchPropertiesByType,
+                                                 matchCriteria,
+                                                 true,
+                                                 limitResultsByStatus,
+                                                 limitResultsByClassification,
+                                                 fromEntityElement,
+                                                 sequencingProperty,
+                                                 sequencingOrder,
+                                                 pageSize);
     }
 
 
@@ -1519,8 +1683,6 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
          * Perform operation
          */
 
-        List<EntityDetail> returnEntities = null;
-
         // Include subtypes
 
         String specifiedTypeName = null;
@@ -1529,6 +1691,10 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             specifiedTypeName = typeDef.getName();
         }
 
+        // The entities of the specified type and all of its sub-types are searched in a single traversal, using
+        // match properties built from the string properties of each type.
+        Map<String, InstanceProperties> matchPropertiesByType = new HashMap<>();
+
         TypeDefGallery activeTypes = repositoryHelper.getActiveTypeDefGallery();
         List<TypeDef> allTypeDefs = activeTypes.getTypeDefs();
 
@@ -1551,43 +1717,21 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
                 InstanceProperties matchProperties = graphStore.constructMatchPropertiesForSearchCriteria(typeDef, searchCriteria, GraphOMRSConstants.ElementType.Vertex);
 
-
-                // Do not tolerate substring matches - instead always the regex must match the whole value - i.e. set fullMatch parameter to true.
-                List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesByProperty(actualTypeName, matchProperties, MatchCriteria.ANY, true);
-
-
-                if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty()) {
-                    if (returnEntities == null) {
-                        returnEntities = new ArrayList<>();
-                    }
-                    log.info("{}: for type {} found {} entities", methodName, typeDef.getName(), entitiesForCurrentType.size());
-                    returnEntities.addAll(entitiesForCurrentType);
-                } else {
-                    log.info("{}: for type {} found no entities", methodName, typeDef.getName());
-                }
-
+                matchPropertiesByType.put(actualTypeName, matchProperties);
             }
         }
 
-        // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-        if (returnEntities ==  null) {
-            return null;
-        }
-        else {
-            List<EntityDetail> retainedEntities = new ArrayList<>();
-            for (EntityDetail entity : returnEntities) {
-                if (entity != null) {
-                    if ((entity.getStatus() != InstanceStatus.DELETED)
-                            && (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity))) {
-
-                        retainedEntities.add(entity);
-                    }
-                }
-            }
-
-            return repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
-        }
+        // Do not tolerate substring matches - instead always the regex must match the whole value - i.e. set fullMatch parameter to true.
+        // Soft deleted entities are eliminated and any status and classification filtering, sequencing and paging is applied by the graph store.
+        return graphStore.findEntitiesByProperty(matchPropertiesByType,
+                                                 MatchCriteria.ANY,
+                                                 true,
+                                                 limitResultsByStatus,
+                                                 limitResultsByClassification,
+                                                 fromEntityElement,
+                                                 sequencingProperty,
+                                                 sequencingOrder,
+                                                 pageSize);
     }
 
 
@@ -2871,6 +3015,70 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    /**
+     * Save the entities and relationships supplied in the instance graph as reference copies. The instances
+     * are validated individually and then saved to the graph in bulk, committing after every bulkCommitSize
+     * instances rather than after each one. Any instances from the local metadata collection are ignored.
+     *
+     * @param userId unique identifier for requesting server.
+     * @param instances instances to save.
+     * @throws InvalidParameterException an instance is invalid or conflicts with a stored instance.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String  methodName                = "saveInstanceReferenceCopies";
+        final String  entityParameterName       = "entity";
+        final String  relationshipParameterName = "relationship";
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Validate parameters, skipping any instance that has the local home metadata collection id.
+         */
+        List<EntityDetail> entities = new ArrayList<>();
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, entity, entityParameterName, methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, relationship, relationshipParameterName, methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        /*
+         * Save entities and relationships
+         */
+        graphStore.saveInstanceReferenceCopiesToStore(entities, relationships);
+    }
+
+
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
                                                String   typeDefGUID,
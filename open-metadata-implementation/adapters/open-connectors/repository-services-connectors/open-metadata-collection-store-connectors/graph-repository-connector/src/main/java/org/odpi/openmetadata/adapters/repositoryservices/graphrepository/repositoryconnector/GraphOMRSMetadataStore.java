@@ -3,23 +3,33 @@
 
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.janusgraph.core.attribute.Text;
+import org.janusgraph.diskstorage.TemporaryBackendException;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
@@ -37,6 +47,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PropertyErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 
@@ -54,6 +66,7 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -62,16 +75,51 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * The store is called concurrently. Each thread works in its own JanusGraph transaction (the graph's thread-bound
+ * transaction, or a transaction built for a bulk save), so reads are not serialized. A write whose transaction
+ * cannot commit because of a conflicting concurrent update is rolled back and attempted again.
+ *
+ * If history is enabled in the configuration properties, each update or removal of an entity or relationship first
+ * saves the version that is being replaced in a History vertex, so that the instance can be retrieved by its GUID as
+ * it was at an earlier time. Searches as of an earlier time are not supported. Versions older than the retention
+ * period are pruned by a background thread, which is stopped when the store is shut down.
  */
 class GraphOMRSMetadataStore {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSMetadataStore.class);
 
+    // Configuration property that sets how many instances a bulk save writes between commits.
+    static final String BULK_COMMIT_SIZE_PROPERTY = "bulkCommitSize";
+    static final int    DEFAULT_BULK_COMMIT_SIZE  = 1000;
+
+    // Configuration properties that turn on the history of entity and relationship versions and set how many days
+    // a superseded version is kept for. Without a retention period the history is kept indefinitely.
+    static final String HISTORY_ENABLED_PROPERTY        = "historyEnabled";
+    static final String HISTORY_RETENTION_DAYS_PROPERTY = "historyRetentionDays";
+
+    // How often expired history is pruned, how many History vertices are removed in each transaction, and how long
+    // shutdown waits for a prune in progress.
+    private static final long HISTORY_PRUNE_INTERVAL_MINUTES = 60;
+    private static final int  HISTORY_PRUNE_BATCH_SIZE       = 1000;
+    private static final long HISTORY_PRUNE_SHUTDOWN_SECONDS = 10;
+
+    // Serializes the versions saved in History vertices.
+    private static final ObjectMapper historyMapper = new ObjectMapper();
+
+    // How many times a write is attempted when it conflicts with a concurrent update, and the delay between attempts.
+    private static final int  MAX_WRITE_ATTEMPTS        = 3;
+    private static final long WRITE_RETRY_DELAY_MILLIS  = 20;
+
     private String               repositoryName;
     private String               metadataCollectionId;
     private String               metadataCollectionName = null;
@@ -83,6 +131,10 @@ class GraphOMRSMetadataStore {
     private GraphOMRSRelationshipMapper relationshipMapper;
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
+    private int                           bulkCommitSize = DEFAULT_BULK_COMMIT_SIZE;
+    private boolean                       historyEnabled = false;
+    private long                          historyRetentionMillis = 0;
+    private ScheduledExecutorService      historyPruner = null;
 
 
     /**
@@ -95,6 +147,22 @@ class GraphOMRSMetadataStore {
         throws
             RepositoryErrorException
     {
+        this(metadataCollectionId, repositoryName, repositoryHelper, auditLog, null);
+    }
+
+
+    /**
+     * Constructor with the configuration properties of the repository connector. Any JanusGraph settings in the
+     * configuration properties are used when opening the graph database.
+     */
+    public GraphOMRSMetadataStore(String               metadataCollectionId,
+                                  String               repositoryName,
+                                  OMRSRepositoryHelper repositoryHelper,
+                                  OMRSAuditLog         auditLog,
+                                  Map<String, Object>  configurationProperties)
+        throws
+            RepositoryErrorException
+    {
 
         final String methodName = "GraphOMRSMetadataStore";
 
@@ -105,7 +173,7 @@ class GraphOMRSMetadataStore {
 
         try {
             synchronized (GraphOMRSMetadataStore.class) {
-                instanceGraph = GraphOMRSGraphFactory.open(metadataCollectionId, repositoryName, auditLog);
+                instanceGraph = GraphOMRSGraphFactory.open(metadataCollectionId, repositoryName, auditLog, configurationProperties);
             }
         }
         catch (RepositoryErrorException e) {
@@ -117,6 +185,282 @@ class GraphOMRSMetadataStore {
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
 
+        if (configurationProperties != null) {
+            Object commitSize = configurationProperties.get(BULK_COMMIT_SIZE_PROPERTY);
+            if ((commitSize instanceof Integer) && ((Integer) commitSize > 0)) {
+                this.bulkCommitSize = (Integer) commitSize;
+            }
+
+            Object enableHistory = configurationProperties.get(HISTORY_ENABLED_PROPERTY);
+            if (enableHistory instanceof Boolean) {
+                this.historyEnabled = (Boolean) enableHistory;
+            }
+
+            Object retentionDays = configurationProperties.get(HISTORY_RETENTION_DAYS_PROPERTY);
+            if ((retentionDays instanceof Integer) && ((Integer) retentionDays > 0)) {
+                this.historyRetentionMillis = TimeUnit.DAYS.toMillis((Integer) retentionDays);
+            }
+        }
+        log.debug("{} bulk commit size is {}", methodName, bulkCommitSize);
+        log.debug("{} history enabled {} with retention of {} ms", methodName, historyEnabled, historyRetentionMillis);
+
+        if (historyEnabled && historyRetentionMillis > 0) {
+            historyPruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "GraphOMRSHistoryPruner-" + repositoryName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            historyPruner.scheduleWithFixedDelay(this::pruneHistory,
+                                                 HISTORY_PRUNE_INTERVAL_MINUTES,
+                                                 HISTORY_PRUNE_INTERVAL_MINUTES,
+                                                 TimeUnit.MINUTES);
+        }
+
+    }
+
+
+    /*
+     * Called when a write fails with a JanusGraphException. If the failure was caused by a conflicting concurrent
+     * update (a lock that could not be acquired, or a temporary failure of the storage backend) and the write has
+     * not used all of its attempts, the transaction of this thread is rolled back and the method waits before
+     * returning so that the caller can attempt the write again. Otherwise the exception is rethrown.
+     */
+    private void prepareToRetryWrite(String               methodName,
+                                     int                  attempt,
+                                     JanusGraphException  error)
+    {
+        if ((attempt >= MAX_WRITE_ATTEMPTS) || (!isWriteConflict(error))) {
+            throw error;
+        }
+
+        log.debug("{} write conflicted with a concurrent update on attempt {}: {}", methodName, attempt, error.getMessage());
+
+        if (instanceGraph.tx().isOpen()) {
+            instanceGraph.tx().rollback();
+        }
+
+        try {
+            Thread.sleep(WRITE_RETRY_DELAY_MILLIS * attempt + ThreadLocalRandom.current().nextLong(WRITE_RETRY_DELAY_MILLIS));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+
+
+    private boolean isWriteConflict(Throwable error)
+    {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if ((cause instanceof TemporaryBackendException) || (cause instanceof PermanentLockingException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Return whether superseded versions of entities and relationships are kept, so that they can be retrieved
+     * as of an earlier time.
+     *
+     * @return true if history is enabled
+     */
+    boolean isHistoryEnabled()
+    {
+        return historyEnabled;
+    }
+
+
+    /*
+     * Return the time from which a version of an instance was current.
+     */
+    private Date getValidFrom(InstanceAuditHeader instance)
+    {
+        if (instance.getUpdateTime() != null) {
+            return instance.getUpdateTime();
+        }
+        if (instance.getCreateTime() != null) {
+            return instance.getCreateTime();
+        }
+        return new Date(0);
+    }
+
+
+    /*
+     * Return the time at which the current version of an instance is superseded by the new version.
+     */
+    private Date getSupersededTime(InstanceAuditHeader newVersion)
+    {
+        if (newVersion.getUpdateTime() != null) {
+            return newVersion.getUpdateTime();
+        }
+        return new Date();
+    }
+
+
+    /*
+     * Add a History vertex that holds a superseded version of an instance.
+     */
+    private Vertex addHistoryVertex(GraphTraversalSource  g,
+                                    InstanceAuditHeader   previousVersion,
+                                    String                guid,
+                                    Date                  validTo)
+        throws
+            IOException
+    {
+        return g.addV("History")
+                .property(PROPERTY_KEY_HISTORY_GUID, guid)
+                .property(PROPERTY_KEY_HISTORY_VALID_FROM, getValidFrom(previousVersion))
+                .property(PROPERTY_KEY_HISTORY_VALID_TO, validTo)
+                .property(PROPERTY_KEY_HISTORY_INSTANCE, historyMapper.writeValueAsString(previousVersion))
+                .next();
+    }
+
+
+    /*
+     * Save the version of the entity held in the vertex, which is about to be replaced, as the most recent of the
+     * entity's History vertices. The version was current from its last update until validTo.
+     */
+    private void addEntityVersionToHistory(GraphTraversalSource g,
+                                           Vertex               vertex,
+                                           Date                 validTo)
+        throws
+            Exception
+    {
+        EntityDetail previousVersion = new EntityDetail();
+        entityMapper.mapVertexToEntityDetail(vertex, previousVersion);
+
+        Vertex historyVertex = addHistoryVertex(g, previousVersion, previousVersion.getGUID(), validTo);
+
+        // Insert the new History vertex at the head of the chain of versions
+        Iterator<Edge> latestVersionEdges = vertex.edges(Direction.OUT, "PreviousVersion");
+        if (latestVersionEdges.hasNext()) {
+            Edge latestVersionEdge = latestVersionEdges.next();
+            historyVertex.addEdge("PreviousVersion", latestVersionEdge.inVertex());
+            latestVersionEdge.remove();
+        }
+        vertex.addEdge("PreviousVersion", historyVertex);
+    }
+
+
+    /*
+     * Save the version of the relationship held in the edge, which is about to be replaced, as the most recent of the
+     * relationship's History vertices. An edge cannot be linked to a vertex, so the chain of versions of a relationship
+     * starts from its most recent History vertex, which is found through the index on the instance guid.
+     */
+    private void addRelationshipVersionToHistory(GraphTraversalSource g,
+                                                 Edge                 edge,
+                                                 Date                 validTo)
+        throws
+            Exception
+    {
+        Relationship previousVersion = new Relationship();
+        relationshipMapper.mapEdgeToRelationship(edge, previousVersion);
+
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityMapper.mapVertexToEntityProxy(edge.outVertex(), entityOneProxy);
+        previousVersion.setEntityOneProxy(entityOneProxy);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityMapper.mapVertexToEntityProxy(edge.inVertex(), entityTwoProxy);
+        previousVersion.setEntityTwoProxy(entityTwoProxy);
+
+        Iterator<Vertex> latestVersions = g.V().has(PROPERTY_KEY_HISTORY_GUID, previousVersion.getGUID())
+                                               .hasLabel("History")
+                                               .order().by(PROPERTY_KEY_HISTORY_VALID_TO, Order.desc)
+                                               .limit(1);
+
+        Vertex historyVertex = addHistoryVertex(g, previousVersion, previousVersion.getGUID(), validTo);
+
+        // Link the new History vertex to the version it replaced at the head of the chain
+        if (latestVersions.hasNext()) {
+            historyVertex.addEdge("PreviousVersion", latestVersions.next());
+        }
+    }
+
+
+    /*
+     * Return the serialized version of the instance that was current at asOfTime, or null if there is none in the
+     * history. The History vertices are found through the index on the instance guid.
+     */
+    private String getHistoricalVersion(GraphTraversalSource g,
+                                        String               guid,
+                                        Date                 asOfTime)
+    {
+        Iterator<Vertex> versions = g.V().has(PROPERTY_KEY_HISTORY_GUID, guid)
+                                         .hasLabel("History")
+                                         .has(PROPERTY_KEY_HISTORY_VALID_FROM, P.lte(asOfTime))
+                                         .has(PROPERTY_KEY_HISTORY_VALID_TO, P.gt(asOfTime));
+        if (versions.hasNext()) {
+            return (String) versions.next().property(PROPERTY_KEY_HISTORY_INSTANCE).value();
+        }
+        return null;
+    }
+
+
+    /**
+     * Remove the History vertices of versions that were superseded before the retention period. This is called
+     * periodically by the history pruner thread.
+     */
+    void pruneHistory()
+    {
+        final String methodName = "pruneHistory";
+
+        Date cutoffTime = new Date(System.currentTimeMillis() - historyRetentionMillis);
+        int  prunedCount = 0;
+
+        try {
+            List<Vertex> expiredVersions;
+            do {
+                GraphTraversalSource g = instanceGraph.traversal();
+                expiredVersions = g.V().has(PROPERTY_KEY_HISTORY_VALID_TO, P.lt(cutoffTime))
+                                       .hasLabel("History")
+                                       .limit(HISTORY_PRUNE_BATCH_SIZE)
+                                       .toList();
+                for (Vertex expiredVersion : expiredVersions) {
+                    expiredVersion.remove();
+                }
+                g.tx().commit();
+                prunedCount = prunedCount + expiredVersions.size();
+            } while (expiredVersions.size() == HISTORY_PRUNE_BATCH_SIZE);
+
+            log.debug("{} removed {} versions superseded before {}", methodName, prunedCount, cutoffTime);
+        }
+        catch (Exception e) {
+            log.error("{} could not prune history after removing {} versions: {}", methodName, prunedCount, e.getMessage());
+            if (instanceGraph.tx().isOpen()) {
+                instanceGraph.tx().rollback();
+            }
+        }
+    }
+
+
+    /**
+     * Stop the history pruner and close the graph database. The store cannot be used afterwards.
+     */
+    void shutdown()
+    {
+        final String methodName = "shutdown";
+
+        if (historyPruner != null) {
+            historyPruner.shutdownNow();
+            try {
+                // A prune that is in progress is allowed to finish its transaction before the graph is closed
+                if (!historyPruner.awaitTermination(HISTORY_PRUNE_SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+                    log.error("{} history pruner did not stop within {} seconds", methodName, HISTORY_PRUNE_SHUTDOWN_SECONDS);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            historyPruner = null;
+        }
+
+        if (instanceGraph.isOpen()) {
+            instanceGraph.close();
+        }
+        log.debug("{} graph store for repository {} shut down", methodName, repositoryName);
     }
 
 
@@ -126,12 +470,12 @@ class GraphOMRSMetadataStore {
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    private EntityDetail createEntityInGraph(EntityDetail entity)
             throws
             RepositoryErrorException,
             InvalidParameterException
     {
-        final String methodName = "createEntityInStore";
+        final String methodName = "createEntityInGraph";
 
         Vertex vertex;
 
@@ -236,18 +580,36 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
+
+    EntityDetail createEntityInStore(EntityDetail entity)
+        throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        final String methodName = "createEntityInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return createEntityInGraph(entity);
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
     // A note on existence checking:
     // The MDC has already checked that there is not already an entity or entity proxy wth the same GUID.
     // So create an entity and note that it is a proxy (flag)
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    private void createEntityProxyInGraph(EntityProxy entityProxy)
             throws
             RepositoryErrorException,
             InvalidParameterException
     {
-        final String methodName = "createEntityProxyInStore";
+        final String methodName = "createEntityProxyInGraph";
 
         GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
@@ -307,6 +669,25 @@ class GraphOMRSMetadataStore {
     }
 
 
+    void createEntityProxyInStore(EntityProxy entityProxy)
+        throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        final String methodName = "createEntityProxyInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                createEntityProxyInGraph(entityProxy);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
+
 
 
     /*
@@ -345,18 +726,18 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    private void saveEntityReferenceCopyToGraph(GraphTraversalSource g,
+                                                EntityDetail         entity)
         throws
             InvalidParameterException,
             RepositoryErrorException
 
     {
 
-        final String methodName = "saveEntityReferenceCopyToStore";
+        final String methodName = "saveEntityReferenceCopyToGraph";
 
         Vertex vertex;
 
-        GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
         if (vertexIt.hasNext()) {
@@ -381,7 +762,6 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS;
 
                 String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entity.getGUID(), methodName,
@@ -407,26 +787,18 @@ class GraphOMRSMetadataStore {
          * Whether this just created a new vertex or is reusing an existing vertex (for a reference copy or proxy),
          * populate the vertex.
          * The mapping of an entity detail to the vertex will clear the proxy flag, even if previously set.
+         * The classifications are synchronized with those already linked to the vertex so that saving a new
+         * version of a reference copy does not duplicate them.
          */
 
 
         try {
             entityMapper.mapEntityDetailToVertex(entity, vertex);
 
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entity.getClassifications();
-            if (classifications != null) {
-                for (Classification classification : classifications) {
-                    log.debug("{} add classification: {} ", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    Edge classifierEdge = vertex.addEdge("Classifier", classificationVertex);
-                }
-            }
+            updateEntityClassifications(entity, vertex, g);
 
         } catch (Exception e) {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
 
             GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_CREATED;
 
@@ -441,16 +813,37 @@ class GraphOMRSMetadataStore {
                     errorCode.getSystemAction(),
                     errorCode.getUserAction());
         }
+    }
 
 
-        g.tx().commit();
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
 
-        return;
+        for (int attempt = 1; ; attempt++) {
+            GraphTraversalSource g = instanceGraph.traversal();
+            try {
+                saveEntityReferenceCopyToGraph(g, entity);
+                g.tx().commit();
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+            finally {
+                if (g.tx().isOpen()) {
+                    g.tx().rollback();
+                }
+            }
+        }
     }
 
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    EntityDetail getEntityDetailFromStore(String guid)
             throws
             EntityNotKnownException,
             EntityProxyOnlyException,
@@ -551,56 +944,48 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    /*
+     * Retrieve the version of an entity that was current at asOfTime. The current version is returned if it was
+     * already current at that time, otherwise the version is taken from the history.
+     */
+    EntityDetail getEntityDetailFromStore(String guid,
+                                          Date   asOfTime)
             throws
             EntityNotKnownException,
+            EntityProxyOnlyException,
             RepositoryErrorException
     {
+        final String methodName = "getEntityDetailFromStore";
 
-        String methodName = "getEntitySummaryFromStore";
-
-
-        EntitySummary entity = null;
+        EntityDetail entity = null;
+        boolean      isProxy = false;
 
-        // Look in the graph
         GraphTraversalSource g = instanceGraph.traversal();
 
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
-
-        if (gt.hasNext()) {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
-
-            try {
-                if (vertex != null) {
-                    log.debug("{} found entity vertex {}", methodName, vertex);
-                    entity = new EntitySummary();
-                    entityMapper.mapVertexToEntitySummary(vertex, entity);
+        try {
+            Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
+            if (vertexIt.hasNext()) {
+                Vertex vertex = vertexIt.next();
+                isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy) {
+                    EntityDetail currentVersion = new EntityDetail();
+                    entityMapper.mapVertexToEntityDetail(vertex, currentVersion);
+                    if (!getValidFrom(currentVersion).after(asOfTime)) {
+                        entity = currentVersion;
+                    }
                 }
-
             }
-            catch (RepositoryErrorException e) {
-
-                log.error("{} Caught exception {}", methodName, e.getMessage());
-                g.tx().rollback();
-                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
-
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
-                        this.getClass().getName(),
-                        repositoryName);
 
-                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
+            if (entity == null) {
+                String previousVersion = getHistoricalVersion(g, guid, asOfTime);
+                if (previousVersion != null) {
+                    entity = historyMapper.readValue(previousVersion, EntityDetail.class);
+                }
             }
+        }
+        catch (RepositoryErrorException | EntityProxyOnlyException | IOException e) {
 
-        } else {
-
-            // Entity was not found by GUID
-            log.error("{} entity with GUID {} not found {}", methodName, guid);
+            log.error("{} Caught exception {}", methodName, e.getMessage());
             g.tx().rollback();
             GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
 
@@ -608,7 +993,7 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     repositoryName);
 
-            throw new EntityNotKnownException(errorCode.getHTTPErrorCode(),
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
                     this.getClass().getName(),
                     methodName,
                     errorMessage,
@@ -616,14 +1001,168 @@ class GraphOMRSMetadataStore {
                     errorCode.getUserAction());
         }
 
-
+        g.tx().commit();
+
+        if (entity == null) {
+            log.debug("{} entity with GUID {} not found as of {}", methodName, guid, asOfTime);
+            GraphOMRSErrorCode errorCode = isProxy ? GraphOMRSErrorCode.ENTITY_PROXY_ONLY : GraphOMRSErrorCode.ENTITY_NOT_FOUND;
+
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+
+            if (isProxy) {
+                throw new EntityProxyOnlyException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+            throw new EntityNotKnownException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+
+        return entity;
+    }
+
+    /*
+     * Retrieve a list of entities with a single traversal. Entities that are not found, or are only proxies,
+     * are left out of the results. The results are returned in the order of the requested guids.
+     */
+    List<EntityDetail> getEntityDetailsFromStore(List<String> guids)
+            throws
+            RepositoryErrorException
+    {
+
+        String methodName = "getEntityDetailsFromStore";
+
+        Map<String, EntityDetail> entitiesByGUID = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity")
+                                                 .has(PROPERTY_KEY_ENTITY_GUID, within(guids))
+                                                 .has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        while (gt.hasNext()) {
+            Vertex vertex = gt.next();
+            log.debug("{} found entity vertex {}", methodName, vertex);
+
+            try {
+                EntityDetail entity = new EntityDetail();
+                entityMapper.mapVertexToEntityDetail(vertex, entity);
+                entitiesByGUID.put(entity.getGUID(), entity);
+            }
+            catch (Exception e) {
+
+                log.error("{} Caught exception {}", methodName, e.getMessage());
+                g.tx().rollback();
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityMapper.getEntityGUID(vertex), methodName,
+                        this.getClass().getName(),
+                        repositoryName);
+
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+        }
+
+        g.tx().commit();
+
+        List<EntityDetail> entities = new ArrayList<>();
+        for (String guid : guids) {
+            EntityDetail entity = entitiesByGUID.get(guid);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
+    }
+
+    EntitySummary getEntitySummaryFromStore(String guid)
+            throws
+            EntityNotKnownException,
+            RepositoryErrorException
+    {
+
+        String methodName = "getEntitySummaryFromStore";
+
+
+        EntitySummary entity = null;
+
+        // Look in the graph
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
+
+        if (gt.hasNext()) {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            try {
+                if (vertex != null) {
+                    log.debug("{} found entity vertex {}", methodName, vertex);
+                    entity = new EntitySummary();
+                    entityMapper.mapVertexToEntitySummary(vertex, entity);
+                }
+
+            }
+            catch (RepositoryErrorException e) {
+
+                log.error("{} Caught exception {}", methodName, e.getMessage());
+                g.tx().rollback();
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
+                        this.getClass().getName(),
+                        repositoryName);
+
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+
+        } else {
+
+            // Entity was not found by GUID
+            log.error("{} entity with GUID {} not found {}", methodName, guid);
+            g.tx().rollback();
+            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
+
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+
+            throw new EntityNotKnownException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+
+
         g.tx().commit();
 
         return entity;
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
             throws
             RepositoryErrorException
     {
@@ -681,13 +1220,13 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    private void createRelationshipInGraph(Relationship relationship)
             throws
             RepositoryErrorException,
             InvalidParameterException
 
     {
-        String methodName = "createRelationshipInStore";
+        String methodName = "createRelationshipInGraph";
 
         // Begin a graph transaction. Locate the vertices for the ends, and create an edge between them.
 
@@ -778,6 +1317,25 @@ class GraphOMRSMetadataStore {
     }
 
 
+    void createRelationshipInStore(Relationship relationship)
+        throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        final String methodName = "createRelationshipInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                createRelationshipInGraph(relationship);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
+
     /*
      *  This method will save a copy of the relationship to the graph.
      *
@@ -826,148 +1384,19 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    private void saveRelationshipReferenceCopyToGraph(GraphTraversalSource g,
+                                                      Relationship         relationship)
             throws
             InvalidParameterException,
             RepositoryErrorException
 
     {
 
-        final String methodName = "saveRelationshipReferenceCopyToStore";
-
-        GraphTraversalSource g = instanceGraph.traversal();
-
-        Vertex vertex;
-
-        // Process end 1
-        EntityProxy entityOne = relationship.getEntityOneProxy();
-
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
-
-        if (vertexIt.hasNext()) {
-
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex {}", methodName, vertex);
-
-            /*
-             * Check the metadataCollectionId matches the metadataCollectionId of the
-             * passed entity. It does not matter if it is the local metadataCollectionId
-             * or not - the entity will be reused in either case.
-             */
-            String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
-
-            if (!vertexMetadataCollectionId.equals(entityOne.getMetadataCollectionId())) {
-
-                /*
-                 *  Error condition
-                 *  The passed entity proxy does not match the locally stored entity (in terms of home).
-                 *
-                 */
-
-                log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
-                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS;
-
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityOne.getGUID(), methodName,
-                        this.getClass().getName(),
-                        repositoryName);
-
-                throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
-            }
-        }
-        else {
-            // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
-        }
-
-        // Process end 2
-        EntityProxy entityTwo = relationship.getEntityTwoProxy();
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
-
-        if (vertexIt.hasNext()) {
-
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex {}", methodName, vertex);
-
-            /*
-             * Check the metadataCollectionId matches the metadataCollectionId of the
-             * passed entity. It does not matter if it is the local metadataCollectionId
-             * or not - the entity will be reused in either case.
-             */
-            String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
-
-            if (!vertexMetadataCollectionId.equals(entityOne.getMetadataCollectionId())) {
-
-                /*
-                 *  Error condition
-                 *  The passed entity proxy does not match the locally stored entity (in terms of home).
-                 *
-                 */
-
-                log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
-                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS;
-
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityOne.getGUID(), methodName,
-                        this.getClass().getName(),
-                        repositoryName);
-
-                throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
-            }
-        }
-        else {
-            // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
-        }
-
-
-        /*
-         * Both ends have been checked and there are vertices for both.
-         * Because we might have either created or retrieved the vertices for the entities, re-fetch them here
-         * and throw an exception on any error.
-         */
-
-        Vertex vertexOne = null;
-        Vertex vertexTwo = null;
-
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
-        if (vertexIt.hasNext()) {
-            vertexOne = vertexIt.next();
-        }
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
-        if (vertexIt.hasNext()) {
-            vertexTwo = vertexIt.next();
-        }
-        if (vertexOne == null || vertexTwo == null) {
-
-            // Error!!
-            log.error("{} Could not locate or create vertex for entity with guid {} used in relationship {}", methodName, vertexOne==null?entityOne.getGUID():entityTwo.getGUID(),relationship.getGUID());
-            g.tx().rollback();
-            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED;
-
-            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(relationship.getGUID(), methodName,
-                    this.getClass().getName(),
-                    repositoryName);
-
-            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
-                    this.getClass().getName(),
-                    methodName,
-                    errorMessage,
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction());
-        }
-
+        final String methodName = "saveRelationshipReferenceCopyToGraph";
 
+        // Process both ends - the vertices are found or proxies are created in the same transaction as the edge
+        Vertex vertexOne = getOrAddEntityProxyVertex(g, relationship.getEntityOneProxy());
+        Vertex vertexTwo = getOrAddEntityProxyVertex(g, relationship.getEntityTwoProxy());
 
         // Process relationship
         Edge  edge;
@@ -996,7 +1425,6 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
-                g.tx().rollback();
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS;
 
                 String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(relationship.getGUID(), methodName,
@@ -1028,7 +1456,7 @@ class GraphOMRSMetadataStore {
         }
         catch (Exception e) {
             log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+
             GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED;
 
             String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(relationship.getGUID(), methodName,
@@ -1042,29 +1470,236 @@ class GraphOMRSMetadataStore {
                     errorCode.getSystemAction(),
                     errorCode.getUserAction());
         }
-
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
-        g.tx().commit();
-
-        return;
     }
 
 
-
-
-    protected synchronized Relationship getRelationshipFromStore(String guid)
-            throws RepositoryErrorException
+    /*
+     * Return the vertex for one end of a relationship reference copy, creating a proxy vertex (with its
+     * classifications) if the entity is not stored. An existing vertex is used whether it is a proxy, a reference
+     * copy or a locally homed entity, provided its metadataCollectionId matches the one in the passed proxy.
+     * The caller is responsible for committing or rolling back the transaction.
+     */
+    private Vertex getOrAddEntityProxyVertex(GraphTraversalSource g,
+                                             EntityProxy          entityProxy)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
     {
-        String methodName = "getRelationshipFromStore";
+        final String methodName = "getOrAddEntityProxyVertex";
 
-        Relationship relationship = null;
+        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        if (vertexIt.hasNext()) {
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
-        if (edgeIt.hasNext()) {
-            Edge edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
+            Vertex vertex = vertexIt.next();
+            log.debug("{} found existing vertex {}", methodName, vertex);
+
+            String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
+
+            if (!vertexMetadataCollectionId.equals(entityProxy.getMetadataCollectionId())) {
+
+                /*
+                 *  Error condition
+                 *  The passed entity proxy does not match the locally stored entity (in terms of home).
+                 */
+
+                log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityProxy.getGUID(), methodName,
+                        this.getClass().getName(),
+                        repositoryName);
+
+                throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+            return vertex;
+        }
+
+        // Entity does not exist, create proxy
+        log.debug("{} create proxy vertex for entity {}", methodName, entityProxy.getGUID());
+        Vertex vertex = g.addV("Entity").next();
+
+        try {
+            entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
+
+            updateEntityClassifications(entityProxy, vertex, g);
+
+        } catch (Exception e) {
+            log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+
+            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_CREATED;
+
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityProxy.getGUID(), methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+
+        return vertex;
+    }
+
+
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        final String methodName = "saveRelationshipReferenceCopyToStore";
+
+        for (int attempt = 1; ; attempt++) {
+            GraphTraversalSource g = instanceGraph.traversal();
+            try {
+                saveRelationshipReferenceCopyToGraph(g, relationship);
+                log.debug("{} Commit tx containing creation or update of edge", methodName);
+                g.tx().commit();
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+            finally {
+                if (g.tx().isOpen()) {
+                    g.tx().rollback();
+                }
+            }
+        }
+    }
+
+    /**
+     * Save a batch of entity and relationship reference copies, as received in an instance batch event or loaded
+     * from an archive. Each instance is saved in the same way as saveEntityReferenceCopyToStore and
+     * saveRelationshipReferenceCopyToStore but, rather than committing each instance separately, the instances
+     * are written in chunks of bulkCommitSize, each chunk through one transaction. The transaction does not
+     * check that the vertices it reads exist in the storage backend, since they have just been found through
+     * the index.
+     *
+     * The entities are saved before the relationships so that a relationship can be connected to an entity from
+     * the same batch. A proxy is created for any relationship end that is not stored.
+     *
+     * If a chunk conflicts with a concurrent update it is rolled back and written again, in the same way as a
+     * single instance. If an instance cannot be saved, its chunk is rolled back and the exception is thrown.
+     * Instances saved by the chunks already committed are kept.
+     *
+     * @param entities entities to save - may be null
+     * @param relationships relationships to save - may be null
+     * @throws InvalidParameterException an instance conflicts with an instance already stored
+     * @throws RepositoryErrorException an instance could not be mapped into the graph
+     */
+    void saveInstanceReferenceCopiesToStore(List<EntityDetail> entities,
+                                            List<Relationship> relationships)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        List<InstanceHeader> instances = new ArrayList<>();
+
+        if (entities != null) {
+            for (EntityDetail entity : entities) {
+                if (entity != null) {
+                    instances.add(entity);
+                }
+            }
+        }
+        if (relationships != null) {
+            for (Relationship relationship : relationships) {
+                if (relationship != null) {
+                    instances.add(relationship);
+                }
+            }
+        }
+
+        for (int start = 0; start < instances.size(); start = start + bulkCommitSize) {
+            saveInstanceReferenceCopiesInTransaction(instances.subList(start, Math.min(start + bulkCommitSize, instances.size())));
+            log.debug("{} saved {} of {} instances", methodName, Math.min(start + bulkCommitSize, instances.size()), instances.size());
+        }
+    }
+
+
+    /*
+     * Save one chunk of a bulk save through a single transaction, writing the chunk again if it conflicts with
+     * a concurrent update.
+     */
+    private void saveInstanceReferenceCopiesInTransaction(List<InstanceHeader> instances)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        final String methodName = "saveInstanceReferenceCopiesInTransaction";
+
+        for (int attempt = 1; ; attempt++) {
+            JanusGraphTransaction tx = startBulkTransaction();
+            try {
+                GraphTraversalSource g = tx.traversal();
+                for (InstanceHeader instance : instances) {
+                    if (instance instanceof EntityDetail) {
+                        saveEntityReferenceCopyToGraph(g, (EntityDetail) instance);
+                    }
+                    else {
+                        saveRelationshipReferenceCopyToGraph(g, (Relationship) instance);
+                    }
+                }
+                tx.commit();
+                return;
+            }
+            catch (JanusGraphException e) {
+                if (tx.isOpen()) {
+                    tx.rollback();
+                }
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+            finally {
+                if (tx.isOpen()) {
+                    log.debug("{} rolling back {} uncommitted instances", methodName, instances.size());
+                    tx.rollback();
+                }
+            }
+        }
+    }
+
+
+    /*
+     * Start a transaction for a bulk save. The vertices used by a bulk save are always located by an index query
+     * (or created) in the same transaction, so the checks that each vertex exists in the storage backend are
+     * skipped. Batch loading is not enabled because it switches off the consistency checks that the automatic
+     * creation of property keys depends on.
+     */
+    private JanusGraphTransaction startBulkTransaction()
+    {
+        return instanceGraph.buildTransaction()
+                            .checkExternalVertexExistence(false)
+                            .checkInternalVertexExistence(false)
+                            .start();
+    }
+
+
+
+
+    protected Relationship getRelationshipFromStore(String guid)
+            throws RepositoryErrorException
+    {
+        String methodName = "getRelationshipFromStore";
+
+        Relationship relationship = null;
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+        if (edgeIt.hasNext()) {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
 
             relationship = new Relationship();
 
@@ -1123,12 +1758,135 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    /*
+     * Retrieve the version of a relationship that was current at asOfTime, or null if the relationship did not
+     * exist at that time. The current version is returned if it was already current at that time, otherwise the
+     * version is taken from the history.
+     */
+    protected Relationship getRelationshipFromStore(String guid,
+                                                    Date   asOfTime)
+            throws RepositoryErrorException
+    {
+        final String methodName = "getRelationshipFromStore";
+
+        Relationship currentVersion = this.getRelationshipFromStore(guid);
+        if ((currentVersion != null) && (!getValidFrom(currentVersion).after(asOfTime))) {
+            return currentVersion;
+        }
+
+        GraphTraversalSource g = instanceGraph.traversal();
+        try {
+            String previousVersion = getHistoricalVersion(g, guid, asOfTime);
+            g.tx().commit();
+            if (previousVersion != null) {
+                return historyMapper.readValue(previousVersion, Relationship.class);
+            }
+        }
+        catch (IOException e) {
+            log.error("{} Caught exception {}", methodName, e.getMessage());
+            g.tx().rollback();
+            GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND;
+
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
+                    this.getClass().getName(),
+                    repositoryName);
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+
+        log.debug("{} relationship with GUID {} not found as of {}", methodName, guid, asOfTime);
+        return null;
+    }
+
+
+    /*
+     * Retrieve a list of relationships with a single traversal. Relationships that are not found are left out
+     * of the results. The results are returned in the order of the requested guids.
+     */
+    protected List<Relationship> getRelationshipsFromStore(List<String> guids)
+            throws RepositoryErrorException
+    {
+        String methodName = "getRelationshipsFromStore";
+
+        Map<String, Relationship> relationshipsByGUID = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(guids));
+        while (edgeIt.hasNext()) {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
+
+            Relationship relationship = new Relationship();
+
+            // Map the properties
+            relationshipMapper.mapEdgeToRelationship(edge, relationship);
+
+            // Set the relationship ends...
+            Vertex vertex = null;
+            try {
+
+                vertex = edge.outVertex();
+
+                if (vertex != null) {
+                    EntityProxy entityOneProxy = new EntityProxy();
+                    entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
+                    relationship.setEntityOneProxy(entityOneProxy);
+                }
+
+                vertex = edge.inVertex();
+
+                if (vertex != null) {
+                    EntityProxy entityTwoProxy = new EntityProxy();
+                    entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
+                    relationship.setEntityTwoProxy(entityTwoProxy);
+                }
+
+            } catch (Exception e) {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(entityMapper.getEntityGUID(vertex), methodName,
+                        this.getClass().getName(),
+                        repositoryName);
+
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+
+            relationshipsByGUID.put(relationship.getGUID(), relationship);
+        }
+
+        g.tx().commit();
+
+        List<Relationship> relationships = new ArrayList<>();
+        for (String guid : guids) {
+            Relationship relationship = relationshipsByGUID.get(guid);
+            if (relationship != null) {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
+    }
+
+
+    private void updateEntityInGraph(EntityDetail entity)
             throws
             RepositoryErrorException
     {
 
-        String methodName = "updateEntityInStore";
+        String methodName = "updateEntityInGraph";
 
         // Look in the graph
         String guid = entity.getGUID();
@@ -1150,6 +1908,10 @@ class GraphOMRSMetadataStore {
                 Boolean isProxy = entityMapper.isProxy(vertex);
                 if (!isProxy) {
 
+                    if (historyEnabled) {
+                        addEntityVersionToHistory(g, vertex, getSupersededTime(entity));
+                    }
+
                     entityMapper.mapEntityDetailToVertex(entity, vertex);
 
                     updateEntityClassifications(entity, vertex, g);
@@ -1178,12 +1940,30 @@ class GraphOMRSMetadataStore {
 
     }
 
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+
+    void updateEntityInStore(EntityDetail entity)
+        throws
+            RepositoryErrorException
+    {
+        final String methodName = "updateEntityInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                updateEntityInGraph(entity);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
+    private void updateEntityProxyInGraph(EntityProxy entityProxy)
             throws
             RepositoryErrorException
     {
 
-        String methodName = "updateEntityProxyInStore";
+        String methodName = "updateEntityProxyInGraph";
 
         log.debug("{}", methodName);
 
@@ -1238,6 +2018,24 @@ class GraphOMRSMetadataStore {
     }
 
 
+    void updateEntityProxyInStore(EntityProxy entityProxy)
+        throws
+            RepositoryErrorException
+    {
+        final String methodName = "updateEntityProxyInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                updateEntityProxyInGraph(entityProxy);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
+
     // updateEntityClassifications
     private void updateEntityClassifications(EntitySummary entity, Vertex vertex, GraphTraversalSource g)
             throws
@@ -1285,12 +2083,12 @@ class GraphOMRSMetadataStore {
             if (!entityClassificationsByName.containsKey(existingName)) {
                 // remove old classification from graph and from map
                 log.debug("{} entity remove classification: {}", methodName, existingName);
-                Vertex classificationVertex = existingClassificationVerticesByName.get(existingName);
-                classificationVertex.remove();
-                existingClassificationVerticesByName.remove(existingName);
                 Edge classifierEdge = existingClassifierEdgesByName.get(existingName);
                 classifierEdge.remove();
                 existingClassifierEdgesByName.remove(existingName);
+                Vertex classificationVertex = existingClassificationVerticesByName.get(existingName);
+                classificationVertex.remove();
+                existingNamesIterator.remove();
             }
         }
         // update/add the desired classifications
@@ -1315,12 +2113,12 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    private void updateRelationshipInGraph(Relationship relationship)
             throws
             RepositoryErrorException
     {
 
-        String methodName = "updateRelationshipInStore";
+        String methodName = "updateRelationshipInGraph";
 
         String guid = relationship.getGUID();
         GraphTraversalSource g = instanceGraph.traversal();
@@ -1333,6 +2131,10 @@ class GraphOMRSMetadataStore {
 
             try {
 
+                if (historyEnabled) {
+                    addRelationshipVersionToHistory(g, edge, getSupersededTime(relationship));
+                }
+
                 relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
             } catch (Exception e) {
@@ -1358,13 +2160,31 @@ class GraphOMRSMetadataStore {
 
     }
 
-    // removeEntityFromStore
-    //
-    // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    void updateRelationshipInStore(Relationship relationship)
+        throws
+            RepositoryErrorException
     {
-        final String methodName = "removeEntityFromStore";
+        final String methodName = "updateRelationshipInStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                updateRelationshipInGraph(relationship);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
+    // removeEntityFromStore
+    //
+    // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
+
+    private void removeEntityFromGraph(String entityGUID)
+    {
+        final String methodName = "removeEntityFromGraph";
 
         // Look in the graph
         String guid = entityGUID;
@@ -1383,6 +2203,14 @@ class GraphOMRSMetadataStore {
 
                 log.debug("{} found entity vertex {} to be removed", methodName, vertex);
 
+                if (historyEnabled) {
+                    try {
+                        addEntityVersionToHistory(g, vertex, new Date());
+                    } catch (Exception e) {
+                        log.error("{} could not save the last version of entity {} in the history: {}", methodName, entityGUID, e.getMessage());
+                    }
+                }
+
                 // Look for associated classifications.
                 Iterator<Edge> classifierEdges = vertex.edges(Direction.OUT, "Classifier");
                 while (classifierEdges.hasNext()) {
@@ -1411,10 +2239,26 @@ class GraphOMRSMetadataStore {
 
     }
 
+
+    void removeEntityFromStore(String entityGUID)
+    {
+        final String methodName = "removeEntityFromStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                removeEntityFromGraph(entityGUID);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
     // removeEntityProxyFromStore
-    synchronized void removeEntityProxyFromStore(String entityGUID)
+    private void removeEntityProxyFromGraph(String entityGUID)
     {
-        final String methodName = "removeEntityProxyFromStore";
+        final String methodName = "removeEntityProxyFromGraph";
         // TODO - could capture existing entity and move it to 'history'
 
         // Look in the graph
@@ -1463,11 +2307,26 @@ class GraphOMRSMetadataStore {
 
     }
 
+
+    void removeEntityProxyFromStore(String entityGUID)
+    {
+        final String methodName = "removeEntityProxyFromStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                removeEntityProxyFromGraph(entityGUID);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    private void removeRelationshipFromGraph(String relationshipGUID)
     {
-        final String methodName = "removeRelationshipFromStore";
-        // TODO - could capture existing relationship and move it to 'history'
+        final String methodName = "removeRelationshipFromGraph";
 
         // Look in the graph
         GraphTraversalSource g = instanceGraph.traversal();
@@ -1476,6 +2335,13 @@ class GraphOMRSMetadataStore {
         if (edgeIt.hasNext()) {
             Edge edge = edgeIt.next();
             log.debug("{} found existing edge {}", methodName, edge);
+            if (historyEnabled) {
+                try {
+                    addRelationshipVersionToHistory(g, edge, new Date());
+                } catch (Exception e) {
+                    log.error("{} could not save the last version of relationship {} in the history: {}", methodName, relationshipGUID, e.getMessage());
+                }
+            }
             edge.remove();
             log.debug("{} removed relationship edge with guid {}", methodName, relationshipGUID);
         }
@@ -1483,8 +2349,24 @@ class GraphOMRSMetadataStore {
 
     }
 
+
+    void removeRelationshipFromStore(String relationshipGUID)
+    {
+        final String methodName = "removeRelationshipFromStore";
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                removeRelationshipFromGraph(relationshipGUID);
+                return;
+            }
+            catch (JanusGraphException e) {
+                prepareToRetryWrite(methodName, attempt, e);
+            }
+        }
+    }
+
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
             throws
             TypeErrorException,
@@ -1564,13 +2446,32 @@ class GraphOMRSMetadataStore {
 
 
     // findEntitiesByProperty
-    List<EntityDetail> findEntitiesByProperty(String             typeDefName,
-                                              InstanceProperties matchProperties,
-                                              MatchCriteria      matchCriteria,
-                                              Boolean            fullMatch)
+    /*
+     * Find the entities of a set of types that match the supplied properties and return the requested page of results.
+     *
+     * The entities of all of the requested types are located by a single traversal that selects the vertices using
+     * within(typeNames) on the type name index. The status and classification filters are applied in the traversal and,
+     * wherever the requested sequencing can be expressed as a property of the vertex, so are the ordering and paging of
+     * the results. Only the vertices that survive the traversal are mapped to EntityDetail objects.  If the sequencing
+     * cannot be performed in the traversal, all of the matching entities are mapped and formatted by the repository helper.
+     *
+     * The matchPropertiesByType map is keyed by the names of the types to search, and the value is the match properties
+     * for that type - this allows the property value searches to use type-specific match properties.
+     */
+    List<EntityDetail> findEntitiesByProperty(Map<String, InstanceProperties> matchPropertiesByType,
+                                              MatchCriteria                   matchCriteria,
+                                              Boolean                         fullMatch,
+                                              List<InstanceStatus>            limitResultsByStatus,
+                                              List<String>                    limitResultsByClassification,
+                                              int                             fromEntityElement,
+                                              String                          sequencingProperty,
+                                              SequencingOrder                 sequencingOrder,
+                                              int                             pageSize)
             throws
             RepositoryErrorException,
-            InvalidParameterException
+            InvalidParameterException,
+            PagingErrorException,
+            PropertyErrorException
 
     {
 
@@ -1578,17 +2479,6 @@ class GraphOMRSMetadataStore {
 
         List<EntityDetail> entities = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
-
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
-        if (typeDefName != null) {
-            gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
-        }
-
-        // Only accept non-proxy entities:
-        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
-
-
         /*
          *
          * There are two origins of properties stored on an instance vertex in the graph -
@@ -1611,17 +2501,185 @@ class GraphOMRSMetadataStore {
          * Match properties are specified using short (unqualified) names. Properties are stored in the graph with qualified property names - so we need to map
          * to those in order to hit the indexes and vertex/edge properties. The short names of type-defined attributes do not need to be unique - i.e. different
          * types that both define a type-defined attribute with the same (short) name. This is why the graph and indexes use the qualifiedPropertyNames.
-         * The calling code supports wildcard searches (across many types) so the type identified by typeDefName may have different type defined attributes
+         * The calling code supports wildcard searches (across many types) so each type being searched may have different type defined attributes
          * to the attributes in matchProperties. Even if they match by name there is no guarantee that they are equivalent. They must be checked for both
          * property name and type. In the case that a matchProperties contains a short-named property intended for a type other than the one being searched -
          * this method checks the types match before issuing the graph traversal. This protects against type violations in the traversal. If the types do
-         * not match the method reacts depending on how matchCriteria is set. If mc is ALL then no traversal is performed; if mc is ANY then a traversal is
-         * performed WITHOUT the mismatched property; if mc is NONE a traversal is performed WITHOUT the mismatched property.
+         * not match the method reacts depending on how matchCriteria is set. If mc is ALL then the type is not searched; if mc is ANY then the type is
+         * searched WITHOUT the mismatched property; if mc is NONE the type is searched WITHOUT the mismatched property.
          *
-         *
-         * For the type of the entity or relationship, walk its type hierarchy and construct a map of short prop name -> qualified prop name.
+         * A qualified property name is only ever present on the vertices of the type that defines the attribute and its subtypes - and for those types
+         * it always resolves to the same property key. This means that for ANY and NONE the resolved properties of all of the types can be combined
+         * into one set of criteria - the vertices of a type never carry the keys resolved for unrelated types. For ALL, every searched type must resolve
+         * all of the match properties, and the types are grouped by the keys they resolve to, with one branch of the traversal per group.
          */
 
+        if (matchCriteria == null) {
+            matchCriteria = MatchCriteria.ALL;
+        }
+
+        List<String>                                     typeNames      = new ArrayList<>();
+        List<TypeDef>                                    typeDefs       = new ArrayList<>();
+        boolean                                          hasMatchProps  = false;
+        Map<String, Map<String, PrimitivePropertyValue>> criteriaGroups = new HashMap<>();
+        Map<String, List<String>>                        groupTypeNames = new HashMap<>();
+
+        for (String typeDefName : matchPropertiesByType.keySet()) {
+
+            TypeDef            typeDef         = repositoryHelper.getTypeDefByName(repositoryName, typeDefName);
+            InstanceProperties matchProperties = matchPropertiesByType.get(typeDefName);
+
+            if (typeDef == null) {
+                log.debug("{} type {} is not known and is ignored", methodName, typeDefName);
+                continue;
+            }
+
+            Map<String, PrimitivePropertyValue> resolvedProperties = new HashMap<>();
+
+            if (matchProperties != null) {
+                hasMatchProps = true;
+                resolvedProperties = resolveEntityMatchProperties(typeDef, matchProperties, matchCriteria);
+
+                if (resolvedProperties == null) {
+                    // matchCriteria is ALL and one of the match properties is not valid for this type
+                    log.debug("{} type {} cannot match all of the match properties", methodName, typeDefName);
+                    continue;
+                }
+            }
+
+            typeNames.add(typeDefName);
+            typeDefs.add(typeDef);
+
+            String groupKey = (matchCriteria == MatchCriteria.ALL) ? new HashSet<>(resolvedProperties.keySet()).toString() : "";
+
+            Map<String, PrimitivePropertyValue> groupProperties = criteriaGroups.computeIfAbsent(groupKey, (key) -> new HashMap<>());
+            groupProperties.putAll(resolvedProperties);
+            groupTypeNames.computeIfAbsent(groupKey, (key) -> new ArrayList<>()).add(typeDefName);
+        }
+
+        if (typeNames.isEmpty()) {
+            return null;
+        }
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
+
+        if (typeNames.size() == 1) {
+            gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeNames.get(0));
+        }
+        else {
+            gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(typeNames));
+        }
+
+        // Only accept non-proxy entities:
+        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        // Eliminate soft deleted entities and apply status and classification filtering if any was requested
+        gt = gt.not(__.has(PROPERTY_KEY_ENTITY_STATUS, InstanceStatus.DELETED.getOrdinal()));
+
+        if (limitResultsByStatus != null) {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus) {
+                if (status != null) {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_ENTITY_STATUS, within(statusOrdinals));
+        }
+
+        if (limitResultsByClassification != null) {
+            List<String> classificationNames = new ArrayList<>();
+            for (String classificationName : limitResultsByClassification) {
+                if (classificationName != null) {
+                    classificationNames.add(classificationName);
+                }
+            }
+            gt = gt.where(out("Classifier").has(PROPERTY_KEY_CLASSIFICATION_CLASSIFICATION_NAME, within(classificationNames)));
+        }
+
+        if (hasMatchProps) {
+            try {
+                if (criteriaGroups.size() == 1) {
+                    Map<String, PrimitivePropertyValue> groupProperties = criteriaGroups.values().iterator().next();
+                    gt = addMatchCriteria(gt, groupProperties, matchCriteria, fullMatch);
+                }
+                else {
+                    List<DefaultGraphTraversal> groupCriteria = new ArrayList<>();
+                    for (String groupKey : criteriaGroups.keySet()) {
+                        DefaultGraphTraversal t = new DefaultGraphTraversal();
+                        t = (DefaultGraphTraversal) t.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(groupTypeNames.get(groupKey)));
+                        t = (DefaultGraphTraversal) addMatchCriteria(t, criteriaGroups.get(groupKey), matchCriteria, fullMatch);
+                        if (t != null) {
+                            groupCriteria.add(t);
+                        }
+                    }
+                    gt = groupCriteria.isEmpty() ? null : gt.or(groupCriteria.toArray(new DefaultGraphTraversal[0]));
+                }
+            }
+            catch (InvalidParameterException e) {
+                g.tx().rollback();
+                throw e;
+            }
+
+            if (gt == null) {
+                // None of the searched types has a valid match property so no entity can match
+                g.tx().rollback();
+                return null;
+            }
+            log.debug("{} traversal looks like this --> {} ", methodName, gt);
+        }
+
+        boolean sequencedInTraversal = addSequencing(gt, typeDefs, sequencingProperty, sequencingOrder);
+
+        if (sequencedInTraversal && (pageSize > 0)) {
+            gt = gt.range(fromEntityElement, (long) fromEntityElement + pageSize);
+        }
+
+        while (gt.hasNext()) {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try {
+                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy) {
+                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            } catch (Exception e) {
+                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
+                continue;
+            }
+        }
+
+        g.tx().commit();
+
+        if (sequencedInTraversal) {
+            return entities.isEmpty() ? null : entities;
+        }
+
+        log.debug("{} sequencing {} {} not supported by traversal, formatting {} entities", methodName, sequencingOrder, sequencingProperty, entities.size());
+
+        return repositoryHelper.formatEntityResults(entities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+
+    }
+
+
+    /*
+     * Map the match properties for an entity type to the property keys used in the graph. The result maps each property key to
+     * the value to search for. A match property that is not valid for the type is skipped - unless matchCriteria is ALL, in which
+     * case the type cannot match and null is returned.
+     */
+    private Map<String, PrimitivePropertyValue> resolveEntityMatchProperties(TypeDef            typeDef,
+                                                                             InstanceProperties matchProperties,
+                                                                             MatchCriteria      matchCriteria)
+    {
+        final String methodName = "resolveEntityMatchProperties";
+
+        Map<String, PrimitivePropertyValue> resolvedProperties = new HashMap<>();
+
         /*
          * Check the match properties' names against two sets - first is the core properties, second is the type-defined attributes (including inherited attributes)
          */
@@ -1633,236 +2691,318 @@ class GraphOMRSMetadataStore {
         Set<String> corePropertyNames = new HashSet<>();  // temporary line of code - to be removed
 
 
-        TypeDef typeDef = repositoryHelper.getTypeDefByName(repositoryName, typeDefName);
         Map<String, String> qualifiedPropertyNames = GraphOMRSMapperUtils.getQualifiedPropertyNamesForTypeDef(typeDef, repositoryName, repositoryHelper);
 
         Set<String> typeDefinedPropertyNames = qualifiedPropertyNames.keySet();
 
+        Iterator<String> propNames = matchProperties.getPropertyNames();
 
-        // This relies on the graph to enforce property validity - it does not pre-check that match properties are valid for requested type.
+        while (propNames.hasNext()) {
 
-        if (matchProperties != null) {
+            String propName = propNames.next();
 
-            List<DefaultGraphTraversal> propCriteria = new ArrayList<>();
-
-            Iterator<String> propNames = matchProperties.getPropertyNames();
-
-            while (propNames.hasNext()) {
+            String propNameToSearch = null;
 
+            /*
+             * Check if this is a core property (from InstanceAuditHeader)
+             * Core properties take precedence over TDAs (in the event of a name clash)
+             */
 
-                String propName = propNames.next();
+            if (corePropertyNames.contains(propName)) {
 
+                /*
+                 * Treat the match property as a reference to a core property
+                 *
+                 * For a core property to be held in a maptchProperties (InstanceProperties) object, the caller will need to have converted from InstanceAuditHeader
+                 * type declaration to an appropriate 'soft' type. For example a java.lang.String field such as createdBy must have been converted to a primitive with
+                 * primiitve def category of string.
+                 */
 
-                String propNameToSearch = null;
+                propNameToSearch = PROPERTY_KEY_PREFIX_ENTITY + propName;
 
-                // Mapping is String for all properties (core or type-specific) except for the subset of core properties that use Full-Text
-                GraphOMRSGraphFactory.MixedIndexMapping mapping = GraphOMRSGraphFactory.MixedIndexMapping.String;
+            }
+            else if (typeDefinedPropertyNames.contains(propName)) {
 
                 /*
-                 * Check if this is a core property (from InstanceAuditHeader)
-                 * Core properties take precedence over TDAs (in the event of a name clash)
+                 * Treat the match property as a reference to a type-defined property. Check that it's type matches the TDA.
                  */
 
-                if (corePropertyNames.contains(propName)) {
+                List<TypeDefAttribute> propertiesDef = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
 
-                    /*
-                     * Treat the match property as a reference to a core property
-                     *
-                     * For a core property to be held in a maptchProperties (InstanceProperties) object, the caller will need to have converted from InstanceAuditHeader
-                     * type declaration to an appropriate 'soft' type. For example a java.lang.String field such as createdBy must have been converted to a primitive with
-                     * primiitve def category of string.
-                     */
-
-                    propNameToSearch = PROPERTY_KEY_PREFIX_ENTITY + propName;
-                    mapping = corePropertyMixedIndexMappings.get(propNameToSearch);
-
-                }
-                else if (typeDefinedPropertyNames.contains(propName)) {
+                for (TypeDefAttribute propertyDef : propertiesDef) {
+                    String definedPropertyName = propertyDef.getAttributeName();
+                    if (definedPropertyName.equals(propName)) {
 
-                    /*
-                     * Treat the match property as a reference to a type-defined property. Check that it's type matches the TDA.
-                     */
+                        /*
+                         * The match property name matches the name of a type-defined attribute
+                         *
+                         * Check types match - i.e. that the match property instance property has the same type as the type-defined attribute
+                         */
 
-                    List<TypeDefAttribute> propertiesDef = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
+                        PrimitiveDefCategory mpCat = OM_PRIMITIVE_TYPE_UNKNOWN;
+                        InstancePropertyValue mpv = matchProperties.getPropertyValue(propName);
+                        InstancePropertyCategory mpvCat = mpv.getInstancePropertyCategory();
+                        if (mpvCat == InstancePropertyCategory.PRIMITIVE) {
+                            PrimitivePropertyValue ppv = (PrimitivePropertyValue) mpv;
+                            mpCat = ppv.getPrimitiveDefCategory();
+                        } else {
+                            log.debug("{} non-primitive match property {} ignored", methodName, propName);
+                        }
 
-                    for (TypeDefAttribute propertyDef : propertiesDef) {
-                        String definedPropertyName = propertyDef.getAttributeName();
-                        if (definedPropertyName.equals(propName)) {
+                        PrimitiveDefCategory pdCat = OM_PRIMITIVE_TYPE_UNKNOWN;
+                        AttributeTypeDef atd = propertyDef.getAttributeType();
+                        AttributeTypeDefCategory atdCat = atd.getCategory();
+                        if (atdCat == PRIMITIVE) {
+                            PrimitiveDef pdef = (PrimitiveDef) atd;
+                            pdCat = pdef.getPrimitiveDefCategory();
+                        }
 
+                        if (mpCat != OM_PRIMITIVE_TYPE_UNKNOWN && pdCat != OM_PRIMITIVE_TYPE_UNKNOWN && mpCat == pdCat) {
                             /*
-                             * The match property name matches the name of a type-defined attribute
-                             *
-                             * Check types match - i.e. that the match property instance property has the same type as the type-defined attribute
+                             * Types match - sort out the qualification and prefixing of the property name ready for graph search
                              */
+                            String qualifiedPropertyName = qualifiedPropertyNames.get(propName);
+                            propNameToSearch = PROPERTY_KEY_PREFIX_ENTITY + qualifiedPropertyName;
 
-                            PrimitiveDefCategory mpCat = OM_PRIMITIVE_TYPE_UNKNOWN;
-                            InstancePropertyValue mpv = matchProperties.getPropertyValue(propName);
-                            InstancePropertyCategory mpvCat = mpv.getInstancePropertyCategory();
-                            if (mpvCat == InstancePropertyCategory.PRIMITIVE) {
-                                PrimitivePropertyValue ppv = (PrimitivePropertyValue) mpv;
-                                mpCat = ppv.getPrimitiveDefCategory();
-                            } else {
-                                log.debug("{} non-primitive match property {} ignored", propName);
-                            }
-
-                            PrimitiveDefCategory pdCat = OM_PRIMITIVE_TYPE_UNKNOWN;
-                            AttributeTypeDef atd = propertyDef.getAttributeType();
-                            AttributeTypeDefCategory atdCat = atd.getCategory();
-                            if (atdCat == PRIMITIVE) {
-                                PrimitiveDef pdef = (PrimitiveDef) atd;
-                                pdCat = pdef.getPrimitiveDefCategory();
-                            }
-
-                            if (mpCat != OM_PRIMITIVE_TYPE_UNKNOWN && pdCat != OM_PRIMITIVE_TYPE_UNKNOWN && mpCat == pdCat) {
-                                /*
-                                 * Types match
-                                 */
-                                /*
-                                 * Sort out the qualification and prefixing of the property name ready for graph search
-                                 */
-                                String qualifiedPropertyName = qualifiedPropertyNames.get(propName);
-                                propNameToSearch = PROPERTY_KEY_PREFIX_ENTITY + qualifiedPropertyName;
-                                mapping = GraphOMRSGraphFactory.MixedIndexMapping.String;
-
-                            }
-                            /*
-                             * If types matched the code above will have set propNameToSearch. If the types did not match we should give up on this property - there should not be
-                             * another property defined with the same name. In either case break out of the property for loop and drop through to catch all below
-                             */
-                            break;
                         }
+                        /*
+                         * If types matched the code above will have set propNameToSearch. If the types did not match we should give up on this property - there should not be
+                         * another property defined with the same name. In either case break out of the property for loop and drop through to catch all below
+                         */
+                        break;
                     }
-                    /*
-                     * if (!propertyFound) - The match property is not a supported, known type-defined property or does not have correct type - drop into the catch all below.
-                     */
+                }
+            }
 
+            if (propNameToSearch == null) {
 
+                /*
+                 * The match property is neither a core nor a type-defined property with matching name and type.
+                 * If matchCriteria is ALL we need to give up at this point.
+                 * If matchCriteria is ANY or NONE we can continue but just ignore this match property.
+                 */
+                if (matchCriteria == MatchCriteria.ALL) {
+                    return null;
                 }
 
-                if (propNameToSearch == null) {
-
-                    /*
-                     * The match property is neither a core nor a type-defined property with matching name and type.
-                     * If matchCriteria is ALL we need to give up at this point.
-                     * If matchCriteria is ANY or NONE we can continue but just ignore this match property.
-                     */
-                    if (matchCriteria == MatchCriteria.ALL) {
-                        g.tx().rollback();
-                        return null;
-                    } else {
-                        /*
-                         * Skip this property but process the rest
-                         */
-                        continue;
-                    }
+            } else {
 
+                InstancePropertyValue ipv = matchProperties.getPropertyValue(propName);
+                if (ipv.getInstancePropertyCategory() == InstancePropertyCategory.PRIMITIVE) {
+                    resolvedProperties.put(propNameToSearch, (PrimitivePropertyValue) ipv);
                 } else {
-                    /*
-                     * Incorporate the property (propNameToSearch) into propCriteria for the traversal...
-                     */
+                    log.debug("{} non-primitive match property {} ignored", methodName, propName);
+                }
+            }
+        }
 
-                    InstancePropertyValue ipv = matchProperties.getPropertyValue(propName);
-                    InstancePropertyCategory ipvCat = ipv.getInstancePropertyCategory();
-                    if (ipvCat == InstancePropertyCategory.PRIMITIVE) {
-                        // Primitives will have been stored in the graph as such
-                        PrimitivePropertyValue ppv = (PrimitivePropertyValue) ipv;
-                        PrimitiveDefCategory pCat = ppv.getPrimitiveDefCategory();
-                        Object primValue = ppv.getPrimitiveValue();
-                        log.debug("{} primitive match property has key {} value {}", methodName, propName, primValue);
-                        DefaultGraphTraversal t = new DefaultGraphTraversal();
-                        switch (pCat) {
+        return resolvedProperties;
+    }
 
-                            case OM_PRIMITIVE_TYPE_STRING:
 
-                                // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
+    /*
+     * Add the criteria for the resolved match properties to a traversal, combined according to the match criteria.
+     * If there are no criteria, ALL and NONE place no restriction on the traversal, and ANY cannot match anything, so
+     * null is returned.
+     */
+    private GraphTraversal addMatchCriteria(GraphTraversal                      gt,
+                                            Map<String, PrimitivePropertyValue> resolvedProperties,
+                                            MatchCriteria                       matchCriteria,
+                                            Boolean                             fullMatch)
+            throws
+            InvalidParameterException
+    {
+        final String methodName = "addMatchCriteria";
 
-                                String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                log.debug("{} primitive match property search string ", methodName, searchString);
+        List<DefaultGraphTraversal> propCriteria = new ArrayList<>();
 
-                                // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text) {
-                                    t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
-                                } else {
-                                    if (!fullMatch) {
-                                        // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                        String ANYCHARS = ".*";
-                                        t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                    } else {
-                                        // Must be a full match...
-                                        t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textRegex(searchString));
-                                    }
-                                }
-                                break;
+        for (String propNameToSearch : resolvedProperties.keySet()) {
 
-                            default:
-                                t = (DefaultGraphTraversal) t.has(propNameToSearch, primValue);
-                                break;
+            // Mapping is String for all properties (core or type-specific) except for the subset of core properties that use Full-Text
+            GraphOMRSGraphFactory.MixedIndexMapping mapping = corePropertyMixedIndexMappings.get(propNameToSearch);
+            if (mapping == null) {
+                mapping = GraphOMRSGraphFactory.MixedIndexMapping.String;
+            }
 
-                        }
-                        log.debug("{} primitive match property has property criterion {}", methodName, t);
-                        propCriteria.add(t);
+            // Primitives will have been stored in the graph as such
+            PrimitivePropertyValue ppv = resolvedProperties.get(propNameToSearch);
+            PrimitiveDefCategory pCat = ppv.getPrimitiveDefCategory();
+            Object primValue = ppv.getPrimitiveValue();
+            log.debug("{} primitive match property has key {} value {}", methodName, propNameToSearch, primValue);
+            DefaultGraphTraversal t = new DefaultGraphTraversal();
+            switch (pCat) {
+
+                case OM_PRIMITIVE_TYPE_STRING:
+
+                    // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
+
+                    String searchString = convertSearchStringToJanusRegex((String) primValue);
+                    log.debug("{} primitive match property search string {}", methodName, searchString);
+
+                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
+                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text) {
+                        t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
                     } else {
-                        log.debug("{} non-primitive match property {} ignored", propName);
+                        if (!fullMatch) {
+                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
+                            String ANYCHARS = ".*";
+                            t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
+                        } else {
+                            // Must be a full match...
+                            t = (DefaultGraphTraversal) t.has(propNameToSearch, Text.textRegex(searchString));
+                        }
                     }
-                }
-            }
-
-            switch (matchCriteria) {
-                case ALL:
-                    gt = gt.and(propCriteria.toArray(new DefaultGraphTraversal[0]));
-                    log.debug("{} traversal looks like this --> {} ", methodName, gt);
-                    break;
-                case ANY:
-                    gt = gt.or(propCriteria.toArray(new DefaultGraphTraversal[0]));
-                    log.debug("{} traversal looks like this --> {} ", methodName, gt);
-                    break;
-                case NONE:
-                    DefaultGraphTraversal t = new DefaultGraphTraversal();
-                    t = (DefaultGraphTraversal) t.or(propCriteria.toArray(new DefaultGraphTraversal[0]));
-                    gt = gt.not(t);
-                    log.debug("{} traversal looks like this --> {} ", methodName, gt);
                     break;
+
                 default:
-                    GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.INVALID_MATCH_CRITERIA;
-                    g.tx().rollback();
-                    String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
-                            this.getClass().getName(),
-                            repositoryName);
+                    t = (DefaultGraphTraversal) t.has(propNameToSearch, primValue);
+                    break;
 
-                    throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
-                            this.getClass().getName(),
-                            methodName,
-                            errorMessage,
-                            errorCode.getSystemAction(),
-                            errorCode.getUserAction());
+            }
+            log.debug("{} primitive match property has property criterion {}", methodName, t);
+            propCriteria.add(t);
+        }
+
+        if (propCriteria.isEmpty()) {
+            return (matchCriteria == MatchCriteria.ANY) ? null : gt;
+        }
+
+        switch (matchCriteria) {
+            case ALL:
+                return gt.and(propCriteria.toArray(new DefaultGraphTraversal[0]));
+            case ANY:
+                return gt.or(propCriteria.toArray(new DefaultGraphTraversal[0]));
+            case NONE:
+                DefaultGraphTraversal t = new DefaultGraphTraversal();
+                t = (DefaultGraphTraversal) t.or(propCriteria.toArray(new DefaultGraphTraversal[0]));
+                return gt.not(t);
+            default:
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.INVALID_MATCH_CRITERIA;
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
+                        this.getClass().getName(),
+                        repositoryName);
 
+                throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+        }
+    }
+
+
+    /*
+     * Add an order step for the requested sequencing to an entity traversal. Returns false if the sequencing cannot be
+     * expressed in the traversal - this is the case for a property that resolves to different keys for different types
+     * or that is not a string.
+     *
+     * The ordering matches the repository helper - when sequencing by property, entities without the property are
+     * ordered before those with a value.  Entities with the same value are ordered by GUID so that the order is the
+     * same for every request and pages of results do not overlap or miss entities.
+     */
+    private boolean addSequencing(GraphTraversal<Vertex, Vertex> gt,
+                                  List<TypeDef>                  typeDefs,
+                                  String                         sequencingProperty,
+                                  SequencingOrder                sequencingOrder)
+    {
+        final String methodName = "addSequencing";
+
+        if (sequencingOrder != null) {
+            switch (sequencingOrder) {
+                case GUID:
+                    gt.order().by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                    return true;
+
+                case CREATION_DATE_RECENT:
+                    gt.order().by(__.coalesce(__.values(PROPERTY_KEY_ENTITY_CREATE_TIME), __.constant(new Date(0))), Order.desc)
+                              .by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                    return true;
+
+                case CREATION_DATE_OLDEST:
+                    gt.order().by(__.coalesce(__.values(PROPERTY_KEY_ENTITY_CREATE_TIME), __.constant(new Date(0))), Order.asc)
+                              .by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                    return true;
+
+                case LAST_UPDATE_RECENT:
+                    gt.order().by(__.coalesce(__.values(PROPERTY_KEY_ENTITY_UPDATE_TIME), __.values(PROPERTY_KEY_ENTITY_CREATE_TIME), __.constant(new Date(0))), Order.desc)
+                              .by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                    return true;
+
+                case LAST_UPDATE_OLDEST:
+                    gt.order().by(__.coalesce(__.values(PROPERTY_KEY_ENTITY_UPDATE_TIME), __.values(PROPERTY_KEY_ENTITY_CREATE_TIME), __.constant(new Date(0))), Order.asc)
+                              .by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                    return true;
+
+                default:
+                    break;
             }
+        }
 
+        if (sequencingProperty == null) {
+            // No sequencing requested
+            return true;
         }
 
+        /*
+         * The property must resolve to the same qualified key (and be a string) for every type that defines it.
+         */
+        String qualifiedPropertyName = null;
 
-        while (gt.hasNext()) {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
+        for (TypeDef typeDef : typeDefs) {
+            Map<String, String> qualifiedPropertyNames = GraphOMRSMapperUtils.getQualifiedPropertyNamesForTypeDef(typeDef, repositoryName, repositoryHelper);
+            String typeQualifiedPropertyName = qualifiedPropertyNames.get(sequencingProperty);
 
-            EntityDetail entityDetail = new EntityDetail();
-            try {
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy) {
-                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            } catch (Exception e) {
-                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
+            if (typeQualifiedPropertyName == null) {
                 continue;
             }
+
+            if (qualifiedPropertyName == null) {
+                if (!isStringAttribute(typeDef, sequencingProperty, methodName)) {
+                    return false;
+                }
+                qualifiedPropertyName = typeQualifiedPropertyName;
+            }
+            else if (!qualifiedPropertyName.equals(typeQualifiedPropertyName)) {
+                return false;
+            }
         }
 
-        g.tx().commit();
+        if (qualifiedPropertyName == null) {
+            // None of the types has the property so the results are not sequenced
+            return true;
+        }
 
-        return entities;
+        Order order = (sequencingOrder == SequencingOrder.PROPERTY_DESCENDING) ? Order.desc : Order.asc;
+
+        gt.order().by(__.coalesce(__.values(PROPERTY_KEY_PREFIX_ENTITY + qualifiedPropertyName), __.constant("")), order)
+                  .by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+
+        return true;
+    }
+
+
+    /*
+     * Return true if the named attribute of the type is a string primitive.
+     */
+    private boolean isStringAttribute(TypeDef typeDef,
+                                      String  attributeName,
+                                      String  methodName)
+    {
+        List<TypeDefAttribute> propertiesDef = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
+
+        if (propertiesDef != null) {
+            for (TypeDefAttribute propertyDef : propertiesDef) {
+                if (attributeName.equals(propertyDef.getAttributeName())) {
+                    AttributeTypeDef atd = propertyDef.getAttributeType();
+                    return (atd != null)
+                            && (atd.getCategory() == PRIMITIVE)
+                            && (((PrimitiveDef) atd).getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING);
+                }
+            }
+        }
 
+        return false;
     }
 
     private String convertSearchStringToJanusRegex(String str) {
@@ -0,0 +1,606 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EnumPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.MapPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.StructPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * GraphOMRSPropertiesCodec converts the InstanceProperties of entities, relationships and classifications to and
+ * from the binary value that is stored on their vertex or edge.  The encoding is much smaller than JSON and is
+ * decoded without reflection.  Each top level property is preceded by its length, so a caller that only needs some
+ * of the properties (for example the unique properties of an entity proxy) can skip over the others without
+ * decoding them.
+ *
+ * Graphs written before the binary encoding was introduced hold the properties as JSON.  These are still read
+ * through decodeJSON.  The codec is stateless and thread-safe, so a single instance is shared by the mappers.
+ *
+ * The encoding is:
+ * <pre>
+ *     encoded properties :=  FORMAT_VERSION properties
+ *     properties         :=  flags [effectiveFromTime] [effectiveToTime] count (name length value)*
+ *     value              :=  category typeGUID typeName category-specific-content
+ * </pre>
+ * Nested properties (in structs, maps and arrays) do not have the length before each value.  Counts and lengths
+ * are written as variable length integers and strings as UTF-8.
+ */
+class GraphOMRSPropertiesCodec
+{
+    private static final byte FORMAT_VERSION          = 1;
+
+    private static final int  EFFECTIVE_FROM_TIME_SET = 0x01;
+    private static final int  EFFECTIVE_TO_TIME_SET   = 0x02;
+
+    private static final byte PRIMITIVE_VALUE_NULL    = 0;
+    private static final byte PRIMITIVE_VALUE_TYPED   = 1;
+    private static final byte PRIMITIVE_VALUE_JSON    = 2;
+
+    private static final Map<Integer, InstancePropertyCategory> propertyCategories  = new HashMap<>();
+    private static final Map<Integer, PrimitiveDefCategory>     primitiveCategories = new HashMap<>();
+
+    static {
+        for (InstancePropertyCategory category : InstancePropertyCategory.values()) {
+            propertyCategories.put(category.getOrdinal(), category);
+        }
+        for (PrimitiveDefCategory category : PrimitiveDefCategory.values()) {
+            primitiveCategories.put(category.getOrdinal(), category);
+        }
+    }
+
+    // ObjectMapper is thread-safe once configured so one instance is used for all JSON conversions.
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    /**
+     * Encode the instance properties.
+     *
+     * @param instanceProperties properties to encode
+     * @return encoded properties
+     * @throws IOException a property value could not be encoded
+     */
+    byte[] encode(InstanceProperties instanceProperties) throws IOException
+    {
+        ByteArrayOutputStream encodedProperties = new ByteArrayOutputStream(256);
+        DataOutputStream      out               = new DataOutputStream(encodedProperties);
+
+        out.writeByte(FORMAT_VERSION);
+        writePropertiesHeader(out, instanceProperties);
+
+        // Each top level value is encoded into a buffer first so that it can be preceded by its length.
+        ByteArrayOutputStream encodedValue = new ByteArrayOutputStream(64);
+        DataOutputStream      valueOut     = new DataOutputStream(encodedValue);
+
+        Iterator<String> propertyNames = instanceProperties.getPropertyNames();
+        while (propertyNames.hasNext()) {
+            String propertyName = propertyNames.next();
+
+            encodedValue.reset();
+            writeValue(valueOut, instanceProperties.getPropertyValue(propertyName));
+            valueOut.flush();
+
+            writeString(out, propertyName);
+            writeVarInt(out, encodedValue.size());
+            encodedValue.writeTo(out);
+        }
+
+        out.flush();
+        return encodedProperties.toByteArray();
+    }
+
+
+    /**
+     * Decode all of the instance properties.
+     *
+     * @param encodedProperties value returned by encode
+     * @return instance properties
+     * @throws IOException the value is not a valid encoding
+     */
+    InstanceProperties decode(byte[] encodedProperties) throws IOException
+    {
+        return decode(encodedProperties, null);
+    }
+
+
+    /**
+     * Decode the named instance properties.  The values of the other properties are skipped without being decoded.
+     *
+     * @param encodedProperties value returned by encode
+     * @param propertyNames names of the properties to decode, or null for all properties
+     * @return instance properties
+     * @throws IOException the value is not a valid encoding
+     */
+    InstanceProperties decode(byte[]             encodedProperties,
+                              Collection<String> propertyNames) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encodedProperties));
+
+        byte formatVersion = in.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported instance properties format version " + formatVersion);
+        }
+
+        InstanceProperties instanceProperties = new InstanceProperties();
+        int propertyCount = readPropertiesHeader(in, instanceProperties);
+
+        for (int i = 0; i < propertyCount; i++) {
+            String propertyName = readString(in);
+            int    valueLength  = readVarInt(in);
+
+            if ((propertyNames == null) || (propertyNames.contains(propertyName))) {
+                instanceProperties.setProperty(propertyName, readValue(in));
+            }
+            else {
+                in.skipBytes(valueLength);
+            }
+        }
+
+        return instanceProperties;
+    }
+
+
+    /**
+     * Decode instance properties stored as JSON by earlier versions of the graph repository.
+     *
+     * @param jsonProperties JSON serialized instance properties
+     * @return instance properties
+     * @throws IOException the JSON could not be parsed
+     */
+    InstanceProperties decodeJSON(String jsonProperties) throws IOException
+    {
+        return objectMapper.readValue(jsonProperties, InstanceProperties.class);
+    }
+
+
+    /**
+     * Serialize a list of strings (such as maintainedBy) to JSON.  Lists are stored as JSON text so that they can
+     * be searched through a text index.
+     *
+     * @param stringList list to serialize
+     * @return JSON string
+     * @throws IOException the list could not be serialized
+     */
+    String encodeStringList(List<String> stringList) throws IOException
+    {
+        return objectMapper.writeValueAsString(stringList);
+    }
+
+
+    /**
+     * Parse a list of strings serialized by encodeStringList.
+     *
+     * @param jsonList JSON string
+     * @return list of strings
+     * @throws IOException the JSON could not be parsed
+     */
+    List<String> decodeStringList(String jsonList) throws IOException
+    {
+        return objectMapper.readValue(jsonList, objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+    }
+
+
+    private void writePropertiesHeader(DataOutput out, InstanceProperties instanceProperties) throws IOException
+    {
+        Date effectiveFromTime = instanceProperties.getEffectiveFromTime();
+        Date effectiveToTime   = instanceProperties.getEffectiveToTime();
+
+        int flags = 0;
+        if (effectiveFromTime != null) {
+            flags = flags | EFFECTIVE_FROM_TIME_SET;
+        }
+        if (effectiveToTime != null) {
+            flags = flags | EFFECTIVE_TO_TIME_SET;
+        }
+
+        out.writeByte(flags);
+        if (effectiveFromTime != null) {
+            out.writeLong(effectiveFromTime.getTime());
+        }
+        if (effectiveToTime != null) {
+            out.writeLong(effectiveToTime.getTime());
+        }
+        writeVarInt(out, instanceProperties.getPropertyCount());
+    }
+
+
+    private int readPropertiesHeader(DataInput in, InstanceProperties instanceProperties) throws IOException
+    {
+        int flags = in.readByte();
+
+        if ((flags & EFFECTIVE_FROM_TIME_SET) != 0) {
+            instanceProperties.setEffectiveFromTime(new Date(in.readLong()));
+        }
+        if ((flags & EFFECTIVE_TO_TIME_SET) != 0) {
+            instanceProperties.setEffectiveToTime(new Date(in.readLong()));
+        }
+        return readVarInt(in);
+    }
+
+
+    private void writeNestedProperties(DataOutput out, InstanceProperties instanceProperties) throws IOException
+    {
+        out.writeBoolean(instanceProperties != null);
+        if (instanceProperties != null) {
+            writePropertiesHeader(out, instanceProperties);
+
+            Iterator<String> propertyNames = instanceProperties.getPropertyNames();
+            while (propertyNames.hasNext()) {
+                String propertyName = propertyNames.next();
+                writeString(out, propertyName);
+                writeValue(out, instanceProperties.getPropertyValue(propertyName));
+            }
+        }
+    }
+
+
+    private InstanceProperties readNestedProperties(DataInput in) throws IOException
+    {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        InstanceProperties instanceProperties = new InstanceProperties();
+        int propertyCount = readPropertiesHeader(in, instanceProperties);
+
+        for (int i = 0; i < propertyCount; i++) {
+            String propertyName = readString(in);
+            instanceProperties.setProperty(propertyName, readValue(in));
+        }
+        return instanceProperties;
+    }
+
+
+    private void writeValue(DataOutput out, InstancePropertyValue propertyValue) throws IOException
+    {
+        if (propertyValue == null) {
+            out.writeByte(-1);
+            return;
+        }
+
+        InstancePropertyCategory category = propertyValue.getInstancePropertyCategory();
+        if (category == null) {
+            throw new IOException("Instance property value has no category");
+        }
+
+        out.writeByte(category.getOrdinal());
+        writeString(out, propertyValue.getTypeGUID());
+        writeString(out, propertyValue.getTypeName());
+
+        switch (category) {
+            case PRIMITIVE:
+                writePrimitiveValue(out, (PrimitivePropertyValue) propertyValue);
+                break;
+
+            case ENUM:
+                EnumPropertyValue enumPropertyValue = (EnumPropertyValue) propertyValue;
+                out.writeInt(enumPropertyValue.getOrdinal());
+                writeString(out, enumPropertyValue.getSymbolicName());
+                writeString(out, enumPropertyValue.getDescription());
+                break;
+
+            case STRUCT:
+                writeNestedProperties(out, ((StructPropertyValue) propertyValue).getAttributes());
+                break;
+
+            case MAP:
+                writeNestedProperties(out, ((MapPropertyValue) propertyValue).getMapValues());
+                break;
+
+            case ARRAY:
+                ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue) propertyValue;
+                out.writeInt(arrayPropertyValue.getArrayCount());
+                writeNestedProperties(out, arrayPropertyValue.getArrayValues());
+                break;
+
+            default:
+                throw new IOException("Unsupported instance property category " + category.getName());
+        }
+    }
+
+
+    private InstancePropertyValue readValue(DataInput in) throws IOException
+    {
+        int categoryOrdinal = in.readByte();
+        if (categoryOrdinal == -1) {
+            return null;
+        }
+
+        InstancePropertyCategory category = propertyCategories.get(categoryOrdinal);
+        String                   typeGUID = readString(in);
+        String                   typeName = readString(in);
+
+        InstancePropertyValue propertyValue;
+
+        if (category == null) {
+            throw new IOException("Unknown instance property category " + categoryOrdinal);
+        }
+
+        switch (category) {
+            case PRIMITIVE:
+                propertyValue = readPrimitiveValue(in);
+                break;
+
+            case ENUM:
+                EnumPropertyValue enumPropertyValue = new EnumPropertyValue();
+                enumPropertyValue.setOrdinal(in.readInt());
+                enumPropertyValue.setSymbolicName(readString(in));
+                enumPropertyValue.setDescription(readString(in));
+                propertyValue = enumPropertyValue;
+                break;
+
+            case STRUCT:
+                StructPropertyValue structPropertyValue = new StructPropertyValue();
+                structPropertyValue.setAttributes(readNestedProperties(in));
+                propertyValue = structPropertyValue;
+                break;
+
+            case MAP:
+                MapPropertyValue mapPropertyValue = new MapPropertyValue();
+                mapPropertyValue.setMapValues(readNestedProperties(in));
+                propertyValue = mapPropertyValue;
+                break;
+
+            case ARRAY:
+                ArrayPropertyValue arrayPropertyValue = new ArrayPropertyValue();
+                arrayPropertyValue.setArrayCount(in.readInt());
+                arrayPropertyValue.setArrayValues(readNestedProperties(in));
+                propertyValue = arrayPropertyValue;
+                break;
+
+            default:
+                throw new IOException("Unsupported instance property category " + category.getName());
+        }
+
+        propertyValue.setTypeGUID(typeGUID);
+        propertyValue.setTypeName(typeName);
+        return propertyValue;
+    }
+
+
+    /*
+     * A primitive value is written in its binary form when it has the Java class of its primitive category.
+     * Anything else (such as a value of the unknown category) is written as JSON and is converted back by
+     * PrimitivePropertyValue in the same way as it would be after a JSON round trip.
+     */
+    private void writePrimitiveValue(DataOutput out, PrimitivePropertyValue propertyValue) throws IOException
+    {
+        PrimitiveDefCategory primitiveCategory = propertyValue.getPrimitiveDefCategory();
+        Object               primitiveValue    = propertyValue.getPrimitiveValue();
+
+        out.writeByte(primitiveCategory == null ? -1 : primitiveCategory.getOrdinal());
+
+        if (primitiveValue == null) {
+            out.writeByte(PRIMITIVE_VALUE_NULL);
+            return;
+        }
+
+        if (primitiveCategory != null) {
+            switch (primitiveCategory) {
+                case OM_PRIMITIVE_TYPE_BOOLEAN:
+                    if (primitiveValue instanceof Boolean) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeBoolean((Boolean) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_BYTE:
+                    if (primitiveValue instanceof Byte) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeByte((Byte) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_CHAR:
+                    if (primitiveValue instanceof Character) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeChar((Character) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_SHORT:
+                    if (primitiveValue instanceof Short) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeShort((Short) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_INT:
+                    if (primitiveValue instanceof Integer) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeInt((Integer) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_LONG:
+                case OM_PRIMITIVE_TYPE_DATE:
+                    if (primitiveValue instanceof Long) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeLong((Long) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_FLOAT:
+                    if (primitiveValue instanceof Float) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeFloat((Float) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_DOUBLE:
+                    if (primitiveValue instanceof Double) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        out.writeDouble((Double) primitiveValue);
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_BIGINTEGER:
+                case OM_PRIMITIVE_TYPE_BIGDECIMAL:
+                    if ((primitiveValue instanceof BigInteger) || (primitiveValue instanceof BigDecimal)) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        writeString(out, primitiveValue.toString());
+                        return;
+                    }
+                    break;
+                case OM_PRIMITIVE_TYPE_STRING:
+                    if (primitiveValue instanceof String) {
+                        out.writeByte(PRIMITIVE_VALUE_TYPED);
+                        writeString(out, (String) primitiveValue);
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        out.writeByte(PRIMITIVE_VALUE_JSON);
+        writeString(out, objectMapper.writeValueAsString(primitiveValue));
+    }
+
+
+    private PrimitivePropertyValue readPrimitiveValue(DataInput in) throws IOException
+    {
+        PrimitivePropertyValue propertyValue     = new PrimitivePropertyValue();
+        PrimitiveDefCategory   primitiveCategory = primitiveCategories.get((int) in.readByte());
+        byte                   valueEncoding     = in.readByte();
+
+        propertyValue.setPrimitiveDefCategory(primitiveCategory);
+
+        if (valueEncoding == PRIMITIVE_VALUE_TYPED) {
+            Object primitiveValue;
+
+            switch (primitiveCategory) {
+                case OM_PRIMITIVE_TYPE_BOOLEAN:
+                    primitiveValue = in.readBoolean();
+                    break;
+                case OM_PRIMITIVE_TYPE_BYTE:
+                    primitiveValue = in.readByte();
+                    break;
+                case OM_PRIMITIVE_TYPE_CHAR:
+                    primitiveValue = in.readChar();
+                    break;
+                case OM_PRIMITIVE_TYPE_SHORT:
+                    primitiveValue = in.readShort();
+                    break;
+                case OM_PRIMITIVE_TYPE_INT:
+                    primitiveValue = in.readInt();
+                    break;
+                case OM_PRIMITIVE_TYPE_LONG:
+                case OM_PRIMITIVE_TYPE_DATE:
+                    primitiveValue = in.readLong();
+                    break;
+                case OM_PRIMITIVE_TYPE_FLOAT:
+                    primitiveValue = in.readFloat();
+                    break;
+                case OM_PRIMITIVE_TYPE_DOUBLE:
+                    primitiveValue = in.readDouble();
+                    break;
+                case OM_PRIMITIVE_TYPE_BIGINTEGER:
+                    primitiveValue = new BigInteger(readString(in));
+                    break;
+                case OM_PRIMITIVE_TYPE_BIGDECIMAL:
+                    primitiveValue = new BigDecimal(readString(in));
+                    break;
+                case OM_PRIMITIVE_TYPE_STRING:
+                    primitiveValue = readString(in);
+                    break;
+                default:
+                    throw new IOException("Unexpected encoding for primitive category " + primitiveCategory.getName());
+            }
+            propertyValue.setPrimitiveValue(primitiveValue);
+        }
+        else if (valueEncoding == PRIMITIVE_VALUE_JSON) {
+            propertyValue.setPrimitiveValue(objectMapper.readValue(readString(in), Object.class));
+        }
+
+        return propertyValue;
+    }
+
+
+    /*
+     * Strings are written as their UTF-8 length plus one (zero for a null string) followed by the UTF-8 bytes.
+     * DataOutput.writeUTF is not used because it is limited to 64K.
+     */
+    private void writeString(DataOutput out, String value) throws IOException
+    {
+        if (value == null) {
+            writeVarInt(out, 0);
+        }
+        else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length + 1);
+            out.write(bytes);
+        }
+    }
+
+
+    private String readString(DataInput in) throws IOException
+    {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    /*
+     * Non-negative integers are written seven bits at a time, low bits first, with the top bit of each byte
+     * set when more bytes follow.
+     */
+    private void writeVarInt(DataOutput out, int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value = value >>> 7;
+        }
+        out.writeByte(value);
+    }
+
+
+    private int readVarInt(DataInput in) throws IOException
+    {
+        int value = 0;
+        int shift = 0;
+        int nextByte;
+
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable length integer");
+            }
+            nextByte = in.readByte();
+            value = value | ((nextByte & 0x7F) << shift);
+            shift = shift + 7;
+        } while ((nextByte & 0x80) != 0);
+
+        return value;
+    }
+}
@@ -4,7 +4,6 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 
@@ -37,6 +36,8 @@ public class GraphOMRSRelationshipMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSRelationshipMapper.class);
 
+    private static final GraphOMRSPropertiesCodec propertiesCodec = new GraphOMRSPropertiesCodec();
+
     private String               repositoryName;
     private String               metadataCollectionId;
     private OMRSRepositoryHelper repositoryHelper;
@@ -245,10 +246,9 @@ public class GraphOMRSRelationshipMapper {
 
         List<String> maintainedByList = relationship.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = propertiesCodec.encodeStringList(maintainedByList);
                 edge.property(PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -287,13 +287,12 @@ public class GraphOMRSRelationshipMapper {
 
         InstanceProperties instanceProperties = relationship.getProperties();
         if (instanceProperties != null) {
-            // First approach is to write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
-
+            // First write the complete properties in binary form, replacing any JSON written by an earlier release
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
-                edge.property("relationshipProperties", jsonString);
+                edge.property(PROPERTY_KEY_RELATIONSHIP_PROPERTIES, propertiesCodec.encode(instanceProperties));
+                Property jsonProperty = edge.property(PROPERTY_KEY_RELATIONSHIP_PROPERTIES_JSON);
+                if (jsonProperty != null)
+                    jsonProperty.remove();
 
             } catch (Throwable exc) {
                 GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR;
@@ -412,9 +411,8 @@ public class GraphOMRSRelationshipMapper {
         // maintainedBy
         String maintainedByString = (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = propertiesCodec.decodeStringList(maintainedByString);
                 log.debug("{} edge has deserialized maintainedBy list {}", methodName, maintainedByList);
                 relationship.setMaintainedBy(maintainedByList);
 
@@ -437,12 +435,13 @@ public class GraphOMRSRelationshipMapper {
         relationship.setReplicatedBy((String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_REPLICATED_BY));
 
 
-        // relationshipProperties
-        String stringProps = (String) (getEdgeProperty(edge, "relationshipProperties"));
-        if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
+        // relationshipProperties - edges that have not been rewritten since an earlier release hold JSON rather than binary
+        byte[] encodedProps = (byte[]) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_PROPERTIES);
+        String stringProps = (encodedProps == null) ? (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_PROPERTIES_JSON) : null;
+        if (encodedProps != null || stringProps != null) {
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = (encodedProps != null) ? propertiesCodec.decode(encodedProps)
+                                                                               : propertiesCodec.decodeJSON(stringProps);
                 log.debug("{} relationship has deserialized properties {}", methodName, instanceProperties);
                 relationship.setProperties(instanceProperties);
 
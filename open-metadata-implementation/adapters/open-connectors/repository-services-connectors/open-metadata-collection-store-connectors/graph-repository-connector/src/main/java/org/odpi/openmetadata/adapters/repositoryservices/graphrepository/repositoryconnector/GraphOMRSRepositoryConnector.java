@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
 /**
@@ -43,4 +44,21 @@ public class GraphOMRSRepositoryConnector extends OMRSRepositoryConnector
                                                                        auditLog);
         }
     }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  This closes the graph database and
+     * stops the pruning of its history.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    public void disconnect() throws ConnectorCheckedException
+    {
+        super.disconnect();
+
+        if (super.metadataCollection instanceof GraphOMRSMetadataCollection)
+        {
+            ((GraphOMRSMetadataCollection) super.metadataCollection).shutdown();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.janusgraph.core.JanusGraph;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_TYPE_NAME;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * GraphOMRSGraphFactoryBenchmark runs the same workload against the graph database opened with different JanusGraph
+ * settings.  The workload writes a set of entity vertices in fixed size transactions and then reads each of them back
+ * several times through the GUID index.  It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DgraphBenchmark
+ * </pre>
+ * The number of vertices can be changed with -DgraphBenchmarkVertices=n.
+ */
+public class GraphOMRSGraphFactoryBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(GraphOMRSGraphFactoryBenchmark.class);
+
+    private static final String benchmarkDirectory = "target/graph-benchmark";
+    private static final int    commitSize         = 500;
+    private static final int    readPasses         = 3;
+
+
+    /**
+     * Return the configurations to compare.  Each is a set of connector configuration properties.
+     *
+     * @return map of configuration name to configuration properties
+     */
+    private Map<String, Map<String, Object>> getConfigurations()
+    {
+        Map<String, Map<String, Object>> configurations = new LinkedHashMap<>();
+
+        Map<String, Object> defaults = new HashMap<>();
+        configurations.put("berkeleyje", defaults);
+
+        Map<String, Object> cached = new HashMap<>();
+        cached.put("cache.db-cache", true);
+        cached.put("cache.db-cache-size", 0.25);
+        cached.put("cache.db-cache-time", 180000);
+        configurations.put("berkeleyje-db-cache", cached);
+
+        Map<String, Object> bulk = new HashMap<>(cached);
+        bulk.put("ids.block-size", 100000);
+        bulk.put("storage.buffer-size", 4096);
+        configurations.put("berkeleyje-db-cache-id-blocks", bulk);
+
+        Map<String, Object> inMemory = new HashMap<>();
+        inMemory.put("storage.backend", "inmemory");
+        configurations.put("inmemory", inMemory);
+
+        return configurations;
+    }
+
+
+    /**
+     * Run the workload for each configuration and log the timings.
+     *
+     * @throws Exception the files from a previous run could not be removed
+     */
+    @Test
+    public void compareConfigurations() throws Exception
+    {
+        int          vertexCount = Integer.getInteger("graphBenchmarkVertices", 10000);
+        OMRSAuditLog auditLog    = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                    OMRSAuditingComponent.LOCAL_REPOSITORY_CONNECTOR);
+
+        Map<String, Map<String, Object>> configurations = getConfigurations();
+        StringBuilder                    report         = new StringBuilder("Graph benchmark for " + vertexCount + " vertices:");
+
+        for (String configurationName : configurations.keySet())
+        {
+            Path directory = new File(benchmarkDirectory, configurationName).toPath();
+            this.deleteDirectory(directory);
+
+            Map<String, Object> configurationProperties = new HashMap<>(configurations.get(configurationName));
+            configurationProperties.putIfAbsent("storage.directory", directory.resolve("berkeley").toString());
+            configurationProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+
+            JanusGraph graph = null;
+            try
+            {
+                graph = GraphOMRSGraphFactory.open(UUID.randomUUID().toString(),
+                                                   configurationName,
+                                                   auditLog,
+                                                   configurationProperties);
+
+                String[] guids = new String[vertexCount];
+
+                long startTime = System.nanoTime();
+                this.writeVertices(graph, guids);
+                long writeTime = System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                this.readVertices(graph, guids);
+                long readTime = System.nanoTime() - startTime;
+
+                report.append(String.format("%n  %-36s write %8d ms  read %8d ms",
+                                            configurationName,
+                                            writeTime / 1000000,
+                                            readTime / 1000000));
+            }
+            catch (Exception error)
+            {
+                /*
+                 * A configuration that cannot run in this environment is reported rather than stopping the comparison.
+                 */
+                log.error("Configuration " + configurationName + " failed", error);
+                report.append(String.format("%n  %-36s failed: %s", configurationName, error.toString()));
+            }
+            finally
+            {
+                if (graph != null)
+                {
+                    graph.close();
+                }
+            }
+        }
+
+        log.info(report.toString());
+    }
+
+
+    /**
+     * Create an entity vertex for each guid, committing after every commitSize vertices.
+     *
+     * @param graph graph to update
+     * @param guids array to fill with the guids of the new vertices
+     */
+    private void writeVertices(JanusGraph graph,
+                               String[]   guids)
+    {
+        GraphTraversalSource g = graph.traversal();
+
+        for (int i = 0; i < guids.length; i++)
+        {
+            guids[i] = UUID.randomUUID().toString();
+
+            g.addV("Entity")
+             .property(PROPERTY_KEY_ENTITY_GUID, guids[i])
+             .property(PROPERTY_KEY_ENTITY_TYPE_NAME, "Referenceable")
+             .property(PROPERTY_KEY_ENTITY_IS_PROXY, false)
+             .iterate();
+
+            if ((i + 1) % commitSize == 0)
+            {
+                g.tx().commit();
+            }
+        }
+
+        g.tx().commit();
+    }
+
+
+    /**
+     * Look up each vertex by guid, readPasses times.
+     *
+     * @param graph graph to query
+     * @param guids guids of the vertices to look up
+     */
+    private void readVertices(JanusGraph graph,
+                              String[]   guids)
+    {
+        GraphTraversalSource g = graph.traversal();
+
+        for (int pass = 0; pass < readPasses; pass++)
+        {
+            for (String guid : guids)
+            {
+                assertEquals(g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid).count().next().longValue(), 1L);
+            }
+
+            g.tx().commit();
+        }
+    }
+
+
+    /**
+     * Remove the files left by a previous run.
+     *
+     * @param directory directory to remove
+     * @throws IOException the files could not be removed
+     */
+    private void deleteDirectory(Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
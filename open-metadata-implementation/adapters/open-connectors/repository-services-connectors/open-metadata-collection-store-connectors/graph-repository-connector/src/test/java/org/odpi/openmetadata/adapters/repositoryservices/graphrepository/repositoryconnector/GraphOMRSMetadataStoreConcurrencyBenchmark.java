@@ -0,0 +1,256 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * GraphOMRSMetadataStoreConcurrencyBenchmark measures the throughput of a mixed read and write workload against
+ * GraphOMRSMetadataStore with an increasing number of threads.  Each operation either retrieves an entity by GUID
+ * or updates an entity, chosen at random.  It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DgraphBenchmark
+ * </pre>
+ * The number of entities and the number of operations per thread can be changed with
+ * -DgraphBenchmarkEntities=n and -DgraphBenchmarkOperations=n.
+ */
+public class GraphOMRSMetadataStoreConcurrencyBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(GraphOMRSMetadataStoreConcurrencyBenchmark.class);
+
+    private static final String benchmarkDirectory   = "target/graph-concurrency-benchmark";
+    private static final String metadataCollectionId = UUID.randomUUID().toString();
+    private static final String typeName             = "BenchmarkEntity";
+    private static final String typeGUID             = UUID.randomUUID().toString();
+    private static final String userId               = "benchmarkUser";
+    private static final int    updatePercentage     = 20;
+
+
+    /**
+     * Run the workload with 1, 2, 4 ... threads up to twice the number of processors and log the throughput.
+     *
+     * @throws Exception the graph could not be set up or an operation failed
+     */
+    @Test
+    public void measureThroughput() throws Exception
+    {
+        int entityCount    = Integer.getInteger("graphBenchmarkEntities", 2000);
+        int operationCount = Integer.getInteger("graphBenchmarkOperations", 2000);
+        int maxThreads     = Runtime.getRuntime().availableProcessors() * 2;
+
+        Path directory = new File(benchmarkDirectory).toPath();
+        this.deleteDirectory(directory);
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        configurationProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                 OMRSAuditingComponent.LOCAL_REPOSITORY_CONNECTOR);
+
+        GraphOMRSMetadataStore store = new GraphOMRSMetadataStore(metadataCollectionId,
+                                                                  "concurrency-benchmark",
+                                                                  this.getRepositoryHelper(),
+                                                                  auditLog,
+                                                                  configurationProperties);
+
+        List<String> guids = new ArrayList<>();
+        for (int i = 0; i < entityCount; i++)
+        {
+            EntityDetail entity = this.getNewEntity();
+            store.createEntityInStore(entity);
+            guids.add(entity.getGUID());
+        }
+
+        StringBuilder report = new StringBuilder("Graph store throughput for " + entityCount + " entities, "
+                                                 + operationCount + " operations per thread, "
+                                                 + updatePercentage + "% updates:");
+
+        for (int threadCount = 1; threadCount <= maxThreads; threadCount = threadCount * 2)
+        {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            List<Future<Integer>> results = new ArrayList<>();
+
+            long startTime = System.nanoTime();
+            for (int thread = 0; thread < threadCount; thread++)
+            {
+                results.add(executor.submit(() -> this.runOperations(store, guids, operationCount)));
+            }
+
+            int completed = 0;
+            for (Future<Integer> result : results)
+            {
+                completed = completed + result.get();
+            }
+            long elapsedTime = System.nanoTime() - startTime;
+            executor.shutdown();
+
+            assertEquals(completed, threadCount * operationCount);
+
+            report.append(String.format("%n  %3d threads  %8d ms  %10.0f operations/second",
+                                        threadCount,
+                                        elapsedTime / 1000000,
+                                        completed / (elapsedTime / 1000000000.0)));
+        }
+
+        log.info(report.toString());
+    }
+
+
+    /**
+     * Run the operations for one thread.
+     *
+     * @param store store to call
+     * @param guids guids of the stored entities
+     * @param operationCount number of operations to run
+     * @return number of operations completed
+     * @throws Exception an operation failed
+     */
+    private int runOperations(GraphOMRSMetadataStore store,
+                              List<String>           guids,
+                              int                    operationCount) throws Exception
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < operationCount; i++)
+        {
+            EntityDetail entity = store.getEntityDetailFromStore(guids.get(random.nextInt(guids.size())));
+
+            if (random.nextInt(100) < updatePercentage)
+            {
+                entity.setVersion(entity.getVersion() + 1);
+                entity.setUpdatedBy(userId);
+                entity.setUpdateTime(new Date());
+                store.updateEntityInStore(entity);
+            }
+        }
+
+        return operationCount;
+    }
+
+
+    /**
+     * Return a new entity of the benchmark type.
+     *
+     * @return entity
+     */
+    private EntityDetail getNewEntity()
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(UUID.randomUUID().toString());
+        entity.setType(this.getInstanceType());
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+        entity.setCreatedBy(userId);
+        entity.setCreateTime(new Date());
+
+        return entity;
+    }
+
+
+    /**
+     * Return the instance type of the benchmark entities.
+     *
+     * @return instance type
+     */
+    private InstanceType getInstanceType()
+    {
+        return new InstanceType(TypeDefCategory.ENTITY_DEF,
+                                typeGUID,
+                                typeName,
+                                1L,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+    }
+
+
+    /**
+     * Return a repository helper that knows about the benchmark entity type only.  The store only needs the
+     * type lookups, so the helper is a dynamic proxy rather than a full repository content helper.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        EntityDef typeDef = new EntityDef();
+        typeDef.setGUID(typeGUID);
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+        typeDef.setVersionName("1.0");
+
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                     case "getTypeDef":
+                                                                         return typeDef;
+                                                                     case "getNewInstanceType":
+                                                                         return getInstanceType();
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return Collections.emptyList();
+                                                                     default:
+                                                                         return null;
+                                                                 }
+                                                             });
+    }
+
+
+    /**
+     * Remove the files left by a previous run.
+     *
+     * @param directory directory to remove
+     * @throws IOException the files could not be removed
+     */
+    private void deleteDirectory(Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for the single traversal used by GraphOMRSMetadataStore.findEntitiesByProperty to search several entity
+ * types at once.  The store holds entities of two subtypes of a common supertype and of an unrelated type that
+ * defines an attribute with the same name.
+ */
+public class GraphOMRSMetadataStoreFindTest
+{
+    private static final String testDirectory        = "target/graph-find-test";
+    private static final String metadataCollectionId = UUID.randomUUID().toString();
+    private static final String userId               = "testUser";
+
+    private static final String parentTypeName         = "TestParent";
+    private static final String childATypeName         = "TestChildA";
+    private static final String childBTypeName         = "TestChildB";
+    private static final String otherTypeName          = "TestOther";
+    private static final String classificationTypeName = "TestClassification";
+
+    private final Map<String, TypeDef> typeDefs = new HashMap<>();
+    private final Date                 createTime = new Date();
+
+    private GraphOMRSMetadataStore store;
+
+
+    /**
+     * Create the store and the test entities.  All of the entities have the same creation time so ordering by
+     * creation time depends on the tie-break.
+     *
+     * @throws Exception the graph could not be set up
+     */
+    @BeforeClass
+    public void setUp() throws Exception
+    {
+        Path directory = new File(testDirectory).toPath();
+        this.deleteDirectory(directory);
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        configurationProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+
+        this.addEntityDef(parentTypeName, null, "name");
+        this.addEntityDef(childATypeName, parentTypeName, "extraA");
+        this.addEntityDef(childBTypeName, parentTypeName, null);
+        this.addEntityDef(otherTypeName, null, "name");
+
+        ClassificationDef classificationDef = new ClassificationDef();
+        classificationDef.setGUID(UUID.randomUUID().toString());
+        classificationDef.setName(classificationTypeName);
+        classificationDef.setVersion(1L);
+        classificationDef.setVersionName("1.0");
+        typeDefs.put(classificationTypeName, classificationDef);
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                 OMRSAuditingComponent.LOCAL_REPOSITORY_CONNECTOR);
+
+        store = new GraphOMRSMetadataStore(metadataCollectionId,
+                                           "find-test",
+                                           this.getRepositoryHelper(),
+                                           auditLog,
+                                           configurationProperties);
+
+        this.createEntity(childATypeName, "n3", "alpha", InstanceStatus.ACTIVE, true);
+        this.createEntity(childATypeName, "n1", "beta", InstanceStatus.PROPOSED, false);
+        this.createEntity(childBTypeName, "n2", null, InstanceStatus.ACTIVE, true);
+        this.createEntity(childBTypeName, "n4", null, InstanceStatus.ACTIVE, false);
+        this.createEntity(otherTypeName, "n0", null, InstanceStatus.ACTIVE, true);
+    }
+
+
+    @AfterClass
+    public void tearDown()
+    {
+        store.shutdown();
+    }
+
+
+    @Test
+    public void testOnlyRequestedTypesReturned() throws Exception
+    {
+        List<EntityDetail> results = store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                                  MatchCriteria.ALL,
+                                                                  true,
+                                                                  null,
+                                                                  null,
+                                                                  0,
+                                                                  "name",
+                                                                  SequencingOrder.PROPERTY_ASCENDING,
+                                                                  0);
+
+        assertEquals(this.getNames(results), Arrays.asList("n1", "n2", "n3", "n4"));
+    }
+
+
+    @Test
+    public void testStatusFilter() throws Exception
+    {
+        List<EntityDetail> results = store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                                  MatchCriteria.ALL,
+                                                                  true,
+                                                                  Collections.singletonList(InstanceStatus.ACTIVE),
+                                                                  null,
+                                                                  0,
+                                                                  "name",
+                                                                  SequencingOrder.PROPERTY_ASCENDING,
+                                                                  0);
+
+        assertEquals(this.getNames(results), Arrays.asList("n2", "n3", "n4"));
+    }
+
+
+    @Test
+    public void testClassificationFilter() throws Exception
+    {
+        List<EntityDetail> results = store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                                  MatchCriteria.ALL,
+                                                                  true,
+                                                                  null,
+                                                                  Collections.singletonList(classificationTypeName),
+                                                                  0,
+                                                                  "name",
+                                                                  SequencingOrder.PROPERTY_DESCENDING,
+                                                                  0);
+
+        assertEquals(this.getNames(results), Arrays.asList("n3", "n2"));
+    }
+
+
+    @Test
+    public void testMatchAllSkipsTypesWithoutProperty() throws Exception
+    {
+        InstanceProperties matchProperties = new InstanceProperties();
+        matchProperties.setProperty("extraA", this.getStringValue("alpha"));
+
+        List<EntityDetail> results = store.findEntitiesByProperty(this.getSearchTypes(matchProperties),
+                                                                  MatchCriteria.ALL,
+                                                                  true,
+                                                                  null,
+                                                                  null,
+                                                                  0,
+                                                                  null,
+                                                                  null,
+                                                                  0);
+
+        assertEquals(this.getNames(results), Collections.singletonList("n3"));
+    }
+
+
+    @Test
+    public void testPagesOfEqualCreationTimesDoNotOverlap() throws Exception
+    {
+        List<String> pagedGUIDs = new ArrayList<>();
+
+        for (int fromElement = 0; fromElement < 4; fromElement = fromElement + 2)
+        {
+            List<EntityDetail> page = store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                                   MatchCriteria.ALL,
+                                                                   true,
+                                                                   null,
+                                                                   null,
+                                                                   fromElement,
+                                                                   null,
+                                                                   SequencingOrder.CREATION_DATE_RECENT,
+                                                                   2);
+
+            assertEquals(page.size(), 2);
+            page.forEach((entity) -> pagedGUIDs.add(entity.getGUID()));
+        }
+
+        assertNull(store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                MatchCriteria.ALL,
+                                                true,
+                                                null,
+                                                null,
+                                                4,
+                                                null,
+                                                SequencingOrder.CREATION_DATE_RECENT,
+                                                2));
+
+        /*
+         * The creation times are all the same, so the entities are returned in GUID order.
+         */
+        List<EntityDetail> allResults = store.findEntitiesByProperty(this.getSearchTypes(null),
+                                                                     MatchCriteria.ALL,
+                                                                     true,
+                                                                     null,
+                                                                     null,
+                                                                     0,
+                                                                     null,
+                                                                     SequencingOrder.GUID,
+                                                                     0);
+
+        assertEquals(pagedGUIDs, allResults.stream().map(EntityDetail::getGUID).collect(Collectors.toList()));
+        assertEquals(pagedGUIDs, pagedGUIDs.stream().sorted().collect(Collectors.toList()));
+    }
+
+
+    /**
+     * Return the types to search - the two subtypes of the parent type.
+     *
+     * @param matchProperties properties to match for each type
+     * @return map of type name to match properties
+     */
+    private Map<String, InstanceProperties> getSearchTypes(InstanceProperties matchProperties)
+    {
+        Map<String, InstanceProperties> searchTypes = new LinkedHashMap<>();
+
+        searchTypes.put(childATypeName, matchProperties);
+        searchTypes.put(childBTypeName, matchProperties);
+
+        return searchTypes;
+    }
+
+
+    /**
+     * Return the name property of each entity in the results.
+     *
+     * @param results results of a find
+     * @return list of names in the order returned
+     */
+    private List<String> getNames(List<EntityDetail> results)
+    {
+        List<String> names = new ArrayList<>();
+
+        for (EntityDetail entity : results)
+        {
+            names.add((String) ((PrimitivePropertyValue) entity.getProperties().getPropertyValue("name")).getPrimitiveValue());
+        }
+
+        return names;
+    }
+
+
+    /**
+     * Create an entity in the store.
+     *
+     * @param typeName type of the entity
+     * @param name value of the name attribute
+     * @param extraA value of the extraA attribute or null
+     * @param status status of the entity
+     * @param classified whether the entity has the test classification
+     * @throws Exception the entity could not be created
+     */
+    private void createEntity(String         typeName,
+                              String         name,
+                              String         extraA,
+                              InstanceStatus status,
+                              boolean        classified) throws Exception
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(UUID.randomUUID().toString());
+        entity.setType(this.getInstanceType(TypeDefCategory.ENTITY_DEF, typeDefs.get(typeName)));
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setStatus(status);
+        entity.setVersion(1L);
+        entity.setCreatedBy(userId);
+        entity.setCreateTime(createTime);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("name", this.getStringValue(name));
+        if (extraA != null)
+        {
+            properties.setProperty("extraA", this.getStringValue(extraA));
+        }
+        entity.setProperties(properties);
+
+        if (classified)
+        {
+            Classification classification = new Classification(classificationTypeName, null, ClassificationOrigin.ASSIGNED, null);
+
+            classification.setType(this.getInstanceType(TypeDefCategory.CLASSIFICATION_DEF, typeDefs.get(classificationTypeName)));
+            classification.setMetadataCollectionId(metadataCollectionId);
+            classification.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+            classification.setStatus(InstanceStatus.ACTIVE);
+            classification.setVersion(1L);
+            classification.setCreatedBy(userId);
+            classification.setCreateTime(createTime);
+
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        store.createEntityInStore(entity);
+    }
+
+
+    /**
+     * Return a string property value.
+     *
+     * @param value string value
+     * @return property value
+     */
+    private PrimitivePropertyValue getStringValue(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Add an entity type with an optional supertype and an optional string attribute.
+     *
+     * @param typeName name of the type
+     * @param superTypeName name of the supertype or null
+     * @param attributeName name of the attribute or null
+     */
+    private void addEntityDef(String typeName,
+                              String superTypeName,
+                              String attributeName)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID(UUID.randomUUID().toString());
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+        typeDef.setVersionName("1.0");
+
+        if (superTypeName != null)
+        {
+            typeDef.setSuperType(new TypeDefLink(typeDefs.get(superTypeName).getGUID(), superTypeName));
+        }
+
+        if (attributeName != null)
+        {
+            TypeDefAttribute attribute = new TypeDefAttribute();
+
+            attribute.setAttributeName(attributeName);
+            attribute.setAttributeType(new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING));
+            typeDef.setPropertiesDefinition(Collections.singletonList(attribute));
+        }
+
+        typeDefs.put(typeName, typeDef);
+    }
+
+
+    /**
+     * Return the instance type for a type.
+     *
+     * @param category category of the type
+     * @param typeDef type
+     * @return instance type
+     */
+    private InstanceType getInstanceType(TypeDefCategory category,
+                                         TypeDefSummary  typeDef)
+    {
+        return new InstanceType(category,
+                                typeDef.getGUID(),
+                                typeDef.getName(),
+                                typeDef.getVersion(),
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+    }
+
+
+    /**
+     * Return the attributes of a type, including those inherited from its supertypes.
+     *
+     * @param typeDef type
+     * @return list of attributes
+     */
+    private List<TypeDefAttribute> getAllProperties(TypeDef typeDef)
+    {
+        List<TypeDefAttribute> attributes = new ArrayList<>();
+
+        while (typeDef != null)
+        {
+            if (typeDef.getPropertiesDefinition() != null)
+            {
+                attributes.addAll(typeDef.getPropertiesDefinition());
+            }
+            typeDef = (typeDef.getSuperType() == null) ? null : typeDefs.get(typeDef.getSuperType().getName());
+        }
+
+        return attributes;
+    }
+
+
+    /**
+     * Return a repository helper that knows about the test types only.  The store only needs the type lookups,
+     * so the helper is a dynamic proxy rather than a full repository content helper.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                         return typeDefs.get((String) arguments[1]);
+                                                                     case "getTypeDef":
+                                                                         return typeDefs.get((String) arguments[arguments.length - 2]);
+                                                                     case "getNewInstanceType":
+                                                                         TypeDefSummary summary = (TypeDefSummary) arguments[1];
+                                                                         return getInstanceType(summary.getCategory(), summary);
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return getAllProperties((TypeDef) arguments[1]);
+                                                                     case "isExactMatchRegex":
+                                                                         String value = (String) arguments[0];
+                                                                         return (value != null) && value.startsWith("\\Q") && value.endsWith("\\E");
+                                                                     default:
+                                                                         return null;
+                                                                 }
+                                                             });
+    }
+
+
+    /**
+     * Remove the files left by a previous run.
+     *
+     * @param directory directory to remove
+     * @throws IOException the files could not be removed
+     */
+    private void deleteDirectory(Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
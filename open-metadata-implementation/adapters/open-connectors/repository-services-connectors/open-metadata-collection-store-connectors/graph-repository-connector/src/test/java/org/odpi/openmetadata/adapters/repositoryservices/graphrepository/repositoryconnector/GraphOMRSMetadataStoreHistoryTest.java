@@ -0,0 +1,375 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for the history of versions kept by GraphOMRSMetadataStore when history is enabled.  Each instance is
+ * created three days ago, updated two days ago and updated again an hour ago, and the history is kept for one day.
+ */
+public class GraphOMRSMetadataStoreHistoryTest
+{
+    private static final String testDirectory        = "target/graph-history-test";
+    private static final String metadataCollectionId = UUID.randomUUID().toString();
+    private static final String userId               = "testUser";
+
+    private static final String entityTypeName       = "TestEntity";
+    private static final String relationshipTypeName = "TestRelationship";
+
+    private final Map<String, TypeDef> typeDefs = new HashMap<>();
+
+    private final long now          = System.currentTimeMillis();
+    private final Date createTime   = new Date(now - TimeUnit.DAYS.toMillis(3));
+    private final Date firstUpdate  = new Date(now - TimeUnit.DAYS.toMillis(2));
+    private final Date secondUpdate = new Date(now - TimeUnit.HOURS.toMillis(1));
+
+    private GraphOMRSMetadataStore store;
+
+
+    /**
+     * Create the store with history enabled and a retention period of one day.
+     *
+     * @throws Exception the graph could not be set up
+     */
+    @BeforeClass
+    public void setUp() throws Exception
+    {
+        Path directory = new File(testDirectory).toPath();
+        this.deleteDirectory(directory);
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        configurationProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+        configurationProperties.put(GraphOMRSMetadataStore.HISTORY_ENABLED_PROPERTY, true);
+        configurationProperties.put(GraphOMRSMetadataStore.HISTORY_RETENTION_DAYS_PROPERTY, 1);
+
+        this.addTypeDef(new EntityDef(), entityTypeName);
+        this.addTypeDef(new RelationshipDef(), relationshipTypeName);
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                 OMRSAuditingComponent.LOCAL_REPOSITORY_CONNECTOR);
+
+        store = new GraphOMRSMetadataStore(metadataCollectionId,
+                                           "history-test",
+                                           this.getRepositoryHelper(),
+                                           auditLog,
+                                           configurationProperties);
+    }
+
+
+    @AfterClass
+    public void tearDown()
+    {
+        store.shutdown();
+    }
+
+
+    @Test
+    public void testEntityVersionsRetrievedAsOfTime() throws Exception
+    {
+        String guid = this.createEntityWithHistory();
+
+        assertEquals(store.getEntityDetailFromStore(guid, new Date(createTime.getTime() + 1000)).getVersion(), 1L);
+        assertEquals(store.getEntityDetailFromStore(guid, firstUpdate).getVersion(), 2L);
+        assertEquals(store.getEntityDetailFromStore(guid, new Date(secondUpdate.getTime() - 1000)).getVersion(), 2L);
+        assertEquals(store.getEntityDetailFromStore(guid, new Date()).getVersion(), 3L);
+        assertEquals(store.getEntityDetailFromStore(guid).getVersion(), 3L);
+
+        try
+        {
+            store.getEntityDetailFromStore(guid, new Date(createTime.getTime() - 1000));
+            fail("Entity returned from before it was created");
+        }
+        catch (EntityNotKnownException error)
+        {
+            // expected
+        }
+    }
+
+
+    @Test
+    public void testRelationshipVersionsRetrievedAsOfTime() throws Exception
+    {
+        String guid = this.createRelationshipWithHistory();
+
+        assertEquals(store.getRelationshipFromStore(guid, new Date(createTime.getTime() + 1000)).getVersion(), 1L);
+        assertEquals(store.getRelationshipFromStore(guid, firstUpdate).getVersion(), 2L);
+        assertEquals(store.getRelationshipFromStore(guid, new Date()).getVersion(), 3L);
+        assertNull(store.getRelationshipFromStore(guid, new Date(createTime.getTime() - 1000)));
+
+        /*
+         * Once the relationship is removed, its last version is still in the history.
+         */
+        store.removeRelationshipFromStore(guid);
+
+        Relationship lastVersion = store.getRelationshipFromStore(guid, new Date(secondUpdate.getTime() + 1000));
+
+        assertEquals(lastVersion.getVersion(), 3L);
+        assertEquals(lastVersion.getEntityOneProxy().getType().getTypeDefName(), entityTypeName);
+        assertNull(store.getRelationshipFromStore(guid, new Date(System.currentTimeMillis() + 1000)));
+    }
+
+
+    @Test(dependsOnMethods = { "testEntityVersionsRetrievedAsOfTime", "testRelationshipVersionsRetrievedAsOfTime" })
+    public void testExpiredVersionsPruned() throws Exception
+    {
+        String entityGUID       = this.createEntityWithHistory();
+        String relationshipGUID = this.createRelationshipWithHistory();
+
+        store.pruneHistory();
+
+        /*
+         * The first version was superseded two days ago, which is before the retention period.  The second
+         * was superseded an hour ago so it is kept.
+         */
+        try
+        {
+            store.getEntityDetailFromStore(entityGUID, new Date(createTime.getTime() + 1000));
+            fail("Expired entity version returned");
+        }
+        catch (EntityNotKnownException error)
+        {
+            // expected
+        }
+        assertEquals(store.getEntityDetailFromStore(entityGUID, firstUpdate).getVersion(), 2L);
+
+        assertNull(store.getRelationshipFromStore(relationshipGUID, new Date(createTime.getTime() + 1000)));
+        assertEquals(store.getRelationshipFromStore(relationshipGUID, firstUpdate).getVersion(), 2L);
+        assertEquals(store.getRelationshipFromStore(relationshipGUID, new Date()).getVersion(), 3L);
+    }
+
+
+    /**
+     * Create an entity and update it twice.
+     *
+     * @return guid of the entity
+     * @throws Exception the entity could not be stored
+     */
+    private String createEntityWithHistory() throws Exception
+    {
+        EntityDetail entity = new EntityDetail();
+
+        this.setUpHeader(entity, entityTypeName, TypeDefCategory.ENTITY_DEF);
+        store.createEntityInStore(entity);
+
+        this.setUpUpdate(entity, 2L, firstUpdate);
+        store.updateEntityInStore(entity);
+
+        this.setUpUpdate(entity, 3L, secondUpdate);
+        store.updateEntityInStore(entity);
+
+        return entity.getGUID();
+    }
+
+
+    /**
+     * Create a relationship between two new entities and update it twice.
+     *
+     * @return guid of the relationship
+     * @throws Exception the instances could not be stored
+     */
+    private String createRelationshipWithHistory() throws Exception
+    {
+        Relationship relationship = new Relationship();
+
+        this.setUpHeader(relationship, relationshipTypeName, TypeDefCategory.RELATIONSHIP_DEF);
+        relationship.setEntityOneProxy(this.createEntityProxy());
+        relationship.setEntityTwoProxy(this.createEntityProxy());
+        store.createRelationshipInStore(relationship);
+
+        this.setUpUpdate(relationship, 2L, firstUpdate);
+        store.updateRelationshipInStore(relationship);
+
+        this.setUpUpdate(relationship, 3L, secondUpdate);
+        store.updateRelationshipInStore(relationship);
+
+        return relationship.getGUID();
+    }
+
+
+    /**
+     * Create an entity and return a proxy for it.
+     *
+     * @return entity proxy
+     * @throws Exception the entity could not be stored
+     */
+    private EntityProxy createEntityProxy() throws Exception
+    {
+        EntityDetail entity = new EntityDetail();
+
+        this.setUpHeader(entity, entityTypeName, TypeDefCategory.ENTITY_DEF);
+        store.createEntityInStore(entity);
+
+        EntityProxy entityProxy = new EntityProxy();
+        this.setUpHeader(entityProxy, entityTypeName, TypeDefCategory.ENTITY_DEF);
+        entityProxy.setGUID(entity.getGUID());
+
+        return entityProxy;
+    }
+
+
+    /**
+     * Set up the header of the first version of an instance with a new guid.
+     *
+     * @param instance instance to set up
+     * @param typeName name of the instance's type
+     * @param category category of the instance's type
+     */
+    private void setUpHeader(InstanceHeader  instance,
+                             String          typeName,
+                             TypeDefCategory category)
+    {
+        instance.setGUID(UUID.randomUUID().toString());
+        instance.setType(this.getInstanceType(category, typeDefs.get(typeName)));
+        instance.setMetadataCollectionId(metadataCollectionId);
+        instance.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setVersion(1L);
+        instance.setCreatedBy(userId);
+        instance.setCreateTime(createTime);
+    }
+
+
+    /**
+     * Set up the header of a later version of an instance.
+     *
+     * @param instance instance to update
+     * @param version new version number
+     * @param updateTime time of the update
+     */
+    private void setUpUpdate(InstanceAuditHeader instance,
+                             long                version,
+                             Date                updateTime)
+    {
+        instance.setVersion(version);
+        instance.setUpdatedBy(userId);
+        instance.setUpdateTime(updateTime);
+    }
+
+
+    /**
+     * Add a type with no attributes.
+     *
+     * @param typeDef empty type definition of the right category
+     * @param typeName name of the type
+     */
+    private void addTypeDef(TypeDef typeDef,
+                            String  typeName)
+    {
+        typeDef.setGUID(UUID.randomUUID().toString());
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+        typeDef.setVersionName("1.0");
+
+        typeDefs.put(typeName, typeDef);
+    }
+
+
+    /**
+     * Return the instance type for a type.
+     *
+     * @param category category of the type
+     * @param typeDef type
+     * @return instance type
+     */
+    private InstanceType getInstanceType(TypeDefCategory category,
+                                         TypeDefSummary  typeDef)
+    {
+        return new InstanceType(category,
+                                typeDef.getGUID(),
+                                typeDef.getName(),
+                                typeDef.getVersion(),
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+    }
+
+
+    /**
+     * Return a repository helper that knows about the test types only.  The store only needs the type lookups,
+     * so the helper is a dynamic proxy rather than a full repository content helper.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                         return typeDefs.get((String) arguments[1]);
+                                                                     case "getTypeDef":
+                                                                         return typeDefs.get((String) arguments[arguments.length - 2]);
+                                                                     case "getNewInstanceType":
+                                                                         TypeDefSummary summary = (TypeDefSummary) arguments[1];
+                                                                         return getInstanceType(summary.getCategory(), summary);
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return Collections.emptyList();
+                                                                     default:
+                                                                         return null;
+                                                                 }
+                                                             });
+    }
+
+
+    /**
+     * Remove the files left by a previous run.
+     *
+     * @param directory directory to remove
+     * @throws IOException the files could not be removed
+     */
+    private void deleteDirectory(Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for the saving of reference copies by GraphOMRSMetadataStore, one at a time and in bulk.  The bulk commit
+ * size is two so that each bulk save is written through several transactions.
+ */
+public class GraphOMRSMetadataStoreReferenceCopyTest
+{
+    private static final String testDirectory              = "target/graph-reference-copy-test";
+    private static final String metadataCollectionId       = UUID.randomUUID().toString();
+    private static final String remoteMetadataCollectionId = UUID.randomUUID().toString();
+    private static final String userId                     = "testUser";
+
+    private static final String entityTypeName          = "TestEntity";
+    private static final String relationshipTypeName    = "TestRelationship";
+    private static final String firstClassificationName  = "TestClassificationA";
+    private static final String secondClassificationName = "TestClassificationB";
+
+    private final Map<String, TypeDef> typeDefs = new HashMap<>();
+
+    private final Date createTime = new Date();
+
+    private GraphOMRSMetadataStore store;
+
+
+    /**
+     * Create the store with a bulk commit size of two.
+     *
+     * @throws Exception the graph could not be set up
+     */
+    @BeforeClass
+    public void setUp() throws Exception
+    {
+        Path directory = new File(testDirectory).toPath();
+        this.deleteDirectory(directory);
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        configurationProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+        configurationProperties.put(GraphOMRSMetadataStore.BULK_COMMIT_SIZE_PROPERTY, 2);
+
+        this.addTypeDef(new EntityDef(), entityTypeName);
+        this.addTypeDef(new RelationshipDef(), relationshipTypeName);
+        this.addTypeDef(new ClassificationDef(), firstClassificationName);
+        this.addTypeDef(new ClassificationDef(), secondClassificationName);
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                 OMRSAuditingComponent.LOCAL_REPOSITORY_CONNECTOR);
+
+        store = new GraphOMRSMetadataStore(metadataCollectionId,
+                                           "reference-copy-test",
+                                           this.getRepositoryHelper(),
+                                           auditLog,
+                                           configurationProperties);
+    }
+
+
+    @AfterClass
+    public void tearDown()
+    {
+        store.shutdown();
+    }
+
+
+    /**
+     * A relationship in a batch can connect to an entity saved earlier in the same batch, to a locally homed
+     * entity, or to an entity that is not stored, in which case a proxy is created.
+     *
+     * @throws Exception the instances could not be stored
+     */
+    @Test
+    public void testBulkSaveConnectsRelationshipEnds() throws Exception
+    {
+        EntityDetail localEntity = this.getEntity(metadataCollectionId);
+        store.createEntityInStore(localEntity);
+
+        EntityDetail firstEntity  = this.getEntity(remoteMetadataCollectionId);
+        EntityDetail secondEntity = this.getEntity(remoteMetadataCollectionId);
+        EntityDetail thirdEntity  = this.getEntity(remoteMetadataCollectionId);
+        EntityProxy  unknownEnd   = this.getEntityProxy(this.getEntity(remoteMetadataCollectionId));
+
+        Relationship batchRelationship   = this.getRelationship(this.getEntityProxy(firstEntity), this.getEntityProxy(secondEntity));
+        Relationship localRelationship   = this.getRelationship(this.getEntityProxy(thirdEntity), this.getEntityProxy(localEntity));
+        Relationship unknownRelationship = this.getRelationship(this.getEntityProxy(thirdEntity), unknownEnd);
+
+        store.saveInstanceReferenceCopiesToStore(Arrays.asList(firstEntity, secondEntity, null, thirdEntity),
+                                                 Arrays.asList(batchRelationship, localRelationship, unknownRelationship));
+
+        assertEquals(store.getEntityDetailFromStore(firstEntity.getGUID()).getMetadataCollectionId(), remoteMetadataCollectionId);
+        assertEquals(store.getEntityDetailFromStore(thirdEntity.getGUID()).getMetadataCollectionId(), remoteMetadataCollectionId);
+
+        assertEquals(store.getRelationshipFromStore(batchRelationship.getGUID()).getEntityTwoProxy().getGUID(), secondEntity.getGUID());
+        assertEquals(store.getRelationshipFromStore(localRelationship.getGUID()).getEntityTwoProxy().getGUID(), localEntity.getGUID());
+        assertEquals(store.getRelationshipFromStore(unknownRelationship.getGUID()).getEntityTwoProxy().getGUID(), unknownEnd.getGUID());
+
+        try
+        {
+            store.getEntityDetailFromStore(unknownEnd.getGUID());
+            fail("Proxy returned as an entity");
+        }
+        catch (EntityProxyOnlyException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Saving new versions of a reference copy, alone or in a batch, updates its classifications rather than
+     * adding to them.
+     *
+     * @throws Exception the instances could not be stored
+     */
+    @Test
+    public void testClassificationsNotDuplicatedOnUpdate() throws Exception
+    {
+        EntityDetail entity = this.getEntity(remoteMetadataCollectionId);
+        entity.setClassifications(Arrays.asList(this.getClassification(firstClassificationName, 1L),
+                                                this.getClassification(secondClassificationName, 1L)));
+        store.saveEntityReferenceCopyToStore(entity);
+
+        this.setUpUpdate(entity, 2L);
+        entity.setClassifications(Arrays.asList(this.getClassification(firstClassificationName, 2L),
+                                                this.getClassification(secondClassificationName, 1L)));
+        store.saveEntityReferenceCopyToStore(entity);
+
+        List<Classification> classifications = store.getEntityDetailFromStore(entity.getGUID()).getClassifications();
+
+        assertEquals(classifications.size(), 2);
+        for (Classification classification : classifications)
+        {
+            if (firstClassificationName.equals(classification.getName()))
+            {
+                assertEquals(classification.getVersion(), 2L);
+            }
+        }
+
+        this.setUpUpdate(entity, 3L);
+        entity.setClassifications(Collections.singletonList(this.getClassification(firstClassificationName, 2L)));
+        store.saveInstanceReferenceCopiesToStore(Collections.singletonList(entity), null);
+
+        classifications = store.getEntityDetailFromStore(entity.getGUID()).getClassifications();
+
+        assertEquals(classifications.size(), 1);
+        assertEquals(classifications.get(0).getName(), firstClassificationName);
+    }
+
+
+    /**
+     * A relationship saved on its own creates a proxy, with its classifications, for an end that is not stored.
+     *
+     * @throws Exception the instances could not be stored
+     */
+    @Test
+    public void testSingleSaveCreatesClassifiedProxy() throws Exception
+    {
+        EntityDetail storedEntity  = this.getEntity(remoteMetadataCollectionId);
+        EntityDetail unknownEntity = this.getEntity(remoteMetadataCollectionId);
+        unknownEntity.setClassifications(Collections.singletonList(this.getClassification(firstClassificationName, 1L)));
+
+        store.saveEntityReferenceCopyToStore(storedEntity);
+
+        Relationship relationship = this.getRelationship(this.getEntityProxy(storedEntity), this.getEntityProxy(unknownEntity));
+        store.saveRelationshipReferenceCopyToStore(relationship);
+
+        EntityProxy proxy = store.getRelationshipFromStore(relationship.getGUID()).getEntityTwoProxy();
+
+        assertEquals(proxy.getGUID(), unknownEntity.getGUID());
+        assertNotNull(proxy.getClassifications());
+        assertEquals(proxy.getClassifications().size(), 1);
+    }
+
+
+    /**
+     * When an instance in a batch conflicts with a stored instance, the instances in the transactions already
+     * committed are kept and the rest of the transaction with the conflict is rolled back.
+     *
+     * @throws Exception the instances could not be stored
+     */
+    @Test
+    public void testBulkSaveStopsAtConflict() throws Exception
+    {
+        EntityDetail localEntity = this.getEntity(metadataCollectionId);
+        store.createEntityInStore(localEntity);
+
+        EntityDetail conflictingEntity = this.getEntity(remoteMetadataCollectionId);
+        conflictingEntity.setGUID(localEntity.getGUID());
+
+        List<EntityDetail> entities = new ArrayList<>();
+        entities.add(this.getEntity(remoteMetadataCollectionId));
+        entities.add(this.getEntity(remoteMetadataCollectionId));
+        entities.add(this.getEntity(remoteMetadataCollectionId));
+        entities.add(conflictingEntity);
+
+        try
+        {
+            store.saveInstanceReferenceCopiesToStore(entities, null);
+            fail("Conflicting reference copy saved");
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        assertNotNull(store.getEntityDetailFromStore(entities.get(0).getGUID()));
+        assertNotNull(store.getEntityDetailFromStore(entities.get(1).getGUID()));
+        assertEquals(store.getEntityDetailFromStore(localEntity.getGUID()).getMetadataCollectionId(), metadataCollectionId);
+
+        try
+        {
+            store.getEntityDetailFromStore(entities.get(2).getGUID());
+            fail("Entity from a rolled back transaction returned");
+        }
+        catch (EntityNotKnownException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return the first version of an entity with a new guid.
+     *
+     * @param homeMetadataCollectionId metadata collection that the entity belongs to
+     * @return entity
+     */
+    private EntityDetail getEntity(String homeMetadataCollectionId)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        this.setUpHeader(entity, entityTypeName, TypeDefCategory.ENTITY_DEF, homeMetadataCollectionId);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a proxy for an entity.
+     *
+     * @param entity entity
+     * @return entity proxy
+     */
+    private EntityProxy getEntityProxy(EntityDetail entity)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+
+        this.setUpHeader(entityProxy, entityTypeName, TypeDefCategory.ENTITY_DEF, entity.getMetadataCollectionId());
+        entityProxy.setGUID(entity.getGUID());
+        entityProxy.setClassifications(entity.getClassifications());
+
+        return entityProxy;
+    }
+
+
+    /**
+     * Return the first version of a remotely homed relationship with a new guid.
+     *
+     * @param entityOneProxy proxy for end one
+     * @param entityTwoProxy proxy for end two
+     * @return relationship
+     */
+    private Relationship getRelationship(EntityProxy entityOneProxy,
+                                         EntityProxy entityTwoProxy)
+    {
+        Relationship relationship = new Relationship();
+
+        this.setUpHeader(relationship, relationshipTypeName, TypeDefCategory.RELATIONSHIP_DEF, remoteMetadataCollectionId);
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return a remotely homed classification.
+     *
+     * @param classificationName name of the classification type
+     * @param version version of the classification
+     * @return classification
+     */
+    private Classification getClassification(String classificationName,
+                                             long   version)
+    {
+        Classification classification = new Classification(classificationName, null, ClassificationOrigin.ASSIGNED, null);
+
+        classification.setType(this.getInstanceType(TypeDefCategory.CLASSIFICATION_DEF, typeDefs.get(classificationName)));
+        classification.setMetadataCollectionId(remoteMetadataCollectionId);
+        classification.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        classification.setStatus(InstanceStatus.ACTIVE);
+        classification.setVersion(version);
+        classification.setCreatedBy(userId);
+        classification.setCreateTime(createTime);
+
+        return classification;
+    }
+
+
+    /**
+     * Set up the header of the first version of an instance with a new guid.
+     *
+     * @param instance instance to set up
+     * @param typeName name of the instance's type
+     * @param category category of the instance's type
+     * @param homeMetadataCollectionId metadata collection that the instance belongs to
+     */
+    private void setUpHeader(InstanceHeader  instance,
+                             String          typeName,
+                             TypeDefCategory category,
+                             String          homeMetadataCollectionId)
+    {
+        instance.setGUID(UUID.randomUUID().toString());
+        instance.setType(this.getInstanceType(category, typeDefs.get(typeName)));
+        instance.setMetadataCollectionId(homeMetadataCollectionId);
+        instance.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setVersion(1L);
+        instance.setCreatedBy(userId);
+        instance.setCreateTime(createTime);
+    }
+
+
+    /**
+     * Set up the header of a later version of an instance.
+     *
+     * @param instance instance to update
+     * @param version new version number
+     */
+    private void setUpUpdate(InstanceAuditHeader instance,
+                             long                version)
+    {
+        instance.setVersion(version);
+        instance.setUpdatedBy(userId);
+        instance.setUpdateTime(new Date());
+    }
+
+
+    /**
+     * Add a type with no attributes.
+     *
+     * @param typeDef empty type definition of the right category
+     * @param typeName name of the type
+     */
+    private void addTypeDef(TypeDef typeDef,
+                            String  typeName)
+    {
+        typeDef.setGUID(UUID.randomUUID().toString());
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+        typeDef.setVersionName("1.0");
+
+        typeDefs.put(typeName, typeDef);
+    }
+
+
+    /**
+     * Return the instance type for a type.
+     *
+     * @param category category of the type
+     * @param typeDef type
+     * @return instance type
+     */
+    private InstanceType getInstanceType(TypeDefCategory category,
+                                         TypeDefSummary  typeDef)
+    {
+        return new InstanceType(category,
+                                typeDef.getGUID(),
+                                typeDef.getName(),
+                                typeDef.getVersion(),
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+    }
+
+
+    /**
+     * Return a repository helper that knows about the test types only.  The store only needs the type lookups,
+     * so the helper is a dynamic proxy rather than a full repository content helper.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                         return typeDefs.get((String) arguments[1]);
+                                                                     case "getTypeDef":
+                                                                         return typeDefs.get((String) arguments[arguments.length - 2]);
+                                                                     case "getNewInstanceType":
+                                                                         TypeDefSummary summary = (TypeDefSummary) arguments[1];
+                                                                         return getInstanceType(summary.getCategory(), summary);
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return Collections.emptyList();
+                                                                     default:
+                                                                         return null;
+                                                                 }
+                                                             });
+    }
+
+
+    /**
+     * Remove the files left by a previous run.
+     *
+     * @param directory directory to remove
+     * @throws IOException the files could not be removed
+     */
+    private void deleteDirectory(Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
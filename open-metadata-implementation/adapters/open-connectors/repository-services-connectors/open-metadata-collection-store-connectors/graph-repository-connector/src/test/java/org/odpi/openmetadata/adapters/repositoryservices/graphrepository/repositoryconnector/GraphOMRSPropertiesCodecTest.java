@@ -0,0 +1,180 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EnumPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.MapPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.StructPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that GraphOMRSPropertiesCodec returns the same instance properties that it was given, that it can decode
+ * a subset of the properties and that it still reads the JSON written by earlier releases.
+ */
+public class GraphOMRSPropertiesCodecTest
+{
+    private GraphOMRSPropertiesCodec codec = new GraphOMRSPropertiesCodec();
+
+
+    /**
+     * Every property category and primitive type survives an encode and decode.
+     *
+     * @throws Exception encoding failed
+     */
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        InstanceProperties properties = this.getInstanceProperties();
+
+        assertEquals(codec.decode(codec.encode(properties)), properties);
+    }
+
+
+    /**
+     * Properties that are not requested are skipped rather than decoded.
+     *
+     * @throws Exception encoding failed
+     */
+    @Test
+    public void testPartialDecode() throws Exception
+    {
+        InstanceProperties properties = this.getInstanceProperties();
+        InstanceProperties decoded    = codec.decode(codec.encode(properties), Arrays.asList("qualifiedName", "details"));
+
+        assertEquals(decoded.getPropertyCount(), 2);
+        assertEquals(decoded.getPropertyValue("qualifiedName"), properties.getPropertyValue("qualifiedName"));
+        assertEquals(decoded.getPropertyValue("details"), properties.getPropertyValue("details"));
+        assertEquals(decoded.getEffectiveFromTime(), properties.getEffectiveFromTime());
+        assertNull(decoded.getPropertyValue("description"));
+    }
+
+
+    /**
+     * Empty properties and properties without effectivity dates are handled.
+     *
+     * @throws Exception encoding failed
+     */
+    @Test
+    public void testEmptyProperties() throws Exception
+    {
+        InstanceProperties decoded = codec.decode(codec.encode(new InstanceProperties()));
+
+        assertEquals(decoded.getPropertyCount(), 0);
+        assertNull(decoded.getEffectiveFromTime());
+        assertNull(decoded.getEffectiveToTime());
+    }
+
+
+    /**
+     * Properties stored as JSON by earlier releases are still readable.
+     *
+     * @throws Exception encoding failed
+     */
+    @Test
+    public void testLegacyJSON() throws Exception
+    {
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("qualifiedName", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "asset-1"));
+        properties.setProperty("int", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 42));
+
+        String json = new ObjectMapper().writeValueAsString(properties);
+
+        assertEquals(codec.decodeJSON(json), properties);
+    }
+
+
+    /**
+     * String lists (maintainedBy) are serialized as JSON.
+     *
+     * @throws Exception encoding failed
+     */
+    @Test
+    public void testStringList() throws Exception
+    {
+        List<String> maintainers = Arrays.asList("userA", "userB");
+        String       json        = codec.encodeStringList(maintainers);
+
+        assertTrue(json.contains("\"userA\""));
+        assertEquals(codec.decodeStringList(json), maintainers);
+        assertEquals(codec.decodeStringList("[]"), Collections.emptyList());
+    }
+
+
+    private InstanceProperties getInstanceProperties()
+    {
+        InstanceProperties properties = new InstanceProperties();
+        properties.setEffectiveFromTime(new Date(1000L));
+
+        properties.setProperty("qualifiedName", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "asset-1"));
+        properties.setProperty("description", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, null));
+        properties.setProperty("flag", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BOOLEAN, true));
+        properties.setProperty("byte", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BYTE, (byte) 7));
+        properties.setProperty("char", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_CHAR, 'x'));
+        properties.setProperty("short", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_SHORT, (short) -3));
+        properties.setProperty("int", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 123456));
+        properties.setProperty("long", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, Long.MIN_VALUE));
+        properties.setProperty("float", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_FLOAT, 1.5f));
+        properties.setProperty("double", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DOUBLE, -2.25d));
+        properties.setProperty("bigInteger", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BIGINTEGER,
+                                                               new BigInteger("123456789012345678901234567890")));
+        properties.setProperty("bigDecimal", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BIGDECIMAL,
+                                                               new BigDecimal("3.14159265358979323846")));
+        properties.setProperty("date", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE, 1546300800000L));
+
+        EnumPropertyValue enumValue = new EnumPropertyValue();
+        enumValue.setOrdinal(2);
+        enumValue.setSymbolicName("Confidential");
+        enumValue.setDescription("Only for authorized users");
+        properties.setProperty("level", enumValue);
+
+        InstanceProperties mapValues = new InstanceProperties();
+        mapValues.setProperty("key", this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "value"));
+        MapPropertyValue mapValue = new MapPropertyValue();
+        mapValue.setMapValues(mapValues);
+        properties.setProperty("additionalProperties", mapValue);
+
+        ArrayPropertyValue arrayValue = new ArrayPropertyValue();
+        arrayValue.setArrayCount(2);
+        arrayValue.setArrayValue(0, this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "first"));
+        arrayValue.setArrayValue(1, this.getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "second"));
+        properties.setProperty("zones", arrayValue);
+
+        InstanceProperties attributes = new InstanceProperties();
+        attributes.setEffectiveToTime(new Date(2000L));
+        attributes.setProperty("nested", mapValue);
+        StructPropertyValue structValue = new StructPropertyValue();
+        structValue.setTypeName("Details");
+        structValue.setTypeGUID("details-guid");
+        structValue.setAttributes(attributes);
+        properties.setProperty("details", structValue);
+
+        return properties;
+    }
+
+
+    private PrimitivePropertyValue getPrimitive(PrimitiveDefCategory category, Object value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        propertyValue.setPrimitiveDefCategory(category);
+        propertyValue.setPrimitiveValue(value);
+        propertyValue.setTypeName(category.getName());
+        propertyValue.setTypeGUID(category.getGUID());
+        return propertyValue;
+    }
+}
@@ -0,0 +1,165 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * InMemoryInstanceHistory holds the old versions of a single instance (entity or relationship).  The versions
+ * are kept in the order of the time they became effective (oldest first) so the version that was current at a
+ * point in time can be located with a binary search.
+ *
+ * @param <T> type of instance
+ */
+class InMemoryInstanceHistory<T extends InstanceAuditHeader>
+{
+    private final List<T>  versions = new ArrayList<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceHistory()
+    {
+    }
+
+
+    /**
+     * Return the time that a version of an instance became effective.  This is its update time or, if it has
+     * never been updated, its create time.
+     *
+     * @param instance version of the instance
+     * @return effective time or null if the instance has no timestamps
+     */
+    static Date getEffectiveTime(InstanceAuditHeader   instance)
+    {
+        if (instance == null)
+        {
+            return null;
+        }
+
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime();
+        }
+
+        return instance.getCreateTime();
+    }
+
+
+    /**
+     * Return whether a version of an instance was already effective at the requested time.
+     *
+     * @param instance version of the instance
+     * @param asOfTime requested time
+     * @return boolean flag
+     */
+    static boolean isEffectiveAt(InstanceAuditHeader   instance,
+                                 Date                  asOfTime)
+    {
+        Date effectiveTime = getEffectiveTime(instance);
+
+        return (effectiveTime != null) && (! effectiveTime.after(asOfTime));
+    }
+
+
+    /**
+     * Add an old version of the instance to the history.  It is inserted after any versions that became
+     * effective at the same time or earlier.  Versions without timestamps are kept at the front of the history
+     * and are never returned by an as-of lookup.
+     *
+     * @param version old version of the instance
+     */
+    synchronized void addVersion(T   version)
+    {
+        if (version != null)
+        {
+            versions.add(this.getInsertionPoint(getEffectiveTime(version)), version);
+        }
+    }
+
+
+    /**
+     * Return the most recent version in the history.
+     *
+     * @return old version of the instance or null if the history is empty
+     */
+    synchronized T getLatestVersion()
+    {
+        if (versions.isEmpty())
+        {
+            return null;
+        }
+
+        return versions.get(versions.size() - 1);
+    }
+
+
+    /**
+     * Return the version of the instance that was effective at the requested time.
+     *
+     * @param asOfTime requested time
+     * @return old version of the instance or null if no version was effective at that time
+     */
+    synchronized T getVersionAsOf(Date   asOfTime)
+    {
+        int position = this.getInsertionPoint(asOfTime) - 1;
+
+        if (position >= 0)
+        {
+            T version = versions.get(position);
+
+            if (getEffectiveTime(version) != null)
+            {
+                return version;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the number of versions in the history.
+     *
+     * @return count
+     */
+    synchronized int size()
+    {
+        return versions.size();
+    }
+
+
+    /**
+     * Locate the position after the last version whose effective time is not after the supplied time.
+     *
+     * @param time time to search for (null sorts before all timestamped versions)
+     * @return index in the versions list
+     */
+    private int getInsertionPoint(Date   time)
+    {
+        int low  = 0;
+        int high = versions.size();
+
+        while (low < high)
+        {
+            int  middle        = (low + high) >>> 1;
+            Date effectiveTime = getEffectiveTime(versions.get(middle));
+
+            if ((effectiveTime == null) || ((time != null) && (! effectiveTime.after(time))))
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
@@ -56,6 +56,74 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
      */
 
 
+    /**
+     * Return the entities that are candidates for a find request.  For current queries the repository store's
+     * secondary indexes narrow down the entities by type and classification.  Historical queries
+     * work from the time warped entity store.
+     *
+     * @param entityTypeGUID unique identifier of the requested entity type (null for any type)
+     * @param classificationNames classifications that must be attached to the entities (null for any)
+     * @param asOfTime time of the query (null for now)
+     * @param methodName calling method
+     * @return candidate entities
+     * @throws TypeErrorException the type guid is not known
+     */
+    private Collection<EntityDetail> getCandidateEntities(String        entityTypeGUID,
+                                                          List<String>  classificationNames,
+                                                          Date          asOfTime,
+                                                          String        methodName) throws TypeErrorException
+    {
+        final String  guidParameterName = "entityTypeGUID";
+
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        String  typeName = null;
+
+        if (entityTypeGUID != null)
+        {
+            typeName = repositoryHelper.getTypeDef(repositoryName, guidParameterName, entityTypeGUID, methodName).getName();
+        }
+
+        return repositoryStore.getCandidateEntities(typeName, classificationNames);
+    }
+
+
+    /**
+     * Return the relationships that are candidates for a find request.  For current queries the repository
+     * store's secondary indexes narrow down the relationships by type.  Historical queries
+     * work from the time warped relationship store.
+     *
+     * @param relationshipTypeGUID unique identifier of the requested relationship type (null for any type)
+     * @param asOfTime time of the query (null for now)
+     * @param methodName calling method
+     * @return candidate relationships
+     * @throws TypeErrorException the type guid is not known
+     */
+    private Collection<Relationship> getCandidateRelationships(String  relationshipTypeGUID,
+                                                               Date    asOfTime,
+                                                               String  methodName) throws TypeErrorException
+    {
+        final String  guidParameterName = "relationshipTypeGUID";
+
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        String  typeName = null;
+
+        if (relationshipTypeGUID != null)
+        {
+            typeName = repositoryHelper.getTypeDef(repositoryName, guidParameterName, relationshipTypeGUID, methodName).getName();
+        }
+
+        return repositoryStore.getCandidateRelationships(typeName);
+    }
+
+
     /**
      * Returns a boolean indicating if the entity is stored in the metadata collection.
      *
@@ -210,7 +278,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -228,6 +296,55 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known to the metadata collection, or are only stored as proxies, are omitted
+     * from the results.  The other entities are returned in the order of the requested guids.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures.  Null means none of the entities are known.
+     * @throws InvalidParameterException the list of guids is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail  entity = repositoryStore.getEntity(guid);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(entity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -298,9 +415,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        Collection<Relationship>  candidateRelationships;
+
+        if (asOfTime == null)
+        {
+            candidateRelationships = repositoryStore.getRelationshipsForEntity(entityGUID);
+        }
+        else
+        {
+            candidateRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
 
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : candidateRelationships)
         {
             if (storedRelationship != null)
             {
@@ -390,6 +516,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                 PagingErrorException,
                                                                                                 UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByProperty";
+
         /*
          * Validate parameters
          */
@@ -408,13 +536,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type and classification indexes narrow down the candidate entities and then each candidate
+         * is checked against the full search criteria.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail>  foundEntities = new ArrayList<>();
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID,
+                                                              limitResultsByClassification,
+                                                              asOfTime,
+                                                              methodName))
         {
             if (entity != null)
             {
@@ -493,6 +623,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                        PagingErrorException,
                                                                                                        UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByClassification";
+
         /*
          * Validate parameters
          */
@@ -511,16 +643,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type and classification indexes narrow down the candidate entities and then each candidate
+         * is checked against the full search criteria.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, classificationList, asOfTime, methodName))
         {
             if (entity != null)
             {
@@ -636,17 +767,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type and classification indexes narrow down the candidate entities and then each candidate
+         * is checked against the search criteria.
          */
         List<EntityDetail>   foundEntities = new ArrayList<>();
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID,
+                                                               limitResultsByClassification,
+                                                               asOfTime,
+                                                               methodName))
         {
             if (entity != null)
             {
                 if ((entity.getStatus() != InstanceStatus.DELETED) &&
                     (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
                     (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
                                                                                     entity.getProperties(),
                                                                                     searchCriteria,
@@ -761,7 +897,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -770,6 +906,55 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the current version of a list of relationships in a single request.  Relationships that are not
+     * known to the metadata collection are omitted from the results.  The other relationships are returned
+     * in the order of the requested guids.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of relationship structures.  Null means none of the relationships are known.
+     * @throws InvalidParameterException the list of guids is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Process operation
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            Relationship  relationship = repositoryStore.getRelationship(guid);
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(relationship);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -844,13 +1029,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The type index narrows down the candidate relationships and then each candidate
+         * is checked against the full search criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime, methodName))
         {
             if (relationship != null)
             {
@@ -942,17 +1126,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The type index narrows down the candidate relationships and then each candidate
+         * is checked against the search criteria.
          */
         List<Relationship>  foundRelationships = new ArrayList<>();
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime, methodName))
         {
             if (relationship != null)
             {
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                     (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
+                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
                     (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
                                                                                      relationship.getProperties(),
                                                                                      searchCriteria,
@@ -3,25 +3,57 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * Alongside the entity and relationship stores it maintains secondary indexes that are used to narrow the
+ * candidate instances for a query before the (more expensive) property matching is performed.
+ * The indexes only reflect the current store - historical (asOfTime) queries work from the time warped stores.
+ *
+ * The stores and indexes are concurrent maps so readers never block and iterate over live (weakly consistent)
+ * views rather than copies.  Updates to an individual instance are serialized by a lock stripe selected from the
+ * instance's GUID so writers to unrelated instances do not contend with one another.
  */
 class InMemoryOMRSMetadataStore
 {
+    private static final int                       lockStripeCount          = 64;
+
     private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private final Map<String, EntityDetail>        entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>         entityProxyStore         = new ConcurrentHashMap<>();
+    private final Map<String, Relationship>        relationshipStore        = new ConcurrentHashMap<>();
+
+    /*
+     * The history stores hold the old versions of each instance keyed by GUID.  Each history is sorted by
+     * the time each version became effective.
+     */
+    private final Map<String, InMemoryInstanceHistory<EntityDetail>> entityHistoryStore       = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryInstanceHistory<Relationship>> relationshipHistoryStore = new ConcurrentHashMap<>();
+
+    /*
+     * Secondary indexes.  The entity type index includes the names of the super types of each entity's type
+     * so a search on a super type picks up all of its subtypes.
+     */
+    private final Map<String, Set<String>>         entityTypeIndex            = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         classificationIndex        = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         relationshipTypeIndex      = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityOneRelationshipIndex = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityTwoRelationshipIndex = new ConcurrentHashMap<>();
+
+    /*
+     * Lock stripes used to serialize updates to the same instance.
+     */
+    private final Object[]                         instanceLocks            = new Object[lockStripeCount];
 
 
     /**
@@ -29,6 +61,10 @@ class InMemoryOMRSMetadataStore
      */
     InMemoryOMRSMetadataStore()
     {
+        for (int i = 0; i < lockStripeCount; i++)
+        {
+            instanceLocks[i] = new Object();
+        }
     }
 
 
@@ -44,13 +80,14 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return a list of entities from the store that are at the latest level.
+     * Return the entities from the store that are at the latest level.  This is a live, read-only view of
+     * the store.
      *
-     * @return list of EntityDetail objects
+     * @return collection of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    Collection<EntityDetail>   getEntities()
     {
-        return new ArrayList<>(entityStore.values());
+        return Collections.unmodifiableCollection(entityStore.values());
     }
 
 
@@ -60,7 +97,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
@@ -72,104 +109,113 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the current entities that are candidates for a query.  The secondary indexes are used to
+     * select the smallest set of entities that could match the type and classifications requested.
+     * The caller is still responsible for verifying each candidate against the full search criteria.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @param typeName name of the type of entity required (null for any type)
+     * @param classificationNames names of the classifications that must be attached to the entity (null for any)
+     * @return candidate entities
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Collection<EntityDetail>  getCandidateEntities(String        typeName,
+                                                    List<String>  classificationNames)
     {
-        if (asOfTime == null)
+        Set<String>  candidateGUIDs = null;
+
+        if (typeName != null)
         {
-            return new HashMap<>(entityStore);
+            candidateGUIDs = this.getIndexEntry(entityTypeIndex, typeName);
         }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
-
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
+        if (classificationNames != null)
         {
-            if (entity != null)
+            for (String classificationName : classificationNames)
             {
-                if (entity.getUpdateTime() != null)
+                if (classificationName != null)
                 {
-                    String entityGUID = entity.getGUID();
+                    Set<String> classifiedGUIDs = this.getIndexEntry(classificationIndex, classificationName);
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
+                    if ((candidateGUIDs == null) || (classifiedGUIDs.size() < candidateGUIDs.size()))
                     {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
+                        candidateGUIDs = classifiedGUIDs;
                     }
                 }
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
+        if (candidateGUIDs == null)
         {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+            return this.getEntities();
+        }
 
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
+        List<EntityDetail>  candidateEntities = new ArrayList<>(candidateGUIDs.size());
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
+        for (String guid : candidateGUIDs)
+        {
+            EntityDetail entity = entityStore.get(guid);
+
+            if (entity != null)
+            {
+                candidateEntities.add(entity);
             }
         }
 
-        return timeWarpedEntityStore;
+        return candidateEntities;
     }
 
 
     /**
-     * Return the list of relationships at their current level.
+     * Return a view of the entity store that contains entities as they were at the time supplied in the asOfTime
+     * parameter.  The view is resolved lazily so no copy of the store is made.
      *
-     * @return list of relationships
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity store for the requested time
      */
-    synchronized List<Relationship>   getRelationships()
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
     {
-        return new ArrayList<>(relationshipStore.values());
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(entityStore);
+        }
+
+        return new InMemoryTimeWarpedStore<>(entityStore, entityHistoryStore, asOfTime);
+    }
+
+
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return entityStore.get(guid);
+        }
+
+        return InMemoryTimeWarpedStore.getInstanceAsOf(guid, entityStore, entityHistoryStore, asOfTime);
+    }
+
+
+    /**
+     * Return the relationships at their current level.  This is a live, read-only view of the store.
+     *
+     * @return collection of relationships
+     */
+    Collection<Relationship>   getRelationships()
+    {
+        return Collections.unmodifiableCollection(relationshipStore.values());
     }
 
 
@@ -179,93 +225,103 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the current relationships that are candidates for a query.  The secondary indexes are used to
+     * select the relationships that could match the type requested.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @param typeName name of the type of relationship required (null for any type)
+     * @return candidate relationships
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Collection<Relationship>  getCandidateRelationships(String   typeName)
     {
-        if (asOfTime == null)
+        if (typeName == null)
         {
-            return new HashMap<>(relationshipStore);
+            return this.getRelationships();
         }
 
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+        return this.getRelationships(this.getIndexEntry(relationshipTypeIndex, typeName));
+    }
 
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
+    /**
+     * Return the current relationships that have the requested entity at either end.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return list of relationships
+     */
+    List<Relationship>  getRelationshipsForEntity(String   entityGUID)
+    {
+        Set<String>  relationshipGUIDs = new HashSet<>(this.getIndexEntry(entityOneRelationshipIndex, entityGUID));
+
+        relationshipGUIDs.addAll(this.getIndexEntry(entityTwoRelationshipIndex, entityGUID));
+
+        return this.getRelationships(relationshipGUIDs);
+    }
+
+
+    /**
+     * Return the current relationships identified by the supplied guids.
+     *
+     * @param relationshipGUIDs unique identifiers for the relationships
+     * @return list of relationships
+     */
+    private List<Relationship>  getRelationships(Set<String>   relationshipGUIDs)
+    {
+        List<Relationship>  relationships = new ArrayList<>(relationshipGUIDs.size());
+
+        for (String guid : relationshipGUIDs)
         {
+            Relationship relationship = relationshipStore.get(guid);
+
             if (relationship != null)
             {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
-
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
+                relationships.add(relationship);
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
+        return relationships;
+    }
+
+
+    /**
+     * Return a view of the relationship store that contains relationships as they were at the time supplied in
+     * the asOfTime parameter.  The view is resolved lazily so no copy of the store is made.
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return relationship store for the requested time
+     */
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
         {
-            if (oldRelationship != null)
-            {
-                String relationshipGUID = oldRelationship.getGUID();
+            return Collections.unmodifiableMap(relationshipStore);
+        }
 
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
+        return new InMemoryTimeWarpedStore<>(relationshipStore, relationshipHistoryStore, asOfTime);
+    }
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
-            }
+
+    /**
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
+     */
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return relationshipStore.get(guid);
         }
 
-        return timeWarpedRelationshipStore;
+        return InMemoryTimeWarpedStore.getInstanceAsOf(guid, relationshipStore, relationshipHistoryStore, asOfTime);
     }
 
     /**
@@ -274,21 +330,26 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
         /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
-
-        while (existingEntity != null)
+        while (true)
         {
+            synchronized (this.getInstanceLock(entity.getGUID()))
+            {
+                if (entityStore.putIfAbsent(entity.getGUID(), entity) == null)
+                {
+                    this.indexEntity(entity);
+
+                    return entity;
+                }
+            }
+
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
         }
-
-        return entity;
     }
 
 
@@ -298,21 +359,26 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
         /*
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        while (existingRelationship != null)
+        while (true)
         {
+            synchronized (this.getInstanceLock(relationship.getGUID()))
+            {
+                if (relationshipStore.putIfAbsent(relationship.getGUID(), relationship) == null)
+                {
+                    this.indexRelationship(relationship);
+
+                    return relationship;
+                }
+            }
+
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
         }
-
-        return relationship;
     }
 
 
@@ -321,7 +387,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -329,17 +395,23 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The history of each entity is maintained in the order that the versions became effective.
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail    entity)
+    void updateEntityInStore(EntityDetail    entity)
     {
-        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
+        synchronized (this.getInstanceLock(entity.getGUID()))
         {
-            entityHistoryStore.add(0, oldEntity);
+            EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
+
+            if (oldEntity != null)
+            {
+                this.unindexEntity(oldEntity);
+                this.addToEntityHistory(oldEntity);
+            }
+
+            this.indexEntity(entity);
         }
     }
 
@@ -349,7 +421,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void updateEntityProxyInStore(EntityProxy    entityProxy)
+    void updateEntityProxyInStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -357,18 +429,24 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The history of each relationship is maintained in the order that the versions became
+     * effective.
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship)
     {
+        synchronized (this.getInstanceLock(relationship.getGUID()))
+        {
+            Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            if (oldRelationship != null)
+            {
+                this.unindexRelationship(oldRelationship);
+                this.addToRelationshipHistory(oldRelationship);
+            }
 
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
+            this.indexRelationship(relationship);
         }
     }
 
@@ -379,9 +457,13 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - object to save
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        synchronized (this.getInstanceLock(entity.getGUID()))
+        {
+            this.unindexEntity(entityStore.put(entity.getGUID(), entity));
+            this.indexEntity(entity);
+        }
     }
 
 
@@ -391,59 +473,62 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - object to save
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        synchronized (this.getInstanceLock(relationship.getGUID()))
+        {
+            this.unindexRelationship(relationshipStore.put(relationship.getGUID(), relationship));
+            this.indexRelationship(relationship);
+        }
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship from the history store and restore it in the
+     * relationship store.  This is the most recent version of this element in its history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
         if (guid != null)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+            synchronized (this.getInstanceLock(guid))
+            {
+                Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
 
-            long versionNumber = 0;
+                long versionNumber = 0;
 
-            if (currentVersionOfRelationship != null)
-            {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
+                if (currentVersionOfRelationship != null)
+                {
+                    versionNumber = currentVersionOfRelationship.getVersion() + 1;
+                }
 
+                Relationship relationship = this.getPreviousRelationshipVersion(guid);
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
                 if (relationship != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
+                        versionNumber = relationship.getVersion() + 1;
                     }
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     */
+                    Relationship newRelationship = new Relationship(relationship);
+                    newRelationship.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newRelationship.setUpdateTime(restoreTime);
+                    relationshipStore.put(guid, newRelationship);
+                    this.addToRelationshipHistory(currentVersionOfRelationship);
+                    this.unindexRelationship(currentVersionOfRelationship);
+                    this.indexRelationship(newRelationship);
+                    return newRelationship;
                 }
             }
         }
@@ -454,52 +539,52 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the most recent version of this element in its history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
         if (guid != null)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+            synchronized (this.getInstanceLock(guid))
+            {
+                EntityDetail  currentVersionOfEntity = entityStore.get(guid);
 
-            long versionNumber = 0;
+                long versionNumber = 0;
 
-            if (currentVersionOfEntity != null)
-            {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                if (currentVersionOfEntity != null)
+                {
+                    versionNumber = currentVersionOfEntity.getVersion() + 1;
+                }
+
+                EntityDetail entity = this.getPreviousEntityVersion(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
                 if (entity != null)
                 {
-                    if (guid.equals(entity.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
-
+                        versionNumber = entity.getVersion() + 1;
                     }
+
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     *
+                     */
+                    EntityDetail newEntity = new EntityDetail(entity);
+                    newEntity.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newEntity.setUpdateTime(restoreTime);
+                    entityStore.put(guid, newEntity);
+                    this.addToEntityHistory(currentVersionOfEntity);
+                    this.unindexEntity(currentVersionOfEntity);
+                    this.indexEntity(newEntity);
+                    return newEntity;
                 }
             }
         }
@@ -513,10 +598,13 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
-        entityStore.remove(entity.getGUID());
-        entityHistoryStore.add(0, entity);
+        synchronized (this.getInstanceLock(entity.getGUID()))
+        {
+            this.unindexEntity(entityStore.remove(entity.getGUID()));
+            this.addToEntityHistory(entity);
+        }
     }
 
 
@@ -525,13 +613,17 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
+        synchronized (this.getInstanceLock(guid))
         {
-            entityHistoryStore.add(0, entity);
+            EntityDetail entity = entityStore.remove(guid);
+
+            if (entity != null)
+            {
+                this.unindexEntity(entity);
+                this.addToEntityHistory(entity);
+            }
         }
     }
 
@@ -541,7 +633,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
         entityProxyStore.remove(guid);
     }
@@ -552,10 +644,13 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
-        relationshipHistoryStore.add(0, relationship);
+        synchronized (this.getInstanceLock(relationship.getGUID()))
+        {
+            this.unindexRelationship(relationshipStore.remove(relationship.getGUID()));
+            this.addToRelationshipHistory(relationship);
+        }
     }
 
 
@@ -564,13 +659,354 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - relationship to remove
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    void removeReferenceRelationshipFromStore(String     guid)
+    {
+        synchronized (this.getInstanceLock(guid))
+        {
+            Relationship  relationship = relationshipStore.remove(guid);
+
+            if (relationship != null)
+            {
+                this.unindexRelationship(relationship);
+                this.addToRelationshipHistory(relationship);
+            }
+        }
+    }
+
+
+    /**
+     * Return the lock stripe that serializes updates to the instance with the supplied guid.
+     *
+     * @param guid unique identifier of the instance
+     * @return lock object
+     */
+    private Object getInstanceLock(String   guid)
+    {
+        if (guid == null)
+        {
+            return instanceLocks[0];
+        }
+
+        return instanceLocks[(guid.hashCode() & 0x7fffffff) % lockStripeCount];
+    }
+
+
+    /**
+     * Add an old version of an entity to its history.
+     *
+     * @param entity old version of the entity (may be null)
+     */
+    private void addToEntityHistory(EntityDetail   entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            entityHistoryStore.computeIfAbsent(entity.getGUID(), guid -> new InMemoryInstanceHistory<>()).addVersion(entity);
+        }
+    }
+
+
+    /**
+     * Return the most recent old version of an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @return old version of the entity or null if it has no history
+     */
+    private EntityDetail getPreviousEntityVersion(String   guid)
+    {
+        InMemoryInstanceHistory<EntityDetail>  history = entityHistoryStore.get(guid);
+
+        if (history == null)
+        {
+            return null;
+        }
+
+        return history.getLatestVersion();
+    }
+
+
+    /**
+     * Add an old version of a relationship to its history.
+     *
+     * @param relationship old version of the relationship (may be null)
+     */
+    private void addToRelationshipHistory(Relationship   relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            relationshipHistoryStore.computeIfAbsent(relationship.getGUID(), guid -> new InMemoryInstanceHistory<>()).addVersion(relationship);
+        }
+    }
+
+
+    /**
+     * Return the most recent old version of a relationship.
+     *
+     * @param guid unique identifier of the relationship
+     * @return old version of the relationship or null if it has no history
+     */
+    private Relationship getPreviousRelationshipVersion(String   guid)
+    {
+        InMemoryInstanceHistory<Relationship>  history = relationshipHistoryStore.get(guid);
+
+        if (history == null)
+        {
+            return null;
+        }
+
+        return history.getLatestVersion();
+    }
+
+
+    /*
+     * ========================
+     * Secondary index maintenance.  These methods are called with the instance's lock stripe held.
+     * The index maps are updated atomically per key so instances sharing a key do not lose updates.
+     */
+
+
+    /**
+     * Add an entity to the type and classification indexes.
+     *
+     * @param entity entity to index (may be null)
+     */
+    private void indexEntity(EntityDetail   entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            for (String typeName : this.getTypeNames(entity))
+            {
+                this.addIndexEntry(entityTypeIndex, typeName, entity.getGUID());
+            }
+
+            for (String classificationName : this.getClassificationNames(entity))
+            {
+                this.addIndexEntry(classificationIndex, classificationName, entity.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Remove an entity from the type and classification indexes.
+     *
+     * @param entity entity to remove (may be null)
+     */
+    private void unindexEntity(EntityDetail   entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            for (String typeName : this.getTypeNames(entity))
+            {
+                this.removeIndexEntry(entityTypeIndex, typeName, entity.getGUID());
+            }
+
+            for (String classificationName : this.getClassificationNames(entity))
+            {
+                this.removeIndexEntry(classificationIndex, classificationName, entity.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Add a relationship to the type and relationship end indexes.
+     *
+     * @param relationship relationship to index (may be null)
+     */
+    private void indexRelationship(Relationship   relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            for (String typeName : this.getTypeNames(relationship))
+            {
+                this.addIndexEntry(relationshipTypeIndex, typeName, relationship.getGUID());
+            }
+
+            if (relationship.getEntityOneProxy() != null)
+            {
+                this.addIndexEntry(entityOneRelationshipIndex,
+                                   relationship.getEntityOneProxy().getGUID(),
+                                   relationship.getGUID());
+            }
+
+            if (relationship.getEntityTwoProxy() != null)
+            {
+                this.addIndexEntry(entityTwoRelationshipIndex,
+                                   relationship.getEntityTwoProxy().getGUID(),
+                                   relationship.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Remove a relationship from the type and relationship end indexes.
+     *
+     * @param relationship relationship to remove (may be null)
+     */
+    private void unindexRelationship(Relationship   relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            for (String typeName : this.getTypeNames(relationship))
+            {
+                this.removeIndexEntry(relationshipTypeIndex, typeName, relationship.getGUID());
+            }
+
+            if (relationship.getEntityOneProxy() != null)
+            {
+                this.removeIndexEntry(entityOneRelationshipIndex,
+                                      relationship.getEntityOneProxy().getGUID(),
+                                      relationship.getGUID());
+            }
+
+            if (relationship.getEntityTwoProxy() != null)
+            {
+                this.removeIndexEntry(entityTwoRelationshipIndex,
+                                      relationship.getEntityTwoProxy().getGUID(),
+                                      relationship.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Return the name of an instance's type along with the names of all of its super types.
+     *
+     * @param instance instance to extract the type names from
+     * @return list of type names
+     */
+    private List<String> getTypeNames(InstanceHeader   instance)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        List<String>  typeNames    = new ArrayList<>();
+        InstanceType  instanceType = instance.getType();
 
-        if (relationship != null)
+        if (instanceType != null)
         {
-            relationshipHistoryStore.add(0, relationship);
+            if (instanceType.getTypeDefName() != null)
+            {
+                typeNames.add(instanceType.getTypeDefName());
+            }
+
+            List<TypeDefLink>  superTypes = instanceType.getTypeDefSuperTypes();
+
+            if (superTypes != null)
+            {
+                for (TypeDefLink superType : superTypes)
+                {
+                    if ((superType != null) && (superType.getName() != null))
+                    {
+                        typeNames.add(superType.getName());
+                    }
+                }
+            }
+        }
+
+        return typeNames;
+    }
+
+
+    /**
+     * Return the names of the classifications attached to an entity.
+     *
+     * @param entity entity to extract the classification names from
+     * @return list of classification names
+     */
+    private List<String> getClassificationNames(EntityDetail   entity)
+    {
+        List<String>          classificationNames = new ArrayList<>();
+        List<Classification>  classifications     = entity.getClassifications();
+
+        if (classifications != null)
+        {
+            for (Classification classification : classifications)
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    classificationNames.add(classification.getName());
+                }
+            }
+        }
+
+        return classificationNames;
+    }
+
+
+    /**
+     * Return the guids stored under a key in an index.
+     *
+     * @param index index to query
+     * @param key key value
+     * @return set of guids - empty set if the key is not known
+     */
+    private Set<String> getIndexEntry(Map<String, Set<String>>  index,
+                                      String                    key)
+    {
+        Set<String>  guids = index.get(key);
+
+        if (guids == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Add a guid to an index.
+     *
+     * @param index index to update
+     * @param key key value
+     * @param guid guid to add
+     */
+    private void addIndexEntry(Map<String, Set<String>>  index,
+                               String                    key,
+                               String                    guid)
+    {
+        if (key != null)
+        {
+            index.compute(key, (indexKey, guids) ->
+            {
+                Set<String> updatedGUIDs = guids;
+
+                if (updatedGUIDs == null)
+                {
+                    updatedGUIDs = ConcurrentHashMap.newKeySet();
+                }
+
+                updatedGUIDs.add(guid);
+
+                return updatedGUIDs;
+            });
+        }
+    }
+
+
+    /**
+     * Remove a guid from an index - the key is removed once it has no guids.
+     *
+     * @param index index to update
+     * @param key key value
+     * @param guid guid to remove
+     */
+    private void removeIndexEntry(Map<String, Set<String>>  index,
+                                  String                    key,
+                                  String                    guid)
+    {
+        if (key != null)
+        {
+            index.computeIfPresent(key, (indexKey, guids) ->
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    return null;
+                }
+
+                return guids;
+            });
         }
     }
 
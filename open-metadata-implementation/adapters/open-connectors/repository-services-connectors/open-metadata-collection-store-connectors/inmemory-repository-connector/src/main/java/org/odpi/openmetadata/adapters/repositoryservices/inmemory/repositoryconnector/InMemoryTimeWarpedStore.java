@@ -0,0 +1,212 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+
+import java.util.*;
+
+/**
+ * InMemoryTimeWarpedStore is a read-only view of an instance store as it was at a point in time (asOfTime).
+ * Nothing is copied when the view is created.  Each instance is resolved when it is requested, either from
+ * the current store (if the current version was already effective) or by a binary search of its history.
+ *
+ * @param <T> type of instance
+ */
+class InMemoryTimeWarpedStore<T extends InstanceAuditHeader> extends AbstractMap<String, T>
+{
+    private final Map<String, T>                           currentStore;
+    private final Map<String, InMemoryInstanceHistory<T>>  historyStore;
+    private final Date                                     asOfTime;
+
+
+    /**
+     * Constructor supplies the stores to resolve instances from.
+     *
+     * @param currentStore store of the current versions of the instances
+     * @param historyStore store of the old versions of the instances
+     * @param asOfTime time for the view
+     */
+    InMemoryTimeWarpedStore(Map<String, T>                           currentStore,
+                            Map<String, InMemoryInstanceHistory<T>>  historyStore,
+                            Date                                     asOfTime)
+    {
+        this.currentStore = currentStore;
+        this.historyStore = historyStore;
+        this.asOfTime = asOfTime;
+    }
+
+
+    /**
+     * Return the version of the instance that was effective at the asOfTime.
+     *
+     * @param guid unique identifier of the instance
+     * @param currentStore store of the current versions of the instances
+     * @param historyStore store of the old versions of the instances
+     * @param asOfTime requested time
+     * @param <T> type of instance
+     * @return instance or null if it did not exist at that time
+     */
+    static <T extends InstanceAuditHeader> T getInstanceAsOf(Object                                   guid,
+                                                             Map<String, T>                           currentStore,
+                                                             Map<String, InMemoryInstanceHistory<T>>  historyStore,
+                                                             Date                                     asOfTime)
+    {
+        T  currentVersion = currentStore.get(guid);
+
+        if ((currentVersion != null) && (InMemoryInstanceHistory.isEffectiveAt(currentVersion, asOfTime)))
+        {
+            return currentVersion;
+        }
+
+        InMemoryInstanceHistory<T>  history = historyStore.get(guid);
+
+        if (history != null)
+        {
+            return history.getVersionAsOf(asOfTime);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the version of the instance that was effective at the asOfTime.
+     *
+     * @param guid unique identifier of the instance
+     * @return instance or null if it did not exist at that time
+     */
+    @Override
+    public T get(Object guid)
+    {
+        if (guid == null)
+        {
+            return null;
+        }
+
+        return getInstanceAsOf(guid, currentStore, historyStore, asOfTime);
+    }
+
+
+    /**
+     * Return whether the instance existed at the asOfTime.
+     *
+     * @param guid unique identifier of the instance
+     * @return boolean flag
+     */
+    @Override
+    public boolean containsKey(Object guid)
+    {
+        return this.get(guid) != null;
+    }
+
+
+    /**
+     * Return the instances that existed at the asOfTime.  They are resolved as the set is iterated.
+     *
+     * @return set of entries
+     */
+    @Override
+    public Set<Entry<String, T>> entrySet()
+    {
+        return new AbstractSet<Entry<String, T>>()
+        {
+            @Override
+            public Iterator<Entry<String, T>> iterator()
+            {
+                return new TimeWarpedIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                int count = 0;
+
+                for (Iterator<Entry<String, T>> iterator = this.iterator(); iterator.hasNext(); iterator.next())
+                {
+                    count++;
+                }
+
+                return count;
+            }
+        };
+    }
+
+
+    /**
+     * TimeWarpedIterator steps through the guids of the current instances followed by the guids of instances
+     * that only exist in the history, returning the version of each that was effective at the asOfTime.
+     */
+    private class TimeWarpedIterator implements Iterator<Entry<String, T>>
+    {
+        private final Iterator<String>  currentGUIDs = currentStore.keySet().iterator();
+        private final Iterator<String>  historyGUIDs = historyStore.keySet().iterator();
+        private Entry<String, T>        nextEntry    = null;
+
+
+        /**
+         * Return whether there is another instance that existed at the asOfTime.
+         *
+         * @return boolean flag
+         */
+        @Override
+        public boolean hasNext()
+        {
+            while (nextEntry == null)
+            {
+                String guid;
+
+                if (currentGUIDs.hasNext())
+                {
+                    guid = currentGUIDs.next();
+                }
+                else if (historyGUIDs.hasNext())
+                {
+                    guid = historyGUIDs.next();
+
+                    if (currentStore.containsKey(guid))
+                    {
+                        /*
+                         * Already returned from the current store.
+                         */
+                        continue;
+                    }
+                }
+                else
+                {
+                    return false;
+                }
+
+                T instance = get(guid);
+
+                if (instance != null)
+                {
+                    nextEntry = new SimpleImmutableEntry<>(guid, instance);
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Return the next instance that existed at the asOfTime.
+         *
+         * @return entry of guid and instance
+         */
+        @Override
+        public Entry<String, T> next()
+        {
+            if (! this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            Entry<String, T>  entry = nextEntry;
+
+            nextEntry = null;
+
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * InMemoryOMRSMetadataStoreBenchmark measures how the lookups of InMemoryOMRSMetadataStore scale with the number
+ * of instances in the store, and the throughput of a mixed read and write workload with an increasing number of
+ * threads.  The indexed lookups are compared with a scan of every entity, which is how they were answered before
+ * the store was indexed.  It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DinMemoryBenchmark
+ * </pre>
+ * The largest number of entities can be changed with -DinMemoryBenchmarkEntities=n and the number of
+ * operations per thread with -DinMemoryBenchmarkOperations=n.
+ */
+public class InMemoryOMRSMetadataStoreBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(InMemoryOMRSMetadataStoreBenchmark.class);
+
+    private static final String entityTypeName       = "BenchmarkEntity";
+    private static final String superTypeName        = "Referenceable";
+    private static final String relationshipTypeName = "BenchmarkRelationship";
+    private static final String classificationName   = "Confidentiality";
+    private static final int    classifiedEntities   = 10;
+    private static final int    updatePercentage     = 20;
+
+    private static final int warmUpRounds   = 3;
+    private static final int measuredRounds = 5;
+
+
+    /**
+     * Log the rate of each lookup as the number of instances in the store grows.
+     */
+    @Test
+    public void measureLookupScaling()
+    {
+        int maxEntityCount = Integer.getInteger("inMemoryBenchmarkEntities", 100000);
+        int lookupCount    = Integer.getInteger("inMemoryBenchmarkOperations", 100000);
+
+        for (int entityCount = Math.max(classifiedEntities, maxEntityCount / 100); entityCount <= maxEntityCount; entityCount *= 10)
+        {
+            InMemoryOMRSMetadataStore repositoryStore = this.getPopulatedStore(entityCount);
+            List<String>              classification  = Collections.singletonList(classificationName);
+            final int                 storeSize       = entityCount;
+
+            long getEntityRate = this.measure(lookupCount,
+                                              (i) -> repositoryStore.getEntity(this.getEntityGUID(i % storeSize)));
+            long relationshipRate = this.measure(lookupCount,
+                                                 (i) -> repositoryStore.getRelationshipsForEntity(this.getEntityGUID(i % storeSize)));
+            long classificationRate = this.measure(lookupCount,
+                                                   (i) -> repositoryStore.getCandidateEntities(entityTypeName, classification));
+            long scanRate = this.measure(Math.max(1, lookupCount / storeSize),
+                                         (i) -> this.scanForClassification(repositoryStore));
+
+            assertEquals(repositoryStore.getCandidateEntities(entityTypeName, classification).size(), classifiedEntities);
+            assertEquals(this.scanForClassification(repositoryStore), classifiedEntities);
+            assertEquals(repositoryStore.getRelationshipsForEntity(this.getEntityGUID(0)).size(), 2);
+
+            log.info(storeSize + " entities: getEntity=" + getEntityRate
+                             + " lookups/s, getRelationshipsForEntity=" + relationshipRate
+                             + " lookups/s, getCandidateEntities by classification=" + classificationRate
+                             + " lookups/s, scan of every entity by classification=" + scanRate + " lookups/s");
+        }
+    }
+
+
+    /**
+     * Log the throughput of a mixed read and write workload as the number of threads grows.
+     *
+     * @throws Exception a thread failed
+     */
+    @Test
+    public void measureConcurrentReadWrite() throws Exception
+    {
+        int entityCount    = Integer.getInteger("inMemoryBenchmarkEntities", 100000);
+        int operationCount = Integer.getInteger("inMemoryBenchmarkOperations", 100000);
+
+        InMemoryOMRSMetadataStore repositoryStore = this.getPopulatedStore(entityCount);
+
+        for (int threadCount = 1; threadCount <= 8; threadCount *= 2)
+        {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            long            bestRate = 0;
+
+            for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+            {
+                List<Future<?>> results   = new ArrayList<>();
+                long            startTime = System.nanoTime();
+
+                for (int thread = 0; thread < threadCount; thread++)
+                {
+                    results.add(executor.submit(() -> this.runMixedWorkload(repositoryStore, entityCount, operationCount)));
+                }
+
+                for (Future<?> result : results)
+                {
+                    result.get();
+                }
+
+                long elapsedTime = Math.max(1, System.nanoTime() - startTime);
+
+                if (round >= warmUpRounds)
+                {
+                    bestRate = Math.max(bestRate, (threadCount * operationCount * 1000000000L) / elapsedTime);
+                }
+            }
+
+            executor.shutdown();
+
+            log.info(threadCount + " threads, " + entityCount + " entities, " + updatePercentage
+                             + "% updates: " + bestRate + " operations/s");
+        }
+
+        assertEquals(repositoryStore.getEntities().size(), entityCount);
+    }
+
+
+    /**
+     * Retrieve or update random entities.
+     *
+     * @param repositoryStore store to use
+     * @param entityCount number of entities in the store
+     * @param operationCount number of operations to run
+     */
+    private void runMixedWorkload(InMemoryOMRSMetadataStore repositoryStore,
+                                  int                       entityCount,
+                                  int                       operationCount)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < operationCount; i++)
+        {
+            String guid = this.getEntityGUID(random.nextInt(entityCount));
+
+            if (random.nextInt(100) < updatePercentage)
+            {
+                EntityDetail entity = repositoryStore.getEntity(guid);
+
+                if (entity != null)
+                {
+                    EntityDetail updatedEntity = new EntityDetail(entity);
+
+                    updatedEntity.setVersion(entity.getVersion() + 1);
+                    repositoryStore.updateEntityInStore(updatedEntity);
+                }
+            }
+            else
+            {
+                repositoryStore.getEntity(guid);
+                repositoryStore.getRelationshipsForEntity(guid);
+            }
+        }
+    }
+
+
+    /**
+     * Count the classified entities by testing every entity in the store.
+     *
+     * @param repositoryStore store to scan
+     * @return number of classified entities
+     */
+    private int scanForClassification(InMemoryOMRSMetadataStore repositoryStore)
+    {
+        int matchCount = 0;
+
+        for (EntityDetail entity : repositoryStore.getEntities())
+        {
+            List<Classification> classifications = entity.getClassifications();
+
+            if (classifications != null)
+            {
+                for (Classification classification : classifications)
+                {
+                    if (classificationName.equals(classification.getName()))
+                    {
+                        matchCount++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return matchCount;
+    }
+
+
+    /**
+     * Return the best rate of the measured rounds after warming up.
+     *
+     * @param operationCount number of operations in each round
+     * @param operation operation to run, passed the operation number
+     * @return operations per second
+     */
+    private long measure(int        operationCount,
+                         IntConsumer operation)
+    {
+        long bestRate = 0;
+
+        for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+        {
+            long startTime = System.nanoTime();
+
+            for (int i = 0; i < operationCount; i++)
+            {
+                operation.accept(i);
+            }
+
+            long elapsedTime = Math.max(1, System.nanoTime() - startTime);
+
+            if (round >= warmUpRounds)
+            {
+                bestRate = Math.max(bestRate, (operationCount * 1000000000L) / elapsedTime);
+            }
+        }
+
+        return bestRate;
+    }
+
+
+    /**
+     * Create a store where each entity is linked to the next one in a ring, and a fixed number of
+     * entities are classified.
+     *
+     * @param entityCount number of entities
+     * @return populated store
+     */
+    private InMemoryOMRSMetadataStore getPopulatedStore(int entityCount)
+    {
+        InMemoryOMRSMetadataStore repositoryStore = new InMemoryOMRSMetadataStore();
+        int                       spacing         = entityCount / classifiedEntities;
+
+        for (int i = 0; i < entityCount; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(this.getEntityGUID(i));
+            entity.setType(this.getType(entityTypeName, superTypeName));
+            entity.setVersion(1);
+
+            if (i % spacing == 0)
+            {
+                Classification classification = new Classification();
+
+                classification.setName(classificationName);
+                entity.setClassifications(Collections.singletonList(classification));
+            }
+
+            repositoryStore.createEntityInStore(entity);
+        }
+
+        for (int i = 0; i < entityCount; i++)
+        {
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("relationship-" + i);
+            relationship.setType(this.getType(relationshipTypeName, null));
+            relationship.setEntityOneProxy(this.getEntityProxy(i));
+            relationship.setEntityTwoProxy(this.getEntityProxy((i + 1) % entityCount));
+
+            repositoryStore.createRelationshipInStore(relationship);
+        }
+
+        return repositoryStore;
+    }
+
+
+    private String getEntityGUID(int entityNumber)
+    {
+        return "entity-" + entityNumber;
+    }
+
+
+    private EntityProxy getEntityProxy(int entityNumber)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+
+        entityProxy.setGUID(this.getEntityGUID(entityNumber));
+
+        return entityProxy;
+    }
+
+
+    private InstanceType getType(String typeName,
+                                 String superTypeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefName(typeName);
+
+        if (superTypeName != null)
+        {
+            TypeDefLink superType = new TypeDefLink();
+
+            superType.setName(superTypeName);
+            type.setTypeDefSuperTypes(Collections.singletonList(superType));
+        }
+
+        return type;
+    }
+}
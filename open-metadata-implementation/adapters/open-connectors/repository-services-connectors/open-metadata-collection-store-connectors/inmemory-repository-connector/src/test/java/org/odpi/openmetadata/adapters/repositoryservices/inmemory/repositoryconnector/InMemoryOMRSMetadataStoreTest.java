@@ -0,0 +1,232 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class InMemoryOMRSMetadataStoreTest
+{
+    private InMemoryOMRSMetadataStore repositoryStore;
+
+    @BeforeMethod
+    public void setup()
+    {
+        repositoryStore = new InMemoryOMRSMetadataStore();
+    }
+
+    @Test
+    void testEntityTypeIndex()
+    {
+        repositoryStore.createEntityInStore(getEntity("1111", "Asset", "Referenceable"));
+        repositoryStore.createEntityInStore(getEntity("2222", "GlossaryTerm", "Referenceable"));
+
+        assertEquals(repositoryStore.getCandidateEntities("Asset", null).size(), 1);
+        assertEquals(repositoryStore.getCandidateEntities("Referenceable", null).size(), 2);
+        assertEquals(repositoryStore.getCandidateEntities(null, null).size(), 2);
+        assertTrue(repositoryStore.getCandidateEntities("Process", null).isEmpty());
+
+        repositoryStore.removeEntityFromStore(repositoryStore.getEntity("1111"));
+
+        assertTrue(repositoryStore.getCandidateEntities("Asset", null).isEmpty());
+        assertEquals(repositoryStore.getCandidateEntities("Referenceable", null).size(), 1);
+    }
+
+    @Test
+    void testClassificationIndex()
+    {
+        EntityDetail entity = getEntity("1111", "Asset", "Referenceable");
+        repositoryStore.createEntityInStore(entity);
+
+        List<String> classificationNames = Collections.singletonList("Confidentiality");
+        assertTrue(repositoryStore.getCandidateEntities("Asset", classificationNames).isEmpty());
+
+        EntityDetail classifiedEntity = new EntityDetail(entity);
+        Classification classification = new Classification();
+        classification.setName("Confidentiality");
+        List<Classification> classifications = new ArrayList<>();
+        classifications.add(classification);
+        classifiedEntity.setClassifications(classifications);
+        repositoryStore.updateEntityInStore(classifiedEntity);
+
+        assertEquals(repositoryStore.getCandidateEntities("Asset", classificationNames).size(), 1);
+        assertEquals(repositoryStore.getCandidateEntities(null, classificationNames).size(), 1);
+
+        repositoryStore.updateEntityInStore(new EntityDetail(entity));
+
+        assertTrue(repositoryStore.getCandidateEntities(null, classificationNames).isEmpty());
+    }
+
+    @Test
+    void testRelationshipEndIndex()
+    {
+        repositoryStore.createRelationshipInStore(getRelationship("3333", "1111", "2222"));
+        repositoryStore.createRelationshipInStore(getRelationship("4444", "2222", "5555"));
+
+        assertEquals(repositoryStore.getRelationshipsForEntity("1111").size(), 1);
+        assertEquals(repositoryStore.getRelationshipsForEntity("2222").size(), 2);
+        assertEquals(repositoryStore.getCandidateRelationships("AttachedTag").size(), 2);
+
+        repositoryStore.removeReferenceRelationshipFromStore("3333");
+
+        assertTrue(repositoryStore.getRelationshipsForEntity("1111").isEmpty());
+        assertEquals(repositoryStore.getRelationshipsForEntity("2222").size(), 1);
+    }
+
+    @Test
+    void testAsOfTime()
+    {
+        EntityDetail version1 = getEntity("1111", "Asset", "Referenceable");
+        version1.setVersion(1);
+        version1.setCreateTime(new Date(1000));
+        repositoryStore.createEntityInStore(version1);
+
+        EntityDetail version2 = new EntityDetail(version1);
+        version2.setVersion(2);
+        version2.setUpdateTime(new Date(2000));
+        repositoryStore.updateEntityInStore(version2);
+
+        EntityDetail version3 = new EntityDetail(version1);
+        version3.setVersion(3);
+        version3.setUpdateTime(new Date(3000));
+        repositoryStore.updateEntityInStore(version3);
+
+        assertNull(repositoryStore.getEntity("1111", new Date(500)));
+        assertEquals(repositoryStore.getEntity("1111", new Date(1000)).getVersion(), 1);
+        assertEquals(repositoryStore.getEntity("1111", new Date(2500)).getVersion(), 2);
+        assertEquals(repositoryStore.getEntity("1111", new Date(3000)).getVersion(), 3);
+        assertEquals(repositoryStore.getEntity("1111", null).getVersion(), 3);
+
+        repositoryStore.removeEntityFromStore(version3);
+
+        assertNull(repositoryStore.getEntity("1111", null));
+        assertEquals(repositoryStore.getEntity("1111", new Date(2500)).getVersion(), 2);
+        assertEquals(repositoryStore.timeWarpEntityStore(new Date(1500)).size(), 1);
+        assertTrue(repositoryStore.timeWarpEntityStore(new Date(500)).isEmpty());
+    }
+
+    @Test
+    void testUndoUpdate()
+    {
+        EntityDetail version1 = getEntity("1111", "Asset", "Referenceable");
+        version1.setVersion(1);
+        version1.setCreateTime(new Date(1000));
+        repositoryStore.createEntityInStore(version1);
+
+        EntityDetail version2 = new EntityDetail(version1);
+        version2.setVersion(2);
+        version2.setUpdateTime(new Date(2000));
+        repositoryStore.updateEntityInStore(version2);
+
+        EntityDetail restored = repositoryStore.retrievePreviousVersionOfEntity("1111");
+
+        assertEquals(restored.getVersion(), 3);
+        assertEquals(restored.getCreateTime(), new Date(1000));
+        assertEquals(repositoryStore.getEntity("1111").getVersion(), 3);
+        assertEquals(repositoryStore.getEntity("1111", new Date(2500)).getVersion(), 2);
+    }
+
+    @Test
+    void testConcurrentReadWrite() throws Exception
+    {
+        final int threadCount = 8;
+        final int entityCount = 1000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount * 2);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int thread = 0; thread < threadCount; thread++)
+        {
+            final String prefix = "thread" + thread + "-";
+
+            results.add(executor.submit(() ->
+            {
+                for (int i = 0; i < entityCount; i++)
+                {
+                    EntityDetail entity = getEntity(prefix + i, "Asset", "Referenceable");
+                    repositoryStore.createEntityInStore(entity);
+                    repositoryStore.updateEntityInStore(new EntityDetail(entity));
+                }
+            }));
+
+            results.add(executor.submit(() ->
+            {
+                for (int i = 0; i < entityCount; i += 10)
+                {
+                    for (EntityDetail entity : repositoryStore.getCandidateEntities("Referenceable", null))
+                    {
+                        assertEquals(entity.getType().getTypeDefName(), "Asset");
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        executor.shutdown();
+
+        assertEquals(repositoryStore.getEntities().size(), threadCount * entityCount);
+        assertEquals(repositoryStore.getCandidateEntities("Asset", null).size(), threadCount * entityCount);
+    }
+
+    private EntityDetail getEntity(String guid, String typeName, String superTypeName)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(getType(typeName, superTypeName));
+
+        return entity;
+    }
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(getType("AttachedTag", null));
+
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityOneGUID);
+        relationship.setEntityOneProxy(entityOneProxy);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(entityTwoGUID);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+    private InstanceType getType(String typeName, String superTypeName)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+
+        if (superTypeName != null)
+        {
+            TypeDefLink superType = new TypeDefLink();
+            superType.setName(superTypeName);
+            List<TypeDefLink> superTypes = new ArrayList<>();
+            superTypes.add(superType);
+            type.setTypeDefSuperTypes(superTypes);
+        }
+
+        return type;
+    }
+}
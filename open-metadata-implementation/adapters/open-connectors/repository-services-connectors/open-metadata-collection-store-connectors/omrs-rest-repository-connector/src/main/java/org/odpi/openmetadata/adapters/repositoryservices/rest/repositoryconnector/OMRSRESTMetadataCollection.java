@@ -27,9 +27,20 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
 {
     static final private String defaultRepositoryName = "REST-connected Repository ";
 
+    /*
+     * HTTP response codes returned by a remote server that does not provide a REST operation.
+     */
+    private static final String[] operationNotProvidedCodes = { "404 ", "405 ", "501 " };
+
     private String                        errorMessage = null;
     private LocalRepositoryServicesClient omrsClient;   /* Initialized in constructor */
 
+    /*
+     * Set to false once the remote server has shown that it does not provide the operations to retrieve many
+     * instances in a single request.  It is then not asked again.
+     */
+    private volatile boolean              batchRetrievalSupported = true;
+
     /**
      * Default constructor.
      *
@@ -139,6 +150,41 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Detect if a request failed because the remote server does not provide the REST operation.  This happens
+     * when the remote server is at an earlier level than the local server.  The HTTP response code is
+     * reported at the start of the message of the exception from the REST client, which is the cause of the
+     * exception from the OMRS client.
+     *
+     * @param error exception from the OMRS client
+     * @return boolean true if the remote server does not provide the operation
+     */
+    private boolean isOperationNotProvided(Throwable error)
+    {
+        Throwable cause = error.getCause();
+
+        while (cause != null)
+        {
+            String causeMessage = cause.getMessage();
+
+            if (causeMessage != null)
+            {
+                for (String responseCode : operationNotProvidedCodes)
+                {
+                    if (causeMessage.startsWith(responseCode))
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            cause = cause.getCause();
+        }
+
+        return false;
+    }
+
+
     /**
      * Validate that the metadata collection id from the remote server matches the one expected
      * locally.
@@ -941,6 +987,49 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known, or are only proxies, are left out of the results.  If the remote server is
+     * at a level that does not provide this request, each entity is retrieved in turn.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException  the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+
+        validateClient(methodName);
+
+        if (batchRetrievalSupported)
+        {
+            try
+            {
+                return omrsClient.getEntityDetails(userId, guids);
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! this.isOperationNotProvided(error))
+                {
+                    throw error;
+                }
+
+                batchRetrievalSupported = false;
+            }
+        }
+
+        return super.getEntityDetails(userId, guids);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1299,6 +1388,49 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that are not known are left out
+     * of the results.  If the remote server is at a level that does not provide this request, each relationship
+     * is retrieved in turn.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of relationships in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+
+        validateClient(methodName);
+
+        if (batchRetrievalSupported)
+        {
+            try
+            {
+                return omrsClient.getRelationships(userId, guids);
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! this.isOperationNotProvided(error))
+                {
+                    throw error;
+                }
+
+                batchRetrievalSupported = false;
+            }
+        }
+
+        return super.getRelationships(userId, guids);
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -28,10 +28,11 @@ import java.util.List;
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
-    private String       serverName               = null;
-    private String       serverPlatformURLRoot    = null;
-    private HttpHeaders  basicAuthorizationHeader = null;
+    private RestTemplate         restTemplate;
+    private SpringRESTClientPool connectionPool           = null;
+    private String               serverName               = null;
+    private String               serverPlatformURLRoot    = null;
+    private HttpHeaders          basicAuthorizationHeader = null;
 
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
@@ -60,6 +61,12 @@ public class SpringRESTClientConnector extends RESTClientConnector
     {
         super.initialize(connectorInstanceId, connectionProperties);
 
+        /*
+         * Calls are sent through a pool of keep-alive connections shared with the other REST clients in the platform.
+         */
+        this.connectionPool = SpringRESTClientPool.getPool(connectionProperties.getConfigurationProperties());
+        this.restTemplate.setRequestFactory(connectionPool.getRequestFactory());
+
         EndpointProperties   endpoint             = connectionProperties.getEndpoint();
 
         if (endpoint != null)
@@ -92,6 +99,17 @@ public class SpringRESTClientConnector extends RESTClientConnector
     }
 
 
+    /**
+     * Return the pool of HTTP connections used by this connector.  It is null until the connector is initialized.
+     *
+     * @return connection pool
+     */
+    public SpringRESTClientPool getConnectionPool()
+    {
+        return connectionPool;
+    }
+
+
     /**
      * Create the HTTP header for basic authorization.
      *
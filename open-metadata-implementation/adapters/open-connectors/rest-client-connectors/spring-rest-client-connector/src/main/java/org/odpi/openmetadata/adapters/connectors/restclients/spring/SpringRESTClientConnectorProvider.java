@@ -6,6 +6,8 @@ import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector
 import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.Arrays;
+
 
 /**
  * SpringRESTClientConnectorProvider provides the connector provider for the SpringRESTClientConnector.
@@ -33,6 +35,12 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
         connectorType.setDisplayName(connectorTypeName);
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
+        connectorType.setRecognizedConfigurationProperties(Arrays.asList(SpringRESTClientPool.MAX_CONNECTIONS_PROPERTY,
+                                                                         SpringRESTClientPool.MAX_CONNECTIONS_PER_ROUTE_PROPERTY,
+                                                                         SpringRESTClientPool.CONNECT_TIMEOUT_PROPERTY,
+                                                                         SpringRESTClientPool.READ_TIMEOUT_PROPERTY,
+                                                                         SpringRESTClientPool.KEEP_ALIVE_TIME_PROPERTY,
+                                                                         SpringRESTClientPool.COMPRESS_REQUESTS_PROPERTY));
 
         super.connectorTypeBean = connectorType;
     }
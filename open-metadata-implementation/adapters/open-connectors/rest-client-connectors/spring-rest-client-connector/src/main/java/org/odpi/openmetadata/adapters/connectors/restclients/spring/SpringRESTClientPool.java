@@ -0,0 +1,367 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * SpringRESTClientPool is a pool of keep-alive HTTP connections that is shared by all of the SpringRESTClientConnectors
+ * in the platform that have the same pool settings.  The settings come from the configuration properties of the
+ * connector's connection:
+ * <ul>
+ *     <li>maxConnections - maximum number of open connections in the pool (default 200)</li>
+ *     <li>maxConnectionsPerRoute - maximum number of open connections to a single platform (default 50)</li>
+ *     <li>connectTimeout - milliseconds to wait for a new connection, or for a free connection from the pool
+ *     (default 10 seconds)</li>
+ *     <li>readTimeout - milliseconds to wait for data from the server (default 10 minutes)</li>
+ *     <li>keepAliveTime - milliseconds an idle connection is kept open (default 1 minute or less if the server
+ *     says so)</li>
+ *     <li>compressRequests - gzip the request bodies (default false since the receiving server must be set up to
+ *     decompress them)</li>
+ * </ul>
+ * Responses are always requested with gzip compression and decompressed transparently.
+ * <p>
+ *     TLS connections use the platform's default SSL socket factory and hostname verifier so the strict.ssl
+ *     setting of the platform applies to pooled connections.
+ * </p>
+ */
+public class SpringRESTClientPool
+{
+    public static final String MAX_CONNECTIONS_PROPERTY           = "maxConnections";
+    public static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "maxConnectionsPerRoute";
+    public static final String CONNECT_TIMEOUT_PROPERTY           = "connectTimeout";
+    public static final String READ_TIMEOUT_PROPERTY              = "readTimeout";
+    public static final String KEEP_ALIVE_TIME_PROPERTY           = "keepAliveTime";
+    public static final String COMPRESS_REQUESTS_PROPERTY         = "compressRequests";
+
+    private static final int     defaultMaxConnections         = 200;
+    private static final int     defaultMaxConnectionsPerRoute = 50;
+    private static final int     defaultConnectTimeout         = 10000;
+    private static final int     defaultReadTimeout            = 600000;
+    private static final int     defaultKeepAliveTime          = 60000;
+    private static final int     validateAfterInactivity       = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(SpringRESTClientPool.class);
+
+    private static final Map<String, SpringRESTClientPool> pools = new ConcurrentHashMap<>();
+
+    private final String                             poolName;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final ClientHttpRequestFactory           requestFactory;
+
+
+    /**
+     * Return the pool for the settings in the configuration properties, creating it if this is the first connector
+     * to use these settings.
+     *
+     * @param configurationProperties configuration properties from the connector's connection (may be null)
+     * @return shared pool
+     */
+    public static SpringRESTClientPool getPool(Map<String, Object> configurationProperties)
+    {
+        int     maxConnections         = getIntProperty(configurationProperties, MAX_CONNECTIONS_PROPERTY, defaultMaxConnections);
+        int     maxConnectionsPerRoute = getIntProperty(configurationProperties, MAX_CONNECTIONS_PER_ROUTE_PROPERTY, defaultMaxConnectionsPerRoute);
+        int     connectTimeout         = getIntProperty(configurationProperties, CONNECT_TIMEOUT_PROPERTY, defaultConnectTimeout);
+        int     readTimeout            = getIntProperty(configurationProperties, READ_TIMEOUT_PROPERTY, defaultReadTimeout);
+        int     keepAliveTime          = getIntProperty(configurationProperties, KEEP_ALIVE_TIME_PROPERTY, defaultKeepAliveTime);
+        boolean compressRequests       = getBooleanProperty(configurationProperties, COMPRESS_REQUESTS_PROPERTY);
+
+        String  poolName = MAX_CONNECTIONS_PROPERTY + "=" + maxConnections + ", "
+                         + MAX_CONNECTIONS_PER_ROUTE_PROPERTY + "=" + maxConnectionsPerRoute + ", "
+                         + CONNECT_TIMEOUT_PROPERTY + "=" + connectTimeout + ", "
+                         + READ_TIMEOUT_PROPERTY + "=" + readTimeout + ", "
+                         + KEEP_ALIVE_TIME_PROPERTY + "=" + keepAliveTime + ", "
+                         + COMPRESS_REQUESTS_PROPERTY + "=" + compressRequests;
+
+        return pools.computeIfAbsent(poolName, (name) -> new SpringRESTClientPool(name,
+                                                                                  maxConnections,
+                                                                                  maxConnectionsPerRoute,
+                                                                                  connectTimeout,
+                                                                                  readTimeout,
+                                                                                  keepAliveTime,
+                                                                                  compressRequests));
+    }
+
+
+    /**
+     * Return all of the pools in use in the platform.
+     *
+     * @return list of pools
+     */
+    public static List<SpringRESTClientPool> getPools()
+    {
+        return new ArrayList<>(pools.values());
+    }
+
+
+    /**
+     * Constructor creates the connection manager and HTTP client for the pool.
+     *
+     * @param poolName description of the pool settings
+     * @param maxConnections maximum number of open connections
+     * @param maxConnectionsPerRoute maximum number of open connections to a single platform
+     * @param connectTimeout milliseconds to wait for a connection
+     * @param readTimeout milliseconds to wait for data
+     * @param keepAliveTime milliseconds to keep an idle connection open
+     * @param compressRequests gzip request bodies
+     */
+    private SpringRESTClientPool(String  poolName,
+                                 int     maxConnections,
+                                 int     maxConnectionsPerRoute,
+                                 int     connectTimeout,
+                                 int     readTimeout,
+                                 int     keepAliveTime,
+                                 boolean compressRequests)
+    {
+        this.poolName = poolName;
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory(),
+                                                                  HttpsURLConnection.getDefaultHostnameVerifier()))
+                .build();
+
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout(connectTimeout)
+                                                   .setConnectionRequestTimeout(connectTimeout)
+                                                   .setSocketTimeout(readTimeout)
+                                                   .build();
+
+        /*
+         * Honour a shorter keep-alive time sent by the server.
+         */
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) ->
+        {
+            long serverKeepAliveTime = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+            if ((serverKeepAliveTime > 0) && (serverKeepAliveTime < keepAliveTime))
+            {
+                return serverKeepAliveTime;
+            }
+
+            return keepAliveTime;
+        };
+
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                                                         .useSystemProperties()
+                                                         .setConnectionManager(connectionManager)
+                                                         .setDefaultRequestConfig(requestConfig)
+                                                         .setKeepAliveStrategy(keepAliveStrategy)
+                                                         .evictExpiredConnections()
+                                                         .evictIdleConnections(keepAliveTime, TimeUnit.MILLISECONDS);
+
+        if (compressRequests)
+        {
+            /*
+             * Added first so that the standard content interceptor sets the length and encoding headers
+             * from the compressed entity.
+             */
+            httpClientBuilder.addInterceptorFirst((HttpRequestInterceptor) (request, context) ->
+            {
+                if (request instanceof HttpEntityEnclosingRequest)
+                {
+                    HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest)request;
+
+                    if ((entityRequest.getEntity() != null) && (entityRequest.getEntity().getContentEncoding() == null))
+                    {
+                        entityRequest.setEntity(new GzipCompressingEntity(entityRequest.getEntity()));
+                    }
+                }
+            });
+        }
+
+        requestFactory = new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+
+        log.debug("Created REST client connection pool with " + poolName + ".");
+    }
+
+
+    /**
+     * Return the request factory that the REST template uses to send requests through the pool.
+     *
+     * @return request factory
+     */
+    ClientHttpRequestFactory getRequestFactory()
+    {
+        return requestFactory;
+    }
+
+
+    /**
+     * Return the settings of the pool.
+     *
+     * @return description of the settings
+     */
+    public String getPoolName()
+    {
+        return poolName;
+    }
+
+
+    /**
+     * Return the number of connections currently in use by REST calls.
+     *
+     * @return count
+     */
+    public int getLeasedConnections()
+    {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+
+    /**
+     * Return the number of idle connections that are ready for the next REST call.
+     *
+     * @return count
+     */
+    public int getAvailableConnections()
+    {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+
+    /**
+     * Return the number of REST calls that are waiting for a connection.
+     *
+     * @return count
+     */
+    public int getPendingRequests()
+    {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+
+    /**
+     * Return the maximum number of open connections.
+     *
+     * @return count
+     */
+    public int getMaxConnections()
+    {
+        return connectionManager.getMaxTotal();
+    }
+
+
+    /**
+     * Return the number of platforms that the pool has connections to.
+     *
+     * @return count
+     */
+    public int getRouteCount()
+    {
+        return connectionManager.getRoutes().size();
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        PoolStats poolStats = connectionManager.getTotalStats();
+
+        return "SpringRESTClientPool{" +
+                "poolName='" + poolName + '\'' +
+                ", leased=" + poolStats.getLeased() +
+                ", available=" + poolStats.getAvailable() +
+                ", pending=" + poolStats.getPending() +
+                ", max=" + poolStats.getMax() +
+                ", routes=" + connectionManager.getRoutes().size() +
+                '}';
+    }
+
+
+    /**
+     * Return an integer configuration property, or the default if it is not set or not a number.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private static int getIntProperty(Map<String, Object> configurationProperties,
+                                      String              propertyName,
+                                      int                 defaultValue)
+    {
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(propertyName);
+
+            if (propertyValue instanceof Number)
+            {
+                return ((Number)propertyValue).intValue();
+            }
+            else if (propertyValue != null)
+            {
+                try
+                {
+                    return Integer.parseInt(propertyValue.toString().trim());
+                }
+                catch (NumberFormatException error)
+                {
+                    log.warn("Ignoring REST client configuration property " + propertyName + " with value " + propertyValue + ".");
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return a boolean configuration property, which is false if it is not set.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @return property value
+     */
+    private static boolean getBooleanProperty(Map<String, Object> configurationProperties,
+                                              String              propertyName)
+    {
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(propertyName);
+
+            if (propertyValue != null)
+            {
+                return Boolean.parseBoolean(propertyValue.toString().trim());
+            }
+        }
+
+        return false;
+    }
+}
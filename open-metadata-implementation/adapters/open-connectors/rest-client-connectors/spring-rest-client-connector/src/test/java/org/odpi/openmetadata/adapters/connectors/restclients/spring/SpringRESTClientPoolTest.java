@@ -0,0 +1,223 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that SpringRESTClientPool is shared by the connectors with the same settings and that its metrics
+ * reflect the REST calls sent through it.  The calls go to an HTTP server in the test.
+ */
+public class SpringRESTClientPoolTest
+{
+    private static final String responseBody = "ok";
+
+    private HttpServer     httpServer;
+    private String         platformURLRoot;
+    private CountDownLatch releaseResponses;
+
+
+    @BeforeMethod
+    public void startServer() throws Exception
+    {
+        releaseResponses = new CountDownLatch(0);
+
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.setExecutor(Executors.newCachedThreadPool());
+        httpServer.createContext("/", (exchange) ->
+        {
+            try
+            {
+                releaseResponses.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] response = responseBody.getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, response.length);
+
+            try (OutputStream responseStream = exchange.getResponseBody())
+            {
+                responseStream.write(response);
+            }
+        });
+        httpServer.start();
+
+        platformURLRoot = "http://localhost:" + httpServer.getAddress().getPort();
+    }
+
+
+    @AfterMethod
+    public void stopServer()
+    {
+        releaseResponses.countDown();
+        httpServer.stop(0);
+    }
+
+
+    private SpringRESTClientConnector getConnector(Map<String, Object> configurationProperties)
+    {
+        Connection connection = new Connection();
+        Endpoint   endpoint   = new Endpoint();
+
+        endpoint.setAddress(platformURLRoot);
+        endpoint.setDisplayName("testServer");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+
+        connector.initialize("testConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private void waitFor(IntSupplier metric,
+                         int         expectedValue) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((metric.getAsInt() != expectedValue) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(metric.getAsInt(), expectedValue);
+    }
+
+
+    @Test
+    public void testPoolSharedBySettings()
+    {
+        Map<String, Object> defaultSettings = new HashMap<>();
+        Map<String, Object> sameSettings    = new HashMap<>();
+        Map<String, Object> otherSettings   = new HashMap<>();
+
+        defaultSettings.put("unrelatedProperty", "value");
+        sameSettings.put(SpringRESTClientPool.MAX_CONNECTIONS_PROPERTY, "200");
+        sameSettings.put(SpringRESTClientPool.READ_TIMEOUT_PROPERTY, 600000);
+        sameSettings.put(SpringRESTClientPool.KEEP_ALIVE_TIME_PROPERTY, "not a number");
+        otherSettings.put(SpringRESTClientPool.MAX_CONNECTIONS_PER_ROUTE_PROPERTY, 13);
+
+        SpringRESTClientPool defaultPool = this.getConnector(null).getConnectionPool();
+
+        assertSame(this.getConnector(null).getConnectionPool(), defaultPool);
+        assertSame(this.getConnector(defaultSettings).getConnectionPool(), defaultPool);
+        assertSame(this.getConnector(sameSettings).getConnectionPool(), defaultPool);
+        assertSame(SpringRESTClientPool.getPool(null), defaultPool);
+
+        SpringRESTClientPool otherPool = this.getConnector(otherSettings).getConnectionPool();
+
+        assertNotSame(otherPool, defaultPool);
+        assertSame(this.getConnector(otherSettings).getConnectionPool(), otherPool);
+        assertTrue(otherPool.getPoolName().contains(SpringRESTClientPool.MAX_CONNECTIONS_PER_ROUTE_PROPERTY + "=13"));
+        assertTrue(SpringRESTClientPool.getPools().contains(defaultPool));
+        assertTrue(SpringRESTClientPool.getPools().contains(otherPool));
+    }
+
+
+    @Test
+    public void testConnectionsReused() throws Exception
+    {
+        Map<String, Object> settings = new HashMap<>();
+
+        settings.put(SpringRESTClientPool.MAX_CONNECTIONS_PROPERTY, 21);
+
+        SpringRESTClientConnector connector = this.getConnector(settings);
+        SpringRESTClientPool      pool      = connector.getConnectionPool();
+
+        assertEquals(pool.getMaxConnections(), 21);
+        assertEquals(pool.getRouteCount(), 0);
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(connector.callGetRESTCallNoParams("testConnectionsReused", String.class, platformURLRoot + "/test"),
+                         responseBody);
+        }
+
+        /*
+         * The calls are made one after another so they all use the same keep-alive connection.
+         */
+        assertEquals(pool.getLeasedConnections(), 0);
+        assertEquals(pool.getAvailableConnections(), 1);
+        assertEquals(pool.getPendingRequests(), 0);
+        assertEquals(pool.getRouteCount(), 1);
+        assertTrue(pool.toString().contains("available=1"));
+    }
+
+
+    @Test
+    public void testLeasedAndPendingMetrics() throws Exception
+    {
+        Map<String, Object> settings = new HashMap<>();
+
+        settings.put(SpringRESTClientPool.MAX_CONNECTIONS_PROPERTY, 22);
+        settings.put(SpringRESTClientPool.MAX_CONNECTIONS_PER_ROUTE_PROPERTY, 1);
+
+        SpringRESTClientConnector connector = this.getConnector(settings);
+        SpringRESTClientPool      pool      = connector.getConnectionPool();
+        ExecutorService           executor  = Executors.newFixedThreadPool(2);
+
+        releaseResponses = new CountDownLatch(1);
+
+        try
+        {
+            Future<String> firstCall  = executor.submit(() -> connector.callGetRESTCallNoParams("testLeasedAndPendingMetrics",
+                                                                                                 String.class,
+                                                                                                 platformURLRoot + "/first"));
+
+            this.waitFor(pool::getLeasedConnections, 1);
+
+            /*
+             * Only one connection is allowed to the platform so the second call waits for the first one.
+             */
+            Future<String> secondCall = executor.submit(() -> connector.callGetRESTCallNoParams("testLeasedAndPendingMetrics",
+                                                                                                 String.class,
+                                                                                                 platformURLRoot + "/second"));
+
+            this.waitFor(pool::getPendingRequests, 1);
+            assertEquals(pool.getLeasedConnections(), 1);
+
+            releaseResponses.countDown();
+
+            assertEquals(firstCall.get(10, TimeUnit.SECONDS), responseBody);
+            assertEquals(secondCall.get(10, TimeUnit.SECONDS), responseBody);
+
+            assertEquals(pool.getLeasedConnections(), 0);
+            assertEquals(pool.getPendingRequests(), 0);
+            assertEquals(pool.getAvailableConnections(), 1);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -30,6 +30,13 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *         enterpriseOMRSTopicProtocolVersion - the protocol version for the events passed on the
  *                                            enterprise OMRS topic.
  *     </li>
+ *     <li>
+ *         instanceCacheSize - maximum number of entities and relationships that each enterprise repository
+ *                             connector keeps in its instance cache.  Zero (the default) turns the cache off.
+ *     </li>
+ *     <li>
+ *         instanceCacheTimeToLive - number of seconds that an entry stays in the enterprise instance cache.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -41,6 +48,8 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private String                           enterpriseMetadataCollectionId     = null;
     private Connection                       enterpriseOMRSTopicConnection      = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion = null;
+    private int                              instanceCacheSize                  = 0;
+    private int                              instanceCacheTimeToLive            = 60;
 
 
     /**
@@ -177,6 +186,54 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of entities and relationships that each enterprise repository connector
+     * keeps in its instance cache.  Zero means the cache is not used.
+     *
+     * @return number of instances
+     */
+    public int getInstanceCacheSize()
+    {
+        return instanceCacheSize;
+    }
+
+
+    /**
+     * Set up the maximum number of entities and relationships that each enterprise repository connector
+     * keeps in its instance cache.  Zero means the cache is not used.
+     *
+     * @param instanceCacheSize number of instances
+     */
+    public void setInstanceCacheSize(int instanceCacheSize)
+    {
+        this.instanceCacheSize = instanceCacheSize;
+    }
+
+
+    /**
+     * Return the number of seconds that an instance stays in the enterprise instance cache before it is
+     * retrieved again from the cohort.
+     *
+     * @return number of seconds
+     */
+    public int getInstanceCacheTimeToLive()
+    {
+        return instanceCacheTimeToLive;
+    }
+
+
+    /**
+     * Set up the number of seconds that an instance stays in the enterprise instance cache before it is
+     * retrieved again from the cohort.
+     *
+     * @param instanceCacheTimeToLive number of seconds
+     */
+    public void setInstanceCacheTimeToLive(int instanceCacheTimeToLive)
+    {
+        this.instanceCacheTimeToLive = instanceCacheTimeToLive;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -92,6 +92,18 @@ public enum OMAGAuditCode
                         "The access service has not been passed valid configuration.",
                         "Correct the configuration and restart the service."),
 
+    SERVICE_STARTUP_TIME("OMAG-ADMIN-0012",
+                         OMRSAuditLogRecordSeverity.INFO,
+                         "The {0} service started in server {1} in {2} milliseconds",
+                         "The server records the time taken to start each of its services.  Services that do not depend on one another are started at the same time.",
+                         "No action is required.  This is part of the normal operation of the server."),
+
+    SERVER_STARTUP_TIME("OMAG-ADMIN-0013",
+                        OMRSAuditLogRecordSeverity.INFO,
+                        "Server {0} started {1} services in {2} milliseconds",
+                        "The server has started all of its configured services.",
+                        "No action is required.  This is part of the normal operation of the server."),
+
     ;
 
     private String                     logMessageId;
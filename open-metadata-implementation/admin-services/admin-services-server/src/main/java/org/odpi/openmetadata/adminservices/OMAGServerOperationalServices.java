@@ -4,6 +4,7 @@ package org.odpi.openmetadata.adminservices;
 
 
 import org.odpi.openmetadata.adapters.repositoryservices.ConnectorConfigurationFactory;
+import org.odpi.openmetadata.adminservices.configuration.auditlog.OMAGAuditCode;
 import org.odpi.openmetadata.adminservices.configuration.properties.*;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
@@ -31,6 +32,7 @@ import org.odpi.openmetadata.governanceservers.stewardshipservices.admin.Steward
 import org.odpi.openmetadata.governanceservers.virtualizationservices.admin.VirtualizationOperationalServices;
 import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityVerifier;
 import org.odpi.openmetadata.repositoryservices.admin.OMRSOperationalServices;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.securityofficerservices.registration.SecurityOfficerOperationalServices;
@@ -39,6 +41,8 @@ import org.odpi.openmetadata.securitysyncservices.registration.SecuritySyncOpera
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerOperationalServices will provide support to start, manage and stop services in the OMAG Server.
@@ -115,6 +119,7 @@ public class OMAGServerOperationalServices
                                                              OMAGServerConfig configuration)
     {
         final String methodName                = "activateWithSuppliedConfig";
+        final String enterpriseTopicStartUp    = "Enterprise OMRS Topic";
 
         List<String> activatedServiceList = new ArrayList<>();
 
@@ -235,6 +240,14 @@ public class OMAGServerOperationalServices
              * Ready to start services
              */
 
+            /*
+             * The services are started by the start up scheduler.  Services that do not depend on one another
+             * are started at the same time and the time taken to start each service is recorded.
+             */
+            OMAGServerStartUpScheduler startUpScheduler = new OMAGServerStartUpScheduler(serverName);
+            long                       serverStartTime  = System.nanoTime();
+            long                       serviceStartTime = serverStartTime;
+
             /*
              * Initialize the open metadata repository services first since other services depend on it.
              * (Even the governance servers need the audit log.)
@@ -248,7 +261,6 @@ public class OMAGServerOperationalServices
                                                                         configuration.getLocalServerPassword(),
                                                                         configuration.getLocalServerURL(),
                                                                         configuration.getMaxPageSize());
-            activatedServiceList.add(CommonServicesDescription.REPOSITORY_SERVICES.getServiceName());
 
             /*
              * Save the instance of the OMRS and then initialize it.  The initialization will optionally set up the
@@ -279,10 +291,15 @@ public class OMAGServerOperationalServices
              */
             operationalRepositoryServices.setSecurityVerifier(securityVerifier);
 
+            startUpScheduler.addServiceStartUpTime(CommonServicesDescription.REPOSITORY_SERVICES.getServiceName(),
+                                                   (System.nanoTime() - serviceStartTime) / 1000000);
+
             /*
              * Next initialize the Open Connector Framework (OCF) metadata services.  These services are only initialized
              * if the enterprise repository services are enabled.
              */
+            serviceStartTime = System.nanoTime();
+
             OMRSRepositoryConnector enterpriseRepositoryConnector =   operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceName());
 
             if (enterpriseRepositoryConnector != null)
@@ -300,7 +317,8 @@ public class OMAGServerOperationalServices
                                                                                     maxPageSize);
 
                 instance.setOperationalOCFMetadataServices(operationalOCFMetadataServices);
-                activatedServiceList.add(CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceName());
+                startUpScheduler.addServiceStartUpTime(CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceName(),
+                                                       (System.nanoTime() - serviceStartTime) / 1000000);
             }
 
 
@@ -309,12 +327,40 @@ public class OMAGServerOperationalServices
              * that controls its start up and shutdown.  The configuration service just needs to create the
              * appropriate admin object (specified in the configuration) and initialize it with its own configuration
              * document.  The admin object then does the rest.  The admin objects are stored in the instance since
-             * they also need to be called for shutdown.
+             * they also need to be called for shutdown.  The access services do not depend on one another so they
+             * are all started at the same time.
              */
             OMRSTopicConnector        enterpriseTopicConnector = operationalRepositoryServices.getEnterpriseOMRSTopicConnector();
 
+            /*
+             * The access service configuration is validated before any service is passed to the start up scheduler.
+             * Once a service has been passed to the scheduler, the server must wait for it to start so that it can
+             * be shutdown.
+             */
+            if (accessServiceConfigList != null)
+            {
+                for (AccessServiceConfig  accessServiceConfig : accessServiceConfigList)
+                {
+                    if ((accessServiceConfig != null)
+                            && (accessServiceConfig.getAccessServiceId() != AccessServiceDescription.CONNECTED_ASSET_OMAS.getAccessServiceCode())
+                            && (accessServiceConfig.getAccessServiceAdminClass() == null))
+                    {
+                        OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.NULL_ACCESS_SERVICE_ADMIN_CLASS;
+                        String        errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(serverName,
+                                                                                        accessServiceConfig.getAccessServiceName());
+
+                        throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                                  this.getClass().getName(),
+                                                                  methodName,
+                                                                  errorMessage,
+                                                                  errorCode.getSystemAction(),
+                                                                  errorCode.getUserAction());
+                    }
+                }
+            }
 
-            List<AccessServiceAdmin>        operationalAccessServiceAdminList = instance.getOperationalAccessServiceAdminList();
+            Map<String, AccessServiceAdmin> startedAccessServiceAdmins = new ConcurrentHashMap<>();
             if (accessServiceConfigList != null)
             {
                 for (AccessServiceConfig  accessServiceConfig : accessServiceConfigList)
@@ -325,8 +371,9 @@ public class OMAGServerOperationalServices
                     if ((accessServiceConfig != null) && (accessServiceConfig.getAccessServiceId() != AccessServiceDescription.CONNECTED_ASSET_OMAS.getAccessServiceCode()))
                     {
                         String    accessServiceAdminClassName = accessServiceConfig.getAccessServiceAdminClass();
+                        String    accessServiceName           = accessServiceConfig.getAccessServiceName() + " OMAS";
 
-                        if (accessServiceAdminClassName != null)
+                        startUpScheduler.addService(accessServiceName, null, () ->
                         {
                             try
                             {
@@ -340,8 +387,7 @@ public class OMAGServerOperationalServices
                                                                                                         accessServiceConfig.getAccessServiceDescription(),
                                                                                                         accessServiceConfig.getAccessServiceWiki()),
                                                               configuration.getLocalServerUserId());
-                                operationalAccessServiceAdminList.add(accessServiceAdmin);
-                                activatedServiceList.add(accessServiceConfig.getAccessServiceName() + " OMAS");
+                                startedAccessServiceAdmins.put(accessServiceName, accessServiceAdmin);
                             }
                             catch (Throwable  error)
                             {
@@ -358,105 +404,92 @@ public class OMAGServerOperationalServices
                                                                           errorCode.getSystemAction(),
                                                                           errorCode.getUserAction());
                             }
-                        }
-                        else
-                        {
-                            OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.NULL_ACCESS_SERVICE_ADMIN_CLASS;
-                            String        errorMessage = errorCode.getErrorMessageId()
-                                                       + errorCode.getFormattedErrorMessage(serverName,
-                                                                                            accessServiceConfig.getAccessServiceName());
-
-                            throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
-                                                                      this.getClass().getName(),
-                                                                      methodName,
-                                                                      errorMessage,
-                                                                      errorCode.getSystemAction(),
-                                                                      errorCode.getUserAction());
-                        }
+                        });
                     }
                 }
             }
 
-
-            /*
-             * Save the list of running access services to the instance and then add the instance to the instance map.
-             * The instance information can then be retrieved for shutdown or other management requests.
-             */
-            instance.setOperationalAccessServiceAdminList(operationalAccessServiceAdminList);
-
             /*
              * Initialize the Open Metadata Conformance Suite Services.  This runs the Open Metadata TestLabs that are
-             * part of the ODPi Egeria Conformance Program.
+             * part of the ODPi Egeria Conformance Program.  It starts alongside the access services.
              */
             if (conformanceSuiteConfig != null)
             {
-                ConformanceSuiteOperationalServices
-                        operationalConformanceSuiteServices = new ConformanceSuiteOperationalServices(configuration.getLocalServerName(),
-                                                                                                      configuration.getLocalServerUserId(),
-                                                                                                      configuration.getLocalServerPassword(),
-                                                                                                      configuration.getMaxPageSize());
-                instance.setOperationalConformanceSuiteServices(operationalConformanceSuiteServices);
-                operationalConformanceSuiteServices.initialize(conformanceSuiteConfig,
-                                                               enterpriseTopicConnector,
-                                                               operationalRepositoryServices.getEnterpriseConnectorManager(),
-                                                               operationalRepositoryServices.getAuditLog(
-                                                                       GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceCode(),
-                                                                       GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceName(),
-                                                                       GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceDescription(),
-                                                                       GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceName(), null, () ->
+                {
+                    ConformanceSuiteOperationalServices
+                            operationalConformanceSuiteServices = new ConformanceSuiteOperationalServices(configuration.getLocalServerName(),
+                                                                                                          configuration.getLocalServerUserId(),
+                                                                                                          configuration.getLocalServerPassword(),
+                                                                                                          configuration.getMaxPageSize());
+                    instance.setOperationalConformanceSuiteServices(operationalConformanceSuiteServices);
+                    operationalConformanceSuiteServices.initialize(conformanceSuiteConfig,
+                                                                   enterpriseTopicConnector,
+                                                                   operationalRepositoryServices.getEnterpriseConnectorManager(),
+                                                                   operationalRepositoryServices.getAuditLog(
+                                                                           GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceCode(),
+                                                                           GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceName(),
+                                                                           GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceDescription(),
+                                                                           GovernanceServicesDescription.CONFORMANCE_SUITE_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
              * The enterprise topic passes OMRS Events from the cohort to the listening access services.
              * During the access services start up, they registered listeners with the enterprise topic.
-             * Starting the enterprise topic will start the flow of events to the registered access services.
+             * Starting the enterprise topic will start the flow of events to the registered access services,
+             * so it waits for all of them to start.
              */
             if (enterpriseTopicConnector != null)
             {
-                try
+                startUpScheduler.addService(enterpriseTopicStartUp, startUpScheduler.getServiceNames(), () ->
                 {
-                    enterpriseTopicConnector.start();
-                }
-                catch (Throwable  error)
-                {
-                    OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.ENTERPRISE_TOPIC_START_FAILED;
-                    String        errorMessage = errorCode.getErrorMessageId()
-                                               + errorCode.getFormattedErrorMessage(serverName, error.getMessage());
-
-                    throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
-                                                              this.getClass().getName(),
-                                                              methodName,
-                                                              errorMessage,
-                                                              errorCode.getSystemAction(),
-                                                              errorCode.getUserAction());
-                }
+                    try
+                    {
+                        enterpriseTopicConnector.start();
+                    }
+                    catch (Throwable  error)
+                    {
+                        OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.ENTERPRISE_TOPIC_START_FAILED;
+                        String        errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(serverName, error.getMessage());
+
+                        throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                                  this.getClass().getName(),
+                                                                  methodName,
+                                                                  errorMessage,
+                                                                  errorCode.getSystemAction(),
+                                                                  errorCode.getUserAction());
+                    }
+                });
             }
 
             /*
-             * Now start the Governance Servers.
+             * Now start the Governance Servers.  They start once the access services and enterprise topic are
+             * running and do not depend on one another.
              */
+            List<String> governanceServerPrerequisites = startUpScheduler.getServiceNames();
 
             /*
              * Initialize the Discovery Engine Services.  This is a governance server for running automated metadata discovery.
              */
             if (discoveryServerConfig != null)
             {
-                DiscoveryServerOperationalServices
-                        operationalDiscoveryServer = new DiscoveryServerOperationalServices(configuration.getLocalServerName(),
-                                                                                            configuration.getLocalServerUserId(),
-                                                                                            configuration.getLocalServerPassword(),
-                                                                                            configuration.getMaxPageSize());
-                instance.setOperationalDiscoveryServer(operationalDiscoveryServer);
-                operationalDiscoveryServer.initialize(discoveryServerConfig,
-                                                      operationalRepositoryServices.getAuditLog(
-                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceCode(),
-                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName(),
-                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceDescription(),
-                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    DiscoveryServerOperationalServices
+                            operationalDiscoveryServer = new DiscoveryServerOperationalServices(configuration.getLocalServerName(),
+                                                                                                configuration.getLocalServerUserId(),
+                                                                                                configuration.getLocalServerPassword(),
+                                                                                                configuration.getMaxPageSize());
+                    instance.setOperationalDiscoveryServer(operationalDiscoveryServer);
+                    operationalDiscoveryServer.initialize(discoveryServerConfig,
+                                                          operationalRepositoryServices.getAuditLog(
+                                                                  GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceCode(),
+                                                                  GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName(),
+                                                                  GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceDescription(),
+                                                                  GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -464,20 +497,21 @@ public class OMAGServerOperationalServices
              */
             if (openLineageServerConfig != null)
             {
-                OpenLineageServerOperationalServices
-                        operationalOpenLineageServer = new OpenLineageServerOperationalServices(configuration.getLocalServerName(),
-                        configuration.getLocalServerUserId(),
-                        configuration.getLocalServerPassword(),
-                        configuration.getMaxPageSize());
-                instance.setOpenLineageOperationalServices(operationalOpenLineageServer);
-                operationalOpenLineageServer.initialize(openLineageServerConfig,
-                        operationalRepositoryServices.getAuditLog(
-                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceCode(),
-                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(),
-                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    OpenLineageServerOperationalServices
+                            operationalOpenLineageServer = new OpenLineageServerOperationalServices(configuration.getLocalServerName(),
+                            configuration.getLocalServerUserId(),
+                            configuration.getLocalServerPassword(),
+                            configuration.getMaxPageSize());
+                    instance.setOpenLineageOperationalServices(operationalOpenLineageServer);
+                    operationalOpenLineageServer.initialize(openLineageServerConfig,
+                            operationalRepositoryServices.getAuditLog(
+                                    GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceCode(),
+                                    GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(),
+                                    GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceDescription(),
+                                    GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -486,21 +520,22 @@ public class OMAGServerOperationalServices
              */
             if (securitySyncConfig != null)
             {
-                SecuritySyncOperationalServices operationalSecuritySync = new SecuritySyncOperationalServices(configuration.getLocalServerName(),
-                                                                                                              configuration.getLocalServerType(),
-                                                                                                              configuration.getOrganizationName(),
-                                                                                                              configuration.getLocalServerUserId(),
-                                                                                                              configuration.getLocalServerURL(),
-                                                                                                              configuration.getMaxPageSize());
-                instance.setOperationalSecuritySyncServices(operationalSecuritySync);
-                operationalSecuritySync.initialize(securitySyncConfig,
-                                                   operationalRepositoryServices.getAuditLog(
-                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceCode(),
-                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName(),
-                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceDescription(),
-                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    SecuritySyncOperationalServices operationalSecuritySync = new SecuritySyncOperationalServices(configuration.getLocalServerName(),
+                                                                                                                  configuration.getLocalServerType(),
+                                                                                                                  configuration.getOrganizationName(),
+                                                                                                                  configuration.getLocalServerUserId(),
+                                                                                                                  configuration.getLocalServerURL(),
+                                                                                                                  configuration.getMaxPageSize());
+                    instance.setOperationalSecuritySyncServices(operationalSecuritySync);
+                    operationalSecuritySync.initialize(securitySyncConfig,
+                                                       operationalRepositoryServices.getAuditLog(
+                                                               GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceCode(),
+                                                               GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName(),
+                                                               GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceDescription(),
+                                                               GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -509,21 +544,22 @@ public class OMAGServerOperationalServices
              */
             if (securityOfficerConfig != null)
             {
-                SecurityOfficerOperationalServices operationalSecurityOfficer = new SecurityOfficerOperationalServices(configuration.getLocalServerName(),
-                                                                                                              configuration.getLocalServerType(),
-                                                                                                              configuration.getOrganizationName(),
-                                                                                                              configuration.getLocalServerUserId(),
-                                                                                                              configuration.getLocalServerURL(),
-                                                                                                              configuration.getMaxPageSize());
-                instance.setOperationalSecurityOfficerService(operationalSecurityOfficer);
-                operationalSecurityOfficer.initialize(securityOfficerConfig,
-                                                      operationalRepositoryServices.getAuditLog(
-                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceCode(),
-                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName(),
-                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceDescription(),
-                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    SecurityOfficerOperationalServices operationalSecurityOfficer = new SecurityOfficerOperationalServices(configuration.getLocalServerName(),
+                                                                                                                  configuration.getLocalServerType(),
+                                                                                                                  configuration.getOrganizationName(),
+                                                                                                                  configuration.getLocalServerUserId(),
+                                                                                                                  configuration.getLocalServerURL(),
+                                                                                                                  configuration.getMaxPageSize());
+                    instance.setOperationalSecurityOfficerService(operationalSecurityOfficer);
+                    operationalSecurityOfficer.initialize(securityOfficerConfig,
+                                                          operationalRepositoryServices.getAuditLog(
+                                                                  GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceCode(),
+                                                                  GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName(),
+                                                                  GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceDescription(),
+                                                                  GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -531,21 +567,22 @@ public class OMAGServerOperationalServices
              */
             if (virtualizationConfig != null)
             {
-                VirtualizationOperationalServices operationalVirtualizationServices = new VirtualizationOperationalServices(configuration.getLocalServerName(),
-                                                                                                                            configuration.getLocalServerType(),
-                                                                                                                            configuration.getOrganizationName(),
-                                                                                                                            configuration.getLocalServerUserId(),
-                                                                                                                            configuration.getLocalServerURL());
-
-                instance.setOperationalVirtualizationServices(operationalVirtualizationServices);
-                operationalVirtualizationServices.initialize(virtualizationConfig,
-                                                             operationalRepositoryServices.getAuditLog(
-                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceCode(),
-                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName(),
-                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceDescription(),
-                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    VirtualizationOperationalServices operationalVirtualizationServices = new VirtualizationOperationalServices(configuration.getLocalServerName(),
+                                                                                                                                configuration.getLocalServerType(),
+                                                                                                                                configuration.getOrganizationName(),
+                                                                                                                                configuration.getLocalServerUserId(),
+                                                                                                                                configuration.getLocalServerURL());
+
+                    instance.setOperationalVirtualizationServices(operationalVirtualizationServices);
+                    operationalVirtualizationServices.initialize(virtualizationConfig,
+                                                                 operationalRepositoryServices.getAuditLog(
+                                                                         GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceCode(),
+                                                                         GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName(),
+                                                                         GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceDescription(),
+                                                                         GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -553,22 +590,23 @@ public class OMAGServerOperationalServices
              */
             if (dataEngineProxyConfig != null)
             {
-                DataEngineProxyOperationalServices operationalDataEngineProxyServices = new DataEngineProxyOperationalServices(
-                        configuration.getLocalServerName(),
-                        configuration.getLocalServerUserId(),
-                        configuration.getLocalServerPassword());
-
-                instance.setOperationalDataEngineProxyServices(operationalDataEngineProxyServices);
-                operationalDataEngineProxyServices.initialize(
-                        dataEngineProxyConfig,
-                        operationalRepositoryServices.getAuditLog(
-                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceCode(),
-                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(),
-                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceWiki())
-                );
-
-                activatedServiceList.add(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    DataEngineProxyOperationalServices operationalDataEngineProxyServices = new DataEngineProxyOperationalServices(
+                            configuration.getLocalServerName(),
+                            configuration.getLocalServerUserId(),
+                            configuration.getLocalServerPassword());
+
+                    instance.setOperationalDataEngineProxyServices(operationalDataEngineProxyServices);
+                    operationalDataEngineProxyServices.initialize(
+                            dataEngineProxyConfig,
+                            operationalRepositoryServices.getAuditLog(
+                                    GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceCode(),
+                                    GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(),
+                                    GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceDescription(),
+                                    GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceWiki())
+                    );
+                });
             }
 
             /*
@@ -576,19 +614,20 @@ public class OMAGServerOperationalServices
              */
             if (stewardshipServicesConfig != null)
             {
-                StewardshipOperationalServices
-                        operationalStewardshipServices = new StewardshipOperationalServices(configuration.getLocalServerName(),
-                                                                                            configuration.getLocalServerUserId(),
-                                                                                            configuration.getMaxPageSize());
-                instance.setOperationalStewardshipServices(operationalStewardshipServices);
-                operationalStewardshipServices.initialize(stewardshipServicesConfig,
-                                                          operationalRepositoryServices.getAuditLog(
-                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceCode(),
-                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName(),
-                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceDescription(),
-                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    StewardshipOperationalServices
+                            operationalStewardshipServices = new StewardshipOperationalServices(configuration.getLocalServerName(),
+                                                                                                configuration.getLocalServerUserId(),
+                                                                                                configuration.getMaxPageSize());
+                    instance.setOperationalStewardshipServices(operationalStewardshipServices);
+                    operationalStewardshipServices.initialize(stewardshipServicesConfig,
+                                                              operationalRepositoryServices.getAuditLog(
+                                                                      GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceCode(),
+                                                                      GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName(),
+                                                                      GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceDescription(),
+                                                                      GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceWiki()));
+                });
             }
 
             /*
@@ -596,22 +635,62 @@ public class OMAGServerOperationalServices
              */
             if (dataPlatformServicesConfig != null)
             {
-                DataPlatformOperationalServices dataPlatformOperationalServices = new DataPlatformOperationalServices(
-                        configuration.getLocalServerName(),
-                        configuration.getLocalServerUserId(),
-                        configuration.getLocalServerType(),
-                        configuration.getLocalServerURL());
-
-                instance.setOperationalDataPlatformServices(dataPlatformOperationalServices);
-                dataPlatformOperationalServices.initialize(dataPlatformServicesConfig,
-                        operationalRepositoryServices.getAuditLog(
-                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceCode(),
-                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName(),
-                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceWiki()));
-
-                activatedServiceList.add(GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName());
+                startUpScheduler.addService(GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName(), governanceServerPrerequisites, () ->
+                {
+                    DataPlatformOperationalServices dataPlatformOperationalServices = new DataPlatformOperationalServices(
+                            configuration.getLocalServerName(),
+                            configuration.getLocalServerUserId(),
+                            configuration.getLocalServerType(),
+                            configuration.getLocalServerURL());
+
+                    instance.setOperationalDataPlatformServices(dataPlatformOperationalServices);
+                    dataPlatformOperationalServices.initialize(dataPlatformServicesConfig,
+                            operationalRepositoryServices.getAuditLog(
+                                    GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceCode(),
+                                    GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName(),
+                                    GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceDescription(),
+                                    GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceWiki()));
+                });
+            }
+
+            /*
+             * Wait for the services to start.  The access services that started are saved to the instance (in the
+             * order they are configured) even if another service failed so that they are called for shutdown.
+             */
+            try
+            {
+                startUpScheduler.waitForServices();
             }
+            finally
+            {
+                List<AccessServiceAdmin> operationalAccessServiceAdminList = instance.getOperationalAccessServiceAdminList();
+
+                for (String serviceName : startUpScheduler.getServiceNames())
+                {
+                    AccessServiceAdmin accessServiceAdmin = startedAccessServiceAdmins.get(serviceName);
+
+                    if (accessServiceAdmin != null)
+                    {
+                        operationalAccessServiceAdminList.add(accessServiceAdmin);
+                    }
+                }
+
+                instance.setOperationalAccessServiceAdminList(operationalAccessServiceAdminList);
+            }
+
+            for (String serviceName : startUpScheduler.getServiceNames())
+            {
+                if (! enterpriseTopicStartUp.equals(serviceName))
+                {
+                    activatedServiceList.add(serviceName);
+                }
+            }
+
+            this.reportServiceStartUpTimes(serverName,
+                                           operationalRepositoryServices,
+                                           startUpScheduler.getServiceStartUpTimes(),
+                                           activatedServiceList.size(),
+                                           (System.nanoTime() - serverStartTime) / 1000000);
 
             response.setSuccessMessage(new Date().toString() + " " + serverName + " is running the following services: " + activatedServiceList.toString());
         }
@@ -640,6 +719,59 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Record the time taken to start each of the server's services in the audit log and save it with the server
+     * instance so it can be retrieved through the platform services.
+     *
+     * @param serverName name of this server
+     * @param operationalRepositoryServices repository services of this server
+     * @param serviceStartUpTimes map of service name to elapsed milliseconds
+     * @param serviceCount number of services that are running
+     * @param serverStartUpTime elapsed milliseconds to start the server
+     */
+    private void reportServiceStartUpTimes(String                  serverName,
+                                           OMRSOperationalServices operationalRepositoryServices,
+                                           Map<String, Long>       serviceStartUpTimes,
+                                           int                     serviceCount,
+                                           long                    serverStartUpTime)
+    {
+        final String methodName = "reportServiceStartUpTimes";
+
+        OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceCode(),
+                                                                          CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceName(),
+                                                                          CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceDescription(),
+                                                                          CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceWiki());
+
+        OMAGAuditCode auditCode = OMAGAuditCode.SERVICE_STARTUP_TIME;
+
+        for (String serviceName : serviceStartUpTimes.keySet())
+        {
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(serviceName,
+                                                                serverName,
+                                                                Long.toString(serviceStartUpTimes.get(serviceName))),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+
+        auditCode = OMAGAuditCode.SERVER_STARTUP_TIME;
+        auditLog.logRecord(methodName,
+                           auditCode.getLogMessageId(),
+                           auditCode.getSeverity(),
+                           auditCode.getFormattedLogMessage(serverName,
+                                                            Integer.toString(serviceCount),
+                                                            Long.toString(serverStartUpTime)),
+                           null,
+                           auditCode.getSystemAction(),
+                           auditCode.getUserAction());
+
+        platformInstanceMap.setServiceStartUpTimes(serverName, serviceStartUpTimes);
+    }
+
+
     /**
      * Shutdown any running services for a specific server instance.
      *
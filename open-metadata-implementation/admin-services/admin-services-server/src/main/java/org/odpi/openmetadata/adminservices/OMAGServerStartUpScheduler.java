@@ -0,0 +1,223 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OMAGServerStartUpScheduler starts the services of an OMAG Server concurrently.  Each service is added with
+ * the names of the services that must have started before it.  It is started on its own thread as soon as
+ * these prerequisite services have started, so services that do not depend on one another start at the same time.
+ * The time taken to start each service is recorded so it can be reported once the server is running.
+ */
+class OMAGServerStartUpScheduler
+{
+    /**
+     * The work needed to start a service.
+     */
+    interface StartUpStep
+    {
+        /**
+         * Start the service.
+         *
+         * @throws Exception the service failed to start
+         */
+        void start() throws Exception;
+    }
+
+
+    private static final Logger log = LoggerFactory.getLogger(OMAGServerStartUpScheduler.class);
+
+    private String                                 serverName;
+    private ExecutorService                        startUpExecutor;
+    private List<String>                           serviceNames        = new ArrayList<>();
+    private Map<String, CompletableFuture<Void>>   serviceStartUps     = new LinkedHashMap<>();
+    private Map<String, Long>                      serviceStartUpTimes = new ConcurrentHashMap<>();
+
+
+    /**
+     * Constructor supplies the name of the server that the services belong to.
+     *
+     * @param serverName name of the server being started
+     */
+    OMAGServerStartUpScheduler(String  serverName)
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.serverName = serverName;
+        this.startUpExecutor = Executors.newCachedThreadPool((startUpWork) ->
+        {
+            Thread startUpThread = new Thread(startUpWork, serverName + "-StartUp-" + threadCount.incrementAndGet());
+
+            startUpThread.setDaemon(true);
+            return startUpThread;
+        });
+    }
+
+
+    /**
+     * Record the time taken by a service that was started by the caller rather than by the scheduler.
+     *
+     * @param serviceName name of the service
+     * @param startUpTime elapsed milliseconds to start the service
+     */
+    void addServiceStartUpTime(String  serviceName,
+                               long    startUpTime)
+    {
+        serviceNames.add(serviceName);
+        serviceStartUpTimes.put(serviceName, startUpTime);
+    }
+
+
+    /**
+     * Add a service to start once its prerequisite services have started.  Prerequisite services that the scheduler
+     * is not starting are ignored since they are either not configured for this server or have already been started
+     * by the caller.  If a prerequisite service fails to start, this service is not started.
+     *
+     * @param serviceName name of the service
+     * @param prerequisiteServiceNames names of the services that must start first
+     * @param startUpStep work to start the service
+     */
+    void addService(String        serviceName,
+                    List<String>  prerequisiteServiceNames,
+                    StartUpStep   startUpStep)
+    {
+        List<CompletableFuture<Void>> prerequisiteStartUps = new ArrayList<>();
+
+        if (prerequisiteServiceNames != null)
+        {
+            for (String prerequisiteServiceName : prerequisiteServiceNames)
+            {
+                CompletableFuture<Void> prerequisiteStartUp = serviceStartUps.get(prerequisiteServiceName);
+
+                if (prerequisiteStartUp != null)
+                {
+                    prerequisiteStartUps.add(prerequisiteStartUp);
+                }
+            }
+        }
+
+        CompletableFuture<Void> serviceStartUp = CompletableFuture.allOf(prerequisiteStartUps.toArray(new CompletableFuture[0]))
+                                                                  .thenRunAsync(() -> this.startService(serviceName, startUpStep),
+                                                                                startUpExecutor);
+        serviceNames.add(serviceName);
+        serviceStartUps.put(serviceName, serviceStartUp);
+    }
+
+
+    /**
+     * Return the names of the services added so far.  This is used to make a service wait for every service
+     * added before it.
+     *
+     * @return list of service names in the order they were added
+     */
+    List<String> getServiceNames()
+    {
+        return new ArrayList<>(serviceNames);
+    }
+
+
+    /**
+     * Run the start up step for a service and record how long it took.
+     *
+     * @param serviceName name of the service
+     * @param startUpStep work to start the service
+     */
+    private void startService(String       serviceName,
+                              StartUpStep  startUpStep)
+    {
+        long startTime = System.nanoTime();
+
+        try
+        {
+            startUpStep.start();
+        }
+        catch (Exception error)
+        {
+            throw new CompletionException(error);
+        }
+
+        long startUpTime = (System.nanoTime() - startTime) / 1000000;
+
+        log.debug("Service " + serviceName + " started in server " + serverName + " in " + startUpTime + "ms");
+        serviceStartUpTimes.put(serviceName, startUpTime);
+    }
+
+
+    /**
+     * Wait for all of the services to finish starting.  If any service failed, the exception from the first
+     * service to fail, in the order the services were added, is thrown once every other service has finished.
+     *
+     * @throws Exception the exception thrown by the failing service
+     */
+    void waitForServices() throws Exception
+    {
+        Throwable startUpError = null;
+
+        try
+        {
+            for (CompletableFuture<Void> serviceStartUp : serviceStartUps.values())
+            {
+                try
+                {
+                    serviceStartUp.join();
+                }
+                catch (CompletionException error)
+                {
+                    if (startUpError == null)
+                    {
+                        startUpError = error.getCause();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            startUpExecutor.shutdown();
+        }
+
+        if (startUpError instanceof Exception)
+        {
+            throw (Exception)startUpError;
+        }
+        else if (startUpError instanceof Error)
+        {
+            throw (Error)startUpError;
+        }
+    }
+
+
+    /**
+     * Return the time taken to start each service that started successfully.
+     *
+     * @return map of service name to elapsed milliseconds in the order the services were added
+     */
+    Map<String, Long> getServiceStartUpTimes()
+    {
+        Map<String, Long> orderedStartUpTimes = new LinkedHashMap<>();
+
+        for (String serviceName : serviceNames)
+        {
+            Long startUpTime = serviceStartUpTimes.get(serviceName);
+
+            if (startUpTime != null)
+            {
+                orderedStartUpTimes.put(serviceName, startUpTime);
+            }
+        }
+
+        return orderedStartUpTimes;
+    }
+}
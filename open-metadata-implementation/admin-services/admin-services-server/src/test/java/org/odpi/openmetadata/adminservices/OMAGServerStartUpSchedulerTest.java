@@ -0,0 +1,157 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for the starting of services by {@link OMAGServerStartUpScheduler}.
+ */
+public class OMAGServerStartUpSchedulerTest
+{
+    @Test
+    public void testServiceStartsAfterItsPrerequisites() throws Exception
+    {
+        OMAGServerStartUpScheduler startUpScheduler = new OMAGServerStartUpScheduler("testServer");
+        List<String>               startedServices  = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch             release          = new CountDownLatch(1);
+
+        startUpScheduler.addService("service1", null, () ->
+        {
+            release.await(10, TimeUnit.SECONDS);
+            startedServices.add("service1");
+        });
+        startUpScheduler.addService("service2", null, () -> startedServices.add("service2"));
+        startUpScheduler.addService("service3", startUpScheduler.getServiceNames(), () -> startedServices.add("service3"));
+
+        /*
+         * service2 does not depend on service1 so it starts while service1 is held up.  service3 waits for both.
+         */
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((! startedServices.contains("service2")) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(startedServices, Collections.singletonList("service2"));
+
+        release.countDown();
+        startUpScheduler.waitForServices();
+
+        assertEquals(startedServices, Arrays.asList("service2", "service1", "service3"));
+        assertEquals(startUpScheduler.getServiceNames(), Arrays.asList("service1", "service2", "service3"));
+    }
+
+
+    @Test
+    public void testDependentServiceSkippedWhenPrerequisiteFails() throws Exception
+    {
+        OMAGServerStartUpScheduler startUpScheduler = new OMAGServerStartUpScheduler("testServer");
+        Exception                  startUpError     = new Exception("service1 failed");
+        AtomicBoolean              dependentStarted = new AtomicBoolean(false);
+        AtomicBoolean              otherStarted     = new AtomicBoolean(false);
+
+        startUpScheduler.addService("service1", null, () -> { throw startUpError; });
+        startUpScheduler.addService("service2", Collections.singletonList("service1"), () -> dependentStarted.set(true));
+        startUpScheduler.addService("service3", null, () -> otherStarted.set(true));
+
+        try
+        {
+            startUpScheduler.waitForServices();
+            fail("Failure of service1 not reported");
+        }
+        catch (Exception error)
+        {
+            assertSame(error, startUpError);
+        }
+
+        assertFalse(dependentStarted.get());
+        assertTrue(otherStarted.get());
+    }
+
+
+    @Test
+    public void testFirstErrorInOrderAddedIsThrown() throws Exception
+    {
+        OMAGServerStartUpScheduler startUpScheduler = new OMAGServerStartUpScheduler("testServer");
+        Exception                  firstError       = new Exception("service1 failed");
+        Exception                  secondError      = new Exception("service2 failed");
+        CountDownLatch             secondFailed     = new CountDownLatch(1);
+        AtomicBoolean              thirdStarted     = new AtomicBoolean(false);
+
+        /*
+         * service2 fails before service1 but service1 was added first so its error is reported.
+         */
+        startUpScheduler.addService("service1", null, () ->
+        {
+            secondFailed.await(10, TimeUnit.SECONDS);
+            throw firstError;
+        });
+        startUpScheduler.addService("service2", null, () ->
+        {
+            secondFailed.countDown();
+            throw secondError;
+        });
+        startUpScheduler.addService("service3", null, () -> thirdStarted.set(true));
+
+        try
+        {
+            startUpScheduler.waitForServices();
+            fail("Failure of service1 not reported");
+        }
+        catch (Exception error)
+        {
+            assertSame(error, firstError);
+        }
+
+        assertTrue(thirdStarted.get());
+    }
+
+
+    @Test
+    public void testStartUpTimesRecorded() throws Exception
+    {
+        OMAGServerStartUpScheduler startUpScheduler = new OMAGServerStartUpScheduler("testServer");
+
+        startUpScheduler.addServiceStartUpTime("callerService", 42L);
+        startUpScheduler.addService("slowService", null, () -> Thread.sleep(100));
+        startUpScheduler.addService("failingService", null, () -> { throw new Exception("failed"); });
+        startUpScheduler.addService("fastService", null, () -> { });
+
+        try
+        {
+            startUpScheduler.waitForServices();
+            fail("Failure of failingService not reported");
+        }
+        catch (Exception error)
+        {
+            assertEquals(error.getMessage(), "failed");
+        }
+
+        /*
+         * Only the services that started are reported, in the order they were added.
+         */
+        Map<String, Long> serviceStartUpTimes = startUpScheduler.getServiceStartUpTimes();
+
+        assertEquals(new ArrayList<>(serviceStartUpTimes.keySet()), Arrays.asList("callerService", "slowService", "fastService"));
+        assertEquals(serviceStartUpTimes.get("callerService").longValue(), 42L);
+        assertTrue(serviceStartUpTimes.get("slowService") >= 100L);
+        assertTrue(serviceStartUpTimes.get("fastService") < serviceStartUpTimes.get("slowService"));
+    }
+}
@@ -36,7 +36,10 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                            OpenMetadataConnectionSecurity,
                                                            OpenMetadataAssetSecurity
 {
-    private OpenMetadataServerSecurityConnector connector   = null;
+    /*
+     * The connector is registered when the server starts and read by requests that do not lock the verifier.
+     */
+    private volatile OpenMetadataServerSecurityConnector connector = null;
 
     // Todo remove - temporary workaround to being connectors into class path
     private CocoPharmaServerSecurityConnector   demoObject1 = null;
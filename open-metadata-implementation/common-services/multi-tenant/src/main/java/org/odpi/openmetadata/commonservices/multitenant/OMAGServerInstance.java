@@ -12,18 +12,24 @@ import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHisto
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerInstance represents an instance of a service in an OMAG Server.
  * It is also responsible for registering itself in the instance map.
+ *
+ * The service instances are retrieved on every inbound REST request so the lookup of a registered service
+ * does not lock the server instance.  Changes to the registered services are still synchronized.
  */
 class OMAGServerInstance
 {
     private String                                 serverName;
-    private List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
-    private Map<String, OMAGServerServiceInstance> serviceInstanceMap = new HashMap<>();
-    private Date                                   serverStartTime    = new Date();
-    private OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
+    private volatile boolean                       isActive            = true;
+    private List<OMAGServerInstanceHistory>        serverHistory       = new ArrayList<>();
+    private Map<String, OMAGServerServiceInstance> serviceInstanceMap  = new ConcurrentHashMap<>();
+    private Date                                   serverStartTime     = new Date();
+    private Map<String, Long>                      serviceStartUpTimes = null;
+    private OpenMetadataServerSecurityVerifier     securityVerifier    = new OpenMetadataServerSecurityVerifier();
 
 
     /**
@@ -48,12 +54,35 @@ class OMAGServerInstance
     }
 
 
+    /**
+     * Return whether the server is active (running) in the platform.
+     *
+     * @return boolean
+     */
+    boolean isActive()
+    {
+        return isActive;
+    }
+
+
+    /**
+     * Set up whether the server is active (running) in the platform.
+     *
+     * @param active boolean
+     */
+    void setActive(boolean  active)
+    {
+        isActive = active;
+    }
+
+
     /**
      * Prepare to start a new instance
      */
-    void initialize()
+    synchronized void initialize()
     {
-        serverStartTime    = new Date();
+        serverStartTime     = new Date();
+        serviceStartUpTimes = null;
     }
 
 
@@ -104,6 +133,42 @@ class OMAGServerInstance
     }
 
 
+    /**
+     * Return the time taken to start each of the services when this server instance last started.
+     *
+     * @return map of service name to elapsed milliseconds or null if the services have not finished starting
+     */
+    synchronized Map<String, Long> getServiceStartUpTimes()
+    {
+        if (serviceStartUpTimes == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new LinkedHashMap<>(serviceStartUpTimes);
+        }
+    }
+
+
+    /**
+     * Set up the time taken to start each of the services once the server instance has started.
+     *
+     * @param serviceStartUpTimes map of service name to elapsed milliseconds
+     */
+    synchronized void setServiceStartUpTimes(Map<String, Long>  serviceStartUpTimes)
+    {
+        if (serviceStartUpTimes == null)
+        {
+            this.serviceStartUpTimes = null;
+        }
+        else
+        {
+            this.serviceStartUpTimes = new LinkedHashMap<>(serviceStartUpTimes);
+        }
+    }
+
+
     /**
      * Return the time this server instance last started.
      *
@@ -158,7 +223,7 @@ class OMAGServerInstance
      *
      * @return connector
      */
-    synchronized OpenMetadataServerSecurityVerifier  getSecurityVerifier()
+    OpenMetadataServerSecurityVerifier  getSecurityVerifier()
     {
         return securityVerifier;
     }
@@ -173,10 +238,18 @@ class OMAGServerInstance
     synchronized  void registerService(String                    serviceName,
                                        OMAGServerServiceInstance serviceInstance)
     {
-        if (serviceInstance != null)
+        if ((serviceName != null) && (serviceInstance != null))
         {
-            serviceInstanceMap.put(serviceName, serviceInstance);
             serviceInstance.setSecurityVerifier(securityVerifier);
+
+            OMAGServerServiceInstance previousServiceInstance = serviceInstanceMap.put(serviceName, serviceInstance);
+
+            if ((previousServiceInstance != null) && (previousServiceInstance != serviceInstance))
+            {
+                previousServiceInstance.setRegisteredServerInstance(null);
+            }
+
+            serviceInstance.setRegisteredServerInstance(this);
         }
     }
 
@@ -192,23 +265,20 @@ class OMAGServerInstance
      * @throws UserNotAuthorizedException calling user not authorized to call the request
      * @throws PropertyServerException service is not running in this server
      */
-    synchronized OMAGServerServiceInstance getRegisteredService(String    userId,
-                                                                String    serviceName,
-                                                                String    serviceOperationName) throws UserNotAuthorizedException,
-                                                                                                       PropertyServerException
+    OMAGServerServiceInstance getRegisteredService(String    userId,
+                                                   String    serviceName,
+                                                   String    serviceOperationName) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException
     {
-        try
-        {
-            securityVerifier.validateUserForService(userId, serviceName);
-            securityVerifier.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
-        }
-        catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException  error)
+        this.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+
+        OMAGServerServiceInstance serverServiceInstance = null;
+
+        if (serviceName != null)
         {
-            throw new UserNotAuthorizedException(error);
+            serverServiceInstance = serviceInstanceMap.get(serviceName);
         }
 
-        OMAGServerServiceInstance serverServiceInstance = serviceInstanceMap.get(serviceName);
-
         if (serverServiceInstance == null)
         {
             OMAGServerInstanceErrorCode errorCode    = OMAGServerInstanceErrorCode.SERVICE_NOT_AVAILABLE;
@@ -229,6 +299,31 @@ class OMAGServerInstance
     }
 
 
+    /**
+     * Verify that the calling user is allowed to call the requested operation of a service in this server.
+     *
+     * @param userId calling user
+     * @param serviceName name of the service
+     * @param serviceOperationName calling method (should be top-level method name)
+     * @throws UserNotAuthorizedException calling user not authorized to call the request
+     */
+    void validateUserForServiceOperation(String    userId,
+                                         String    serviceName,
+                                         String    serviceOperationName) throws UserNotAuthorizedException
+    {
+        try
+        {
+            securityVerifier.validateUserForServer(userId);
+            securityVerifier.validateUserForService(userId, serviceName);
+            securityVerifier.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+        }
+        catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException  error)
+        {
+            throw new UserNotAuthorizedException(error);
+        }
+    }
+
+
     /**
      * Remove the service from the active map - this normally happens during server shutdown.
      *
@@ -236,7 +331,15 @@ class OMAGServerInstance
      */
     synchronized  void unRegisterService(String   serviceName)
     {
-        serviceInstanceMap.remove(serviceName);
+        if (serviceName != null)
+        {
+            OMAGServerServiceInstance serviceInstance = serviceInstanceMap.remove(serviceName);
+
+            if (serviceInstance != null)
+            {
+                serviceInstance.setRegisteredServerInstance(null);
+            }
+        }
     }
 
 
@@ -258,7 +361,12 @@ class OMAGServerInstance
                                                      + errorCode.getFormattedErrorMessage(serverName,
                                                                                           serviceInstanceMap.keySet().toString());
 
-            this.serviceInstanceMap = new HashMap<>();
+            for (OMAGServerServiceInstance serviceInstance : serviceInstanceMap.values())
+            {
+                serviceInstance.setRegisteredServerInstance(null);
+            }
+
+            this.serviceInstanceMap.clear();
             throw new PropertyServerException(errorCode.getHTTPErrorCode(),
                                               this.getClass().getName(),
                                               methodName,
@@ -19,18 +19,21 @@ import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHisto
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerPlatformInstanceMap provides part of the mapping for inbound REST requests to the appropriate
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * Instances of this class call the static methods to work with the map.  Every inbound REST request looks up
+ * its server so the map is a concurrent map that is read without locking.  Each server instance records whether
+ * it is active, so a server moves between active and inactive in a single step that readers see atomically.
+ * The methods that add, start and stop servers are synchronized so these changes happen one at a time.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static Map<String, OMAGServerInstance> serverInstanceMap = new ConcurrentHashMap<>();
 
 
     /**
@@ -263,40 +266,64 @@ public class OMAGServerPlatformInstanceMap
      */
     private static synchronized OMAGServerInstance getActiveServerInstance(String serverName)
     {
-        /*
-         * Is this a server that is currently running?
-         */
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceMap.get(serverName);
 
         if (serverInstance == null)
         {
             /*
-             * Is this a known server that is currently inactive?
+             * New server for this platform
              */
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-
-            if (serverInstance == null)
-            {
-                /*
-                 * New server for this platform
-                 */
-                serverInstance = new OMAGServerInstance(serverName);
-                activeServerInstanceMap.put(serverName, serverInstance);
-            }
-            else
-            {
-                /*
-                 * Move the inactive server to active
-                 */
-                activeServerInstanceMap.put(serverName, serverInstance);
-                inActiveServerInstanceMap.remove(serverName);
-            }
+            serverInstance = new OMAGServerInstance(serverName);
+            serverInstanceMap.put(serverName, serverInstance);
+        }
+        else
+        {
+            /*
+             * Move a known server that is currently inactive to active
+             */
+            serverInstance.setActive(true);
         }
 
         return serverInstance;
     }
 
 
+    /**
+     * Return the instance for a server that is active (running) on this platform.
+     *
+     * @param serverName name of the server
+     * @return OMAGServerInstance object or null if the server is not active
+     */
+    private static OMAGServerInstance getRunningServerInstance(String serverName)
+    {
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
+
+        if ((serverInstance != null) && (serverInstance.isActive()))
+        {
+            return serverInstance;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the instance for a server that is either active or has been active on this platform.
+     *
+     * @param serverName name of the server
+     * @return OMAGServerInstance object or null if the server is not known
+     */
+    private static OMAGServerInstance getKnownServerInstance(String serverName)
+    {
+        if (serverName == null)
+        {
+            return null;
+        }
+
+        return serverInstanceMap.get(serverName);
+    }
+
+
     /**
      * Add a new service instance to the server map.
      *
@@ -346,12 +373,12 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
-        return (activeServerInstanceMap.get(serverName) != null);
+        return (getRunningServerInstance(serverName) != null);
     }
 
 
@@ -366,13 +393,12 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
-        return ((activeServerInstanceMap.get(serverName) != null) ||
-                (inActiveServerInstanceMap.get(serverName) != null));
+        return (getKnownServerInstance(serverName) != null);
     }
 
 
@@ -389,30 +415,20 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                   String  serverName,
+                                                                   String  serviceName,
+                                                                   String  serviceOperationName) throws InvalidParameterException,
+                                                                                                        UserNotAuthorizedException,
+                                                                                                        PropertyServerException
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getRunningServerInstance(serverName);
 
         if (serverInstance != null)
         {
-            OpenMetadataServerSecurityVerifier serverSecurityVerifier = serverInstance.getSecurityVerifier();
-
-            try
-            {
-                serverSecurityVerifier.validateUserForServer(userId);
-                serverSecurityVerifier.validateUserForService(userId, serviceName);
-                serverSecurityVerifier.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
-            }
-            catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
-            {
-                throw new UserNotAuthorizedException(error);
-            }
-
+            /*
+             * The server instance validates that the user may call the server, service and operation.
+             */
             return serverInstance.getRegisteredService(userId, serviceName, serviceOperationName);
         }
         else
@@ -431,7 +447,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -442,15 +458,23 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        Set<String>  activeServerSet = activeServerInstanceMap.keySet();
+        List<String>  activeServerList = new ArrayList<>();
+
+        for (OMAGServerInstance serverInstance : serverInstanceMap.values())
+        {
+            if (serverInstance.isActive())
+            {
+                activeServerList.add(serverInstance.getServerName());
+            }
+        }
 
-        if (activeServerSet.isEmpty())
+        if (activeServerList.isEmpty())
         {
             return null;
         }
         else
         {
-            return new ArrayList<>(activeServerSet);
+            return activeServerList;
         }
     }
 
@@ -462,7 +486,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -473,8 +497,7 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        List<String> knownServerList = new ArrayList<>(activeServerInstanceMap.keySet());
-        knownServerList.addAll(inActiveServerInstanceMap.keySet());
+        List<String> knownServerList = new ArrayList<>(serverInstanceMap.keySet());
 
         if (knownServerList.isEmpty())
         {
@@ -494,8 +517,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -523,18 +546,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -560,18 +578,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -597,24 +610,50 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
-        if (serverInstance == null)
+        if (serverInstance != null)
+        {
+            validateUserAsServerInvestigator(userId, serverInstance);
+
+            return serverInstance.getServerHistory();
+        }
+        else
         {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
+            handleBadServerName(userId, serverName, methodName);
         }
 
+        return null;
+    }
+
+    /**
+     * Return the time taken to start each of the services when this server instance last started.
+     *
+     * @param userId calling user or null if it is an anonymous request
+     * @param serverName name of the server
+     * @return map of service name to elapsed milliseconds or null if the services have not finished starting
+     * @throws InvalidParameterException the serverName is not known.
+     * @throws UserNotAuthorizedException the user is not authorized to issue the request.
+     */
+    private static Map<String, Long> getServiceStartUpTimesFromPlatform(String  userId,
+                                                                        String  serverName) throws InvalidParameterException,
+                                                                                                   UserNotAuthorizedException
+    {
+        final String  methodName = "getServiceStartUpTimesFromPlatform";
+
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
+
         if (serverInstance != null)
         {
             validateUserAsServerInvestigator(userId, serverInstance);
 
-            return serverInstance.getServerHistory();
+            return serverInstance.getServiceStartUpTimes();
         }
         else
         {
@@ -624,6 +663,22 @@ public class OMAGServerPlatformInstanceMap
         return null;
     }
 
+
+    /**
+     * Save the time taken to start each of the services of an active server.
+     *
+     * @param serverName name of the server
+     * @param serviceStartUpTimes map of service name to elapsed milliseconds
+     */
+    private static synchronized void setServiceStartUpTimesForPlatform(String             serverName,
+                                                                       Map<String, Long>  serviceStartUpTimes)
+    {
+        OMAGServerInstance  serverInstance = getActiveServerInstance(serverName);
+
+        serverInstance.setServiceStartUpTimes(serviceStartUpTimes);
+    }
+
+
     /**
      * Return the list of services running in an OMAG Server that is running on this OMAG Server Platform.
      *
@@ -633,31 +688,25 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
-        if (serverInstance != null)
+        if (serverInstance == null)
         {
-            validateUserAsServerInvestigator(userId, serverInstance);
-
-            return serverInstance.getRegisteredServices();
+            handleBadServerName(userId, serverName, methodName);
         }
-        else /* server is not active */
+        else
         {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
+            validateUserAsServerInvestigator(userId, serverInstance);
 
-            if (serverInstance != null)
-            {
-                validateUserAsServerInvestigator(userId, serverInstance);
-            }
-            else
+            if (serverInstance.isActive())
             {
-                handleBadServerName(userId, serverName, methodName);
+                return serverInstance.getRegisteredServices();
             }
         }
 
@@ -674,7 +723,7 @@ public class OMAGServerPlatformInstanceMap
     private static synchronized void removeInstanceForPlatform(String   serverName,
                                                                String   serviceName)
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getRunningServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -697,7 +746,7 @@ public class OMAGServerPlatformInstanceMap
                                                        String   methodName) throws InvalidParameterException,
                                                                                    PropertyServerException
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getRunningServerInstance(serverName);
 
         if (serverInstance == null)
         {
@@ -706,8 +755,7 @@ public class OMAGServerPlatformInstanceMap
         else
         {
             serverInstance.shutdown(methodName);
-            inActiveServerInstanceMap.put(serverName, serverInstance);
-            activeServerInstanceMap.remove(serverName);
+            serverInstance.setActive(false);
         }
     }
 
@@ -721,12 +769,12 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = getRunningServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -866,6 +914,36 @@ public class OMAGServerPlatformInstanceMap
     }
 
 
+    /**
+     * Return the time taken to start each of the services when this server instance last started.
+     *
+     * @param userId calling user or null if it is an anonymous request
+     * @param serverName name of the server
+     * @return map of service name to elapsed milliseconds or null if the services have not finished starting
+     * @throws InvalidParameterException the serverName is not known.
+     * @throws UserNotAuthorizedException the user is not authorized to issue the request.
+     */
+    public  Map<String, Long> getServiceStartUpTimes(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
+    {
+        return OMAGServerPlatformInstanceMap.getServiceStartUpTimesFromPlatform(userId, serverName);
+    }
+
+
+    /**
+     * Save the time taken to start each of the services of a server once they have all started.
+     *
+     * @param serverName name of the server
+     * @param serviceStartUpTimes map of service name to elapsed milliseconds
+     */
+    public void setServiceStartUpTimes(String             serverName,
+                                       Map<String, Long>  serviceStartUpTimes)
+    {
+        OMAGServerPlatformInstanceMap.setServiceStartUpTimesForPlatform(serverName, serviceStartUpTimes);
+    }
+
+
     /**
      * Add a new service instance to the server map.
      *
@@ -23,6 +23,8 @@ public abstract class OMAGServerServiceInstance
 
     protected OpenMetadataServerSecurityVerifier securityVerifier = new OpenMetadataServerSecurityVerifier();
 
+    private volatile OMAGServerInstance registeredServerInstance = null;
+
     /**
      * Default constructor
      *
@@ -105,6 +107,29 @@ public abstract class OMAGServerServiceInstance
 
 
 
+    /**
+     * Set up the server instance that this service instance is registered with, or null when it is removed from
+     * the server.  The instance handlers only reuse a service instance while it is registered.
+     *
+     * @param registeredServerInstance server instance or null
+     */
+    void setRegisteredServerInstance(OMAGServerInstance registeredServerInstance)
+    {
+        this.registeredServerInstance = registeredServerInstance;
+    }
+
+
+    /**
+     * Return the server instance that this service instance is registered with.
+     *
+     * @return server instance or null if this service instance is no longer registered
+     */
+    OMAGServerInstance getRegisteredServerInstance()
+    {
+        return registeredServerInstance;
+    }
+
+
     /**
      * Override the default maximum paging size.
      *
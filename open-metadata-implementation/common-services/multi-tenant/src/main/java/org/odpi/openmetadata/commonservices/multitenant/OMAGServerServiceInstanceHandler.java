@@ -7,10 +7,17 @@ import org.odpi.openmetadata.commonservices.ffdc.exceptions.PropertyServerExcept
 import org.odpi.openmetadata.commonservices.ffdc.exceptions.UserNotAuthorizedException;
 import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityVerifier;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * OMAGServerServiceInstanceHandler retrieves information from the instance map for
  * an OMAG server service instance.  The instance map is thread-safe.  Instances are added
  * and removed during server initialization and termination.
+ *
+ * The handler keeps the service instance it last retrieved for each server so later requests for the same
+ * server skip the instance map.  A kept service instance is only used while it is still registered with its
+ * server and the calling user is validated on every request.
  */
 public abstract class OMAGServerServiceInstanceHandler
 {
@@ -18,6 +25,8 @@ public abstract class OMAGServerServiceInstanceHandler
 
     protected String serviceName;
 
+    private Map<String, OMAGServerServiceInstance> serverServiceInstanceCache = new ConcurrentHashMap<>();
+
     /**
      * Constructor passes the service name that is used on all calls to this instance.
      *
@@ -91,7 +100,36 @@ public abstract class OMAGServerServiceInstanceHandler
                                                                                                        UserNotAuthorizedException,
                                                                                                        PropertyServerException
     {
-        return platformInstanceMap.getServiceInstance(userId, serverName, serviceName, serviceOperationName);
+        if (serverName != null)
+        {
+            OMAGServerServiceInstance serverServiceInstance = serverServiceInstanceCache.get(serverName);
+
+            if (serverServiceInstance != null)
+            {
+                OMAGServerInstance serverInstance = serverServiceInstance.getRegisteredServerInstance();
+
+                if ((serverInstance != null) && (serverInstance.isActive()))
+                {
+                    serverInstance.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+
+                    return serverServiceInstance;
+                }
+
+                serverServiceInstanceCache.remove(serverName, serverServiceInstance);
+            }
+        }
+
+        OMAGServerServiceInstance serverServiceInstance = platformInstanceMap.getServiceInstance(userId,
+                                                                                                serverName,
+                                                                                                serviceName,
+                                                                                                serviceOperationName);
+
+        if ((serverName != null) && (serverServiceInstance != null))
+        {
+            serverServiceInstanceCache.put(serverName, serverServiceInstance);
+        }
+
+        return serverServiceInstance;
     }
 
 
@@ -102,6 +140,11 @@ public abstract class OMAGServerServiceInstanceHandler
      */
     public void removeServerServiceInstance(String  serverName)
     {
+        if (serverName != null)
+        {
+            serverServiceInstanceCache.remove(serverName);
+        }
+
         platformInstanceMap.removeServiceInstanceFromPlatform(serverName, serviceName);
     }
 }
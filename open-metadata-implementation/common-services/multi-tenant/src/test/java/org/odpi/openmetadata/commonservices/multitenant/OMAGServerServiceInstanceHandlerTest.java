@@ -0,0 +1,272 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant;
+
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.PropertyServerException;
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test that OMAGServerServiceInstanceHandler only reuses the service instance it retrieved for a server while
+ * that instance is still registered with an active server, and that it validates the calling user on every
+ * request.  The platform instance map is shared by the whole JVM so each test uses its own server name.
+ */
+public class OMAGServerServiceInstanceHandlerTest
+{
+    private static final String testServiceName   = "Test OMAS";
+    private static final String operationName     = "testOperation";
+    private static final String userId            = "testUser";
+    private static final String unauthorizedUser  = "unauthorizedUser";
+    private static final String localServerUserId = "serverUser";
+
+
+    /**
+     * Service instance that registers itself with the platform instance map.
+     */
+    static class TestServiceInstance extends OMAGServerServiceInstance
+    {
+        TestServiceInstance(String serverName)
+        {
+            super(serverName, testServiceName, 100);
+        }
+    }
+
+
+    /**
+     * Handler that exposes the protected lookup.
+     */
+    static class TestServiceInstanceHandler extends OMAGServerServiceInstanceHandler
+    {
+        TestServiceInstanceHandler()
+        {
+            super(testServiceName);
+        }
+
+
+        OMAGServerServiceInstance getInstance(String userId,
+                                              String serverName) throws InvalidParameterException,
+                                                                        UserNotAuthorizedException,
+                                                                        PropertyServerException
+        {
+            return super.getServerServiceInstance(userId, serverName, operationName);
+        }
+    }
+
+
+    /**
+     * Security connector that rejects one user and counts the checks for each server.
+     */
+    public static class TestSecurityConnector extends OpenMetadataServerSecurityConnector
+    {
+        static final Map<String, AtomicInteger> serverChecks = new ConcurrentHashMap<>();
+
+        @Override
+        public void validateUserForServer(String userId) throws org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException
+        {
+            serverChecks.computeIfAbsent(serverName, (name) -> new AtomicInteger()).incrementAndGet();
+
+            if (unauthorizedUser.equals(userId))
+            {
+                super.validateUserForServer(userId);
+            }
+        }
+
+
+        @Override
+        public void validateUserForService(String userId,
+                                           String serviceName) throws org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException
+        {
+            if (unauthorizedUser.equals(userId))
+            {
+                super.validateUserForService(userId, serviceName);
+            }
+        }
+
+
+        @Override
+        public void validateUserForServiceOperation(String userId,
+                                                    String serviceName,
+                                                    String serviceOperationName) throws org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException
+        {
+            if (unauthorizedUser.equals(userId))
+            {
+                super.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+            }
+        }
+    }
+
+
+    /**
+     * Provider for the test security connector.
+     */
+    public static class TestSecurityProvider extends OpenMetadataServerSecurityProvider
+    {
+        public TestSecurityProvider()
+        {
+            super();
+
+            super.setConnectorClassName(TestSecurityConnector.class.getName());
+        }
+    }
+
+
+    private OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+
+    private String getServerName()
+    {
+        return "testServer-" + UUID.randomUUID().toString();
+    }
+
+
+    private Connection getSecurityConnection()
+    {
+        Connection    connection    = new Connection();
+        ConnectorType connectorType = new ConnectorType();
+
+        connectorType.setConnectorProviderClassName(TestSecurityProvider.class.getName());
+        connection.setConnectorType(connectorType);
+
+        return connection;
+    }
+
+
+    @Test
+    public void testRestartReplacesCachedInstance() throws Exception
+    {
+        final String methodName = "testRestartReplacesCachedInstance";
+
+        String                     serverName = this.getServerName();
+        TestServiceInstanceHandler handler    = new TestServiceInstanceHandler();
+
+        platformInstanceMap.startUpServerInstance(localServerUserId, serverName, null, null);
+
+        TestServiceInstance firstInstance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), firstInstance);
+        assertSame(handler.getInstance(userId, serverName), firstInstance);
+
+        firstInstance.shutdown();
+        platformInstanceMap.shutdownServerInstance(userId, serverName, methodName);
+
+        assertFalse(handler.isServerActive(userId, serverName));
+        expectThrows(InvalidParameterException.class, () -> handler.getInstance(userId, serverName));
+
+        platformInstanceMap.startUpServerInstance(localServerUserId, serverName, null, null);
+
+        TestServiceInstance secondInstance = new TestServiceInstance(serverName);
+
+        assertTrue(handler.isServerActive(userId, serverName));
+        assertSame(handler.getInstance(userId, serverName), secondInstance);
+        assertNotSame(secondInstance, firstInstance);
+    }
+
+
+    @Test
+    public void testShutdownWithRegisteredService() throws Exception
+    {
+        final String methodName = "testShutdownWithRegisteredService";
+
+        String                     serverName = this.getServerName();
+        TestServiceInstanceHandler handler    = new TestServiceInstanceHandler();
+
+        platformInstanceMap.startUpServerInstance(localServerUserId, serverName, null, null);
+
+        TestServiceInstance instance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), instance);
+
+        /*
+         * The service was not shut down first so the server reports the error and clears it.  The cached
+         * instance must not be returned afterwards.
+         */
+        expectThrows(PropertyServerException.class,
+                     () -> platformInstanceMap.shutdownServerInstance(userId, serverName, methodName));
+        expectThrows(PropertyServerException.class, () -> handler.getInstance(userId, serverName));
+        assertNull(platformInstanceMap.getActiveServiceListForServer(userId, serverName));
+    }
+
+
+    @Test
+    public void testUnregisteredInstanceNotReturned() throws Exception
+    {
+        String                     serverName = this.getServerName();
+        TestServiceInstanceHandler handler    = new TestServiceInstanceHandler();
+
+        platformInstanceMap.startUpServerInstance(localServerUserId, serverName, null, null);
+
+        /*
+         * Removed through the handler.
+         */
+        TestServiceInstance firstInstance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), firstInstance);
+        handler.removeServerServiceInstance(serverName);
+        expectThrows(PropertyServerException.class, () -> handler.getInstance(userId, serverName));
+
+        /*
+         * Removed by the service instance itself, bypassing the handler's cache.
+         */
+        TestServiceInstance secondInstance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), secondInstance);
+        secondInstance.shutdown();
+        expectThrows(PropertyServerException.class, () -> handler.getInstance(userId, serverName));
+
+        /*
+         * Replaced by a new registration for the same service.
+         */
+        TestServiceInstance thirdInstance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), thirdInstance);
+
+        TestServiceInstance fourthInstance = new TestServiceInstance(serverName);
+
+        assertSame(handler.getInstance(userId, serverName), fourthInstance);
+        assertEquals(platformInstanceMap.getActiveServiceListForServer(userId, serverName).size(), 1);
+    }
+
+
+    @Test
+    public void testUserValidatedOnEveryRequest() throws Exception
+    {
+        String                     serverName = this.getServerName();
+        TestServiceInstanceHandler handler    = new TestServiceInstanceHandler();
+
+        platformInstanceMap.startUpServerInstance(localServerUserId, serverName, null, this.getSecurityConnection());
+
+        TestServiceInstance instance = new TestServiceInstance(serverName);
+
+        expectThrows(UserNotAuthorizedException.class, () -> handler.getInstance(unauthorizedUser, serverName));
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertSame(handler.getInstance(userId, serverName), instance);
+        }
+
+        /*
+         * The instance is now cached for the server but an unauthorized user is still rejected.
+         */
+        expectThrows(UserNotAuthorizedException.class, () -> handler.getInstance(unauthorizedUser, serverName));
+
+        assertEquals(TestSecurityConnector.serverChecks.get(serverName).get(), 5);
+    }
+}
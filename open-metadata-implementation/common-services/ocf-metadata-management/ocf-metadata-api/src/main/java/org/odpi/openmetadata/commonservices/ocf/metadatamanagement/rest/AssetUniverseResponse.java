@@ -0,0 +1,517 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * AssetUniverseResponse is the response structure used on the OMAS REST API calls that return an
+ * asset bean, the counts of its connected elements and the first page of each of the requested connected
+ * elements in a single call.  A connected element response is null if it was not requested or the asset has no
+ * elements of this type.  The connected element responses carry their own exception information so
+ * a problem retrieving one type of element does not prevent the others from being returned.
+ * Later pages are retrieved using the REST API calls for the specific type of element.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class AssetUniverseResponse extends AssetResponse
+{
+    public static final String CERTIFICATIONS           = "certifications";
+    public static final String COMMENTS                 = "comments";
+    public static final String CONNECTIONS              = "connections";
+    public static final String EXTERNAL_IDENTIFIERS     = "external-identifiers";
+    public static final String EXTERNAL_REFERENCES      = "external-references";
+    public static final String INFORMAL_TAGS            = "informal-tags";
+    public static final String LICENSES                 = "licenses";
+    public static final String LIKES                    = "likes";
+    public static final String KNOWN_LOCATIONS          = "known-locations";
+    public static final String NOTE_LOGS                = "note-logs";
+    public static final String RATINGS                  = "ratings";
+    public static final String RELATED_ASSETS           = "related-assets";
+    public static final String RELATED_MEDIA_REFERENCES = "related-media-references";
+    public static final String SCHEMA_ATTRIBUTES        = "schema-attributes";
+
+    private CertificationsResponse         certifications         = null;
+    private CommentsResponse               comments               = null;
+    private ConnectionsResponse            connections            = null;
+    private ExternalIdentifiersResponse    externalIdentifiers    = null;
+    private ExternalReferencesResponse     externalReferences     = null;
+    private InformalTagsResponse           informalTags           = null;
+    private LicensesResponse               licenses               = null;
+    private LikesResponse                  likes                  = null;
+    private LocationsResponse              knownLocations         = null;
+    private NoteLogsResponse               noteLogs               = null;
+    private RatingsResponse                ratings                = null;
+    private RelatedAssetsResponse          relatedAssets          = null;
+    private RelatedMediaReferencesResponse relatedMediaReferences = null;
+    private SchemaAttributesResponse       schemaAttributes       = null;
+
+
+    /**
+     * Default constructor
+     */
+    public AssetUniverseResponse()
+    {
+        super();
+    }
+
+
+    /**
+     * Constructor used to add connected elements to an asset response.
+     *
+     * @param template object to copy
+     */
+    public AssetUniverseResponse(AssetResponse template)
+    {
+        super(template);
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public AssetUniverseResponse(AssetUniverseResponse template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.certifications         = template.getCertifications();
+            this.comments               = template.getComments();
+            this.connections            = template.getConnections();
+            this.externalIdentifiers    = template.getExternalIdentifiers();
+            this.externalReferences     = template.getExternalReferences();
+            this.informalTags           = template.getInformalTags();
+            this.licenses               = template.getLicenses();
+            this.likes                  = template.getLikes();
+            this.knownLocations         = template.getKnownLocations();
+            this.noteLogs               = template.getNoteLogs();
+            this.ratings                = template.getRatings();
+            this.relatedAssets          = template.getRelatedAssets();
+            this.relatedMediaReferences = template.getRelatedMediaReferences();
+            this.schemaAttributes       = template.getSchemaAttributes();
+        }
+    }
+
+
+    /**
+     * Return the first page of certifications.
+     *
+     * @return response for the certifications
+     */
+    public CertificationsResponse getCertifications()
+    {
+        return certifications;
+    }
+
+
+    /**
+     * Set up the first page of certifications.
+     *
+     * @param certifications response for the certifications
+     */
+    public void setCertifications(CertificationsResponse certifications)
+    {
+        this.certifications = certifications;
+    }
+
+
+    /**
+     * Return the first page of comments.
+     *
+     * @return response for the comments
+     */
+    public CommentsResponse getComments()
+    {
+        return comments;
+    }
+
+
+    /**
+     * Set up the first page of comments.
+     *
+     * @param comments response for the comments
+     */
+    public void setComments(CommentsResponse comments)
+    {
+        this.comments = comments;
+    }
+
+
+    /**
+     * Return the first page of connections.
+     *
+     * @return response for the connections
+     */
+    public ConnectionsResponse getConnections()
+    {
+        return connections;
+    }
+
+
+    /**
+     * Set up the first page of connections.
+     *
+     * @param connections response for the connections
+     */
+    public void setConnections(ConnectionsResponse connections)
+    {
+        this.connections = connections;
+    }
+
+
+    /**
+     * Return the first page of external identifiers.
+     *
+     * @return response for the external identifiers
+     */
+    public ExternalIdentifiersResponse getExternalIdentifiers()
+    {
+        return externalIdentifiers;
+    }
+
+
+    /**
+     * Set up the first page of external identifiers.
+     *
+     * @param externalIdentifiers response for the external identifiers
+     */
+    public void setExternalIdentifiers(ExternalIdentifiersResponse externalIdentifiers)
+    {
+        this.externalIdentifiers = externalIdentifiers;
+    }
+
+
+    /**
+     * Return the first page of external references.
+     *
+     * @return response for the external references
+     */
+    public ExternalReferencesResponse getExternalReferences()
+    {
+        return externalReferences;
+    }
+
+
+    /**
+     * Set up the first page of external references.
+     *
+     * @param externalReferences response for the external references
+     */
+    public void setExternalReferences(ExternalReferencesResponse externalReferences)
+    {
+        this.externalReferences = externalReferences;
+    }
+
+
+    /**
+     * Return the first page of informal tags.
+     *
+     * @return response for the informal tags
+     */
+    public InformalTagsResponse getInformalTags()
+    {
+        return informalTags;
+    }
+
+
+    /**
+     * Set up the first page of informal tags.
+     *
+     * @param informalTags response for the informal tags
+     */
+    public void setInformalTags(InformalTagsResponse informalTags)
+    {
+        this.informalTags = informalTags;
+    }
+
+
+    /**
+     * Return the first page of licenses.
+     *
+     * @return response for the licenses
+     */
+    public LicensesResponse getLicenses()
+    {
+        return licenses;
+    }
+
+
+    /**
+     * Set up the first page of licenses.
+     *
+     * @param licenses response for the licenses
+     */
+    public void setLicenses(LicensesResponse licenses)
+    {
+        this.licenses = licenses;
+    }
+
+
+    /**
+     * Return the first page of likes.
+     *
+     * @return response for the likes
+     */
+    public LikesResponse getLikes()
+    {
+        return likes;
+    }
+
+
+    /**
+     * Set up the first page of likes.
+     *
+     * @param likes response for the likes
+     */
+    public void setLikes(LikesResponse likes)
+    {
+        this.likes = likes;
+    }
+
+
+    /**
+     * Return the first page of known locations.
+     *
+     * @return response for the known locations
+     */
+    public LocationsResponse getKnownLocations()
+    {
+        return knownLocations;
+    }
+
+
+    /**
+     * Set up the first page of known locations.
+     *
+     * @param knownLocations response for the known locations
+     */
+    public void setKnownLocations(LocationsResponse knownLocations)
+    {
+        this.knownLocations = knownLocations;
+    }
+
+
+    /**
+     * Return the first page of note logs.
+     *
+     * @return response for the note logs
+     */
+    public NoteLogsResponse getNoteLogs()
+    {
+        return noteLogs;
+    }
+
+
+    /**
+     * Set up the first page of note logs.
+     *
+     * @param noteLogs response for the note logs
+     */
+    public void setNoteLogs(NoteLogsResponse noteLogs)
+    {
+        this.noteLogs = noteLogs;
+    }
+
+
+    /**
+     * Return the first page of ratings.
+     *
+     * @return response for the ratings
+     */
+    public RatingsResponse getRatings()
+    {
+        return ratings;
+    }
+
+
+    /**
+     * Set up the first page of ratings.
+     *
+     * @param ratings response for the ratings
+     */
+    public void setRatings(RatingsResponse ratings)
+    {
+        this.ratings = ratings;
+    }
+
+
+    /**
+     * Return the first page of related assets.
+     *
+     * @return response for the related assets
+     */
+    public RelatedAssetsResponse getRelatedAssets()
+    {
+        return relatedAssets;
+    }
+
+
+    /**
+     * Set up the first page of related assets.
+     *
+     * @param relatedAssets response for the related assets
+     */
+    public void setRelatedAssets(RelatedAssetsResponse relatedAssets)
+    {
+        this.relatedAssets = relatedAssets;
+    }
+
+
+    /**
+     * Return the first page of related media references.
+     *
+     * @return response for the related media references
+     */
+    public RelatedMediaReferencesResponse getRelatedMediaReferences()
+    {
+        return relatedMediaReferences;
+    }
+
+
+    /**
+     * Set up the first page of related media references.
+     *
+     * @param relatedMediaReferences response for the related media references
+     */
+    public void setRelatedMediaReferences(RelatedMediaReferencesResponse relatedMediaReferences)
+    {
+        this.relatedMediaReferences = relatedMediaReferences;
+    }
+
+
+    /**
+     * Return the first page of the schema attributes of the asset's complex schema type.
+     *
+     * @return response for the schema attributes
+     */
+    public SchemaAttributesResponse getSchemaAttributes()
+    {
+        return schemaAttributes;
+    }
+
+
+    /**
+     * Set up the first page of the schema attributes of the asset's complex schema type.
+     *
+     * @param schemaAttributes response for the schema attributes
+     */
+    public void setSchemaAttributes(SchemaAttributesResponse schemaAttributes)
+    {
+        this.schemaAttributes = schemaAttributes;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return return string containing the property names and values
+     */
+    @Override
+    public String toString()
+    {
+        return "AssetUniverseResponse{" +
+                "asset=" + getAsset() +
+                ", certificationCount=" + getCertificationCount() +
+                ", commentCount=" + getCommentCount() +
+                ", connectionCount=" + getConnectionCount() +
+                ", externalIdentifierCount=" + getExternalIdentifierCount() +
+                ", externalReferencesCount=" + getExternalReferencesCount() +
+                ", informalTagCount=" + getInformalTagCount() +
+                ", licenseCount=" + getLicenseCount() +
+                ", likeCount=" + getLikeCount() +
+                ", knownLocationsCount=" + getKnownLocationsCount() +
+                ", noteLogsCount=" + getNoteLogsCount() +
+                ", ratingsCount=" + getRatingsCount() +
+                ", relatedAssetCount=" + getRelatedAssetCount() +
+                ", relatedMediaReferenceCount=" + getRelatedMediaReferenceCount() +
+                ", schemaType=" + getSchemaType() +
+                ", lastAttachment=" + getLastAttachment() +
+                ", certifications=" + certifications +
+                ", comments=" + comments +
+                ", connections=" + connections +
+                ", externalIdentifiers=" + externalIdentifiers +
+                ", externalReferences=" + externalReferences +
+                ", informalTags=" + informalTags +
+                ", licenses=" + licenses +
+                ", likes=" + likes +
+                ", knownLocations=" + knownLocations +
+                ", noteLogs=" + noteLogs +
+                ", ratings=" + ratings +
+                ", relatedAssets=" + relatedAssets +
+                ", relatedMediaReferences=" + relatedMediaReferences +
+                ", schemaAttributes=" + schemaAttributes +
+                ", relatedHTTPCode=" + getRelatedHTTPCode() +
+                ", exceptionClassName='" + getExceptionClassName() + '\'' +
+                ", exceptionErrorMessage='" + getExceptionErrorMessage() + '\'' +
+                ", exceptionSystemAction='" + getExceptionSystemAction() + '\'' +
+                ", exceptionUserAction='" + getExceptionUserAction() + '\'' +
+                ", exceptionProperties=" + getExceptionProperties() +
+                '}';
+    }
+
+
+    /**
+     * Return comparison result based on the content of the properties.
+     *
+     * @param objectToCompare test object
+     * @return result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        AssetUniverseResponse that = (AssetUniverseResponse) objectToCompare;
+        return Objects.equals(getCertifications(), that.getCertifications()) &&
+                Objects.equals(getComments(), that.getComments()) &&
+                Objects.equals(getConnections(), that.getConnections()) &&
+                Objects.equals(getExternalIdentifiers(), that.getExternalIdentifiers()) &&
+                Objects.equals(getExternalReferences(), that.getExternalReferences()) &&
+                Objects.equals(getInformalTags(), that.getInformalTags()) &&
+                Objects.equals(getLicenses(), that.getLicenses()) &&
+                Objects.equals(getLikes(), that.getLikes()) &&
+                Objects.equals(getKnownLocations(), that.getKnownLocations()) &&
+                Objects.equals(getNoteLogs(), that.getNoteLogs()) &&
+                Objects.equals(getRatings(), that.getRatings()) &&
+                Objects.equals(getRelatedAssets(), that.getRelatedAssets()) &&
+                Objects.equals(getRelatedMediaReferences(), that.getRelatedMediaReferences()) &&
+                Objects.equals(getSchemaAttributes(), that.getSchemaAttributes());
+    }
+
+
+    /**
+     * Return hash code for this object
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getCertifications(), getComments(), getConnections(),
+                            getExternalIdentifiers(), getExternalReferences(), getInformalTags(), getLicenses(),
+                            getLikes(), getKnownLocations(), getNoteLogs(), getRatings(), getRelatedAssets(),
+                            getRelatedMediaReferences(), getSchemaAttributes());
+    }
+}
@@ -0,0 +1,197 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Certification;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.InformalTag;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the AssetUniverseResponse bean can be cloned, compared, serialized, deserialized and printed as a String.
+ */
+public class AssetUniverseResponseTest
+{
+    private Asset                  assetBean              = new Asset();
+    private List<Certification>    certificationList      = new ArrayList<>();
+    private CertificationsResponse certificationsResponse = new CertificationsResponse();
+    private InformalTagsResponse   informalTagsResponse   = new InformalTagsResponse();
+
+
+    /**
+     * Default constructor
+     */
+    public AssetUniverseResponseTest()
+    {
+        assetBean.setGUID("TestGUID");
+
+        Certification certification = new Certification();
+        certification.setGUID("TestCertificationGUID");
+        certificationList.add(certification);
+        certificationsResponse.setList(certificationList);
+
+        informalTagsResponse.setRelatedHTTPCode(400);
+        informalTagsResponse.setExceptionClassName(NullPointerException.class.getName());
+    }
+
+
+    /**
+     * Set up an example object to test.
+     *
+     * @return filled in object
+     */
+    private AssetUniverseResponse getTestObject()
+    {
+        AssetResponse assetResponse = new AssetResponse();
+
+        assetResponse.setAsset(assetBean);
+        assetResponse.setCertificationCount(1);
+        assetResponse.setInformalTagCount(3);
+
+        AssetUniverseResponse testObject = new AssetUniverseResponse(assetResponse);
+
+        testObject.setCertifications(certificationsResponse);
+        testObject.setInformalTags(informalTagsResponse);
+
+        return testObject;
+    }
+
+
+    /**
+     * Validate that the object that comes out of the test has the same content as the original test object.
+     *
+     * @param resultObject object returned by the test
+     */
+    private void validateResultObject(AssetUniverseResponse resultObject)
+    {
+        assertTrue(resultObject.getRelatedHTTPCode() == 200);
+        assertTrue(resultObject.getExceptionClassName() == null);
+
+        assertTrue(resultObject.getAsset().equals(assetBean));
+        assertTrue(resultObject.getCertificationCount() == 1);
+        assertTrue(resultObject.getInformalTagCount() == 3);
+        assertTrue(resultObject.getCommentCount() == 0);
+
+        assertTrue(resultObject.getCertifications().getList().equals(certificationList));
+        assertTrue(resultObject.getInformalTags().getRelatedHTTPCode() == 400);
+        assertTrue(resultObject.getInformalTags().getExceptionClassName().equals(NullPointerException.class.getName()));
+        assertTrue(resultObject.getComments() == null);
+        assertTrue(resultObject.getSchemaAttributes() == null);
+    }
+
+
+    /**
+     * Validate that the object is initialized properly
+     */
+    @Test public void testNullObject()
+    {
+        AssetUniverseResponse nullObject = new AssetUniverseResponse();
+
+        assertTrue(nullObject.getRelatedHTTPCode() == 200);
+        assertTrue(nullObject.getAsset() == null);
+        assertTrue(nullObject.getCertifications() == null);
+        assertTrue(nullObject.getInformalTags() == null);
+
+        nullObject = new AssetUniverseResponse((AssetUniverseResponse)null);
+
+        assertTrue(nullObject.getRelatedHTTPCode() == 200);
+        assertTrue(nullObject.getAsset() == null);
+        assertTrue(nullObject.getCertifications() == null);
+
+        nullObject = new AssetUniverseResponse((AssetResponse)null);
+
+        assertTrue(nullObject.getAsset() == null);
+        assertTrue(nullObject.getCertifications() == null);
+    }
+
+
+    /**
+     * Validate that 2 different objects with the same content are evaluated as equal.
+     * Also that different objects are considered not equal.
+     */
+    @Test public void testEquals()
+    {
+        assertFalse(getTestObject().equals(null));
+        assertFalse(getTestObject().equals("DummyString"));
+        assertTrue(getTestObject().equals(getTestObject()));
+
+        AssetUniverseResponse differentObject = getTestObject();
+        differentObject.setCertifications(null);
+        assertFalse(getTestObject().equals(differentObject));
+    }
+
+
+    /**
+     *  Validate that 2 different objects with the same content have the same hash code.
+     */
+    @Test public void testHashCode()
+    {
+        assertTrue(getTestObject().hashCode() == getTestObject().hashCode());
+    }
+
+
+    /**
+     *  Validate that an object cloned from another object has the same content as the original
+     */
+    @Test public void testClone()
+    {
+        validateResultObject(new AssetUniverseResponse(getTestObject()));
+    }
+
+
+    /**
+     * Validate that an object generated from a JSON String has the same content as the object used to
+     * create the JSON String.
+     */
+    @Test public void testJSON()
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String       jsonString   = null;
+
+        try
+        {
+            jsonString = objectMapper.writeValueAsString(getTestObject());
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        try
+        {
+            validateResultObject(objectMapper.readValue(jsonString, AssetUniverseResponse.class));
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        /*
+         * Through superclass
+         */
+        try
+        {
+            validateResultObject((AssetUniverseResponse) objectMapper.readValue(jsonString, OCFOMASAPIResponse.class));
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+    }
+
+
+    /**
+     * Test that toString is overridden.
+     */
+    @Test public void testToString()
+    {
+        assertTrue(getTestObject().toString().contains("AssetUniverseResponse"));
+    }
+}
@@ -154,44 +154,7 @@ public class ConnectedAssetComments extends AssetComments
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
             restExceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
 
-            List<CommentResponse> Responses = restResult.getList();
-            if ((Responses == null) || (Responses.isEmpty()))
-            {
-                return null;
-            }
-            else
-            {
-                List<AssetPropertyBase>   resultList = new ArrayList<>();
-
-                for (CommentResponse  commentResponse : Responses)
-                {
-                    if (commentResponse != null)
-                    {
-                        Comment                      bean = commentResponse.getComment();
-                        ConnectedAssetCommentReplies commentReplies = null;
-
-                        if (commentResponse.getReplyCount() > 0)
-                        {
-                            commentReplies = new ConnectedAssetCommentReplies(serviceName,
-                                                                              serverName,
-                                                                              userId,
-                                                                              omasServerURL,
-                                                                              bean.getGUID(),
-                                                                              connectedAsset,
-                                                                              commentResponse.getReplyCount(),
-                                                                              maxCacheSize,
-                                                                              restClient);
-                        }
-
-                        /*
-                         * Note replies are ignored - but can be extracted through the Asset Consumer OMAS
-                         */
-                        resultList.add(new AssetComment(connectedAsset, bean, commentReplies));
-                    }
-                }
-
-                return resultList;
-            }
+            return this.getElementList(restResult);
         }
         catch (Throwable  error)
         {
@@ -200,4 +163,68 @@ public class ConnectedAssetComments extends AssetComments
 
         return null;
     }
+
+
+    /**
+     * Set up the first page of elements when they have been retrieved along with the asset.
+     * A response that carries an exception is ignored so the elements are retrieved when they are needed.
+     *
+     * @param firstPage response from the property server
+     */
+    void setFirstPage(CommentsResponse firstPage)
+    {
+        if ((firstPage != null) && (firstPage.getExceptionClassName() == null))
+        {
+            super.setFirstPage(this.getElementList(firstPage));
+        }
+    }
+
+
+    /**
+     * Convert the beans returned by the property server into the elements stored in the cache.
+     *
+     * @param restResult response from the property server
+     * @return list of elements or null if there are none
+     */
+    private List<AssetPropertyBase> getElementList(CommentsResponse restResult)
+    {
+        List<CommentResponse> Responses = restResult.getList();
+        if ((Responses == null) || (Responses.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            List<AssetPropertyBase>   resultList = new ArrayList<>();
+
+            for (CommentResponse  commentResponse : Responses)
+            {
+                if (commentResponse != null)
+                {
+                    Comment                      bean = commentResponse.getComment();
+                    ConnectedAssetCommentReplies commentReplies = null;
+
+                    if (commentResponse.getReplyCount() > 0)
+                    {
+                        commentReplies = new ConnectedAssetCommentReplies(serviceName,
+                                                                          serverName,
+                                                                          userId,
+                                                                          omasServerURL,
+                                                                          bean.getGUID(),
+                                                                          connectedAsset,
+                                                                          commentResponse.getReplyCount(),
+                                                                          maxCacheSize,
+                                                                          restClient);
+                    }
+
+                    /*
+                     * Note replies are ignored - but can be extracted through the Asset Consumer OMAS
+                     */
+                    resultList.add(new AssetComment(connectedAsset, bean, commentReplies));
+                }
+            }
+
+            return resultList;
+        }
+    }
 }
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.client;
 
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.SchemaAttributesResponse;
 import org.odpi.openmetadata.frameworks.connectors.properties.AssetComplexSchemaType;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ComplexSchemaType;
 
@@ -53,4 +54,18 @@ class ConnectedAssetComplexSchemaType extends AssetComplexSchemaType
             }
         }
     }
+
+
+    /**
+     * Set up the first page of schema attributes when they have been retrieved along with the asset.
+     *
+     * @param firstPage first page of schema attributes - may be null
+     */
+    void setFirstAttributePage(SchemaAttributesResponse firstPage)
+    {
+        if (super.schemaAttributes instanceof ConnectedAssetSchemaAttributes)
+        {
+            ((ConnectedAssetSchemaAttributes)super.schemaAttributes).setFirstPage(firstPage);
+        }
+    }
 }
@@ -3,6 +3,10 @@
 package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.client;
 
 
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.CommentsResponse;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.InformalTagsResponse;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.LikesResponse;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.RatingsResponse;
 import org.odpi.openmetadata.frameworks.connectors.properties.AssetFeedback;
 
 /**
@@ -97,4 +101,39 @@ public class ConnectedAssetFeedback extends AssetFeedback
                                                                 restClient);
         }
     }
+
+
+    /**
+     * Set up the first page of each type of feedback when they have been retrieved along with the asset.
+     *
+     * @param comments first page of comments - may be null
+     * @param likes first page of likes - may be null
+     * @param ratings first page of ratings - may be null
+     * @param informalTags first page of informal tags - may be null
+     */
+    void setFirstPages(CommentsResponse     comments,
+                       LikesResponse        likes,
+                       RatingsResponse      ratings,
+                       InformalTagsResponse informalTags)
+    {
+        if (super.comments instanceof ConnectedAssetComments)
+        {
+            ((ConnectedAssetComments)super.comments).setFirstPage(comments);
+        }
+
+        if (super.likes instanceof ConnectedAssetLikes)
+        {
+            ((ConnectedAssetLikes)super.likes).setFirstPage(likes);
+        }
+
+        if (super.ratings instanceof ConnectedAssetRatings)
+        {
+            ((ConnectedAssetRatings)super.ratings).setFirstPage(ratings);
+        }
+
+        if (super.informalTags instanceof ConnectedAssetInformalTags)
+        {
+            ((ConnectedAssetInformalTags)super.informalTags).setFirstPage(informalTags);
+        }
+    }
 }
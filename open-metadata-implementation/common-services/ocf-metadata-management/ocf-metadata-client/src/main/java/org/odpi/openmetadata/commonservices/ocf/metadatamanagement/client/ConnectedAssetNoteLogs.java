@@ -29,6 +29,7 @@ public class ConnectedAssetNoteLogs extends AssetNoteLogs
     private String                 omasServerURL;
     private String                 assetGUID;
     private ConnectedAssetUniverse connectedAsset;
+    private int                    maxCacheSize;
     private OCFRESTClient          restClient;
 
 
@@ -65,6 +66,7 @@ public class ConnectedAssetNoteLogs extends AssetNoteLogs
         this.omasServerURL   = omasServerURL;
         this.assetGUID       = assetGUID;
         this.connectedAsset  = parentAsset;
+        this.maxCacheSize    = maxCacheSize;
         this.restClient      = restClient;
     }
 
@@ -87,6 +89,7 @@ public class ConnectedAssetNoteLogs extends AssetNoteLogs
             this.omasServerURL  = template.omasServerURL;
             this.assetGUID      = template.assetGUID;
             this.connectedAsset = parentAsset;
+            this.maxCacheSize   = template.maxCacheSize;
             this.restClient     = template.restClient;
         }
     }
@@ -149,38 +152,7 @@ public class ConnectedAssetNoteLogs extends AssetNoteLogs
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
             restExceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
 
-            List<NoteLogResponse> noteLogResponses = restResult.getList();
-            if ((noteLogResponses == null) || (noteLogResponses.isEmpty()))
-            {
-                return null;
-            }
-            else
-            {
-                List<AssetPropertyBase>   resultList = new ArrayList<>();
-
-                for (NoteLogResponse  noteLogResponse : noteLogResponses)
-                {
-                    if ((noteLogResponse != null) && (noteLogResponse.getNoteLog() != null))
-                    {
-                        if (noteLogResponse.getNoteCount() > 0)
-                        {
-                            resultList.add(new AssetNoteLog(connectedAsset,
-                                                            noteLogResponse.getNoteLog(),
-                                                            new ConnectedAssetNotes(serviceName,
-                                                                                    serverName,
-                                                                                    userId,
-                                                                                    omasServerURL,
-                                                                                    noteLogResponse.getNoteLog().getGUID(),
-                                                                                    connectedAsset,
-                                                                                    noteLogResponse.getNoteCount(),
-                                                                                    maximumSize,
-                                                                                    restClient)));
-                        }
-                    }
-                }
-
-                return resultList;
-            }
+            return this.getElementList(restResult);
         }
         catch (Throwable  error)
         {
@@ -189,4 +161,62 @@ public class ConnectedAssetNoteLogs extends AssetNoteLogs
 
         return null;
     }
+
+
+    /**
+     * Set up the first page of elements when they have been retrieved along with the asset.
+     * A response that carries an exception is ignored so the elements are retrieved when they are needed.
+     *
+     * @param firstPage response from the property server
+     */
+    void setFirstPage(NoteLogsResponse firstPage)
+    {
+        if ((firstPage != null) && (firstPage.getExceptionClassName() == null))
+        {
+            super.setFirstPage(this.getElementList(firstPage));
+        }
+    }
+
+
+    /**
+     * Convert the beans returned by the property server into the elements stored in the cache.
+     *
+     * @param restResult response from the property server
+     * @return list of elements or null if there are none
+     */
+    private List<AssetPropertyBase> getElementList(NoteLogsResponse restResult)
+    {
+        List<NoteLogResponse> noteLogResponses = restResult.getList();
+        if ((noteLogResponses == null) || (noteLogResponses.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            List<AssetPropertyBase>   resultList = new ArrayList<>();
+
+            for (NoteLogResponse  noteLogResponse : noteLogResponses)
+            {
+                if ((noteLogResponse != null) && (noteLogResponse.getNoteLog() != null))
+                {
+                    if (noteLogResponse.getNoteCount() > 0)
+                    {
+                        resultList.add(new AssetNoteLog(connectedAsset,
+                                                        noteLogResponse.getNoteLog(),
+                                                        new ConnectedAssetNotes(serviceName,
+                                                                                serverName,
+                                                                                userId,
+                                                                                omasServerURL,
+                                                                                noteLogResponse.getNoteLog().getGUID(),
+                                                                                connectedAsset,
+                                                                                noteLogResponse.getNoteCount(),
+                                                                                maxCacheSize,
+                                                                                restClient)));
+                    }
+                }
+            }
+
+            return resultList;
+        }
+    }
 }
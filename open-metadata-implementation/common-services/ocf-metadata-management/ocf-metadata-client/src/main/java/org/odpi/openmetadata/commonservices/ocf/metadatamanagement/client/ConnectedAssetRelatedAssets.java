@@ -149,34 +149,7 @@ public class ConnectedAssetRelatedAssets extends AssetRelatedAssets
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
             restExceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
 
-            List<RelatedAsset> beans = restResult.getList();
-            if ((beans == null) || (beans.isEmpty()))
-            {
-                return null;
-            }
-            else
-            {
-                List<AssetPropertyBase>   resultList = new ArrayList<>();
-
-                for (RelatedAsset  bean : beans)
-                {
-                    if (bean != null)
-                    {
-                        resultList.add(new AssetRelatedAsset(connectedAsset,
-                                                             bean.getRelatedAsset(),
-                                                             bean.getTypeName(),
-                                                             bean.getAttributeName(),
-                                                             new ConnectedAssetRelatedAssetProperties(serviceName,
-                                                                                                      serverName,
-                                                                                                      userId,
-                                                                                                      omasServerURL,
-                                                                                                      assetGUID,
-                                                                                                      restClient)));
-                    }
-                }
-
-                return resultList;
-            }
+            return this.getElementList(restResult);
         }
         catch (Throwable  error)
         {
@@ -185,4 +158,58 @@ public class ConnectedAssetRelatedAssets extends AssetRelatedAssets
 
         return null;
     }
+
+
+    /**
+     * Set up the first page of elements when they have been retrieved along with the asset.
+     * A response that carries an exception is ignored so the elements are retrieved when they are needed.
+     *
+     * @param firstPage response from the property server
+     */
+    void setFirstPage(RelatedAssetsResponse firstPage)
+    {
+        if ((firstPage != null) && (firstPage.getExceptionClassName() == null))
+        {
+            super.setFirstPage(this.getElementList(firstPage));
+        }
+    }
+
+
+    /**
+     * Convert the beans returned by the property server into the elements stored in the cache.
+     *
+     * @param restResult response from the property server
+     * @return list of elements or null if there are none
+     */
+    private List<AssetPropertyBase> getElementList(RelatedAssetsResponse restResult)
+    {
+        List<RelatedAsset> beans = restResult.getList();
+        if ((beans == null) || (beans.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            List<AssetPropertyBase>   resultList = new ArrayList<>();
+
+            for (RelatedAsset  bean : beans)
+            {
+                if (bean != null)
+                {
+                    resultList.add(new AssetRelatedAsset(connectedAsset,
+                                                         bean.getRelatedAsset(),
+                                                         bean.getTypeName(),
+                                                         bean.getAttributeName(),
+                                                         new ConnectedAssetRelatedAssetProperties(serviceName,
+                                                                                                  serverName,
+                                                                                                  userId,
+                                                                                                  omasServerURL,
+                                                                                                  assetGUID,
+                                                                                                  restClient)));
+                }
+            }
+
+            return resultList;
+        }
+    }
 }
@@ -149,25 +149,7 @@ public class ConnectedAssetRelatedMediaReferences extends AssetRelatedMediaRefer
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
             restExceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
 
-            List<RelatedMediaReference>  beans = restResult.getList();
-            if ((beans == null) || (beans.isEmpty()))
-            {
-                return null;
-            }
-            else
-            {
-                List<AssetPropertyBase>   resultList = new ArrayList<>();
-
-                for (RelatedMediaReference  bean : beans)
-                {
-                    if (bean != null)
-                    {
-                        resultList.add(new AssetRelatedMediaReference(connectedAsset, bean));
-                    }
-                }
-
-                return resultList;
-            }
+            return this.getElementList(restResult);
         }
         catch (Throwable  error)
         {
@@ -176,4 +158,49 @@ public class ConnectedAssetRelatedMediaReferences extends AssetRelatedMediaRefer
 
         return null;
     }
+
+
+    /**
+     * Set up the first page of elements when they have been retrieved along with the asset.
+     * A response that carries an exception is ignored so the elements are retrieved when they are needed.
+     *
+     * @param firstPage response from the property server
+     */
+    void setFirstPage(RelatedMediaReferencesResponse firstPage)
+    {
+        if ((firstPage != null) && (firstPage.getExceptionClassName() == null))
+        {
+            super.setFirstPage(this.getElementList(firstPage));
+        }
+    }
+
+
+    /**
+     * Convert the beans returned by the property server into the elements stored in the cache.
+     *
+     * @param restResult response from the property server
+     * @return list of elements or null if there are none
+     */
+    private List<AssetPropertyBase> getElementList(RelatedMediaReferencesResponse restResult)
+    {
+        List<RelatedMediaReference>  beans = restResult.getList();
+        if ((beans == null) || (beans.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            List<AssetPropertyBase>   resultList = new ArrayList<>();
+
+            for (RelatedMediaReference  bean : beans)
+            {
+                if (bean != null)
+                {
+                    resultList.add(new AssetRelatedMediaReference(connectedAsset, bean));
+                }
+            }
+
+            return resultList;
+        }
+    }
 }
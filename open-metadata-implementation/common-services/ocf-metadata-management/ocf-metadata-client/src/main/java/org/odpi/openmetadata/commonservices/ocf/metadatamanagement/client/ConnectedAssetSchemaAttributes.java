@@ -149,54 +149,83 @@ public class ConnectedAssetSchemaAttributes extends AssetSchemaAttributes
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
             restExceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
 
-            List<SchemaAttribute> schemaAttributes = restResult.getList();
-            if ((schemaAttributes == null) || (schemaAttributes.isEmpty()))
-            {
-                return null;
-            }
-            else
-            {
-                List<AssetPropertyBase> resultList = new ArrayList<>();
+            return this.getElementList(restResult);
+        }
+        catch (Throwable error)
+        {
+            restExceptionHandler.handleUnexpectedException(error, methodName, serverName, omasServerURL);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Set up the first page of elements when they have been retrieved along with the asset.
+     * A response that carries an exception is ignored so the elements are retrieved when they are needed.
+     *
+     * @param firstPage response from the property server
+     */
+    void setFirstPage(SchemaAttributesResponse firstPage)
+    {
+        if ((firstPage != null) && (firstPage.getExceptionClassName() == null))
+        {
+            super.setFirstPage(this.getElementList(firstPage));
+        }
+    }
+
 
-                for (SchemaAttribute schemaAttribute : schemaAttributes)
+    /**
+     * Convert the beans returned by the property server into the elements stored in the cache.
+     *
+     * @param restResult response from the property server
+     * @return list of elements or null if there are none
+     */
+    private List<AssetPropertyBase> getElementList(SchemaAttributesResponse restResult)
+    {
+        List<SchemaAttribute> schemaAttributes = restResult.getList();
+        if ((schemaAttributes == null) || (schemaAttributes.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            List<AssetPropertyBase> resultList = new ArrayList<>();
+
+            for (SchemaAttribute schemaAttribute : schemaAttributes)
+            {
+                if (schemaAttribute != null)
                 {
-                    if (schemaAttribute != null)
+                    SchemaType schemaTypeBean = schemaAttribute.getAttributeType();
+                    SchemaLink schemaLinkBean = schemaAttribute.getExternalAttributeType();
+
+                    if (schemaTypeBean != null)
                     {
-                        SchemaType schemaTypeBean = schemaAttribute.getAttributeType();
-                        SchemaLink schemaLinkBean = schemaAttribute.getExternalAttributeType();
-
-                        if (schemaTypeBean != null)
-                        {
-                            AssetSchemaType assetSchemaType = connectedAsset.getAssetSchemaType(serviceName,
-                                                                                                serverName,
-                                                                                                omasServerURL,
-                                                                                                userId,
-                                                                                                schemaTypeBean,
-                                                                                                restClient);
-
-                            resultList.add(new AssetSchemaAttribute(connectedAsset,
-                                                                    schemaAttribute,
-                                                                    assetSchemaType));
-                        }
-                        else if (schemaLinkBean != null)
-                        {
-                            resultList.add(new AssetSchemaAttribute(connectedAsset,
-                                                                    schemaAttribute,
-                                                                    new AssetSchemaLink(schemaLinkBean)));
-                        }
+                        AssetSchemaType assetSchemaType = connectedAsset.getAssetSchemaType(serviceName,
+                                                                                            serverName,
+                                                                                            omasServerURL,
+                                                                                            userId,
+                                                                                            schemaTypeBean,
+                                                                                            restClient);
+
+                        resultList.add(new AssetSchemaAttribute(connectedAsset,
+                                                                schemaAttribute,
+                                                                assetSchemaType));
+                    }
+                    else if (schemaLinkBean != null)
+                    {
+                        resultList.add(new AssetSchemaAttribute(connectedAsset,
+                                                                schemaAttribute,
+                                                                new AssetSchemaLink(schemaLinkBean)));
                     }
                 }
+            }
 
-                if (! resultList.isEmpty())
-                {
-                    return resultList;
-                }
+            if (! resultList.isEmpty())
+            {
+                return resultList;
             }
         }
-        catch (Throwable error)
-        {
-            restExceptionHandler.handleUnexpectedException(error, methodName, serverName, omasServerURL);
-        }
 
         return null;
     }
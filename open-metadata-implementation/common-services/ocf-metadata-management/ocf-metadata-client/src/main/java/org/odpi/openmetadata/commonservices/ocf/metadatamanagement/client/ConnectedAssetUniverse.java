@@ -4,7 +4,7 @@ package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.client;
 
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
-import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.AssetResponse;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.AssetUniverseResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
@@ -20,8 +20,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.*;
  * repositories.
  * 
  * All of ConnectedAssetUniverse's work is done in the constructors.  They extract basic information
- * about the asset and push objects to the super class to retrieve the more detailed properties.
- * These properties are only retrieved on demand.
+ * about the asset, along with the first page of each type of detailed property, in a single call to the server
+ * and push objects to the super class to retrieve the rest of the detailed properties.
+ * These later pages are only retrieved on demand.
  */
 public class ConnectedAssetUniverse extends AssetUniverse
 {
@@ -57,7 +58,7 @@ public class ConnectedAssetUniverse extends AssetUniverse
         super();
 
         OCFRESTClient restClient    = new OCFRESTClient(remoteServerName, omasServerURL);
-        AssetResponse assetResponse = this.getAssetSummary(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
+        AssetUniverseResponse assetResponse = this.getAssetUniverseResponse(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
 
         this.processAssetResponse(serviceName,
                                   remoteServerName,
@@ -101,7 +102,7 @@ public class ConnectedAssetUniverse extends AssetUniverse
 
         OCFRESTClient
                       restClient    = new OCFRESTClient(remoteServerName, omasServerURL, localServerUserId, localServerPassword);
-        AssetResponse assetResponse = this.getAssetSummary(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
+        AssetUniverseResponse assetResponse = this.getAssetUniverseResponse(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
 
         this.processAssetResponse(serviceName,
                                   remoteServerName,
@@ -138,7 +139,7 @@ public class ConnectedAssetUniverse extends AssetUniverse
     {
         super();
 
-        AssetResponse assetResponse = this.getAssetSummary(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
+        AssetUniverseResponse assetResponse = this.getAssetUniverseResponse(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID);
 
         this.processAssetResponse(serviceName,
                                   remoteServerName,
@@ -178,7 +179,7 @@ public class ConnectedAssetUniverse extends AssetUniverse
         super();
 
         OCFRESTClient restClient    = new OCFRESTClient(remoteServerName, omasServerURL);
-        AssetResponse assetResponse = this.getConnectedAssetSummary(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID, connectionGUID);
+        AssetUniverseResponse assetResponse = this.getConnectedAssetUniverseResponse(serviceName, remoteServerName, omasServerURL, restClient, userId, assetGUID, connectionGUID);
 
         this.processAssetResponse(serviceName,
                                   remoteServerName,
@@ -225,13 +226,13 @@ public class ConnectedAssetUniverse extends AssetUniverse
                                                         omasServerURL,
                                                         localServerUserId,
                                                         localServerPassword);
-        AssetResponse assetResponse = this.getConnectedAssetSummary(serviceName,
-                                                                    remoteServerName,
-                                                                    omasServerURL,
-                                                                    restClient,
-                                                                    userId,
-                                                                    assetGUID,
-                                                                    connectionGUID);
+        AssetUniverseResponse assetResponse = this.getConnectedAssetUniverseResponse(serviceName,
+                                                                                     remoteServerName,
+                                                                                     omasServerURL,
+                                                                                     restClient,
+                                                                                     userId,
+                                                                                     assetGUID,
+                                                                                     connectionGUID);
 
         this.processAssetResponse(serviceName,
                                   remoteServerName,
@@ -244,7 +245,7 @@ public class ConnectedAssetUniverse extends AssetUniverse
 
 
     /**
-     * Extract the returned properties from AssetResponse and set up the superclass.
+     * Extract the returned properties from AssetUniverseResponse and set up the superclass.
      *
      * @param serviceName calling service
      * @param remoteServerName server to call.
@@ -252,134 +253,164 @@ public class ConnectedAssetUniverse extends AssetUniverse
      * @param userId userId of calling user.
      * @param assetGUID unique identifier of the asset.
      * @param restClient client to issue REST call.
-     * @param assetResponse response from the server covering the basic asset properties and the
-     *                      counts of objects attached to it.
+     * @param assetResponse response from the server covering the basic asset properties, the
+     *                      counts of objects attached to it and the first page of each type of object.
      */
-    private void  processAssetResponse(String           serviceName,
-                                       String           remoteServerName,
-                                       String           omasServerURL,
-                                       String           userId,
-                                       String           assetGUID,
-                                       OCFRESTClient    restClient,
-                                       AssetResponse    assetResponse)
+    private void  processAssetResponse(String                serviceName,
+                                       String                remoteServerName,
+                                       String                omasServerURL,
+                                       String                userId,
+                                       String                assetGUID,
+                                       OCFRESTClient         restClient,
+                                       AssetUniverseResponse assetResponse)
     {
         super.setAssetBean(assetResponse.getAsset());
 
         if (assetResponse.getExternalIdentifierCount() > 0)
         {
-            super.externalIdentifiers = new ConnectedAssetExternalIdentifiers(serviceName,
-                                                                              remoteServerName,
-                                                                              userId,
-                                                                              omasServerURL,
-                                                                              assetGUID,
-                                                                              this,
-                                                                              assetResponse.getExternalIdentifierCount(),
-                                                                              MAX_CACHE_SIZE,
-                                                                              restClient);
+            ConnectedAssetExternalIdentifiers externalIdentifiers = new ConnectedAssetExternalIdentifiers(serviceName,
+                                                                                                          remoteServerName,
+                                                                                                          userId,
+                                                                                                          omasServerURL,
+                                                                                                          assetGUID,
+                                                                                                          this,
+                                                                                                          assetResponse.getExternalIdentifierCount(),
+                                                                                                          MAX_CACHE_SIZE,
+                                                                                                          restClient);
+
+            externalIdentifiers.setFirstPage(assetResponse.getExternalIdentifiers());
+            super.externalIdentifiers = externalIdentifiers;
         }
 
         if (assetResponse.getRelatedMediaReferenceCount() > 0)
         {
-            super.relatedMediaReferences = new ConnectedAssetRelatedMediaReferences(serviceName,
-                                                                                    remoteServerName,
-                                                                                    userId,
-                                                                                    omasServerURL,
-                                                                                    assetGUID,
-                                                                                    this,
-                                                                                    assetResponse.getRelatedMediaReferenceCount(),
-                                                                                    MAX_CACHE_SIZE,
-                                                                                    restClient);
+            ConnectedAssetRelatedMediaReferences relatedMediaReferences = new ConnectedAssetRelatedMediaReferences(serviceName,
+                                                                                                                   remoteServerName,
+                                                                                                                   userId,
+                                                                                                                   omasServerURL,
+                                                                                                                   assetGUID,
+                                                                                                                   this,
+                                                                                                                   assetResponse.getRelatedMediaReferenceCount(),
+                                                                                                                   MAX_CACHE_SIZE,
+                                                                                                                   restClient);
+
+            relatedMediaReferences.setFirstPage(assetResponse.getRelatedMediaReferences());
+            super.relatedMediaReferences = relatedMediaReferences;
         }
 
         if (assetResponse.getNoteLogsCount() > 0)
         {
-            super.noteLogs = new ConnectedAssetNoteLogs(serviceName,
-                                                        remoteServerName,
-                                                        userId,
-                                                        omasServerURL,
-                                                        assetGUID,
-                                                        this,
-                                                        assetResponse.getNoteLogsCount(),
-                                                        MAX_CACHE_SIZE,
-                                                        restClient);
+            ConnectedAssetNoteLogs noteLogs = new ConnectedAssetNoteLogs(serviceName,
+                                                                         remoteServerName,
+                                                                         userId,
+                                                                         omasServerURL,
+                                                                         assetGUID,
+                                                                         this,
+                                                                         assetResponse.getNoteLogsCount(),
+                                                                         MAX_CACHE_SIZE,
+                                                                         restClient);
+
+            noteLogs.setFirstPage(assetResponse.getNoteLogs());
+            super.noteLogs = noteLogs;
         }
 
         if (assetResponse.getExternalReferencesCount() > 0)
         {
-            super.externalReferences = new ConnectedAssetExternalReferences(serviceName,
-                                                                            remoteServerName,
-                                                                            userId,
-                                                                            omasServerURL,
-                                                                            assetGUID,
-                                                                            this,
-                                                                            assetResponse.getExternalReferencesCount(),
-                                                                            MAX_CACHE_SIZE,
-                                                                            restClient);
+            ConnectedAssetExternalReferences externalReferences = new ConnectedAssetExternalReferences(serviceName,
+                                                                                                       remoteServerName,
+                                                                                                       userId,
+                                                                                                       omasServerURL,
+                                                                                                       assetGUID,
+                                                                                                       this,
+                                                                                                       assetResponse.getExternalReferencesCount(),
+                                                                                                       MAX_CACHE_SIZE,
+                                                                                                       restClient);
+
+            externalReferences.setFirstPage(assetResponse.getExternalReferences());
+            super.externalReferences = externalReferences;
         }
 
         if (assetResponse.getConnectionCount() > 0)
         {
-            super.connections = new ConnectedAssetConnections(serviceName,
-                                                              remoteServerName,
-                                                              userId,
-                                                              omasServerURL,
-                                                              assetGUID,
-                                                              this,
-                                                              assetResponse.getConnectionCount(),
-                                                              MAX_CACHE_SIZE,
-                                                              restClient);
+            ConnectedAssetConnections connections = new ConnectedAssetConnections(serviceName,
+                                                                                  remoteServerName,
+                                                                                  userId,
+                                                                                  omasServerURL,
+                                                                                  assetGUID,
+                                                                                  this,
+                                                                                  assetResponse.getConnectionCount(),
+                                                                                  MAX_CACHE_SIZE,
+                                                                                  restClient);
+
+            connections.setFirstPage(assetResponse.getConnections());
+            super.connections = connections;
         }
 
         if (assetResponse.getLicenseCount() > 0)
         {
-            super.licenses = new ConnectedAssetLicenses(serviceName,
-                                                        remoteServerName,
-                                                        userId,
-                                                        omasServerURL,
-                                                        assetGUID,
-                                                        this,
-                                                        assetResponse.getLicenseCount(),
-                                                        MAX_CACHE_SIZE,
-                                                        restClient);
+            ConnectedAssetLicenses licenses = new ConnectedAssetLicenses(serviceName,
+                                                                         remoteServerName,
+                                                                         userId,
+                                                                         omasServerURL,
+                                                                         assetGUID,
+                                                                         this,
+                                                                         assetResponse.getLicenseCount(),
+                                                                         MAX_CACHE_SIZE,
+                                                                         restClient);
+
+            licenses.setFirstPage(assetResponse.getLicenses());
+            super.licenses = licenses;
         }
 
         if (assetResponse.getCertificationCount() > 0)
         {
-            super.certifications = new ConnectedAssetCertifications(serviceName,
-                                                                    remoteServerName,
-                                                                    userId,
-                                                                    omasServerURL,
-                                                                    assetGUID,
-                                                                    this,
-                                                                    assetResponse.getCertificationCount(),
-                                                                    MAX_CACHE_SIZE,
-                                                                    restClient);
+            ConnectedAssetCertifications certifications = new ConnectedAssetCertifications(serviceName,
+                                                                                           remoteServerName,
+                                                                                           userId,
+                                                                                           omasServerURL,
+                                                                                           assetGUID,
+                                                                                           this,
+                                                                                           assetResponse.getCertificationCount(),
+                                                                                           MAX_CACHE_SIZE,
+                                                                                           restClient);
+
+            certifications.setFirstPage(assetResponse.getCertifications());
+            super.certifications = certifications;
         }
 
-        super.feedback = new ConnectedAssetFeedback(serviceName,
-                                                    remoteServerName,
-                                                    userId,
-                                                    omasServerURL,
-                                                    assetGUID,
-                                                    this,
-                                                    assetResponse.getCommentCount(),
-                                                    assetResponse.getLikeCount(),
-                                                    assetResponse.getRatingsCount(),
-                                                    assetResponse.getInformalTagCount(),
-                                                    MAX_CACHE_SIZE,
-                                                    restClient);
+        ConnectedAssetFeedback feedback = new ConnectedAssetFeedback(serviceName,
+                                                                     remoteServerName,
+                                                                     userId,
+                                                                     omasServerURL,
+                                                                     assetGUID,
+                                                                     this,
+                                                                     assetResponse.getCommentCount(),
+                                                                     assetResponse.getLikeCount(),
+                                                                     assetResponse.getRatingsCount(),
+                                                                     assetResponse.getInformalTagCount(),
+                                                                     MAX_CACHE_SIZE,
+                                                                     restClient);
+
+        feedback.setFirstPages(assetResponse.getComments(),
+                               assetResponse.getLikes(),
+                               assetResponse.getRatings(),
+                               assetResponse.getInformalTags());
+        super.feedback = feedback;
 
         if (assetResponse.getKnownLocationsCount() > 0)
         {
-            super.knownLocations = new ConnectedAssetLocations(serviceName,
-                                                               remoteServerName,
-                                                               userId,
-                                                               omasServerURL,
-                                                               assetGUID,
-                                                               this,
-                                                               assetResponse.getKnownLocationsCount(),
-                                                               MAX_CACHE_SIZE,
-                                                               restClient);
+            ConnectedAssetLocations knownLocations = new ConnectedAssetLocations(serviceName,
+                                                                                 remoteServerName,
+                                                                                 userId,
+                                                                                 omasServerURL,
+                                                                                 assetGUID,
+                                                                                 this,
+                                                                                 assetResponse.getKnownLocationsCount(),
+                                                                                 MAX_CACHE_SIZE,
+                                                                                 restClient);
+
+            knownLocations.setFirstPage(assetResponse.getKnownLocations());
+            super.knownLocations = knownLocations;
         }
 
         super.lineage = new ConnectedAssetLineage(serviceName,
@@ -393,15 +424,18 @@ public class ConnectedAssetUniverse extends AssetUniverse
 
         if (assetResponse.getRelatedAssetCount() > 0)
         {
-            super.relatedAssets = new ConnectedAssetRelatedAssets(serviceName,
-                                                                  remoteServerName,
-                                                                  userId,
-                                                                  omasServerURL,
-                                                                  assetGUID,
-                                                                  this,
-                                                                  assetResponse.getRelatedAssetCount(),
-                                                                  MAX_CACHE_SIZE,
-                                                                  restClient);
+            ConnectedAssetRelatedAssets relatedAssets = new ConnectedAssetRelatedAssets(serviceName,
+                                                                                        remoteServerName,
+                                                                                        userId,
+                                                                                        omasServerURL,
+                                                                                        assetGUID,
+                                                                                        this,
+                                                                                        assetResponse.getRelatedAssetCount(),
+                                                                                        MAX_CACHE_SIZE,
+                                                                                        restClient);
+
+            relatedAssets.setFirstPage(assetResponse.getRelatedAssets());
+            super.relatedAssets = relatedAssets;
         }
 
         if (assetResponse.getSchemaType() != null)
@@ -412,13 +446,18 @@ public class ConnectedAssetUniverse extends AssetUniverse
                                                    userId,
                                                    assetResponse.getSchemaType(),
                                                    restClient);
+
+            if (super.schema instanceof ConnectedAssetComplexSchemaType)
+            {
+                ((ConnectedAssetComplexSchemaType)super.schema).setFirstAttributePage(assetResponse.getSchemaAttributes());
+            }
         }
     }
 
 
     /**
-     * Returns the basic information about the asset.  The connection guid allows the short description for the
-     * asset to be filled out.
+     * Returns the basic information about the asset and the first page of each type of object attached to it.
+     * The connection guid allows the short description for the asset to be filled out.
      *
      * @param serviceName calling service
      * @param remoteServerName  name of the server.
@@ -428,37 +467,38 @@ public class ConnectedAssetUniverse extends AssetUniverse
      * @param assetGUID  String   unique id for asset.
      * @param connectionGUID  unique id for connection used to access asset.
      *
-     * @return a bean with the basic properties about the asset.
+     * @return a bean with the basic properties about the asset and the first page of each type of attached object.
      * @throws InvalidParameterException the asset GUID is null or invalid.
      * @throws PropertyServerException there is a problem retrieving the asset properties from the property server.
      * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
      */
-    private AssetResponse getConnectedAssetSummary(String        serviceName,
-                                                   String        remoteServerName,
-                                                   String        omasServerURL,
-                                                   OCFRESTClient restClient,
-                                                   String        userId,
-                                                   String        assetGUID,
-                                                   String        connectionGUID) throws InvalidParameterException,
-                                                                                        PropertyServerException,
-                                                                                        UserNotAuthorizedException
+    private AssetUniverseResponse getConnectedAssetUniverseResponse(String        serviceName,
+                                                                    String        remoteServerName,
+                                                                    String        omasServerURL,
+                                                                    OCFRESTClient restClient,
+                                                                    String        userId,
+                                                                    String        assetGUID,
+                                                                    String        connectionGUID) throws InvalidParameterException,
+                                                                                                         PropertyServerException,
+                                                                                                         UserNotAuthorizedException
     {
-        final String   methodName = "getConnectedAssetSummary";
-        final String   urlTemplate = "/servers/{0}/open-metadata/common-services/{1}/connected-asset/users/{2}/assets/{3}/via-connection/{4}";
+        final String   methodName = "getConnectedAssetUniverse";
+        final String   urlTemplate = "/servers/{0}/open-metadata/common-services/{1}/connected-asset/users/{2}/assets/{3}/via-connection/{4}/universe?maxElements={5}";
 
         invalidParameterHandler.validateOMAGServerPlatformURL(omasServerURL, remoteServerName, methodName);
 
-        AssetResponse  restResult = null;
+        AssetUniverseResponse  restResult = null;
 
         try
         {
-            restResult = restClient.callAssetGetRESTCall(methodName,
-                                                         omasServerURL + urlTemplate,
-                                                         remoteServerName,
-                                                         serviceName,
-                                                         userId,
-                                                         assetGUID,
-                                                         connectionGUID);
+            restResult = restClient.callAssetUniverseGetRESTCall(methodName,
+                                                                 omasServerURL + urlTemplate,
+                                                                 remoteServerName,
+                                                                 serviceName,
+                                                                 userId,
+                                                                 assetGUID,
+                                                                 connectionGUID,
+                                                                 MAX_CACHE_SIZE);
 
             restExceptionHandler.detectAndThrowInvalidParameterException(methodName, restResult);
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
@@ -478,8 +518,8 @@ public class ConnectedAssetUniverse extends AssetUniverse
 
 
     /**
-     * Returns the basic information about the asset.  Note shortDescription is null in the returned asset because
-     * there is no linked connection object.
+     * Returns the basic information about the asset and the first page of each type of object attached to it.
+     * Note shortDescription is null in the returned asset because there is no linked connection object.
      *
      * @param serviceName calling service
      * @param remoteServerName  name of the server.
@@ -488,35 +528,36 @@ public class ConnectedAssetUniverse extends AssetUniverse
      * @param userId     String   userId of user making request.
      * @param assetGUID  String   unique id for asset.
      *
-     * @return a bean with the basic properties about the asset.
+     * @return a bean with the basic properties about the asset and the first page of each type of attached object.
      * @throws InvalidParameterException the asset GUID is null or invalid.
      * @throws PropertyServerException there is a problem retrieving the asset properties from the property server.
      * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
      */
-    private AssetResponse getAssetSummary(String        serviceName,
-                                          String        remoteServerName,
-                                          String        omasServerURL,
-                                          OCFRESTClient restClient,
-                                          String        userId,
-                                          String        assetGUID) throws InvalidParameterException,
-                                                                          PropertyServerException,
-                                                                          UserNotAuthorizedException
+    private AssetUniverseResponse getAssetUniverseResponse(String        serviceName,
+                                                           String        remoteServerName,
+                                                           String        omasServerURL,
+                                                           OCFRESTClient restClient,
+                                                           String        userId,
+                                                           String        assetGUID) throws InvalidParameterException,
+                                                                                           PropertyServerException,
+                                                                                           UserNotAuthorizedException
     {
-        final String   methodName = "getAssetSummary";
-        final String   urlTemplate = "/servers/{0}/open-metadata/common-services/{1}/connected-asset/users/{2}/assets/{3}";
+        final String   methodName = "getAssetUniverse";
+        final String   urlTemplate = "/servers/{0}/open-metadata/common-services/{1}/connected-asset/users/{2}/assets/{3}/universe?maxElements={4}";
         
         invalidParameterHandler.validateOMAGServerPlatformURL(omasServerURL, remoteServerName, methodName);
 
-        AssetResponse  restResult = null;
+        AssetUniverseResponse  restResult = null;
 
         try
         {
-            restResult = restClient.callAssetGetRESTCall(methodName,
-                                                         omasServerURL + urlTemplate,
-                                                         remoteServerName,
-                                                         serviceName,
-                                                         userId,
-                                                         assetGUID);
+            restResult = restClient.callAssetUniverseGetRESTCall(methodName,
+                                                                 omasServerURL + urlTemplate,
+                                                                 remoteServerName,
+                                                                 serviceName,
+                                                                 userId,
+                                                                 assetGUID,
+                                                                 MAX_CACHE_SIZE);
 
             restExceptionHandler.detectAndThrowInvalidParameterException(methodName, restResult);
             restExceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Comment;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ComplexSchemaType;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.NoteLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
@@ -356,6 +357,202 @@ public class OCFMetadataRESTServices
     }
 
 
+    /**
+     * Returns the basic information about the asset along with the first page of each of the requested types
+     * of connected elements.  The connection guid allows the short description for the asset to be filled out.
+     * This saves the caller from issuing a call for each type of connected element.
+     *
+     * @param serverName  name of the server.
+     * @param serviceURLName  String   name of the service that created the connector that issued this request.
+     * @param userId     String   userId of user making request.
+     * @param assetGUID  String   unique id for asset.
+     * @param connectionGUID  unique id for connection used to access asset.
+     * @param facets  names of the types of connected elements to return - null means all types.
+     * @param maxElements  int      maximum number of elements of each type to return on the call.
+     *
+     * @return a bean with the basic properties about the asset and its connected elements or
+     * InvalidParameterException - the asset GUID is null or invalid or
+     * UnrecognizedAssetGUIDException - the asset GUID is not recognized by the property server or
+     * UnrecognizedConnectionGUIDException - the connection GUID is not recognized by the property server or
+     * PropertyServerException - there is a problem retrieving the asset properties from the property server or
+     * UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    public AssetUniverseResponse getConnectedAssetUniverse(String       serverName,
+                                                           String       serviceURLName,
+                                                           String       userId,
+                                                           String       assetGUID,
+                                                           String       connectionGUID,
+                                                           List<String> facets,
+                                                           int          maxElements)
+    {
+        final String methodName = "getConnectedAssetUniverse";
+
+        return this.getAssetUniverseResponse(serverName,
+                                             serviceURLName,
+                                             userId,
+                                             assetGUID,
+                                             connectionGUID,
+                                             facets,
+                                             maxElements,
+                                             methodName);
+    }
+
+
+    /**
+     * Returns the basic information about the asset along with the first page of each of the requested types
+     * of connected elements.
+     *
+     * @param serverName String   name of server instance to call.
+     * @param serviceURLName  String   name of the service that created the connector that issued this request.
+     * @param userId     String   userId of user making request.
+     * @param assetGUID  String   unique id for asset.
+     * @param facets  names of the types of connected elements to return - null means all types.
+     * @param maxElements  int      maximum number of elements of each type to return on the call.
+     *
+     * @return a bean with the basic properties about the asset and its connected elements or
+     * InvalidParameterException - the userId is null or invalid or
+     * UnrecognizedAssetGUIDException - the GUID is null or invalid or
+     * PropertyServerException - there is a problem retrieving the asset properties from the property server or
+     * UserNotAuthorizedException - the requesting user is not authorized to issue this request.
+     */
+    public AssetUniverseResponse getAssetUniverse(String       serverName,
+                                                  String       serviceURLName,
+                                                  String       userId,
+                                                  String       assetGUID,
+                                                  List<String> facets,
+                                                  int          maxElements)
+    {
+        final String methodName = "getAssetUniverse";
+
+        return this.getAssetUniverseResponse(serverName,
+                                             serviceURLName,
+                                             userId,
+                                             assetGUID,
+                                             null,
+                                             facets,
+                                             maxElements,
+                                             methodName);
+    }
+
+
+    /**
+     * Retrieve the asset and its counts, then the first page of each requested type of connected element
+     * that the asset has.  Each type of connected element is retrieved using the same method as the specific
+     * REST API call so a problem with one type is returned in its own response.
+     *
+     * @param serverName  name of the server.
+     * @param serviceURLName  String   name of the service that created the connector that issued this request.
+     * @param userId     String   userId of user making request.
+     * @param assetGUID  String   unique id for asset.
+     * @param connectionGUID  unique id for connection used to access asset - may be null.
+     * @param facets  names of the types of connected elements to return - null means all types.
+     * @param maxElements  int      maximum number of elements of each type to return on the call.
+     * @param methodName calling method
+     *
+     * @return a bean with the basic properties about the asset and its connected elements or exception details
+     */
+    private AssetUniverseResponse getAssetUniverseResponse(String       serverName,
+                                                           String       serviceURLName,
+                                                           String       userId,
+                                                           String       assetGUID,
+                                                           String       connectionGUID,
+                                                           List<String> facets,
+                                                           int          maxElements,
+                                                           String       methodName)
+    {
+        AssetUniverseResponse response = new AssetUniverseResponse(this.getAssetResponse(serverName,
+                                                                                         serviceURLName,
+                                                                                         userId,
+                                                                                         assetGUID,
+                                                                                         connectionGUID,
+                                                                                         methodName));
+
+        if (response.getExceptionClassName() != null)
+        {
+            return response;
+        }
+
+        if ((response.getCertificationCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.CERTIFICATIONS)))
+        {
+            response.setCertifications(this.getCertifications(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getCommentCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.COMMENTS)))
+        {
+            response.setComments(this.getAssetComments(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getConnectionCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.CONNECTIONS)))
+        {
+            response.setConnections(this.getConnections(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getExternalIdentifierCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.EXTERNAL_IDENTIFIERS)))
+        {
+            response.setExternalIdentifiers(this.getExternalIdentifiers(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getExternalReferencesCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.EXTERNAL_REFERENCES)))
+        {
+            response.setExternalReferences(this.getExternalReferences(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getInformalTagCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.INFORMAL_TAGS)))
+        {
+            response.setInformalTags(this.getInformalTags(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getLicenseCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.LICENSES)))
+        {
+            response.setLicenses(this.getLicenses(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getLikeCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.LIKES)))
+        {
+            response.setLikes(this.getLikes(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getKnownLocationsCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.KNOWN_LOCATIONS)))
+        {
+            response.setKnownLocations(this.getKnownLocations(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getNoteLogsCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.NOTE_LOGS)))
+        {
+            response.setNoteLogs(this.getNoteLogs(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getRatingsCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.RATINGS)))
+        {
+            response.setRatings(this.getRatings(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getRelatedAssetCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.RELATED_ASSETS)))
+        {
+            response.setRelatedAssets(this.getRelatedAssets(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+        if ((response.getRelatedMediaReferenceCount() > 0) && (this.isFacetRequested(facets, AssetUniverseResponse.RELATED_MEDIA_REFERENCES)))
+        {
+            response.setRelatedMediaReferences(this.getRelatedMediaReferences(serverName, serviceURLName, userId, assetGUID, 0, maxElements));
+        }
+
+        if ((response.getSchemaType() instanceof ComplexSchemaType) && (this.isFacetRequested(facets, AssetUniverseResponse.SCHEMA_ATTRIBUTES)))
+        {
+            ComplexSchemaType schemaType = (ComplexSchemaType)response.getSchemaType();
+
+            if (schemaType.getAttributeCount() > 0)
+            {
+                response.setSchemaAttributes(this.getSchemaAttributes(serverName, serviceURLName, userId, schemaType.getGUID(), 0, maxElements));
+            }
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Return whether the caller has requested a type of connected element.
+     *
+     * @param facets names of the requested types - null or empty means all types
+     * @param facet name of the type to test
+     * @return boolean result
+     */
+    private boolean isFacetRequested(List<String> facets,
+                                     String       facet)
+    {
+        return (facets == null) || (facets.isEmpty()) || (facets.contains(facet));
+    }
+
+
     /**
      * Returns the list of certifications for the asset.
      *
@@ -8,6 +8,8 @@ import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.rest.*;
 import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.server.OCFMetadataRESTServices;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * The ConnectedAssetResource is the server-side implementation of the REST services needed to
  * populate the Open Connector Framework (OCF) Connected Asset Properties.
@@ -155,6 +157,68 @@ public class ConnectedAssetResource
     }
 
 
+    /**
+     * Returns the basic information about the asset along with the first page of each of the requested types
+     * of connected elements.  The connection guid allows the short description for the asset to be filled out.
+     *
+     * @param serverName      String   name of the server.
+     * @param serviceURLName  String   name of the service that created the connector that issued this request.
+     * @param userId          String   userId of user making request.
+     * @param assetGUID       String   unique id for asset.
+     * @param connectionGUID  unique   id for connection used to access asset.
+     * @param facets          names of the types of connected elements to return - null means all types.
+     * @param maxElements     int      maximum number of elements of each type to return on the call.
+     *
+     * @return a bean with the basic properties about the asset and its connected elements or
+     * InvalidParameterException - the asset GUID is null or invalid or
+     * UnrecognizedAssetGUIDException - the asset GUID is not recognized by the property server or
+     * UnrecognizedConnectionGUIDException - the connection GUID is not recognized by the property server or
+     * PropertyServerException - there is a problem retrieving the asset properties from the property server or
+     * UserNotAuthorizedException - the requesting user is not authorized to issue this request.
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/assets/{assetGUID}/via-connection/{connectionGUID}/universe")
+
+    public AssetUniverseResponse getConnectedAssetUniverse(@PathVariable                   String       serverName,
+                                                           @PathVariable                   String       serviceURLName,
+                                                           @PathVariable                   String       userId,
+                                                           @PathVariable                   String       assetGUID,
+                                                           @PathVariable                   String       connectionGUID,
+                                                           @RequestParam(required = false) List<String> facets,
+                                                           @RequestParam                   int          maxElements)
+    {
+        return restAPI.getConnectedAssetUniverse(serverName, serviceURLName, userId, assetGUID, connectionGUID, facets, maxElements);
+    }
+
+
+    /**
+     * Returns the basic information about the asset along with the first page of each of the requested types
+     * of connected elements.
+     *
+     * @param serverName  String   name of server instance to call.
+     * @param serviceURLName String   name of the service that created the connector that issued this request.
+     * @param userId      String   userId of user making request.
+     * @param assetGUID   String   unique id for asset.
+     * @param facets      names of the types of connected elements to return - null means all types.
+     * @param maxElements int      maximum number of elements of each type to return on the call.
+     * @return a bean with the basic properties about the asset and its connected elements or
+     * InvalidParameterException - the userId is null or invalid or
+     * UnrecognizedAssetGUIDException - the GUID is null or invalid or
+     * PropertyServerException - there is a problem retrieving the asset properties from the property server or
+     * UserNotAuthorizedException - the requesting user is not authorized to issue this request.
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/assets/{assetGUID}/universe")
+
+    public AssetUniverseResponse getAssetUniverse(@PathVariable                   String       serverName,
+                                                  @PathVariable                   String       serviceURLName,
+                                                  @PathVariable                   String       userId,
+                                                  @PathVariable                   String       assetGUID,
+                                                  @RequestParam(required = false) List<String> facets,
+                                                  @RequestParam                   int          maxElements)
+    {
+        return restAPI.getAssetUniverse(serverName, serviceURLName, userId, assetGUID, facets, maxElements);
+    }
+
+
     /**
      * Returns the list of certifications for the asset.
      *
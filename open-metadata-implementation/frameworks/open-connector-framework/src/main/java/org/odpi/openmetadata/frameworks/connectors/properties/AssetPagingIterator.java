@@ -179,6 +179,25 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
     }
 
 
+    /**
+     * Set up the first page of elements when they have been retrieved along with the parent asset.
+     * This saves a call to the property (metadata) server when the caller starts to step through the list.
+     * The page is ignored once the iterator has started to retrieve elements itself.
+     *
+     * @param firstPage elements starting from the beginning of the full list
+     */
+    public void setFirstPage(List<AssetPropertyBase> firstPage)
+    {
+        if ((firstPage != null) && (cachedElementStart == 0) && (cachedElementList.isEmpty()))
+        {
+            int pageSize = Math.min(Math.min(firstPage.size(), maxCacheSize), totalElementCount);
+
+            cachedElementList = new ArrayList<>(firstPage.subList(0, pageSize));
+            cachedElementPointer = 0;
+        }
+    }
+
+
     /**
      * The iterator can only be used once to step through the elements.  This method returns
      * a boolean to indicate if it has got to the end of the list yet.
@@ -64,6 +64,20 @@ public abstract class AssetPropertyIteratorBase extends AssetPropertyBase
     }
 
 
+    /**
+     * Set up the first page of elements when they have been retrieved along with the parent asset.
+     *
+     * @param firstPage elements starting from the beginning of the full list
+     */
+    protected void setFirstPage(List<AssetPropertyBase> firstPage)
+    {
+        if (pagingIterator != null)
+        {
+            pagingIterator.setFirstPage(firstPage);
+        }
+    }
+
+
     /**
      * Method implemented by a subclass that ensures the cloning process is a deep clone.
      *
@@ -5,6 +5,9 @@ package org.odpi.openmetadata.frameworks.connectors.properties;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFRuntimeException;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.testng.Assert.assertTrue;
 
 
@@ -257,6 +260,44 @@ public class TestAssetPagingIterator
 
     }
 
+    /**
+     * Validate that a first page supplied with the parent asset is used without calling the server,
+     * and that clones share it.
+     */
+    @Test public void testFirstPage()
+    {
+        MockDisconnectedAssetPropertyIterator iterator = new MockDisconnectedAssetPropertyIterator(null, 15, 10);
+        List<AssetPropertyBase>               firstPage = new ArrayList<>();
+
+        for (int i=0; i < 12; i++)
+        {
+            firstPage.add(new MockAssetProperty(null));
+        }
+
+        iterator.setFirstPage(firstPage);
+
+        MockDisconnectedAssetPropertyIterator iteratorClone = new MockDisconnectedAssetPropertyIterator(null, iterator);
+
+        for (MockDisconnectedAssetPropertyIterator testIterator : new MockDisconnectedAssetPropertyIterator[]{iterator, iteratorClone})
+        {
+            for (int i=0; i < 10; i++)
+            {
+                assertTrue(testIterator.next() != null);
+            }
+
+            try
+            {
+                testIterator.next();
+                assertTrue(false);
+            }
+            catch (OCFRuntimeException err)
+            {
+                assertTrue(err.getMessage().contains("OCF-PROPERTIES-404-002 "));
+            }
+        }
+    }
+
+
     /**
      * Validate that the remove request throws an exception.
      */
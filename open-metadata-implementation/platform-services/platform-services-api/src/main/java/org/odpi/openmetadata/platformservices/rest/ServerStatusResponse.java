@@ -21,11 +21,12 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonIgnoreProperties(ignoreUnknown=true)
 public class ServerStatusResponse extends FFDCResponseBase
 {
-    private String                          serverName      = null;
-    private boolean                         isActive        = true;
-    private Date                            serverStartTime = null;
-    private Date                            serverEndTime   = null;
-    private List<OMAGServerInstanceHistory> serverHistory   = null;
+    private String                          serverName          = null;
+    private boolean                         isActive            = true;
+    private Date                            serverStartTime     = null;
+    private Date                            serverEndTime       = null;
+    private List<OMAGServerInstanceHistory> serverHistory       = null;
+    private Map<String, Long>               serviceStartUpTimes = null;
 
     /**
      * Default constructor
@@ -52,6 +53,7 @@ public class ServerStatusResponse extends FFDCResponseBase
             serverStartTime = template.getServerStartTime();
             serverEndTime = template.getServerEndTime();
             serverHistory = template.getServerHistory();
+            serviceStartUpTimes = template.getServiceStartUpTimes();
         }
     }
 
@@ -177,6 +179,39 @@ public class ServerStatusResponse extends FFDCResponseBase
     }
 
 
+    /**
+     * Return the time taken to start each of the server's services when it last started.
+     *
+     * @return map of service name to elapsed milliseconds
+     */
+    public Map<String, Long> getServiceStartUpTimes()
+    {
+        if (serviceStartUpTimes == null)
+        {
+            return null;
+        }
+        else if (serviceStartUpTimes.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return new LinkedHashMap<>(serviceStartUpTimes);
+        }
+    }
+
+
+    /**
+     * Set up the time taken to start each of the server's services when it last started.
+     *
+     * @param serviceStartUpTimes map of service name to elapsed milliseconds
+     */
+    public void setServiceStartUpTimes(Map<String, Long> serviceStartUpTimes)
+    {
+        this.serviceStartUpTimes = serviceStartUpTimes;
+    }
+
+
     /**
      * JSON-like toString
      *
@@ -191,6 +226,7 @@ public class ServerStatusResponse extends FFDCResponseBase
                 ", serverStartTime=" + serverStartTime +
                 ", serverEndTime=" + serverEndTime +
                 ", serverHistory=" + serverHistory +
+                ", serviceStartUpTimes=" + serviceStartUpTimes +
                 ", active=" + isActive() +
                 ", relatedHTTPCode=" + getRelatedHTTPCode() +
                 ", exceptionClassName='" + getExceptionClassName() + '\'' +
@@ -228,7 +264,8 @@ public class ServerStatusResponse extends FFDCResponseBase
                 Objects.equals(getServerName(), that.getServerName()) &&
                 Objects.equals(getServerStartTime(), that.getServerStartTime()) &&
                 Objects.equals(getServerEndTime(), that.getServerEndTime()) &&
-                Objects.equals(getServerHistory(), that.getServerHistory());
+                Objects.equals(getServerHistory(), that.getServerHistory()) &&
+                Objects.equals(getServiceStartUpTimes(), that.getServiceStartUpTimes());
     }
 
 
@@ -241,6 +278,6 @@ public class ServerStatusResponse extends FFDCResponseBase
     public int hashCode()
     {
         return Objects.hash(super.hashCode(), getServerName(), isActive(), getServerStartTime(), getServerEndTime(),
-                            getServerHistory());
+                            getServerHistory(), getServiceStartUpTimes());
     }
 }
@@ -266,7 +266,7 @@ public class OMAGServerPlatformActiveServices
 
 
     /**
-     * Return information about when the server has been active.
+     * Return information about when the server has been active and how long its services took to start.
      *
      * @param userId name of the user making the request
      * @param serverName name of the server of interest
@@ -288,6 +288,7 @@ public class OMAGServerPlatformActiveServices
             response.setServerStartTime(serverInstanceMap.getServerStartTime(userId, serverName));
             response.setServerEndTime(serverInstanceMap.getServerEndTime(userId, serverName));
             response.setServerHistory(serverInstanceMap.getServerHistory(userId, serverName));
+            response.setServiceStartUpTimes(serverInstanceMap.getServiceStartUpTimes(userId, serverName));
         }
         catch (InvalidParameterException error)
         {
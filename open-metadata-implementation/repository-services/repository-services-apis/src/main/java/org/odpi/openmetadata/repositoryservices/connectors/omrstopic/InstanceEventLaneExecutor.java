@@ -0,0 +1,249 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.future.CompletedFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.DelegatableFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InstanceEventLaneExecutor spreads the processing of inbound instance events over a fixed number of
+ * worker lanes.  Each lane is a single thread so events that are assigned to the same lane are processed
+ * in the order they were received.  The lane is chosen from the hash of the GUID of the instance that the
+ * event is about.  This means the events for a particular entity or relationship are always processed
+ * in order while the events for unrelated instances are processed in parallel.
+ * <p>
+ * The listener thread of the event bus connector keeps track of the processing of each event through
+ * the InternalOMRSEventProcessingContext.  Since this context is thread-local, the message identifier is
+ * passed to the lane thread and any asynchronous processing registered by the topic listeners while
+ * running on the lane is passed back to the listener thread through a DelegatableFuture.  The event is
+ * therefore only treated as consumed once the lane has finished with it.
+ * </p>
+ * <p>
+ * Each lane has a bounded queue.  When the queue of a lane is full, the thread submitting an event waits
+ * until there is space.  This stops the listener thread taking more events from the event bus connector
+ * than the lanes can process, so that a slow repository shows up as a growing event bus queue and the event
+ * bus connector's own flow control is triggered.
+ * </p>
+ */
+class InstanceEventLaneExecutor
+{
+    private static final Logger log = LoggerFactory.getLogger(InstanceEventLaneExecutor.class);
+
+    private static final String laneThreadName = "OMRSInstanceEventLane";
+
+    private List<ExecutorService> lanes = new ArrayList<>();
+
+
+    /**
+     * Create the lanes.
+     *
+     * @param numberOfLanes number of worker lanes (and threads) to create
+     * @param laneQueueSize maximum number of events waiting on each lane
+     * @param connectionName name of the topic connector's connection used to name the threads
+     */
+    InstanceEventLaneExecutor(int    numberOfLanes,
+                              int    laneQueueSize,
+                              String connectionName)
+    {
+        for (int i = 0; i < numberOfLanes; i++)
+        {
+            final String threadName = laneThreadName + "-" + i + ": " + connectionName;
+
+            lanes.add(new ThreadPoolExecutor(1,
+                                             1,
+                                             0L,
+                                             TimeUnit.MILLISECONDS,
+                                             new ArrayBlockingQueue<>(laneQueueSize),
+                                             (runnable) ->
+                                             {
+                                                 Thread thread = new Thread(runnable, threadName);
+
+                                                 thread.setDaemon(true);
+                                                 return thread;
+                                             },
+                                             InstanceEventLaneExecutor::waitForSpaceOnLane));
+        }
+    }
+
+
+    /**
+     * Called when the queue of a lane is full.  The submitting thread waits until the lane has space
+     * for the event rather than the event being discarded.
+     *
+     * @param eventProcessor processing for the event
+     * @param lane lane that is full
+     */
+    private static void waitForSpaceOnLane(Runnable            eventProcessor,
+                                           ThreadPoolExecutor  lane)
+    {
+        if (lane.isShutdown())
+        {
+            throw new RejectedExecutionException("Instance event lane is shut down");
+        }
+
+        try
+        {
+            lane.getQueue().put(eventProcessor);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for space on instance event lane", error);
+        }
+    }
+
+
+    /**
+     * Return the number of lanes.
+     *
+     * @return int
+     */
+    int getNumberOfLanes()
+    {
+        return lanes.size();
+    }
+
+
+    /**
+     * Return the lane that processes the events for the supplied instance.
+     *
+     * @param instanceGUID unique identifier of the instance
+     * @return index of the lane
+     */
+    int getLane(String instanceGUID)
+    {
+        return Math.floorMod(instanceGUID.hashCode(), lanes.size());
+    }
+
+
+    /**
+     * Queue the processing of an event for an instance onto its lane.  The returned future is also registered
+     * with the calling thread's event processing context so that the event is not treated as consumed until
+     * the lane has processed it and any asynchronous processing it started has completed.
+     *
+     * @param instanceGUID unique identifier of the instance that the event is about
+     * @param eventProcessor processing for the event
+     * @return future that completes when the processing of the event is finished
+     */
+    OMRSFuture submit(String   instanceGUID,
+                      Runnable eventProcessor)
+    {
+        InternalOMRSEventProcessingContext listenerContext = InternalOMRSEventProcessingContext.getInstance();
+        DelegatableFuture                  eventResult     = new DelegatableFuture();
+        String                             messageId       = listenerContext.getCurrentMessageId();
+
+        listenerContext.addAsyncProcessingResult(eventResult);
+
+        try
+        {
+            lanes.get(this.getLane(instanceGUID)).execute(() ->
+            {
+                /*
+                 * The lane thread has its own processing context that collects any asynchronous
+                 * processing started by the topic listeners for this event.
+                 */
+                InternalOMRSEventProcessingContext.clear();
+                InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId(messageId);
+
+                try
+                {
+                    eventProcessor.run();
+                }
+                finally
+                {
+                    eventResult.setDelegate(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult());
+                    InternalOMRSEventProcessingContext.clear();
+                }
+            });
+        }
+        catch (RejectedExecutionException error)
+        {
+            /*
+             * The lanes are shutting down so the event is not processed.  The future is completed so that
+             * the event bus connector is not left waiting for it.
+             */
+            log.debug("Instance event for " + instanceGUID + " not processed: " + error.getMessage());
+            eventResult.setDelegate(CompletedFuture.INSTANCE);
+        }
+
+        return eventResult;
+    }
+
+
+    /**
+     * Wait for all of the events queued on the lanes to be processed.  This is used before processing an
+     * event that is not routed to a lane so that the order of events across all instances is preserved
+     * around it.
+     *
+     * @throws InterruptedException the calling thread was interrupted while waiting
+     */
+    void waitForLanes() throws InterruptedException
+    {
+        List<Future<?>> markers = new ArrayList<>();
+
+        for (ExecutorService lane : lanes)
+        {
+            try
+            {
+                markers.add(lane.submit(() -> { }));
+            }
+            catch (RejectedExecutionException error)
+            {
+                log.debug("Lane marker not queued: " + error.getMessage());
+            }
+        }
+
+        for (Future<?> marker : markers)
+        {
+            try
+            {
+                marker.get();
+            }
+            catch (ExecutionException error)
+            {
+                log.debug("Lane marker failed: " + error.toString());
+            }
+        }
+    }
+
+
+    /**
+     * Stop the lanes, allowing queued events a short time to complete.
+     */
+    void shutdown()
+    {
+        for (ExecutorService lane : lanes)
+        {
+            lane.shutdown();
+        }
+
+        for (ExecutorService lane : lanes)
+        {
+            try
+            {
+                if (! lane.awaitTermination(5, TimeUnit.SECONDS))
+                {
+                    lane.shutdownNow();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
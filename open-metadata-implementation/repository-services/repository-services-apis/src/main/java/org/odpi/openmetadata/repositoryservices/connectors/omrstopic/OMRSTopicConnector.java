@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
@@ -13,12 +15,14 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1InstanceSection;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.slf4j.Logger;
@@ -26,6 +30,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -63,14 +69,41 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private static final String connectorName    = "OMRSTopicListener";
 
+    /*
+     * ObjectReader and ObjectWriter are immutable and thread-safe so a single pre-configured instance
+     * of each is shared by all topic connectors rather than building a new ObjectMapper for every event.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader eventReader  = objectMapper.readerFor(OMRSEventBean.class);
+    private static final ObjectWriter eventWriter  = objectMapper.writerFor(OMRSEventBean.class);
+
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
+    /*
+     * Services register their listeners while the server is starting and may start at the same time.
+     */
+    private List<OMRSTopicListener>          internalTopicListeners = new CopyOnWriteArrayList<>();
     private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
     private String                    connectionName       = connectorName;
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
 
+    /*
+     * Inbound instance events are processed on worker lanes chosen from the instance's GUID.  The number of
+     * lanes can be set with the instanceEventLanes configuration property.  Zero means that instance events
+     * are processed on the event bus connector's listener thread.  Each lane holds at most
+     * instanceEventLaneQueueSize waiting events.  When a lane is full, the listener thread waits so that
+     * unprocessed events stay on the event bus connector's queue where they are visible to its flow control.
+     */
+    private static final String      instanceEventLanesProperty         = "instanceEventLanes";
+    private static final String      instanceEventLaneQueueSizeProperty = "instanceEventLaneQueueSize";
+    private static final int         defaultInstanceEventLanes          = 4;
+    private static final int         defaultInstanceEventLaneQueueSize  = 100;
+
+    private int                       instanceEventLanes         = defaultInstanceEventLanes;
+    private int                       instanceEventLaneQueueSize = defaultInstanceEventLaneQueueSize;
+    private InstanceEventLaneExecutor laneExecutor               = null;
+
     protected OMRSAuditLog     auditLog = null;
 
     /**
@@ -166,6 +199,15 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         if (super.connectionProperties != null)
         {
             connectionName = super.connectionProperties.getConnectionName();
+
+            Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+            instanceEventLanes = this.getIntegerProperty(configurationProperties,
+                                                         instanceEventLanesProperty,
+                                                         defaultInstanceEventLanes);
+            instanceEventLaneQueueSize = this.getIntegerProperty(configurationProperties,
+                                                                 instanceEventLaneQueueSizeProperty,
+                                                                 defaultInstanceEventLaneQueueSize);
         }
 
         log.debug("Initializing OMRSTopicConnector: " + connectionName);
@@ -249,6 +291,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         }
         else
         {
+            if (instanceEventLanes > 0)
+            {
+                laneExecutor = new InstanceEventLaneExecutor(instanceEventLanes,
+                                                             Math.max(1, instanceEventLaneQueueSize),
+                                                             connectionName);
+            }
+
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 eventBusConnector.start();
@@ -363,13 +412,16 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                /*
+                 * The event is serialized once and the same JSON is sent to each of the event buses.
+                 */
+                String eventString = eventWriter.writeValueAsString(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -433,9 +485,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = eventReader.readValue(event);
             }
             catch (Throwable   exception)
             {
@@ -460,34 +510,45 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             if (eventBean instanceof OMRSEventV1)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
+                OMRSEventV1 finalEventBean = (OMRSEventV1) eventBean;
+                String      instanceGUID   = this.getLaneInstanceGUID(finalEventBean);
+
+                if ((laneExecutor != null) && (instanceGUID != null))
                 {
-                    try
+                    /*
+                     * Events for the same instance are processed in order on its lane while events for
+                     * unrelated instances are processed in parallel.
+                     */
+                    laneExecutor.submit(instanceGUID, () ->
                     {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
+                        for (OMRSTopicListener topicListener : internalTopicListeners)
+                        {
+                            this.passEventToListener(event, finalEventBean, topicListener);
+                        }
+                    });
+                }
+                else
+                {
+                    if (laneExecutor != null)
                     {
-                        log.debug("Unable to pass event to one of the topic listeners");
-
-                        if (auditLog != null)
+                        /*
+                         * Registry, type and batch events are processed once the events already passed to
+                         * the lanes are complete so that they are seen in the order they were received.
+                         */
+                        try
+                        {
+                            laneExecutor.waitForLanes();
+                        }
+                        catch (InterruptedException error)
                         {
-                            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
-
-                            auditLog.logException(connectorName,
-                                                  auditCode.getLogMessageId(),
-                                                  auditCode.getSeverity(),
-                                                  auditCode.getFormattedLogMessage(event,
-                                                                                   error.toString(),
-                                                                                   topicListener.toString()),
-                                                  event,
-                                                  auditCode.getSystemAction(),
-                                                  auditCode.getUserAction(),
-                                                  error);
+                            log.debug("Interrupted waiting for instance event lanes");
+                            Thread.currentThread().interrupt();
                         }
                     }
-                });
+
+                    internalTopicListeners.parallelStream().forEach((topicListener) ->
+                                                                    this.passEventToListener(event, finalEventBean, topicListener));
+                }
             }
         }
         else
@@ -510,6 +571,116 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Return an integer configuration property.  The value may be supplied as a number or as a string
+     * containing a number.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private int getIntegerProperty(Map<String, Object> configurationProperties,
+                                   String              propertyName,
+                                   int                 defaultValue)
+    {
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(propertyName);
+
+            if (propertyValue instanceof Number)
+            {
+                return ((Number) propertyValue).intValue();
+            }
+            else if (propertyValue != null)
+            {
+                try
+                {
+                    return Integer.parseInt(propertyValue.toString().trim());
+                }
+                catch (NumberFormatException error)
+                {
+                    log.error("Ignoring invalid value for " + propertyName + ": " + propertyValue);
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the GUID of the instance that an event is about if it can be processed on an instance event lane.
+     * Batch events cover many instances and so are not processed on a lane.
+     *
+     * @param event inbound event
+     * @return unique identifier of the entity or relationship, or null if the event is not for a single instance
+     */
+    private String getLaneInstanceGUID(OMRSEventV1 event)
+    {
+        if (event.getEventCategory() == OMRSEventCategory.INSTANCE)
+        {
+            OMRSEventV1InstanceSection instanceSection = event.getInstanceEventSection();
+
+            if ((instanceSection != null) && (instanceSection.getInstanceBatch() == null))
+            {
+                if (instanceSection.getEntity() != null)
+                {
+                    return instanceSection.getEntity().getGUID();
+                }
+                else if (instanceSection.getRelationship() != null)
+                {
+                    return instanceSection.getRelationship().getGUID();
+                }
+                else
+                {
+                    return instanceSection.getInstanceGUID();
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Pass an event to a single topic listener, logging any error that the listener returns.
+     *
+     * @param event inbound event used in error messages
+     * @param eventBean parsed event
+     * @param topicListener listener that will receive the event.
+     */
+    private void passEventToListener(String             event,
+                                     OMRSEventV1        eventBean,
+                                     OMRSTopicListener  topicListener)
+    {
+        try
+        {
+            this.processOMRSEvent(eventBean, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            log.debug("Unable to pass event to one of the topic listeners");
+
+            if (auditLog != null)
+            {
+                OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
+
+                auditLog.logException(connectorName,
+                                      auditCode.getLogMessageId(),
+                                      auditCode.getSeverity(),
+                                      auditCode.getFormattedLogMessage(event,
+                                                                       error.toString(),
+                                                                       topicListener.toString()),
+                                      event,
+                                      auditCode.getSystemAction(),
+                                      auditCode.getUserAction(),
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -603,6 +774,12 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        if (laneExecutor != null)
+        {
+            laneExecutor.shutdown();
+            laneExecutor = null;
+        }
+
         if (auditLog != null)
         {
             OMRSAuditCode auditCode = OMRSAuditCode.OMRS_TOPIC_LISTENER_DISCONNECTED;
@@ -6,6 +6,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
@@ -25,7 +28,9 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should call the protected queueIncomingEvent() method.  This hands the event
+ *         to the listener thread, which parks while there is nothing to process.  The older polling style, where
+ *         the listener thread calls checkForIncomingEvents(), is still supported.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -43,6 +48,7 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
     private static final String       defaultThreadName = "OpenMetadataTopicListener";
     private static final String       defaultTopicName  = "OpenMetadataTopic";
+    private static final int          maxQueuedEvents   = 10000;
 
     private volatile boolean keepRunning = false;
 
@@ -51,6 +57,8 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
 
+    private BlockingQueue<IncomingEvent>    incomingEventQueue = new LinkedBlockingQueue<>(maxQueuedEvents);
+
     protected OMRSAuditLog auditLog = null;
 
     /**
@@ -87,10 +95,29 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
 
+        long waitTime = sleepTime;
+
         while (keepRunning)
         {
             try
             {
+                int eventCount = 0;
+
+                /*
+                 * Wait for the next event to be queued.  The thread only parks when the previous pass found no
+                 * events.  The wait is limited by the sleep time so that connectors that implement
+                 * checkForIncomingEvents() are still polled.
+                 */
+                IncomingEvent queuedEvent = incomingEventQueue.poll(waitTime, TimeUnit.MILLISECONDS);
+
+                while (queuedEvent != null)
+                {
+                    this.distributeEvent(queuedEvent);
+                    eventCount++;
+
+                    queuedEvent = incomingEventQueue.poll();
+                }
+
                 try
                 {
                     List<IncomingEvent> receivedEvents = checkForIncomingEvents();
@@ -102,6 +129,7 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                             if (event != null)
                             {
                                 this.distributeEvent(event);
+                                eventCount++;
                             }
                         }
                     }
@@ -111,7 +139,17 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * Keep draining without waiting while events are arriving.
+                 */
+                if (eventCount == 0)
+                {
+                    waitTime = sleepTime;
+                }
+                else
+                {
+                    waitTime = 0;
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -130,6 +168,34 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Hand an event that has been received from the event bus to the listener thread for distribution
+     * to the registered listeners.  The call blocks if the queue of events waiting to be distributed is full.
+     *
+     * @param event event received from the event bus
+     * @throws InterruptedException the thread was interrupted while waiting for space in the queue
+     */
+    protected void queueIncomingEvent(IncomingEvent event) throws InterruptedException
+    {
+        if (event != null)
+        {
+            incomingEventQueue.put(event);
+        }
+    }
+
+
+    /**
+     * Return the number of events that have been queued by queueIncomingEvent() and are waiting to be
+     * distributed.  The event bus implementation can use this to slow down the retrieval of new events.
+     *
+     * @return number of waiting events
+     */
+    protected int getNumberOfQueuedEvents()
+    {
+        return incomingEventQueue.size();
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
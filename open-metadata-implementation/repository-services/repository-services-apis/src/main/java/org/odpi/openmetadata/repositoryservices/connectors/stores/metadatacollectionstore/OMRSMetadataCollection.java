@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -283,6 +284,42 @@ public abstract class OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for a retrieve of a list of instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException the list of guids is null or contains a null guid
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     */
+    protected void getInstancesParameterValidation(String        userId,
+                                                   List<String>  guids,
+                                                   String        methodName) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String  guidsParameterName = "guids";
+
+        /*
+         * Validate parameters
+         */
+        this.basicRequestValidation(userId, methodName);
+
+        if (guids == null)
+        {
+            repositoryValidator.validateGUID(repositoryName, guidsParameterName, null, methodName);
+        }
+        else
+        {
+            for (String guid : guids)
+            {
+                repositoryValidator.validateGUID(repositoryName, guidsParameterName, guid, methodName);
+            }
+        }
+    }
+
+
     /* ======================================================================
      * Group 1: Confirm the identity of the metadata repository being called.
      */
@@ -871,6 +908,60 @@ public abstract class OMRSMetadataCollection
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known to the metadata collection, or are only stored as proxies, are omitted
+     * from the results.  The other entities are returned in the order of the requested guids.
+     * This implementation retrieves each entity in turn.  Repositories that are able to retrieve many
+     * entities at once should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures.  Null means none of the entities are known.
+     * @throws InvalidParameterException the list of guids is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                results.add(this.getEntityDetail(userId, guid));
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException error)
+            {
+                /*
+                 * Entities that are not available are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
 
     /**
      * Return the relationships for a specific entity.
@@ -1150,6 +1241,60 @@ public abstract class OMRSMetadataCollection
                                                                             UserNotAuthorizedException;
 
 
+    /**
+     * Return the current version of a list of relationships in a single request.  Relationships that are not
+     * known to the metadata collection are omitted from the results.  The other relationships are returned
+     * in the order of the requested guids.  This implementation retrieves each relationship in turn.
+     * Repositories that are able to retrieve many relationships at once should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of relationship structures.  Null means none of the relationships are known.
+     * @throws InvalidParameterException the list of guids is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Retrieve relationships
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                results.add(this.getRelationship(userId, guid));
+            }
+            catch (RelationshipNotKnownException error)
+            {
+                /*
+                 * Relationships that are not available are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
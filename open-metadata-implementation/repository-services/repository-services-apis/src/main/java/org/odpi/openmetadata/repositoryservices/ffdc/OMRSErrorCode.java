@@ -461,6 +461,10 @@ public enum OMRSErrorCode
             "Type name {0} is invalid because it contains a blank character.",
             "The build of the archive terminates.",
             "Verify the definition of the types being added to the archive. Once the definitions have been corrected, rerun the request."),
+    UNRESOLVED_TYPE_IN_ARCHIVE(400, "OMRS-ARCHIVE-BUILDER-400-013 ",
+            "Type {0} refers to the {1} {2} which is not defined in open metadata archive {3}.",
+            "The archive is rejected because its types can not be loaded into a repository.",
+            "Verify the definition of the types in the archive. Once the definitions have been corrected, rerun the request."),
     NULL_LOG_RECORD(400, "OMRS-AUDIT-LOG-400-001 ",
             "A null log record has been passed by the audit log to the audit log store.",
             "The audit log store throws an exception and the log record is not written to the audit log store.",
@@ -469,6 +473,18 @@ public enum OMRSErrorCode
             "A null log record originator has been passed by the audit log to the audit log store.",
             "The audit log store throws an exception and the log record is not written to the audit log store.",
             "This is probably an internal error in the audit log.  Raise a Github issue to get this fixed."),
+    NULL_LOG_RECORD_QUERY_VALUE(400, "OMRS-AUDIT-LOG-400-003 ",
+            "A null {0} has been passed on the {1} request to audit log store {2}.",
+            "The audit log store is unable to process the request.",
+            "Correct the caller's code and retry the request."),
+    INVALID_LOG_RECORD_DATES(400, "OMRS-AUDIT-LOG-400-004 ",
+            "The start date {0} is after the end date {1} on the {2} request to audit log store {3}.",
+            "The audit log store is unable to process the request.",
+            "Correct the time period supplied by the caller and retry the request."),
+    INVALID_LOG_RECORD_PAGING(400, "OMRS-AUDIT-LOG-400-005 ",
+            "An offset of {0} and maximum records of {1} have been passed on the {2} request to audit log store {3}.",
+            "The audit log store is unable to process the request because neither value may be negative.",
+            "Correct the paging parameters supplied by the caller and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001 ",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -546,6 +562,10 @@ public enum OMRSErrorCode
             "Multiple instances of type {0} have been returned to {2} of service {1} when there should be one at most.  These are examples of the entities returned: {3}",
             "The type model defines how many relationships are allowed to connect with a specific entity instance.  This is an example of where the limit has been exceeded.",
             "Investigate why multiple instances exist and delete the duplicates."),
+    UNUSABLE_AUDIT_LOG_STORE(500, "OMRS-AUDIT-LOG-500-001 ",
+            "The audit log store {0} is unable to use directory {1} because of error {2}.",
+            "The audit log store is unable to start and audit log records will not be stored.",
+            "Check that the directory named in the endpoint of the audit log store connection can be created and written to by the server."),
     INVALID_PRIMITIVE_CLASS_NAME(500, "OMRS-METADATA-COLLECTION-500-001 ",
             "The Java class {0} for PrimitiveDefCategory {1} is not known",
             "There is an internal error in Java class PrimitiveDefCategory as it has been set up with an invalid class.",
@@ -0,0 +1,241 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * OMRSTopicConnectorBenchmark measures the number of events per second that OMRSTopicConnector can send to
+ * one or more event buses and receive from an event bus.  Sending is compared with building an ObjectMapper and
+ * serializing the event again for each event bus, and receiving with building an ObjectMapper to parse each
+ * event, which is how the connector handled events before it shared a pre-built reader and writer.  The
+ * comparison for receiving only parses the event, so it overstates the old rate.
+ * It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DtopicBenchmark
+ * </pre>
+ * The number of events in each round can be changed with -DtopicBenchmarkEvents=n.
+ */
+public class OMRSTopicConnectorBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTopicConnectorBenchmark.class);
+
+    private static final int warmUpRounds   = 3;
+    private static final int measuredRounds = 5;
+
+
+    /**
+     * Event bus connector that counts the events sent to it rather than starting a listener thread.
+     */
+    private static class CountingTopicConnector extends OpenMetadataTopicConnector
+    {
+        private long eventCount = 0;
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void sendEvent(String event)
+        {
+            eventCount++;
+        }
+    }
+
+
+    /**
+     * Topic listener that counts the instance events passed to it.
+     */
+    private static class CountingTopicListener implements OMRSTopicListener
+    {
+        private long eventCount = 0;
+
+        @Override
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+        }
+
+        @Override
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        @Override
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            eventCount++;
+        }
+    }
+
+
+    /**
+     * An operation that may throw an exception.
+     */
+    private interface BenchmarkOperation
+    {
+        void run() throws Exception;
+    }
+
+
+    /**
+     * Log the rate of sending events to an increasing number of event buses.
+     *
+     * @throws Exception the event could not be sent
+     */
+    @Test
+    public void measureSend() throws Exception
+    {
+        int               eventCount    = Integer.getInteger("topicBenchmarkEvents", 2000);
+        OMRSInstanceEvent instanceEvent = this.getInstanceEvent();
+
+        for (int eventBusCount = 1; eventBusCount <= 4; eventBusCount *= 2)
+        {
+            OMRSTopicConnector           topicConnector = new OMRSTopicConnector();
+            List<Connector>              eventBuses     = new ArrayList<>();
+            List<CountingTopicConnector> countingBuses  = new ArrayList<>();
+
+            for (int i = 0; i < eventBusCount; i++)
+            {
+                CountingTopicConnector eventBus = new CountingTopicConnector();
+
+                eventBuses.add(eventBus);
+                countingBuses.add(eventBus);
+            }
+
+            topicConnector.initializeEmbeddedConnectors(eventBuses);
+            topicConnector.start();
+
+            long sharedWriterRate = this.measure(eventCount, () -> topicConnector.sendInstanceEvent(instanceEvent));
+            long objectMapperRate = this.measure(eventCount, () ->
+            {
+                for (CountingTopicConnector eventBus : countingBuses)
+                {
+                    eventBus.sendEvent(new ObjectMapper().writeValueAsString(instanceEvent.getOMRSEventV1()));
+                }
+            });
+
+            for (CountingTopicConnector eventBus : countingBuses)
+            {
+                assertEquals(eventBus.eventCount, 2L * (warmUpRounds + measuredRounds) * eventCount);
+            }
+
+            log.info("Send to " + eventBusCount + " event buses: serialize once with shared writer="
+                             + sharedWriterRate + " events/s, ObjectMapper per event bus=" + objectMapperRate + " events/s");
+        }
+    }
+
+
+    /**
+     * Log the rate of receiving events.
+     *
+     * @throws Exception the event could not be parsed
+     */
+    @Test
+    public void measureReceive() throws Exception
+    {
+        int                   eventCount     = Integer.getInteger("topicBenchmarkEvents", 2000);
+        String                eventString    = new ObjectMapper().writeValueAsString(this.getInstanceEvent().getOMRSEventV1());
+        OMRSTopicConnector    topicConnector = new OMRSTopicConnector();
+        CountingTopicListener topicListener  = new CountingTopicListener();
+
+        topicConnector.registerListener(topicListener);
+
+        long sharedReaderRate = this.measure(eventCount, () -> topicConnector.processEvent(eventString));
+        long objectMapperRate = this.measure(eventCount, () -> new ObjectMapper().readValue(eventString, OMRSEventBean.class));
+
+        assertEquals(topicListener.eventCount, (long) (warmUpRounds + measuredRounds) * eventCount);
+
+        log.info("Receive: shared reader and listener dispatch=" + sharedReaderRate
+                         + " events/s, parse with ObjectMapper per event=" + objectMapperRate + " events/s");
+    }
+
+
+    /**
+     * Return the best rate of the measured rounds after warming up.
+     *
+     * @param eventCount number of events in each round
+     * @param operation operation to run for each event
+     * @return events per second
+     * @throws Exception the operation failed
+     */
+    private long measure(int                eventCount,
+                         BenchmarkOperation operation) throws Exception
+    {
+        long bestRate = 0;
+
+        for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+        {
+            long startTime = System.nanoTime();
+
+            for (int i = 0; i < eventCount; i++)
+            {
+                operation.run();
+            }
+
+            long elapsedTime = Math.max(1, System.nanoTime() - startTime);
+
+            if (round >= warmUpRounds)
+            {
+                bestRate = Math.max(bestRate, (eventCount * 1000000000L) / elapsedTime);
+            }
+        }
+
+        return bestRate;
+    }
+
+
+    /**
+     * Return an instance event for an entity with a few properties.
+     *
+     * @return new entity event
+     */
+    private OMRSInstanceEvent getInstanceEvent()
+    {
+        EntityDetail       entity     = new EntityDetail();
+        InstanceType       type       = new InstanceType();
+        InstanceProperties properties = new InstanceProperties();
+
+        type.setTypeDefGUID("benchmarkTypeGUID");
+        type.setTypeDefName("BenchmarkEntity");
+
+        for (String propertyName : new String[] { "qualifiedName", "displayName", "description" })
+        {
+            PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+            propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            propertyValue.setTypeName("string");
+            propertyValue.setPrimitiveValue("Benchmark " + propertyName + " value");
+            properties.setProperty(propertyName, propertyValue);
+        }
+
+        entity.setGUID("benchmarkGUID");
+        entity.setVersion(1L);
+        entity.setType(type);
+        entity.setMetadataCollectionId("benchmarkMetadataCollectionId");
+        entity.setCreatedBy("benchmarkUser");
+        entity.setProperties(properties);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+    }
+}
@@ -0,0 +1,377 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the serialization of events by {@link OMRSTopicConnector}.
+ */
+public class OMRSTopicConnectorTest
+{
+    /**
+     * Event bus connector that records the events sent to it rather than starting a listener thread.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        private List<String> sentEvents = new ArrayList<>();
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void sendEvent(String event)
+        {
+            sentEvents.add(event);
+        }
+    }
+
+
+    /**
+     * Topic listener that records the instance events passed to it.
+     */
+    private static class TestTopicListener implements OMRSTopicListener
+    {
+        private List<OMRSInstanceEvent> instanceEvents = new ArrayList<>();
+
+        @Override
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+        }
+
+        @Override
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        @Override
+        public synchronized void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            instanceEvents.add(event);
+        }
+    }
+
+
+    /**
+     * Topic listener that holds up the processing of one instance until it is released.
+     */
+    private static class BlockingTopicListener extends TestTopicListener
+    {
+        private String         blockedGUID;
+        private CountDownLatch release = new CountDownLatch(1);
+
+        BlockingTopicListener(String blockedGUID)
+        {
+            this.blockedGUID = blockedGUID;
+        }
+
+        @Override
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            if (blockedGUID.equals(event.getEntity().getGUID()))
+            {
+                try
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            super.processInstanceEvent(event);
+        }
+
+        synchronized List<Long> getVersions(String guid)
+        {
+            List<Long> versions = new ArrayList<>();
+
+            for (OMRSInstanceEvent event : super.instanceEvents)
+            {
+                if (guid.equals(event.getEntity().getGUID()))
+                {
+                    versions.add(event.getEntity().getVersion());
+                }
+            }
+
+            return versions;
+        }
+    }
+
+
+    private OMRSInstanceEvent getInstanceEvent()
+    {
+        return getInstanceEvent("testGUID", 3L);
+    }
+
+
+    private OMRSInstanceEvent getInstanceEvent(String guid,
+                                               long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+    }
+
+
+    @Test
+    public void testEventSerializedOnceForAllEventBuses() throws Exception
+    {
+        TestTopicConnector  eventBus1      = new TestTopicConnector();
+        TestTopicConnector  eventBus2      = new TestTopicConnector();
+        OMRSTopicConnector  topicConnector = new OMRSTopicConnector();
+        List<Connector>     eventBuses     = new ArrayList<>();
+
+        eventBuses.add(eventBus1);
+        eventBuses.add(eventBus2);
+
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.start();
+
+        OMRSInstanceEvent instanceEvent = getInstanceEvent();
+
+        topicConnector.sendInstanceEvent(instanceEvent);
+
+        assertEquals(eventBus1.sentEvents.size(), 1);
+        assertEquals(eventBus2.sentEvents.size(), 1);
+
+        /*
+         * The same JSON is sent to each event bus and it matches the format of a default ObjectMapper.
+         */
+        assertEquals(eventBus1.sentEvents.get(0), eventBus2.sentEvents.get(0));
+        assertEquals(eventBus1.sentEvents.get(0), new ObjectMapper().writeValueAsString(instanceEvent.getOMRSEventV1()));
+    }
+
+
+    @Test
+    public void testReceivedEventPassedToListeners() throws Exception
+    {
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        TestTopicListener  topicListener  = new TestTopicListener();
+
+        topicConnector.registerListener(topicListener);
+
+        String eventString = new ObjectMapper().writeValueAsString(getInstanceEvent().getOMRSEventV1());
+
+        topicConnector.processEvent(eventString);
+        topicConnector.processEvent(eventString);
+
+        assertEquals(topicListener.instanceEvents.size(), 2);
+
+        for (OMRSInstanceEvent receivedEvent : topicListener.instanceEvents)
+        {
+            assertEquals(receivedEvent.getInstanceEventType(), OMRSInstanceEventType.NEW_ENTITY_EVENT);
+            assertNotNull(receivedEvent.getEntity());
+            assertEquals(receivedEvent.getEntity().getGUID(), "testGUID");
+        }
+    }
+
+
+    @Test
+    public void testInstanceEventsProcessedInOrderPerGUID() throws Exception
+    {
+        final int eventsPerGUID = 50;
+
+        Connection          connection              = new Connection();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("instanceEventLanes", 4);
+        connection.setConfigurationProperties(configurationProperties);
+
+        OMRSTopicConnector    topicConnector = new OMRSTopicConnector();
+        List<Connector>       eventBuses     = new ArrayList<>();
+        BlockingTopicListener topicListener  = new BlockingTopicListener("blockedGUID");
+
+        eventBuses.add(new TestTopicConnector());
+
+        topicConnector.initialize("testConnector", new ConnectionProperties(connection));
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.registerListener(topicListener);
+        topicConnector.start();
+
+        try
+        {
+            ObjectMapper objectMapper = new ObjectMapper();
+            String       freeGUID     = "freeGUID";
+
+            /*
+             * Pick a free GUID that is processed on a different lane to the blocked GUID.
+             */
+            for (int i = 0; Math.floorMod("blockedGUID".hashCode(), 4) == Math.floorMod(freeGUID.hashCode(), 4); i++)
+            {
+                freeGUID = "freeGUID" + i;
+            }
+
+            InternalOMRSEventProcessingContext.clear();
+
+            topicConnector.processEvent(objectMapper.writeValueAsString(getInstanceEvent("blockedGUID", 1L).getOMRSEventV1()));
+
+            OMRSFuture blockedEventResult = InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult();
+
+            for (long version = 1; version <= eventsPerGUID; version++)
+            {
+                topicConnector.processEvent(objectMapper.writeValueAsString(getInstanceEvent(freeGUID, version).getOMRSEventV1()));
+            }
+
+            for (long version = 2; version <= eventsPerGUID; version++)
+            {
+                topicConnector.processEvent(objectMapper.writeValueAsString(getInstanceEvent("blockedGUID", version).getOMRSEventV1()));
+            }
+
+            /*
+             * The events for the unrelated instance are processed while the blocked instance is held up, and
+             * the blocked event is not reported as complete.
+             */
+            long deadline = System.currentTimeMillis() + 10000;
+
+            while ((topicListener.getVersions(freeGUID).size() < eventsPerGUID) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+
+            assertEquals(topicListener.getVersions(freeGUID).size(), eventsPerGUID);
+            assertTrue(topicListener.getVersions("blockedGUID").isEmpty());
+            assertFalse(blockedEventResult.isDone());
+
+            topicListener.release.countDown();
+
+            while ((! blockedEventResult.isDone()) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+
+            assertTrue(blockedEventResult.isDone());
+
+            for (String guid : new String[] { freeGUID, "blockedGUID" })
+            {
+                List<Long> versions = topicListener.getVersions(guid);
+
+                assertEquals(versions.size(), eventsPerGUID);
+
+                for (int i = 0; i < eventsPerGUID; i++)
+                {
+                    assertEquals(versions.get(i).longValue(), (long) (i + 1));
+                }
+            }
+        }
+        finally
+        {
+            InternalOMRSEventProcessingContext.clear();
+            topicConnector.disconnect();
+        }
+    }
+
+
+    @Test
+    public void testFullLaneHoldsUpListenerThread() throws Exception
+    {
+        Connection          connection              = new Connection();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        /*
+         * Numeric strings are accepted as well as numbers.
+         */
+        configurationProperties.put("instanceEventLanes", "1");
+        configurationProperties.put("instanceEventLaneQueueSize", "1");
+        connection.setConfigurationProperties(configurationProperties);
+
+        OMRSTopicConnector    topicConnector = new OMRSTopicConnector();
+        List<Connector>       eventBuses     = new ArrayList<>();
+        BlockingTopicListener topicListener  = new BlockingTopicListener("blockedGUID");
+        AtomicInteger         passedEvents   = new AtomicInteger();
+
+        eventBuses.add(new TestTopicConnector());
+
+        topicConnector.initialize("testConnector", new ConnectionProperties(connection));
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.registerListener(topicListener);
+        topicConnector.start();
+
+        try
+        {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<String> events       = new ArrayList<>();
+
+            for (long version = 1; version <= 3; version++)
+            {
+                events.add(objectMapper.writeValueAsString(getInstanceEvent("blockedGUID", version).getOMRSEventV1()));
+            }
+
+            /*
+             * The first event holds up the lane, the second waits on the lane's queue and the third can
+             * not be passed to the lane until there is space.
+             */
+            Thread listenerThread = new Thread(() ->
+            {
+                for (String event : events)
+                {
+                    topicConnector.processEvent(event);
+                    passedEvents.incrementAndGet();
+                }
+
+                InternalOMRSEventProcessingContext.clear();
+            });
+
+            listenerThread.start();
+
+            long deadline = System.currentTimeMillis() + 10000;
+
+            while ((passedEvents.get() < 2) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+
+            Thread.sleep(200);
+
+            assertEquals(passedEvents.get(), 2);
+            assertTrue(listenerThread.isAlive());
+
+            topicListener.release.countDown();
+            listenerThread.join(10000);
+
+            assertEquals(passedEvents.get(), 3);
+
+            while ((topicListener.getVersions("blockedGUID").size() < 3) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+
+            assertEquals(topicListener.getVersions("blockedGUID").size(), 3);
+        }
+        finally
+        {
+            topicListener.release.countDown();
+            topicConnector.disconnect();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the distribution of events by {@link OpenMetadataTopicConnector}.
+ */
+public class OpenMetadataTopicConnectorTest
+{
+    /**
+     * Event bus connector that only receives events through queueIncomingEvent.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        @Override
+        public void sendEvent(String event)
+        {
+        }
+    }
+
+
+    /**
+     * Listener that counts down as events arrive.
+     */
+    private static class TestTopicListener implements OpenMetadataTopicListener
+    {
+        private CountDownLatch receivedEvents;
+
+        TestTopicListener(int expectedEvents)
+        {
+            receivedEvents = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void processEvent(String event)
+        {
+            receivedEvents.countDown();
+        }
+    }
+
+
+    @Test
+    public void testQueuedEventsDistributedWithoutSleeping() throws Exception
+    {
+        final int eventCount = 1000;
+
+        Connection          connection              = new Connection();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        /*
+         * A long sleep time means that the test only passes if the listener thread is woken by the queued events.
+         */
+        configurationProperties.put("sleepTime", 60000);
+        connection.setConfigurationProperties(configurationProperties);
+
+        TestTopicConnector topicConnector = new TestTopicConnector();
+        TestTopicListener  topicListener  = new TestTopicListener(eventCount);
+
+        topicConnector.initialize("testConnector", new ConnectionProperties(connection));
+        topicConnector.setAuditLog(new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                    OMRSAuditingComponent.OPEN_METADATA_TOPIC_CONNECTOR));
+        topicConnector.registerListener(topicListener);
+        topicConnector.start();
+
+        try
+        {
+            for (int i = 0; i < eventCount; i++)
+            {
+                topicConnector.queueIncomingEvent(new IncomingEvent("event" + i, Integer.toString(i)));
+            }
+
+            assertTrue(topicListener.receivedEvents.await(10, TimeUnit.SECONDS));
+            assertEquals(topicConnector.getNumberOfQueuedEvents(), 0);
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+}
@@ -1215,6 +1215,42 @@ abstract class MetadataCollectionServicesClient
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known, or are only proxies, are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException  the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+        final String operationSpecificURL = "instances/entities/by-guids";
+
+        GUIDListRequest requestBody = new GUIDListRequest();
+        requestBody.setGUIDs(guids);
+
+        EntityListResponse restResult = this.callEntityListPostRESTCall(methodName,
+                                                                        restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                        requestBody,
+                                                                        userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getEntities();
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1763,6 +1799,42 @@ abstract class MetadataCollectionServicesClient
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that are not known are left out
+     * of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of relationships in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+        final String operationSpecificURL = "instances/relationships/by-guids";
+
+        GUIDListRequest requestBody = new GUIDListRequest();
+        requestBody.setGUIDs(guids);
+
+        RelationshipListResponse restResult = this.callRelationshipListPostRESTCall(methodName,
+                                                                                    restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                                    requestBody,
+                                                                                    userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getRelationships();
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -42,7 +42,9 @@ import org.odpi.openmetadata.repositoryservices.metadatahighway.OMRSMetadataHigh
 import org.odpi.openmetadata.repositoryservices.rest.server.OMRSRepositoryRESTServices;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -86,6 +88,7 @@ public class OMRSOperationalServices
     private OMRSEnterpriseConnectorManager enterpriseConnectorManager       = null;
     private String                         enterpriseMetadataCollectionId   = null;
     private String                         enterpriseMetadataCollectionName = null;
+    private Map<String, Object>            enterpriseConnectorProperties    = null;
     private OMRSTopicConnector             enterpriseOMRSTopicConnector     = null;
     private LocalOMRSRepositoryConnector   localRepositoryConnector         = null;
     private OMRSArchiveManager             archiveManager                   = null;
@@ -163,7 +166,7 @@ public class OMRSOperationalServices
 
             try
             {
-                Connector connector = connectorProvider.getConnector(new EnterpriseOMRSConnection());
+                Connector connector = connectorProvider.getConnector(new EnterpriseOMRSConnection(enterpriseConnectorProperties));
 
                 EnterpriseOMRSRepositoryConnector omrsRepositoryConnector = (EnterpriseOMRSRepositoryConnector) connector;
 
@@ -577,6 +580,18 @@ public class OMRSOperationalServices
              */
             enterpriseMetadataCollectionId = enterpriseAccessConfig.getEnterpriseMetadataCollectionId();
             enterpriseMetadataCollectionName = enterpriseAccessConfig.getEnterpriseMetadataCollectionName();
+
+            /*
+             * The instance cache settings are passed to each EnterpriseOMRSConnector through its connection.
+             */
+            if (enterpriseAccessConfig.getInstanceCacheSize() > 0)
+            {
+                enterpriseConnectorProperties = new HashMap<>();
+                enterpriseConnectorProperties.put(EnterpriseOMRSRepositoryConnector.INSTANCE_CACHE_SIZE_PROPERTY,
+                                                  enterpriseAccessConfig.getInstanceCacheSize());
+                enterpriseConnectorProperties.put(EnterpriseOMRSRepositoryConnector.INSTANCE_CACHE_TIME_TO_LIVE_PROPERTY,
+                                                  enterpriseAccessConfig.getInstanceCacheTimeToLive());
+            }
         }
 
         return enterpriseConnectorManager;
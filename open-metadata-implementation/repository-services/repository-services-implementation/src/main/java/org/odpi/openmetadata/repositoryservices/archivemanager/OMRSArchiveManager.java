@@ -2,8 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.archivemanager;
 
-import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
-
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
@@ -125,15 +123,16 @@ public class OMRSArchiveManager
 
 
     /**
-     * Unpack and process the contents an open metadata archive store, passing its contents to the local
-     * repository (if it exists).
+     * Pass the open metadata types to the local repository (if it exists).  The types come from the
+     * snapshot shared by all of the servers on the platform so the archive is only built once.  The
+     * repository content manager still verifies and registers each type for this server.
      */
     private void processOpenMetadataTypes()
     {
-        OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
-        OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+        OMRSOpenMetadataTypesSnapshot openMetadataTypesSnapshot = OMRSOpenMetadataTypesSnapshot.getInstance();
+        OpenMetadataArchive           openMetadataTypes         = openMetadataTypesSnapshot.getOpenMetadataArchive();
 
-        repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
+        repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesSnapshot.getArchiveGUID());
         processOpenMetadataArchive(openMetadataTypes, repositoryContentManager, localInstanceEventProcessor);
     }
 
@@ -392,6 +391,9 @@ public class OMRSArchiveManager
             }
 
 
+            List<EntityDetail> archiveEntities      = new ArrayList<>();
+            List<Relationship> archiveRelationships = new ArrayList<>();
+
             if (entities != null)
             {
                 for (EntityDetail entity : entities)
@@ -406,13 +408,7 @@ public class OMRSArchiveManager
                                                     originatorLicense,
                                                     entity);
 
-                        instanceProcessor.processNewEntityEvent(sourceName,
-                                                                homeMetadataCollectionId,
-                                                                archiveName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                entity);
-
+                        archiveEntities.add(entity);
                         instanceCount++;
                     }
                 }
@@ -433,19 +429,29 @@ public class OMRSArchiveManager
                                                     originatorLicense,
                                                     relationship);
 
-                        instanceProcessor.processNewRelationshipEvent(sourceName,
-                                                                      homeMetadataCollectionId,
-                                                                      archiveName,
-                                                                      originatorServerType,
-                                                                      originatorOrganizationName,
-                                                                      relationship);
-
+                        archiveRelationships.add(relationship);
                         instanceCount ++;
                     }
                 }
             }
 
 
+            /*
+             * The entities and relationships are passed to the local repository as one batch so that it
+             * can save them together rather than one at a time.  The classifications below update entities
+             * from the batch and so are processed after it.
+             */
+            if ((! archiveEntities.isEmpty()) || (! archiveRelationships.isEmpty()))
+            {
+                instanceProcessor.processInstanceBatchEvent(sourceName,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            originatorServerType,
+                                                            originatorOrganizationName,
+                                                            new InstanceGraph(archiveEntities, archiveRelationships));
+            }
+
+
             if (classifications != null)
             {
                 for (ClassificationEntityExtension classificationEntityExtension : classifications)
@@ -0,0 +1,358 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OMRSOpenMetadataTypesSnapshot holds the open metadata types for the whole platform.  The types archive is
+ * built once, the first time a server starts, and then shared read-only by the archive manager of every
+ * server on the platform.  The check that the archive is self-consistent also runs once, when it is built.
+ *
+ * Only the building of the archive is shared.  Each server still passes every type through its own
+ * repository content manager, which verifies and registers the type with that server's repository and
+ * caches it, so the per-server type validation is unchanged.
+ */
+public class OMRSOpenMetadataTypesSnapshot
+{
+    private static OMRSOpenMetadataTypesSnapshot instance = null;
+
+    private final String                        archiveGUID;
+    private final OpenMetadataArchiveProperties archiveProperties;
+    private final OpenMetadataArchiveTypeStore  archiveTypeStore;
+
+
+    /**
+     * Return the snapshot shared by all of the servers on the platform.  It is built on the first call.
+     *
+     * @return OMRSOpenMetadataTypesSnapshot instance loaded with the open metadata types
+     * @throws OMRSLogicErrorException the open metadata types are not consistent
+     */
+    public synchronized static OMRSOpenMetadataTypesSnapshot getInstance() throws OMRSLogicErrorException
+    {
+        if (instance == null)
+        {
+            instance = new OMRSOpenMetadataTypesSnapshot();
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Build and check the snapshot.
+     *
+     * @throws OMRSLogicErrorException the open metadata types are not consistent
+     */
+    OMRSOpenMetadataTypesSnapshot() throws OMRSLogicErrorException
+    {
+        OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
+        OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+
+        validateTypes(openMetadataTypes);
+
+        this.archiveGUID       = openMetadataTypesArchive.getArchiveGUID();
+        this.archiveProperties = openMetadataTypes.getArchiveProperties();
+        this.archiveTypeStore  = openMetadataTypes.getArchiveTypeStore();
+    }
+
+
+    /**
+     * Return the unique identifier of the open metadata types archive.
+     *
+     * @return guid
+     */
+    public String getArchiveGUID()
+    {
+        return archiveGUID;
+    }
+
+
+    /**
+     * Return an archive containing the open metadata types.  The archive object belongs to the caller but
+     * its content is shared, so it is cloned by the archive's getters and can not be changed through them.
+     *
+     * @return open metadata archive
+     */
+    public OpenMetadataArchive getOpenMetadataArchive()
+    {
+        OpenMetadataArchive openMetadataArchive = new OpenMetadataArchive();
+
+        openMetadataArchive.setArchiveProperties(archiveProperties);
+        openMetadataArchive.setArchiveTypeStore(archiveTypeStore);
+
+        return openMetadataArchive;
+    }
+
+
+    /**
+     * Check that every type in the archive has a unique guid and name and that the types it refers to
+     * (super types, attribute types, relationship ends and valid entities for classifications) are
+     * all defined in the archive.
+     *
+     * @param openMetadataArchive archive to check
+     * @throws OMRSLogicErrorException the types are not consistent
+     */
+    static void validateTypes(OpenMetadataArchive openMetadataArchive) throws OMRSLogicErrorException
+    {
+        final String methodName = "validateTypes";
+
+        OpenMetadataArchiveProperties properties  = openMetadataArchive.getArchiveProperties();
+        OpenMetadataArchiveTypeStore  typeStore   = openMetadataArchive.getArchiveTypeStore();
+        String                        archiveName = null;
+
+        if (properties != null)
+        {
+            archiveName = properties.getArchiveName();
+        }
+
+        if (typeStore == null)
+        {
+            return;
+        }
+
+        Map<String, Object>           guidMap              = new HashMap<>();
+        Map<String, Object>           nameMap              = new HashMap<>();
+        Map<String, AttributeTypeDef> attributeTypeDefs    = new HashMap<>();
+        Map<String, TypeDef>          typeDefs             = new HashMap<>();
+        List<AttributeTypeDef>        attributeTypeDefList = typeStore.getAttributeTypeDefs();
+        List<TypeDef>                 typeDefList          = typeStore.getNewTypeDefs();
+
+        if (attributeTypeDefList != null)
+        {
+            for (AttributeTypeDef attributeTypeDef : attributeTypeDefList)
+            {
+                validateIdentifiers(attributeTypeDef.getGUID(),
+                                    attributeTypeDef.getName(),
+                                    attributeTypeDef.getCategory().getName(),
+                                    attributeTypeDef,
+                                    guidMap,
+                                    nameMap,
+                                    methodName);
+
+                attributeTypeDefs.put(attributeTypeDef.getGUID(), attributeTypeDef);
+            }
+        }
+
+        if (typeDefList != null)
+        {
+            for (TypeDef typeDef : typeDefList)
+            {
+                validateIdentifiers(typeDef.getGUID(),
+                                    typeDef.getName(),
+                                    typeDef.getCategory().getName(),
+                                    typeDef,
+                                    guidMap,
+                                    nameMap,
+                                    methodName);
+
+                typeDefs.put(typeDef.getGUID(), typeDef);
+            }
+
+            for (TypeDef typeDef : typeDefList)
+            {
+                if (typeDef.getSuperType() != null)
+                {
+                    validateTypeDefLink(typeDef, "super type", typeDef.getSuperType(), typeDef.getCategory(), typeDefs, archiveName, methodName);
+                }
+
+                if (typeDef.getPropertiesDefinition() != null)
+                {
+                    for (TypeDefAttribute attribute : typeDef.getPropertiesDefinition())
+                    {
+                        AttributeTypeDef attributeType = attribute.getAttributeType();
+
+                        if ((attributeType == null) || (! attributeTypeDefs.containsKey(attributeType.getGUID())))
+                        {
+                            throwUnresolvedType(typeDef, "attribute type for", attribute.getAttributeName(), archiveName, methodName);
+                        }
+                    }
+                }
+
+                if (typeDef instanceof RelationshipDef)
+                {
+                    RelationshipDef relationshipDef = (RelationshipDef) typeDef;
+
+                    validateEndDef(relationshipDef, relationshipDef.getEndDef1(), typeDefs, archiveName, methodName);
+                    validateEndDef(relationshipDef, relationshipDef.getEndDef2(), typeDefs, archiveName, methodName);
+                }
+                else if (typeDef instanceof ClassificationDef)
+                {
+                    List<TypeDefLink> validEntityDefs = ((ClassificationDef) typeDef).getValidEntityDefs();
+
+                    if (validEntityDefs != null)
+                    {
+                        for (TypeDefLink validEntityDef : validEntityDefs)
+                        {
+                            validateTypeDefLink(typeDef, "valid entity", validEntityDef, TypeDefCategory.ENTITY_DEF, typeDefs, archiveName, methodName);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check that a type has a guid and a name that are not used by any other type in the archive.
+     *
+     * @param guid unique identifier of the type
+     * @param name unique name of the type
+     * @param categoryName name of the type's category
+     * @param type type being checked
+     * @param guidMap types found so far by guid
+     * @param nameMap types found so far by name
+     * @param methodName calling method
+     * @throws OMRSLogicErrorException the guid or name is missing or already used
+     */
+    private static void validateIdentifiers(String              guid,
+                                            String              name,
+                                            String              categoryName,
+                                            Object              type,
+                                            Map<String, Object> guidMap,
+                                            Map<String, Object> nameMap,
+                                            String              methodName) throws OMRSLogicErrorException
+    {
+        OMRSErrorCode errorCode    = null;
+        String        errorMessage = null;
+
+        if ((guid == null) || (name == null))
+        {
+            errorCode    = OMRSErrorCode.MISSING_NAME_FOR_ARCHIVE;
+            errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(categoryName);
+        }
+        else
+        {
+            Object duplicateGUID = guidMap.put(guid, type);
+            Object duplicateName = nameMap.put(name, type);
+
+            if (duplicateGUID != null)
+            {
+                errorCode    = OMRSErrorCode.DUPLICATE_GUID_IN_ARCHIVE;
+                errorMessage = errorCode.getErrorMessageId()
+                             + errorCode.getFormattedErrorMessage(guid, duplicateGUID.toString(), type.toString());
+            }
+            else if (duplicateName != null)
+            {
+                errorCode    = OMRSErrorCode.DUPLICATE_TYPENAME_IN_ARCHIVE;
+                errorMessage = errorCode.getErrorMessageId()
+                             + errorCode.getFormattedErrorMessage(name, duplicateName.toString(), type.toString());
+            }
+        }
+
+        if (errorCode != null)
+        {
+            throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                              OMRSOpenMetadataTypesSnapshot.class.getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Check that one of the ends of a relationship refers to an entity type in the archive.
+     *
+     * @param relationshipDef relationship type being checked
+     * @param endDef end to check
+     * @param typeDefs types in the archive by guid
+     * @param archiveName name of the archive
+     * @param methodName calling method
+     * @throws OMRSLogicErrorException the end does not refer to an entity type
+     */
+    private static void validateEndDef(RelationshipDef      relationshipDef,
+                                       RelationshipEndDef   endDef,
+                                       Map<String, TypeDef> typeDefs,
+                                       String               archiveName,
+                                       String               methodName) throws OMRSLogicErrorException
+    {
+        if (endDef == null)
+        {
+            throwUnresolvedType(relationshipDef, "end", null, archiveName, methodName);
+        }
+        else
+        {
+            validateTypeDefLink(relationshipDef, "end", endDef.getEntityType(), TypeDefCategory.ENTITY_DEF, typeDefs, archiveName, methodName);
+        }
+    }
+
+
+    /**
+     * Check that a link from a type refers to a type of the expected category in the archive.
+     *
+     * @param typeDef type being checked
+     * @param linkDescription description of the link for the error message
+     * @param typeDefLink link to check
+     * @param expectedCategory category that the linked type must have
+     * @param typeDefs types in the archive by guid
+     * @param archiveName name of the archive
+     * @param methodName calling method
+     * @throws OMRSLogicErrorException the link does not refer to a type of the expected category
+     */
+    private static void validateTypeDefLink(TypeDef              typeDef,
+                                            String               linkDescription,
+                                            TypeDefLink          typeDefLink,
+                                            TypeDefCategory      expectedCategory,
+                                            Map<String, TypeDef> typeDefs,
+                                            String               archiveName,
+                                            String               methodName) throws OMRSLogicErrorException
+    {
+        TypeDef linkedTypeDef = null;
+        String  linkedName    = null;
+
+        if (typeDefLink != null)
+        {
+            linkedTypeDef = typeDefs.get(typeDefLink.getGUID());
+            linkedName    = typeDefLink.getName();
+        }
+
+        if ((linkedTypeDef == null) || (linkedTypeDef.getCategory() != expectedCategory))
+        {
+            throwUnresolvedType(typeDef, linkDescription, linkedName, archiveName, methodName);
+        }
+    }
+
+
+    /**
+     * Throw the exception for a type that refers to a type missing from the archive.
+     *
+     * @param typeDef type being checked
+     * @param linkDescription description of the link for the error message
+     * @param linkedName name of the missing type
+     * @param archiveName name of the archive
+     * @param methodName calling method
+     * @throws OMRSLogicErrorException always
+     */
+    private static void throwUnresolvedType(TypeDef typeDef,
+                                            String  linkDescription,
+                                            String  linkedName,
+                                            String  archiveName,
+                                            String  methodName) throws OMRSLogicErrorException
+    {
+        OMRSErrorCode errorCode    = OMRSErrorCode.UNRESOLVED_TYPE_IN_ARCHIVE;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(typeDef.getName(),
+                                                                        linkDescription,
+                                                                        linkedName,
+                                                                        archiveName);
+
+        throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                          OMRSOpenMetadataTypesSnapshot.class.getName(),
+                                          methodName,
+                                          errorMessage,
+                                          errorCode.getSystemAction(),
+                                          errorCode.getUserAction());
+    }
+}
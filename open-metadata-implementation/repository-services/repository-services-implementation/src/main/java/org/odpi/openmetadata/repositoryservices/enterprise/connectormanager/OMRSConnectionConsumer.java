@@ -5,6 +5,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.connectormanager;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventManager;
 
 /**
  * OMRSConnectionConsumer provides the interfaces for a connection consumer.  This is a component that needs to
@@ -46,6 +47,17 @@ public interface OMRSConnectionConsumer
                                 String         metadataCollectionId);
 
 
+    /**
+     * Pass the event manager that distributes the instance events received from an open metadata
+     * repository cohort.  It is removed when the cohort is removed.
+     *
+     * @param cohortName name of the cohort.
+     * @param cohortEventManager event manager for the cohort's inbound events.
+     */
+    void addCohortEventManager(String                     cohortName,
+                               OMRSRepositoryEventManager cohortEventManager);
+
+
     /**
      * Remove all of the remote connections for the requested open metadata repository cohort.
      *
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.connectormanager;
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventProcessor;
 
 /**
  * OMRSConnectorManager provides the methods for connector consumers to register with the connector manager.
@@ -30,4 +31,21 @@ public interface OMRSConnectorManager
      *                             registerConnectorConsumer.
      */
     void unregisterConnectorConsumer(String   connectorConsumerId);
+
+
+    /**
+     * Register an event processor that needs to see the instance events flowing through the local
+     * repository's outbound event manager and the inbound event manager of each connected cohort.
+     *
+     * @param eventProcessor event processor to add to each of the event managers.
+     */
+    void registerInstanceEventProcessor(OMRSRepositoryEventProcessor eventProcessor);
+
+
+    /**
+     * Remove an event processor that was added with registerInstanceEventProcessor.
+     *
+     * @param eventProcessor event processor to remove from each of the event managers.
+     */
+    void unregisterInstanceEventProcessor(OMRSRepositoryEventProcessor eventProcessor);
 }
@@ -14,6 +14,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventProcessor;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventManager;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
@@ -22,8 +24,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -75,17 +79,19 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
 
     private static final Logger log = LoggerFactory.getLogger(OMRSEnterpriseConnectorManager.class);
 
-    private boolean                           enterpriseAccessEnabled;
-    private int                               maxPageSize;
+    private boolean                                 enterpriseAccessEnabled;
+    private int                                     maxPageSize;
 
-    private String                            localMetadataCollectionId    = null;
-    private LocalOMRSRepositoryConnector      localRepositoryConnector     = null;
-    private OMRSRepositoryContentManager      repositoryContentManager;
-    private List<RegisteredConnector>         registeredRemoteConnectors   = new ArrayList<>();
-    private List<RegisteredConnectorConsumer> registeredConnectorConsumers = new ArrayList<>();
-    private OMRSAuditLog                      auditLog;
-    private String                            localServerUserId;
-    private String                            localServerPassword;
+    private String                                  localMetadataCollectionId    = null;
+    private LocalOMRSRepositoryConnector            localRepositoryConnector     = null;
+    private OMRSRepositoryContentManager            repositoryContentManager;
+    private List<RegisteredConnector>               registeredRemoteConnectors   = new ArrayList<>();
+    private List<RegisteredConnectorConsumer>       registeredConnectorConsumers = new ArrayList<>();
+    private Map<String, OMRSRepositoryEventManager> cohortEventManagers          = new HashMap<>();
+    private List<OMRSRepositoryEventProcessor>      instanceEventProcessors      = new ArrayList<>();
+    private OMRSAuditLog                            auditLog;
+    private String                                  localServerUserId;
+    private String                                  localServerPassword;
 
     /**
      * Constructor for the enterprise connector manager.
@@ -174,9 +180,32 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
      * @param localMetadataCollectionId Unique identifier for the metadata collection
      * @param localRepositoryConnector connector to the local repository
      */
-    public void setLocalConnector(String                       localMetadataCollectionId,
-                                  LocalOMRSRepositoryConnector localRepositoryConnector)
+    public synchronized void setLocalConnector(String                       localMetadataCollectionId,
+                                               LocalOMRSRepositoryConnector localRepositoryConnector)
     {
+        /*
+         * Move any instance event processors over to the new local repository's outbound event manager.
+         */
+        OMRSRepositoryEventManager oldEventManager = this.getLocalEventManager();
+        OMRSRepositoryEventManager newEventManager = null;
+
+        if (localRepositoryConnector != null)
+        {
+            newEventManager = localRepositoryConnector.getOutboundRepositoryEventManager();
+        }
+
+        for (OMRSRepositoryEventProcessor eventProcessor : instanceEventProcessors)
+        {
+            if (oldEventManager != null)
+            {
+                oldEventManager.unregisterRepositoryEventProcessor(eventProcessor);
+            }
+
+            if (newEventManager != null)
+            {
+                newEventManager.registerRepositoryEventProcessor(eventProcessor);
+            }
+        }
 
         /*
          * Connector is ok so save along with the metadata collection Id.
@@ -355,6 +384,28 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
     }
 
 
+    /**
+     * Save the event manager that distributes the instance events received from an open metadata
+     * repository cohort and register each of the instance event processors with it.
+     *
+     * @param cohortName name of the cohort.
+     * @param cohortEventManager event manager for the cohort's inbound events.
+     */
+    public synchronized void addCohortEventManager(String                     cohortName,
+                                                   OMRSRepositoryEventManager cohortEventManager)
+    {
+        if (cohortEventManager != null)
+        {
+            cohortEventManagers.put(cohortName, cohortEventManager);
+
+            for (OMRSRepositoryEventProcessor eventProcessor : instanceEventProcessors)
+            {
+                cohortEventManager.registerRepositoryEventProcessor(eventProcessor);
+            }
+        }
+    }
+
+
     /**
      * Remove all of the remote connections for the requested open metadata repository cohort.
      * Care must be taken to only remove the remote connectors from the registered connector consumers if the
@@ -387,6 +438,19 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
         {
             this.removeRemoteConnection(cohortName, metadataCollectionId);
         }
+
+        /*
+         * Events from the cohort no longer need to be passed to the instance event processors.
+         */
+        OMRSRepositoryEventManager cohortEventManager = cohortEventManagers.remove(cohortName);
+
+        if (cohortEventManager != null)
+        {
+            for (OMRSRepositoryEventProcessor eventProcessor : instanceEventProcessors)
+            {
+                cohortEventManager.unregisterRepositoryEventProcessor(eventProcessor);
+            }
+        }
     }
 
 
@@ -470,6 +534,79 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
     }
 
 
+    /**
+     * Register an event processor that needs to see the instance events flowing through the local
+     * repository's outbound event manager and the inbound event manager of each connected cohort.
+     * Event managers for cohorts that are connected later are passed the event processor as they arrive.
+     *
+     * @param eventProcessor event processor to add to each of the event managers.
+     */
+    public synchronized void registerInstanceEventProcessor(OMRSRepositoryEventProcessor eventProcessor)
+    {
+        if (eventProcessor != null)
+        {
+            instanceEventProcessors.add(eventProcessor);
+
+            for (OMRSRepositoryEventManager eventManager : this.getInstanceEventManagers())
+            {
+                eventManager.registerRepositoryEventProcessor(eventProcessor);
+            }
+        }
+    }
+
+
+    /**
+     * Remove an event processor that was added with registerInstanceEventProcessor.
+     *
+     * @param eventProcessor event processor to remove from each of the event managers.
+     */
+    public synchronized void unregisterInstanceEventProcessor(OMRSRepositoryEventProcessor eventProcessor)
+    {
+        if (instanceEventProcessors.remove(eventProcessor))
+        {
+            for (OMRSRepositoryEventManager eventManager : this.getInstanceEventManagers())
+            {
+                eventManager.unregisterRepositoryEventProcessor(eventProcessor);
+            }
+        }
+    }
+
+
+    /**
+     * Return the outbound event manager of the local repository (if any).
+     *
+     * @return event manager or null
+     */
+    private OMRSRepositoryEventManager getLocalEventManager()
+    {
+        if (localRepositoryConnector != null)
+        {
+            return localRepositoryConnector.getOutboundRepositoryEventManager();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the event managers that instance event processors are registered with.
+     *
+     * @return list of event managers
+     */
+    private List<OMRSRepositoryEventManager> getInstanceEventManagers()
+    {
+        List<OMRSRepositoryEventManager> eventManagers = new ArrayList<>(cohortEventManagers.values());
+        OMRSRepositoryEventManager       localEventManager = this.getLocalEventManager();
+
+        if (localEventManager != null)
+        {
+            eventManagers.add(localEventManager);
+        }
+
+        return eventManagers;
+    }
+
+
     /**
      * Private method to convert a Connection into an OMRS repository connector using the OCF ConnectorBroker.
      * The OCF ConnectorBroker is needed because the implementation of the OMRS connector is unknown and
@@ -6,6 +6,8 @@ import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperti
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.Map;
+
 /**
  * EnterpriseOMRSConnection provides a valid connection for the EnterpriseOMRSConnector.
  */
@@ -24,4 +26,17 @@ public class EnterpriseOMRSConnection extends ConnectionProperties
         connectorType.setConnectorProviderClassName(EnterpriseOMRSConnectorProvider.class.getName());
         connectionBean.setConnectorType(connectorType);
     }
+
+
+    /**
+     * Constructor that sets up the connector with configuration properties such as the size of the instance cache.
+     *
+     * @param configurationProperties properties for the EnterpriseOMRSRepositoryConnector
+     */
+    public EnterpriseOMRSConnection(Map<String, Object> configurationProperties)
+    {
+        this();
+
+        super.getConnectionBean().setConfigurationProperties(configurationProperties);
+    }
 }
@@ -0,0 +1,502 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventBuilder;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EnterpriseOMRSInstanceCache holds the entities and relationships that an EnterpriseOMRSRepositoryConnector
+ * has retrieved by GUID so that repeated requests for the same instance do not need to be federated to every member
+ * of the cohort.
+ * <p>
+ *     The cache is bounded by the number of instances (least recently used instances are evicted first) and
+ *     by a time to live.  It is registered as an event processor with the local repository's outbound event manager
+ *     and the inbound event manager of each cohort so an instance is removed as soon as an event shows that it has
+ *     changed (updated, classified, deleted, purged, restored, re-typed, re-homed or re-identified).  Each cached
+ *     instance remembers its version so a late event for an older version does not remove a newer copy.  The time
+ *     to live bounds how long a change that is filtered out by an event exchange rule can go unnoticed.
+ * </p>
+ * <p>
+ *     An event may arrive while an instance is being retrieved from the cohort, before it is added to the cache.
+ *     Each event that removes instances therefore advances an invalidation generation.  The caller reads the
+ *     generation before it retrieves the instance and the instance is not cached if the generation has moved on.
+ * </p>
+ * <p>
+ *     Open metadata security checks are made by the repositories that return the instances.  The cache therefore
+ *     only returns an instance to the users that have already retrieved that version of it from the cohort.
+ * </p>
+ */
+public class EnterpriseOMRSInstanceCache extends OMRSRepositoryEventBuilder
+{
+    private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSInstanceCache.class);
+
+    private final int                           maxSize;
+    private final long                          timeToLive;
+    private final Map<String, CachedInstance>   instances;
+    private long                                invalidationGeneration = 0;
+
+    private final AtomicLong                    hitCount          = new AtomicLong();
+    private final AtomicLong                    missCount         = new AtomicLong();
+    private final AtomicLong                    evictionCount     = new AtomicLong();
+    private final AtomicLong                    invalidationCount = new AtomicLong();
+
+
+    /**
+     * Constructor sets up the size and time to live limits of the cache.
+     *
+     * @param eventProcessorName name of the cache used in messages
+     * @param maxSize maximum number of instances to hold in the cache
+     * @param timeToLive number of milliseconds that an instance stays in the cache
+     */
+    EnterpriseOMRSInstanceCache(String eventProcessorName,
+                                int    maxSize,
+                                long   timeToLive)
+    {
+        super(eventProcessorName);
+
+        this.maxSize    = maxSize;
+        this.timeToLive = timeToLive;
+        this.instances  = new LinkedHashMap<String, CachedInstance>(16, 0.75f, true)
+        {
+            protected boolean removeEldestEntry(Map.Entry<String, CachedInstance> eldest)
+            {
+                if (size() > EnterpriseOMRSInstanceCache.this.maxSize)
+                {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * Return a copy of the cached entity if the user has already retrieved this version of it.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity or null if it is not cached for this user
+     */
+    EntityDetail getEntityDetail(String userId,
+                                 String guid)
+    {
+        InstanceHeader instance = this.getInstance(userId, guid, EntityDetail.class);
+
+        if (instance != null)
+        {
+            return new EntityDetail((EntityDetail)instance);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a copy of the cached relationship if the user has already retrieved this version of it.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the relationship
+     * @return relationship or null if it is not cached for this user
+     */
+    Relationship getRelationship(String userId,
+                                 String guid)
+    {
+        InstanceHeader instance = this.getInstance(userId, guid, Relationship.class);
+
+        if (instance != null)
+        {
+            return new Relationship((Relationship)instance);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the current invalidation generation.  This is called before an instance is retrieved from the cohort
+     * and passed back when the retrieved instance is cached.
+     *
+     * @return generation number
+     */
+    long getInvalidationGeneration()
+    {
+        synchronized (instances)
+        {
+            return invalidationGeneration;
+        }
+    }
+
+
+    /**
+     * Save an entity that has been retrieved from the cohort for the user.  It is not saved if an instance
+     * event has removed instances from the cache since the retrieval started.
+     *
+     * @param userId calling user
+     * @param entity retrieved entity
+     * @param generation invalidation generation read before the entity was retrieved
+     */
+    void cacheEntityDetail(String       userId,
+                           EntityDetail entity,
+                           long         generation)
+    {
+        if (entity != null)
+        {
+            this.cacheInstance(userId, new EntityDetail(entity), generation);
+        }
+    }
+
+
+    /**
+     * Save a relationship that has been retrieved from the cohort for the user.  It is not saved if an instance
+     * event has removed instances from the cache since the retrieval started.
+     *
+     * @param userId calling user
+     * @param relationship retrieved relationship
+     * @param generation invalidation generation read before the relationship was retrieved
+     */
+    void cacheRelationship(String       userId,
+                           Relationship relationship,
+                           long         generation)
+    {
+        if (relationship != null)
+        {
+            this.cacheInstance(userId, new Relationship(relationship), generation);
+        }
+    }
+
+
+    /**
+     * Return the number of requests that were satisfied from the cache.
+     *
+     * @return count
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that had to be sent to the cohort.
+     *
+     * @return count
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Return the number of instances removed because the cache was full or their time to live had expired.
+     *
+     * @return count
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+
+    /**
+     * Return the number of instances removed because an instance event showed they had changed.
+     *
+     * @return count
+     */
+    public long getInvalidationCount()
+    {
+        return invalidationCount.get();
+    }
+
+
+    /**
+     * Return the number of instances currently cached.
+     *
+     * @return count
+     */
+    public int getSize()
+    {
+        synchronized (instances)
+        {
+            return instances.size();
+        }
+    }
+
+
+    /**
+     * Remove all of the cached instances.
+     */
+    void clear()
+    {
+        synchronized (instances)
+        {
+            invalidationGeneration++;
+            instances.clear();
+        }
+    }
+
+
+    /**
+     * TypeDef events do not change the cached instances.  Instances that change type are covered by
+     * the re-typed instance events.
+     *
+     * @param sourceName name of the event manager
+     * @param typeDefEvent event
+     */
+    public void sendTypeDefEvent(String           sourceName,
+                                 OMRSTypeDefEvent typeDefEvent)
+    {
+    }
+
+
+    /**
+     * Remove any cached instance that the event shows has changed.
+     *
+     * @param sourceName name of the event manager
+     * @param instanceEvent event
+     */
+    public void sendInstanceEvent(String            sourceName,
+                                  OMRSInstanceEvent instanceEvent)
+    {
+        if (instanceEvent == null)
+        {
+            return;
+        }
+
+        OMRSInstanceEventType eventType = instanceEvent.getInstanceEventType();
+
+        if ((eventType == OMRSInstanceEventType.NEW_ENTITY_EVENT) ||
+            (eventType == OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT) ||
+            (eventType == OMRSInstanceEventType.REFRESH_ENTITY_REQUEST) ||
+            (eventType == OMRSInstanceEventType.REFRESH_RELATIONSHIP_REQUEST))
+        {
+            return;
+        }
+
+        synchronized (instances)
+        {
+            invalidationGeneration++;
+        }
+
+        /*
+         * Events that carry the instance are checked against the cached version.  Delete and purge events
+         * may only carry the GUID.
+         */
+        if ((instanceEvent.getEntity() != null) || (instanceEvent.getRelationship() != null))
+        {
+            this.invalidate(instanceEvent.getEntity());
+            this.invalidate(instanceEvent.getRelationship());
+        }
+        else
+        {
+            this.invalidate(instanceEvent.getInstanceGUID());
+        }
+
+        this.invalidate(instanceEvent.getOriginalInstanceGUID());
+        this.invalidate(instanceEvent.getTargetInstanceGUID());
+        this.invalidate(instanceEvent.getOtherInstanceGUID());
+
+        InstanceGraph instanceBatch = instanceEvent.getInstanceBatch();
+
+        if (instanceBatch != null)
+        {
+            if (instanceBatch.getEntities() != null)
+            {
+                for (EntityDetail entity : instanceBatch.getEntities())
+                {
+                    this.invalidate(entity);
+                }
+            }
+
+            if (instanceBatch.getRelationships() != null)
+            {
+                for (Relationship relationship : instanceBatch.getRelationships())
+                {
+                    this.invalidate(relationship);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the cached instance if it is still live, of the requested kind and has been retrieved by the user.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the instance
+     * @param instanceClass EntityDetail or Relationship
+     * @return instance or null
+     */
+    private InstanceHeader getInstance(String                          userId,
+                                       String                          guid,
+                                       Class<? extends InstanceHeader> instanceClass)
+    {
+        synchronized (instances)
+        {
+            CachedInstance cachedInstance = instances.get(guid);
+
+            if (cachedInstance != null)
+            {
+                if (cachedInstance.expiryTime <= System.currentTimeMillis())
+                {
+                    instances.remove(guid);
+                    evictionCount.incrementAndGet();
+                }
+                else if ((instanceClass.isInstance(cachedInstance.instance)) && (cachedInstance.readers.contains(userId)))
+                {
+                    hitCount.incrementAndGet();
+                    return cachedInstance.instance;
+                }
+            }
+        }
+
+        missCount.incrementAndGet();
+        return null;
+    }
+
+
+    /**
+     * Save an instance for the user.  If the same version is already cached, the user is added to its
+     * readers.  An older version replaces a newer one only after the newer one has been invalidated.
+     * Nothing is saved if the invalidation generation has changed since the instance was retrieved.
+     *
+     * @param userId calling user
+     * @param instance copy of the retrieved instance
+     * @param generation invalidation generation read before the instance was retrieved
+     */
+    private void cacheInstance(String         userId,
+                               InstanceHeader instance,
+                               long           generation)
+    {
+        String guid = instance.getGUID();
+
+        if (guid == null)
+        {
+            return;
+        }
+
+        synchronized (instances)
+        {
+            if (generation != invalidationGeneration)
+            {
+                return;
+            }
+
+            CachedInstance cachedInstance = instances.get(guid);
+
+            if ((cachedInstance != null) && (cachedInstance.expiryTime > System.currentTimeMillis()))
+            {
+                if (cachedInstance.instance.getVersion() == instance.getVersion())
+                {
+                    cachedInstance.readers.add(userId);
+                    return;
+                }
+                else if (cachedInstance.instance.getVersion() > instance.getVersion())
+                {
+                    return;
+                }
+            }
+
+            instances.put(guid, new CachedInstance(instance, userId, System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+
+    /**
+     * Remove the cached copy of an instance unless the cached copy is newer than the one in the event.
+     *
+     * @param instance instance from the event
+     */
+    private void invalidate(InstanceHeader instance)
+    {
+        if ((instance != null) && (instance.getGUID() != null))
+        {
+            synchronized (instances)
+            {
+                CachedInstance cachedInstance = instances.get(instance.getGUID());
+
+                if ((cachedInstance != null) && (cachedInstance.instance.getVersion() <= instance.getVersion()))
+                {
+                    instances.remove(instance.getGUID());
+                    invalidationCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Remove the cached copy of an instance.
+     *
+     * @param guid unique identifier of the instance
+     */
+    private void invalidate(String guid)
+    {
+        if (guid != null)
+        {
+            synchronized (instances)
+            {
+                if (instances.remove(guid) != null)
+                {
+                    invalidationCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Log the cache statistics.
+     */
+    void logStatistics()
+    {
+        log.debug(super.getEventProcessorName() + ": hits=" + hitCount.get() + ", misses=" + missCount.get()
+                          + ", evictions=" + evictionCount.get() + ", invalidations=" + invalidationCount.get());
+    }
+
+
+    /**
+     * CachedInstance is a cache entry.  It holds the instance, the users that have retrieved it
+     * and the time that it expires.
+     */
+    private static class CachedInstance
+    {
+        private final InstanceHeader instance;
+        private final Set<String>    readers = new HashSet<>();
+        private final long           expiryTime;
+
+
+        /**
+         * Constructor for a new entry.
+         *
+         * @param instance cached instance
+         * @param userId user that retrieved the instance
+         * @param expiryTime time that the entry expires
+         */
+        CachedInstance(InstanceHeader instance,
+                       String         userId,
+                       long           expiryTime)
+        {
+            this.instance   = instance;
+            this.expiryTime = expiryTime;
+            this.readers.add(userId);
+        }
+    }
+}
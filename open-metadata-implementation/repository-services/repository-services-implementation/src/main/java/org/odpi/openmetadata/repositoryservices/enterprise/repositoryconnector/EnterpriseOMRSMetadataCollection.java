@@ -134,7 +134,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            methodName,
+                                                                            enterpriseParentConnector.getRepositoryTimeout());
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -962,6 +965,25 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * An entity that this user has retrieved before, and that has not changed since, is returned from the
+         * instance cache (if configured).
+         */
+        EnterpriseOMRSInstanceCache instanceCache          = enterpriseParentConnector.getInstanceCache();
+        long                        invalidationGeneration = 0;
+
+        if (instanceCache != null)
+        {
+            EntityDetail cachedEntity = instanceCache.getEntityDetail(userId, guid);
+
+            if (cachedEntity != null)
+            {
+                return cachedEntity;
+            }
+
+            invalidationGeneration = instanceCache.getInvalidationGeneration();
+        }
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -980,7 +1002,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getEntityDetail();
+        EntityDetail entity = executor.getEntityDetail();
+
+        if (instanceCache != null)
+        {
+            instanceCache.cacheEntityDetail(userId, entity, invalidationGeneration);
+        }
+
+        return entity;
     }
 
 
@@ -1038,6 +1067,60 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known, or are only proxies, are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of entities in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl   federationControl = new ParallelFederationControl(userId,
+                                                                              cohortConnectors,
+                                                                              methodName,
+                                                                              enterpriseParentConnector.getRepositoryTimeout());
+        GetEntitiesExecutor executor          = new GetEntitiesExecutor(userId,
+                                                                        guids,
+                                                                        localMetadataCollectionId,
+                                                                        auditLog,
+                                                                        repositoryValidator,
+                                                                        methodName);
+
+        /*
+         * Ready to process the request.  The entities may be stored in different repositories so each
+         * repository is called in parallel.  Some repositories may produce exceptions.  These exceptions are
+         * saved and will be returned if there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1109,7 +1192,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = new ParallelFederationControl(userId,
+                                                                                            cohortConnectors,
+                                                                                            methodName,
+                                                                                            enterpriseParentConnector.getRepositoryTimeout());
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1119,6 +1205,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                     sequencingProperty,
                                                                                                     sequencingOrder,
                                                                                                     pageSize,
+                                                                                                    enterpriseParentConnector.getPagingContinuations(),
                                                                                                     localMetadataCollectionId,
                                                                                                     auditLog,
                                                                                                     repositoryValidator,
@@ -1214,7 +1301,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = new ParallelFederationControl(userId,
+                                                                                            cohortConnectors,
+                                                                                            methodName,
+                                                                                            enterpriseParentConnector.getRepositoryTimeout());
         FindEntitiesByPropertyExecutor    executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                                  entityTypeGUID,
                                                                                                  matchProperties,
@@ -1226,6 +1316,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                  sequencingProperty,
                                                                                                  sequencingOrder,
                                                                                                  pageSize,
+                                                                                                 enterpriseParentConnector.getPagingContinuations(),
                                                                                                  localMetadataCollectionId,
                                                                                                  auditLog,
                                                                                                  repositoryValidator,
@@ -1326,7 +1417,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                       federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                       federationControl = new ParallelFederationControl(userId,
+                                                                                                  cohortConnectors,
+                                                                                                  methodName,
+                                                                                                  enterpriseParentConnector.getRepositoryTimeout());
         FindEntitiesByClassificationExecutor    executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                              entityTypeGUID,
                                                                                                              classificationName,
@@ -1338,6 +1432,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                              sequencingProperty,
                                                                                                              sequencingOrder,
                                                                                                              pageSize,
+                                                                                                             enterpriseParentConnector.getPagingContinuations(),
                                                                                                              localMetadataCollectionId,
                                                                                                              auditLog,
                                                                                                              repositoryValidator,
@@ -1433,7 +1528,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId,
+                                                                                              cohortConnectors,
+                                                                                              methodName,
+                                                                                              enterpriseParentConnector.getRepositoryTimeout());
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1444,6 +1542,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         sequencingProperty,
                                                                                                         sequencingOrder,
                                                                                                         pageSize,
+                                                                                                        enterpriseParentConnector.getPagingContinuations(),
                                                                                                         localMetadataCollectionId,
                                                                                                         auditLog,
                                                                                                         repositoryValidator,
@@ -1531,6 +1630,25 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * A relationship that this user has retrieved before, and that has not changed since, is returned from the
+         * instance cache (if configured).
+         */
+        EnterpriseOMRSInstanceCache instanceCache          = enterpriseParentConnector.getInstanceCache();
+        long                        invalidationGeneration = 0;
+
+        if (instanceCache != null)
+        {
+            Relationship cachedRelationship = instanceCache.getRelationship(userId, guid);
+
+            if (cachedRelationship != null)
+            {
+                return cachedRelationship;
+            }
+
+            invalidationGeneration = instanceCache.getInvalidationGeneration();
+        }
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -1549,7 +1667,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getRelationship();
+        Relationship relationship = executor.getRelationship();
+
+        if (instanceCache != null)
+        {
+            instanceCache.cacheRelationship(userId, relationship, invalidationGeneration);
+        }
+
+        return relationship;
     }
 
 
@@ -1605,6 +1730,60 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that are not known are left out
+     * of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of relationships in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName        = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl        federationControl = new ParallelFederationControl(userId,
+                                                                                   cohortConnectors,
+                                                                                   methodName,
+                                                                                   enterpriseParentConnector.getRepositoryTimeout());
+        GetRelationshipsExecutor executor          = new GetRelationshipsExecutor(userId,
+                                                                                  guids,
+                                                                                  localMetadataCollectionId,
+                                                                                  auditLog,
+                                                                                  repositoryValidator,
+                                                                                  methodName);
+
+        /*
+         * Ready to process the request.  The relationships may be stored in different repositories so each
+         * repository is called in parallel.  Some repositories may produce exceptions.  These exceptions are
+         * saved and will be returned if there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -1682,7 +1861,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId,
+                                                                                              cohortConnectors,
+                                                                                              methodName,
+                                                                                              enterpriseParentConnector.getRepositoryTimeout());
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -1693,6 +1875,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         sequencingProperty,
                                                                                                         sequencingOrder,
                                                                                                         pageSize,
+                                                                                                        enterpriseParentConnector.getPagingContinuations(),
                                                                                                         localMetadataCollectionId,
                                                                                                         auditLog,
                                                                                                         repositoryValidator,
@@ -1784,7 +1967,10 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                        federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                        federationControl = new ParallelFederationControl(userId,
+                                                                                                   cohortConnectors,
+                                                                                                   methodName,
+                                                                                                   enterpriseParentConnector.getRepositoryTimeout());
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -1794,6 +1980,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                                   sequencingProperty,
                                                                                                                   sequencingOrder,
                                                                                                                   pageSize,
+                                                                                                                  enterpriseParentConnector.getPagingContinuations(),
                                                                                                                   localMetadataCollectionId,
                                                                                                                   auditLog,
                                                                                                                   repositoryValidator,
@@ -15,6 +15,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.FederatedPagingContinuations;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
@@ -22,6 +24,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -36,6 +39,19 @@ import java.util.List;
  *     repositories in the connected open metadata repository cohort(s).  It does by registering as an OMRSConnectorConsumer
  *     with the OMRSConnectorManager to be notified when connectors to new open metadata repositories are available.
  * </p>
+ * <p>
+ *     When the instanceCacheSize configuration property is set, entities and relationships retrieved by GUID are
+ *     kept in an EnterpriseOMRSInstanceCache.  The cache is kept current by the instance events that the
+ *     connector manager passes to it.
+ * </p>
+ * <p>
+ *     The positions reached in each repository by paged find requests are kept in FederatedPagingContinuations
+ *     so a request for the next page can resume from where the previous page stopped.
+ * </p>
+ * <p>
+ *     The repositoryTimeout configuration property sets the number of seconds that a federated request waits
+ *     for the repositories to respond.
+ * </p>
  */
 public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector implements OMRSConnectorConsumer
 {
@@ -47,7 +63,23 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private String                              localMetadataCollectionId = null;
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
-    private String callingServiceName = null;
+    private String                              callingServiceName        = null;
+    private EnterpriseOMRSInstanceCache         instanceCache             = null;
+    private FederatedPagingContinuations        pagingContinuations       = new FederatedPagingContinuations();
+    private long                                repositoryTimeout         = ParallelFederationControl.defaultRepositoryTimeout;
+
+    /*
+     * Names of the configuration properties that turn on the instance cache.  The time to live is in seconds.
+     */
+    public  static final String INSTANCE_CACHE_SIZE_PROPERTY         = "instanceCacheSize";
+    public  static final String INSTANCE_CACHE_TIME_TO_LIVE_PROPERTY = "instanceCacheTimeToLive";
+
+    private static final int    defaultInstanceCacheTimeToLive       = 60;
+
+    /*
+     * Name of the configuration property that sets the time to wait for the repositories.  It is in seconds.
+     */
+    public  static final String REPOSITORY_TIMEOUT_PROPERTY          = "repositoryTimeout";
 
     private static final Logger       log      = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
@@ -137,6 +169,9 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     {
         super.start();
 
+        this.startInstanceCache();
+        this.setUpRepositoryTimeout();
+
         if (auditLog != null)
         {
             final String actionDescription = "start";
@@ -181,11 +216,146 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             connectorManager.unregisterConnectorConsumer(connectorConsumerId);
         }
 
+        if (instanceCache != null)
+        {
+            if (connectorManager != null)
+            {
+                connectorManager.unregisterInstanceEventProcessor(instanceCache);
+            }
+
+            instanceCache.logStatistics();
+            instanceCache.clear();
+        }
+
+        pagingContinuations.clear();
+
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
     }
 
 
+    /**
+     * Create the instance cache if it is configured and register it for instance events.
+     */
+    private void startInstanceCache()
+    {
+        Map<String, Object> configurationProperties = null;
+
+        if (connectionProperties != null)
+        {
+            configurationProperties = connectionProperties.getConfigurationProperties();
+        }
+
+        int cacheSize  = this.getIntegerProperty(configurationProperties, INSTANCE_CACHE_SIZE_PROPERTY, 0);
+        int timeToLive = this.getIntegerProperty(configurationProperties,
+                                                 INSTANCE_CACHE_TIME_TO_LIVE_PROPERTY,
+                                                 defaultInstanceCacheTimeToLive);
+
+        if ((cacheSize > 0) && (timeToLive > 0))
+        {
+            instanceCache = new EnterpriseOMRSInstanceCache("Enterprise Instance Cache for " + callingServiceName,
+                                                            cacheSize,
+                                                            timeToLive * 1000L);
+
+            connectorManager.registerInstanceEventProcessor(instanceCache);
+
+            log.debug("Instance cache for " + callingServiceName + " holds " + cacheSize + " instances for "
+                              + timeToLive + " seconds");
+        }
+    }
+
+
+    /**
+     * Set up the time to wait for the repositories to respond to a federated request if it is configured.
+     */
+    private void setUpRepositoryTimeout()
+    {
+        if (connectionProperties != null)
+        {
+            int timeout = this.getIntegerProperty(connectionProperties.getConfigurationProperties(),
+                                                  REPOSITORY_TIMEOUT_PROPERTY,
+                                                  0);
+
+            if (timeout > 0)
+            {
+                repositoryTimeout = timeout * 1000L;
+
+                log.debug("Federated requests for " + callingServiceName + " wait " + timeout + " seconds for the repositories");
+            }
+        }
+    }
+
+
+    /**
+     * Return an integer configuration property.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private int getIntegerProperty(Map<String, Object> configurationProperties,
+                                   String              propertyName,
+                                   int                 defaultValue)
+    {
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(propertyName);
+
+            if (propertyValue instanceof Number)
+            {
+                return ((Number) propertyValue).intValue();
+            }
+            else if (propertyValue != null)
+            {
+                try
+                {
+                    return Integer.parseInt(propertyValue.toString());
+                }
+                catch (NumberFormatException error)
+                {
+                    log.error("Ignoring invalid value for " + propertyName + ": " + propertyValue);
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the cache of instances retrieved by GUID.  Its statistics show how effective the cache is.
+     *
+     * @return instance cache or null if the cache is not configured
+     */
+    public EnterpriseOMRSInstanceCache getInstanceCache()
+    {
+        return instanceCache;
+    }
+
+
+    /**
+     * Return the positions reached in each repository by the paged find requests issued through this connector.
+     *
+     * @return paging continuations
+     */
+    public FederatedPagingContinuations getPagingContinuations()
+    {
+        return pagingContinuations;
+    }
+
+
+    /**
+     * Return the maximum time to wait for each repository to respond to a federated request.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getRepositoryTimeout()
+    {
+        return repositoryTimeout;
+    }
+
+
     /**
      * Returns the metadata collection to the repository where the supplied instance can be updated, ie its home repository.
      *
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -86,6 +87,11 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addEntities(List<EntityDetail>   entities,
                                          String               metadataCollectionId)
     {
+        if (super.isClosed())
+        {
+            return;
+        }
+
         if (entities != null)
         {
             for (EntityDetail entity : entities)
@@ -124,12 +130,49 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
-            this.makeRefreshRecommendations(repositoryConnector);
+            this.makeRefreshRecommendations(repositoryConnector, accumulatedEntities.values());
             return new ArrayList<>(accumulatedEntities.values());
         }
     }
 
 
+    /**
+     * Extract the results for a page of entities.  The page is made up of the latest version of each of the
+     * requested entities, in the order supplied.  It should be called once all of the executors have completed
+     * processing their request(s).
+     *
+     * @param repositoryConnector enterprise connector
+     * @param pageGUIDs unique identifiers of the entities to return, in the order to return them
+     * @return list of entities
+     */
+    public synchronized List<EntityDetail>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       List<String>                      pageGUIDs)
+    {
+        List<EntityDetail> results = new ArrayList<>();
+
+        if (pageGUIDs != null)
+        {
+            for (String guid : pageGUIDs)
+            {
+                EntityDetail accumulatedEntity = accumulatedEntities.get(guid);
+
+                if (accumulatedEntity != null)
+                {
+                    results.add(accumulatedEntity);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector, results);
+        return results;
+    }
+
+
     /**
      * Return the list of entities that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
@@ -142,13 +185,15 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
      * This call should be made once all processing has stopped.
      *
      * @param repositoryConnector enterprise connector
+     * @param returnedEntities entities being returned to the caller
      */
-    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                              Collection<EntityDetail>          returnedEntities)
     {
         /*
          * Either no local repository or nothing accumulated so nothing to return
          */
-        if ((localMetadataCollectionId == null) || (accumulatedEntities.isEmpty()))
+        if ((localMetadataCollectionId == null) || (returnedEntities.isEmpty()))
         {
             return;
         }
@@ -156,7 +201,7 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
         /*
          * Ignore all entities that came from the local repository
          */
-        for (EntityDetail accumulatedEntity : accumulatedEntities.values())
+        for (EntityDetail accumulatedEntity : returnedEntities)
         {
             if (accumulatedEntity != null)
             {
@@ -23,6 +23,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     private int                  responsesRequired  = 0;
     private Map<String, Integer> resultsContributed = new HashMap<>();
     private boolean              resultsReturned = false;
+    private boolean              closed          = false;
 
 
     /**
@@ -63,7 +64,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
      *
      * @return true if a request succeeded.
      */
-    public boolean resultsReturned()
+    public synchronized boolean resultsReturned()
     {
         return (resultsReturned);
     }
@@ -79,6 +80,29 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     }
 
 
+    /**
+     * Stop accepting results and exceptions from the repositories.  This is called once the caller has stopped
+     * waiting for the repositories to respond.  A request that is still running because it ignored its
+     * cancellation can then no longer change the results that are being returned to the caller.
+     */
+    public synchronized void close()
+    {
+        closed = true;
+    }
+
+
+    /**
+     * Return whether the accumulator has been closed.  Results and exceptions passed to a closed
+     * accumulator are ignored.
+     *
+     * @return boolean flag
+     */
+    synchronized boolean isClosed()
+    {
+        return closed;
+    }
+
+
     /**
      * This records the completion of the request to a single repository.
      *
@@ -118,8 +142,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                          metadataCollectionId,
                                               ClassificationErrorException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        classificationErrorException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            classificationErrorException = exception;
+        }
     }
 
 
@@ -132,8 +159,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               EntityNotKnownException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        entityNotKnownException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            entityNotKnownException = exception;
+        }
     }
 
 
@@ -147,8 +177,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                           metadataCollectionId,
                                               FunctionNotSupportedException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        functionNotSupportedException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            functionNotSupportedException = exception;
+        }
     }
 
 
@@ -161,8 +194,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               InvalidParameterException  exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        invalidParameterException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            invalidParameterException = exception;
+        }
     }
 
 
@@ -175,8 +211,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PagingErrorException     exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        pagingErrorException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            pagingErrorException = exception;
+        }
     }
 
 
@@ -189,8 +228,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PropertyErrorException     exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        propertyErrorException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            propertyErrorException = exception;
+        }
     }
 
 
@@ -203,8 +245,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                        metadataCollectionId,
                                               RelationshipNotKnownException exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        relationshipNotKnownException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            relationshipNotKnownException = exception;
+        }
     }
 
 
@@ -217,8 +262,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               RepositoryErrorException   exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        repositoryErrorException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            repositoryErrorException = exception;
+        }
     }
 
 
@@ -231,8 +279,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String               metadataCollectionId,
                                               TypeErrorException   exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        typeErrorException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            typeErrorException = exception;
+        }
     }
 
 
@@ -245,8 +296,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               UserNotAuthorizedException exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        userNotAuthorizedException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            userNotAuthorizedException = exception;
+        }
     }
 
 
@@ -259,7 +313,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureGenericException(String     metadataCollectionId,
                                                      Throwable  exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        anotherException = exception;
+        if (! closed)
+        {
+            setRequestReturned(metadataCollectionId, 0);
+            anotherException = exception;
+        }
     }
 }
@@ -8,6 +8,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,11 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addRelationships(List<Relationship>   relationships,
                                               String               metadataCollectionId)
     {
+        if (super.isClosed())
+        {
+            return;
+        }
+
         if (relationships != null)
         {
             for (Relationship relationship : relationships)
@@ -123,12 +129,49 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
-            this.makeRefreshRecommendations(repositoryConnector);
+            this.makeRefreshRecommendations(repositoryConnector, accumulatedRelationships.values());
             return new ArrayList<>(accumulatedRelationships.values());
         }
     }
 
 
+    /**
+     * Extract the results for a page of relationships.  The page is made up of the latest version of each of the
+     * requested relationships, in the order supplied.  It should be called once all of the executors have completed
+     * processing their request(s).
+     *
+     * @param repositoryConnector enterprise connector
+     * @param pageGUIDs unique identifiers of the relationships to return, in the order to return them
+     * @return list of relationships
+     */
+    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       List<String>                      pageGUIDs)
+    {
+        List<Relationship> results = new ArrayList<>();
+
+        if (pageGUIDs != null)
+        {
+            for (String guid : pageGUIDs)
+            {
+                Relationship accumulatedRelationship = accumulatedRelationships.get(guid);
+
+                if (accumulatedRelationship != null)
+                {
+                    results.add(accumulatedRelationship);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector, results);
+        return results;
+    }
+
+
     /**
      * Return the list of relationships that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
@@ -141,13 +184,15 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
      * This call should be made once all processing has stopped.
      *
      * @param repositoryConnector enterprise connector
+     * @param returnedRelationships relationships being returned to the caller
      */
-    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                              Collection<Relationship>          returnedRelationships)
     {
         /*
          * Either no local repository or nothing accumulated so nothing to return
          */
-        if ((localMetadataCollectionId == null) || (accumulatedRelationships.isEmpty()))
+        if ((localMetadataCollectionId == null) || (returnedRelationships.isEmpty()))
         {
             return;
         }
@@ -155,7 +200,7 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         /*
          * Ignore all entities that came from the local repository
          */
-        for (Relationship accumulatedRelationship : accumulatedRelationships.values())
+        for (Relationship accumulatedRelationship : returnedRelationships)
         {
             if (accumulatedRelationship != null)
             {
@@ -4,18 +4,47 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryRequestControl;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The executor is cloned for each repository (the clones share the executor's accumulator) and the clones
+ * run on a bounded pool of worker threads that is shared by all of the enterprise connectors in the JVM.
+ * If the pool is saturated, the request to a repository runs on the calling thread.
+ * <p>
+ * The caller waits until every repository has responded or the repository timeout has expired.  Requests that
+ * are still running at that point are cancelled and the results from the other repositories are returned.
+ * Any further requests that the executor needs to complete the request (such as requests for more pages of
+ * results) are issued to the worker threads once the first requests have completed and are subject to the
+ * same deadline.
+ * Finally, the accumulator shared by the clones is closed so that a request that ignores its cancellation
+ * can not change the results once the caller has started to read them.  The repository timeout is set
+ * through the repositoryTimeout configuration property of the enterprise connector.
+ * </p>
  */
-public class ParallelFederationControl extends FederationControlBase
+public class ParallelFederationControl extends FederationControlBase implements RepositoryRequestControl
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private static final int     maxWorkerThreads         = 32;
+    private static final int     maxQueuedRequests        = 512;
+    private static final long    workerKeepAliveSeconds   = 60;
+    public  static final long    defaultRepositoryTimeout = 60000;
+
+    private static final ExecutorService workerPool = createWorkerPool();
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelFederationControl.class);
+
+    private long   repositoryTimeout;
+    private long   deadline = 0;
 
 
     /**
@@ -28,9 +57,57 @@ public class ParallelFederationControl extends FederationControlBase
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      String                        methodName)
+    {
+        this(userId, cohortConnectors, methodName, defaultRepositoryTimeout);
+    }
+
+
+    /**
+     * Constructor for a federated query
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     * @param repositoryTimeout maximum number of milliseconds to wait for each repository to respond
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     String                        methodName,
+                                     long                          repositoryTimeout)
     {
         super(userId, cohortConnectors, methodName);
 
+        this.repositoryTimeout = repositoryTimeout;
+    }
+
+
+    /**
+     * Create the pool of worker threads used to issue requests to the repositories.  The threads are daemon threads
+     * that time out when idle.
+     *
+     * @return executor service
+     */
+    private static ExecutorService createWorkerPool()
+    {
+        final AtomicInteger threadCount = new AtomicInteger(0);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxWorkerThreads,
+                                                         maxWorkerThreads,
+                                                         workerKeepAliveSeconds,
+                                                         TimeUnit.SECONDS,
+                                                         new ArrayBlockingQueue<>(maxQueuedRequests),
+                                                         (runnable) ->
+                                                         {
+                                                             Thread thread = new Thread(runnable,
+                                                                                        "EnterpriseFederationWorker-" + threadCount.incrementAndGet());
+                                                             thread.setDaemon(true);
+                                                             return thread;
+                                                         },
+                                                         new ThreadPoolExecutor.CallerRunsPolicy());
+
+        pool.allowCoreThreadTimeOut(true);
+
+        return pool;
     }
 
 
@@ -45,16 +122,175 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
+            deadline = System.currentTimeMillis() + repositoryTimeout;
+
+            List<OMRSMetadataCollection>  metadataCollections   = new ArrayList<>();
+            List<String>                  metadataCollectionIds = new ArrayList<>();
+
             for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
             {
                 if (cohortConnector != null)
                 {
                     OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
 
-                    String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+                    metadataCollectionIds.add(this.validateMetadataCollection(metadataCollection, methodName));
+                    metadataCollections.add(metadataCollection);
+                }
+            }
+
+            if ((metadataCollections.size() < 2) || (! (executor instanceof CloneableRepositoryExecutor)))
+            {
+                /*
+                 * Nothing to gain from running the requests on worker threads.
+                 */
+                for (int i = 0; i < metadataCollections.size(); i++)
+                {
+                    executor.issueRequestToRepository(metadataCollectionIds.get(i), metadataCollections.get(i));
+                }
+
+                if (executor instanceof CloneableRepositoryExecutor)
+                {
+                    try
+                    {
+                        ((CloneableRepositoryExecutor) executor).completeRequest(this);
+                    }
+                    finally
+                    {
+                        ((CloneableRepositoryExecutor) executor).closeAccumulator();
+                    }
+                }
+
+                return;
+            }
+
+            List<Future<?>>  requests = new ArrayList<>();
+
+            for (int i = 0; i < metadataCollections.size(); i++)
+            {
+                final String                 metadataCollectionId = metadataCollectionIds.get(i);
+                final OMRSMetadataCollection metadataCollection   = metadataCollections.get(i);
+                final RepositoryExecutor     worker;
+
+                if (i == 0)
+                {
+                    worker = executor;
+                }
+                else
+                {
+                    worker = (RepositoryExecutor)((CloneableRepositoryExecutor) executor).getClone();
+                }
+
+                requests.add(workerPool.submit(() -> worker.issueRequestToRepository(metadataCollectionId,
+                                                                                     metadataCollection)));
+            }
+
+            try
+            {
+                this.waitForRequests(requests, metadataCollectionIds);
+
+                ((CloneableRepositoryExecutor) executor).completeRequest(this);
+            }
+            finally
+            {
+                ((CloneableRepositoryExecutor) executor).closeAccumulator();
+            }
+        }
+    }
+
+
+    /**
+     * Issue a further request to a repository on a worker thread and wait for its result.  The request is
+     * cancelled if it has not completed by the deadline set for the original requests.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param request request to issue
+     * @param <V> type of result
+     * @return result of the request or null if the request failed or was cancelled
+     */
+    public <V> V issueFollowOnRequest(String       metadataCollectionId,
+                                      Callable<V>  request)
+    {
+        Future<V> futureResult = workerPool.submit(request);
+
+        try
+        {
+            return futureResult.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException error)
+        {
+            log.warn("Cancelling " + methodName + " follow-on request to metadata collection " + metadataCollectionId +
+                             " after " + repositoryTimeout + " milliseconds");
+            futureResult.cancel(true);
+        }
+        catch (InterruptedException error)
+        {
+            log.debug("Interrupted while waiting for " + methodName + " follow-on request", error);
+
+            futureResult.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException error)
+        {
+            log.error("Unexpected exception from " + methodName + " follow-on request to metadata collection " +
+                              metadataCollectionId, error.getCause());
+        }
+        catch (CancellationException error)
+        {
+            log.debug("Follow-on request to metadata collection " + metadataCollectionId + " was cancelled");
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Wait for the requests to the repositories to complete.  Any request that has not completed
+     * by the time the repository timeout has expired is cancelled.
+     *
+     * @param requests requests issued to the worker threads
+     * @param metadataCollectionIds metadata collection ids of the repositories (in the same order as the requests)
+     */
+    private void waitForRequests(List<Future<?>>  requests,
+                                 List<String>     metadataCollectionIds)
+    {
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Future<?> request = requests.get(i);
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+            try
+            {
+                request.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException error)
+            {
+                log.warn("Cancelling " + methodName + " request to metadata collection " + metadataCollectionIds.get(i) +
+                                 " after " + repositoryTimeout + " milliseconds");
+                request.cancel(true);
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Interrupted while waiting for " + methodName + " requests", error);
+
+                for (Future<?> outstandingRequest : requests)
+                {
+                    outstandingRequest.cancel(true);
                 }
+
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (ExecutionException error)
+            {
+                /*
+                 * The executors capture the exceptions from the repositories in their accumulator so this
+                 * should not happen.
+                 */
+                log.error("Unexpected exception from " + methodName + " request to metadata collection " +
+                                  metadataCollectionIds.get(i), error.getCause());
+            }
+            catch (CancellationException error)
+            {
+                log.debug("Request to metadata collection " + metadataCollectionIds.get(i) + " was cancelled");
             }
         }
     }
@@ -14,4 +14,20 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Complete the request once every repository has responded (or timed out).  This is used by executors
+     * that need to issue further requests to the repositories to assemble the result.
+     *
+     * @param requestControl control for issuing the further requests
+     */
+    void completeRequest(RepositoryRequestControl   requestControl);
+
+
+    /**
+     * Stop this executor and its clones from adding to their shared accumulator.  This is called once the caller
+     * has stopped waiting for the repositories so the results can not change while they are being returned.
+     */
+    void closeAccumulator();
 }
@@ -12,12 +12,36 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private QueryAccumulatorBase sharedAccumulator;
+
+
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.sharedAccumulator = accumulator;
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Complete the request once every repository has responded (or timed out).  By default there is nothing
+     * more to do.
+     *
+     * @param requestControl control for issuing the further requests
+     */
+    public void completeRequest(RepositoryRequestControl   requestControl)
+    {
+    }
+
+
+    /**
+     * Stop this executor and its clones from adding to their shared accumulator.
+     */
+    public void closeAccumulator()
+    {
+        sharedAccumulator.close();
+    }
 }
@@ -0,0 +1,145 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FederatedPagingContinuations holds the positions reached in each repository by the paged find requests
+ * issued through an enterprise connector.  Each enterprise connector has its own continuations so they are
+ * only used for requests from the same access service.  A continuation is keyed by the query (which includes
+ * the calling user) and the element number of the next page, so it can only be picked up by a request for
+ * the following page of the same query from the same user.
+ * <p>
+ * Continuations are used once, expire after a short time and only a limited number are kept.
+ * </p>
+ */
+public class FederatedPagingContinuations
+{
+    private static final int   maxContinuations    = 256;
+    private static final long  continuationTimeout = 5 * 60 * 1000;
+
+    private final Map<String, Continuation> continuations = new LinkedHashMap<String, Continuation>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Continuation> eldest)
+        {
+            return size() > maxContinuations;
+        }
+    };
+
+
+    /**
+     * Default constructor
+     */
+    public FederatedPagingContinuations()
+    {
+    }
+
+
+    /**
+     * Save the position reached in each repository so the next page can resume from there.
+     *
+     * @param continuationKey query key and element number of the next page
+     * @param repositoryOffsets map of metadata collection id to element number
+     * @param mergedGUIDs unique identifiers of the instances merged for the earlier pages
+     */
+    synchronized void saveContinuation(String                continuationKey,
+                                       Map<String, Integer>  repositoryOffsets,
+                                       Set<String>           mergedGUIDs)
+    {
+        continuations.put(continuationKey, new Continuation(repositoryOffsets, mergedGUIDs));
+    }
+
+
+    /**
+     * Remove and return the continuation for a request.  Continuations are only used once.
+     *
+     * @param continuationKey query key and element number of the requested page
+     * @return continuation or null if there is none (or it has expired)
+     */
+    synchronized Continuation removeContinuation(String   continuationKey)
+    {
+        Continuation savedContinuation = continuations.remove(continuationKey);
+
+        if ((savedContinuation != null) &&
+            (System.currentTimeMillis() - savedContinuation.creationTime < continuationTimeout))
+        {
+            return savedContinuation;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Discard all of the saved continuations.
+     */
+    public synchronized void clear()
+    {
+        continuations.clear();
+    }
+
+
+    /**
+     * Continuation records how far a query has progressed through each repository.
+     */
+    static class Continuation
+    {
+        private final long                  creationTime = System.currentTimeMillis();
+        private final Map<String, Integer>  repositoryOffsets;
+        private final Set<String>           mergedGUIDs;
+
+
+        /**
+         * Capture the position reached in each repository.
+         *
+         * @param repositoryOffsets map of metadata collection id to element number
+         * @param mergedGUIDs unique identifiers of the instances merged for the earlier pages
+         */
+        private Continuation(Map<String, Integer>  repositoryOffsets,
+                             Set<String>           mergedGUIDs)
+        {
+            this.repositoryOffsets = repositoryOffsets;
+            this.mergedGUIDs = mergedGUIDs;
+        }
+
+
+        /**
+         * Return the element number reached in a repository.
+         *
+         * @param metadataCollectionId unique identifier of the repository's metadata collection
+         * @return element number or null if the repository did not respond to the previous request
+         */
+        Integer getRepositoryOffset(String   metadataCollectionId)
+        {
+            return repositoryOffsets.get(metadataCollectionId);
+        }
+
+
+        /**
+         * Return the unique identifiers of the instances merged for the earlier pages.  These are used to drop
+         * duplicates of instances that were returned in an earlier page.
+         *
+         * @return set of guids
+         */
+        Set<String> getMergedGUIDs()
+        {
+            return mergedGUIDs;
+        }
+
+
+        /**
+         * Return whether the same repositories responded to the follow-up request.
+         *
+         * @param metadataCollectionIds metadata collection ids of the repositories for the follow-up request
+         * @return boolean flag
+         */
+        boolean matches(Set<String>   metadataCollectionIds)
+        {
+            return repositoryOffsets.keySet().equals(metadataCollectionIds);
+        }
+    }
+}
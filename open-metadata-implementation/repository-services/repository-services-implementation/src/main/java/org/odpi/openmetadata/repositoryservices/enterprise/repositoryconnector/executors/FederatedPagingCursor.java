@@ -0,0 +1,557 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * FederatedPagingCursor merges the results of a paged find request that is issued to each member of the
+ * cohort(s).  Rather than asking every repository for all of the results up to the end of the requested page,
+ * each repository is asked for its results a page at a time (in the requested sequencing order).  The pages are
+ * merged (k-way merge) and no more pages are requested once the requested page of federated results is filled.
+ * <p>
+ * The merge relies on each repository returning its results in the requested order, so it is only used for the
+ * orders that the repositories honour (see InstanceSequencingComparator).  Each page is still sorted as it
+ * arrives.  For the other orders, each repository is asked for its results up to the end of the requested page
+ * and these are sorted before they are merged.
+ * </p>
+ * <p>
+ * Duplicates (for example reference copies) are detected using the unique identifiers of every instance merged
+ * for the query.  They do not necessarily sort next to one another, for example when the order is ANY or when
+ * the values of the sequencing property are equal or missing.
+ * </p>
+ * <p>
+ * When a page is filled, the position reached in each repository is saved as a continuation in the enterprise
+ * connector's FederatedPagingContinuations, keyed by the query and the element number of the next page.
+ * A follow-up request for the next page picks up the continuation and resumes each repository from where the
+ * previous request stopped rather than re-querying from element zero.  Continuations are only used if the
+ * same repositories respond to the follow-up request.  The continuation holds the unique identifiers of the
+ * instances merged so far, so once a query has been paged beyond a fixed depth no continuation is saved and
+ * the next page is retrieved from element zero.
+ * </p>
+ * The cursor is shared by the clones of an executor, so the first page from each repository is retrieved on the
+ * clones' worker threads.  Any further pages are requested through the federation control once the first pages
+ * have arrived, so they are subject to the same timeout.  The merge itself runs on the thread that issued
+ * the request.
+ *
+ * @param <T> type of instance
+ */
+class FederatedPagingCursor<T extends InstanceHeader>
+{
+    private static final int   maxRepositoryPage    = 1000;
+    private static final int   maxContinuationGUIDs = 10000;
+
+    private static final Logger log = LoggerFactory.getLogger(FederatedPagingCursor.class);
+
+    private int                                  startingElement;
+    private int                                  pageSize;
+    private Comparator<T>                        comparator;
+    private boolean                              orderHonoured;
+    private FederatedPagingContinuations         continuations;
+
+    private String                                       queryKey      = null;
+    private FederatedPagingContinuations.Continuation    continuation  = null;
+    private List<RepositoryCursor>                       repositories  = new ArrayList<>();
+    private List<String>                                 pageGUIDs     = null;
+
+
+    /**
+     * Constructor supplies the paging and sequencing parameters from the request.
+     *
+     * @param startingElement element number of the first result to return
+     * @param pageSize maximum number of results to return (zero means unlimited)
+     * @param comparator ordering of the results
+     * @param continuations positions reached in the repositories by requests for earlier pages (null means
+     *                      positions are not saved)
+     */
+    FederatedPagingCursor(int                              startingElement,
+                          int                              pageSize,
+                          InstanceSequencingComparator<T>  comparator,
+                          FederatedPagingContinuations     continuations)
+    {
+        this.startingElement = startingElement;
+        this.pageSize = pageSize;
+        this.comparator = comparator;
+        this.orderHonoured = comparator.isHonouredByRepositories();
+        this.continuations = continuations;
+    }
+
+
+    /**
+     * Set up the key that identifies the query and pick up any continuation saved by the request for the
+     * previous page.
+     *
+     * @param queryKey string built from the parameters of the query (including the calling user),
+     *                 excluding the paging parameters
+     */
+    synchronized void setQueryKey(String   queryKey)
+    {
+        this.queryKey = queryKey;
+
+        if ((continuations != null) && (orderHonoured) && (pageSize > 0) && (startingElement > 0))
+        {
+            this.continuation = continuations.removeContinuation(queryKey + ":" + startingElement);
+        }
+    }
+
+
+    /**
+     * Retrieve the first page of results from a repository.  This is called by the executor's clones as
+     * the request is issued to each repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param metadataCollection metadata collection for the repository
+     * @param executor executor to issue the requests to the repository
+     */
+    void addRepository(String                             metadataCollectionId,
+                       OMRSMetadataCollection             metadataCollection,
+                       PageableRepositoryExecutorBase<T>  executor)
+    {
+        RepositoryCursor repositoryCursor = new RepositoryCursor(metadataCollectionId,
+                                                                 metadataCollection,
+                                                                 executor,
+                                                                 this.getResumeOffset(metadataCollectionId));
+
+        if (repositoryCursor.retrieveNextPage(this.getFirstPageSize(), new InlineRequestControl()))
+        {
+            synchronized (this)
+            {
+                if (pageGUIDs == null)
+                {
+                    repositories.add(repositoryCursor);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Merge the results from the repositories to produce the requested page.  Further pages are requested
+     * from the repositories, through the supplied request control, only when they are needed to fill the page.
+     * This is called once the first page has been retrieved from each repository.  Repositories that respond
+     * after this point are ignored.
+     *
+     * @param requestControl federation control that issues the requests for further pages
+     */
+    synchronized void mergePages(RepositoryRequestControl   requestControl)
+    {
+        if (pageGUIDs != null)
+        {
+            return;
+        }
+
+        pageGUIDs = new ArrayList<>();
+
+        Set<String>  mergedGUIDs = new HashSet<>();
+        int          skipCount   = startingElement;
+
+        if (continuation != null)
+        {
+            if (continuation.matches(this.getRepositoryOffsets().keySet()))
+            {
+                mergedGUIDs.addAll(continuation.getMergedGUIDs());
+                skipCount = 0;
+            }
+            else
+            {
+                /*
+                 * The shape of the cohort has changed so the saved positions can not be used.
+                 */
+                for (RepositoryCursor repositoryCursor : repositories)
+                {
+                    repositoryCursor.restart(this.getFirstPageSize(), requestControl);
+                }
+            }
+        }
+
+        if (! orderHonoured)
+        {
+            /*
+             * The repositories may not have returned their results in the requested order so all of
+             * the results up to the end of the requested page are needed before they can be merged.
+             */
+            for (RepositoryCursor repositoryCursor : repositories)
+            {
+                repositoryCursor.retrieveBoundedPages(this.getRepositoryResultLimit(), requestControl);
+            }
+        }
+
+        PriorityQueue<RepositoryCursor> heads = new PriorityQueue<>(Math.max(repositories.size(), 1),
+                                                                    this::compareHeads);
+
+        for (RepositoryCursor repositoryCursor : repositories)
+        {
+            if (repositoryCursor.hasNext(pageSize + skipCount, requestControl))
+            {
+                heads.add(repositoryCursor);
+            }
+        }
+
+        while ((! heads.isEmpty()) && ((pageSize == 0) || (pageGUIDs.size() < pageSize)))
+        {
+            RepositoryCursor  repositoryCursor = heads.poll();
+            T                 instance         = repositoryCursor.next();
+
+            /*
+             * Duplicates (for example reference copies) are dropped.  The accumulator picks the latest version.
+             */
+            if ((instance != null) && (instance.getGUID() != null) && (mergedGUIDs.add(instance.getGUID())))
+            {
+                if (skipCount > 0)
+                {
+                    skipCount--;
+                }
+                else
+                {
+                    pageGUIDs.add(instance.getGUID());
+                }
+            }
+
+            if (repositoryCursor.hasNext(pageSize - pageGUIDs.size() + skipCount, requestControl))
+            {
+                heads.add(repositoryCursor);
+            }
+        }
+
+        if ((continuations != null) && (orderHonoured) && (mergedGUIDs.size() <= maxContinuationGUIDs) &&
+            (pageSize > 0) && (pageGUIDs.size() == pageSize) && (queryKey != null))
+        {
+            continuations.saveContinuation(queryKey + ":" + (startingElement + pageSize),
+                                           this.getRepositoryOffsets(),
+                                           mergedGUIDs);
+        }
+    }
+
+
+    /**
+     * Return the requested page of results.  If the pages have not already been merged by the federation
+     * control, they are merged on the calling thread.
+     *
+     * @return list of unique identifiers (guids) of the instances to return, in the requested order
+     */
+    synchronized List<String> getPageGUIDs()
+    {
+        if (pageGUIDs == null)
+        {
+            this.mergePages(new InlineRequestControl());
+        }
+
+        return pageGUIDs;
+    }
+
+
+    /**
+     * Compare the next instance from two repositories.  Ties are broken by the order the repositories
+     * responded in so the merge is stable.
+     *
+     * @param cursor1 first repository
+     * @param cursor2 second repository
+     * @return sort result
+     */
+    private int compareHeads(RepositoryCursor   cursor1,
+                             RepositoryCursor   cursor2)
+    {
+        int sortResult = comparator.compare(cursor1.peek(), cursor2.peek());
+
+        if (sortResult == 0)
+        {
+            sortResult = Integer.compare(repositories.indexOf(cursor1), repositories.indexOf(cursor2));
+        }
+
+        return sortResult;
+    }
+
+
+    /**
+     * Return the position reached in each repository.
+     *
+     * @return map of metadata collection id to element number
+     */
+    private Map<String, Integer> getRepositoryOffsets()
+    {
+        Map<String, Integer> repositoryOffsets = new HashMap<>();
+
+        for (RepositoryCursor repositoryCursor : repositories)
+        {
+            repositoryOffsets.put(repositoryCursor.metadataCollectionId, repositoryCursor.consumedOffset);
+        }
+
+        return repositoryOffsets;
+    }
+
+
+    /**
+     * Return the number of results to request in the first page from each repository.
+     *
+     * @return page size (zero means all results)
+     */
+    private int getFirstPageSize()
+    {
+        if (pageSize == 0)
+        {
+            return 0;
+        }
+
+        if (! orderHonoured)
+        {
+            return Math.min(this.getRepositoryResultLimit(), maxRepositoryPage);
+        }
+
+        return Math.min(pageSize, maxRepositoryPage);
+    }
+
+
+    /**
+     * Return the number of results that could be needed from a single repository to fill the requested page.
+     *
+     * @return number of results (zero means all results)
+     */
+    private int getRepositoryResultLimit()
+    {
+        if (pageSize == 0)
+        {
+            return 0;
+        }
+
+        return startingElement + pageSize;
+    }
+
+
+    /**
+     * Return the element number to start at in a repository.  This is zero unless a continuation was saved
+     * by the request for the previous page.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return element number
+     */
+    private synchronized int getResumeOffset(String   metadataCollectionId)
+    {
+        if (continuation != null)
+        {
+            Integer offset = continuation.getRepositoryOffset(metadataCollectionId);
+
+            if (offset != null)
+            {
+                return offset;
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * InlineRequestControl issues a request to a repository on the calling thread.  It is used for the first
+     * page from each repository (which is already running on a worker thread) and when the pages are
+     * merged without a federation control.
+     */
+    private static class InlineRequestControl implements RepositoryRequestControl
+    {
+        /**
+         * Issue a request to a repository and wait for its result.
+         *
+         * @param metadataCollectionId unique identifier of the repository's metadata collection
+         * @param request request to issue
+         * @param <V> type of result
+         * @return result of the request or null if the request failed
+         */
+        public <V> V issueFollowOnRequest(String       metadataCollectionId,
+                                          Callable<V>  request)
+        {
+            try
+            {
+                return request.call();
+            }
+            catch (Exception error)
+            {
+                log.error("Unexpected exception from request to metadata collection " + metadataCollectionId, error);
+                return null;
+            }
+        }
+    }
+
+
+    /**
+     * RepositoryCursor steps through the results from a single repository, requesting further pages
+     * as the buffered results are used up.
+     */
+    private class RepositoryCursor
+    {
+        private final String                             metadataCollectionId;
+        private final OMRSMetadataCollection             metadataCollection;
+        private final PageableRepositoryExecutorBase<T>  executor;
+
+        private Deque<T>   buffer          = new ArrayDeque<>();
+        private int        consumedOffset;
+        private int        nextOffset;
+        private int        nextPageSize    = 0;
+        private boolean    exhausted       = false;
+
+
+        /**
+         * Constructor supplies the repository and the element to start from.
+         *
+         * @param metadataCollectionId unique identifier of the repository's metadata collection
+         * @param metadataCollection metadata collection for the repository
+         * @param executor executor to issue the requests to the repository
+         * @param startingOffset element number to start at
+         */
+        private RepositoryCursor(String                             metadataCollectionId,
+                                 OMRSMetadataCollection             metadataCollection,
+                                 PageableRepositoryExecutorBase<T>  executor,
+                                 int                                startingOffset)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+            this.metadataCollection = metadataCollection;
+            this.executor = executor;
+            this.consumedOffset = startingOffset;
+            this.nextOffset = startingOffset;
+        }
+
+
+        /**
+         * Discard the buffered results and start again from the first element.
+         *
+         * @param firstPageSize number of results to request
+         * @param requestControl control for issuing the request
+         */
+        private void restart(int                        firstPageSize,
+                             RepositoryRequestControl   requestControl)
+        {
+            buffer.clear();
+            consumedOffset = 0;
+            nextOffset = 0;
+            exhausted = false;
+
+            this.retrieveNextPage(firstPageSize, requestControl);
+        }
+
+
+        /**
+         * Request the next page of results from the repository.  A page size of zero requests all
+         * of the remaining results.  The page is sorted before it is added to the buffered results.
+         *
+         * @param requestedPageSize number of results to request
+         * @param requestControl control for issuing the request
+         * @return boolean true if the request was successful
+         */
+        private boolean retrieveNextPage(int                        requestedPageSize,
+                                         RepositoryRequestControl   requestControl)
+        {
+            final int fromElement = nextOffset;
+
+            List<T> results = requestControl.issueFollowOnRequest(metadataCollectionId,
+                                                                  () -> executor.retrievePage(metadataCollectionId,
+                                                                                              metadataCollection,
+                                                                                              fromElement,
+                                                                                              requestedPageSize));
+
+            if (results == null)
+            {
+                /*
+                 * The exception has been captured by the accumulator (or the request timed out).
+                 */
+                exhausted = true;
+                return false;
+            }
+
+            List<T> sortedResults = new ArrayList<>(results);
+
+            sortedResults.sort(comparator);
+
+            buffer.addAll(sortedResults);
+            nextOffset = nextOffset + results.size();
+            nextPageSize = requestedPageSize * 2;
+
+            if ((requestedPageSize == 0) || (results.size() < requestedPageSize))
+            {
+                exhausted = true;
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Request the remaining results from the repository up to the supplied limit and sort the buffered
+         * results.  No further results are requested from the repository after this.
+         *
+         * @param maxResults maximum number of results to retrieve from the repository (zero means all results)
+         * @param requestControl control for issuing the requests
+         */
+        private void retrieveBoundedPages(int                        maxResults,
+                                          RepositoryRequestControl   requestControl)
+        {
+            while ((! exhausted) && ((maxResults == 0) || (nextOffset < maxResults)))
+            {
+                int requestedPageSize = maxRepositoryPage;
+
+                if (maxResults > 0)
+                {
+                    requestedPageSize = Math.min(maxRepositoryPage, maxResults - nextOffset);
+                }
+
+                this.retrieveNextPage(requestedPageSize, requestControl);
+            }
+
+            exhausted = true;
+
+            List<T> sortedResults = new ArrayList<>(buffer);
+
+            sortedResults.sort(comparator);
+
+            buffer = new ArrayDeque<>(sortedResults);
+        }
+
+
+        /**
+         * Return whether there are more results available, requesting the next page from the repository
+         * if necessary.  The page size grows with each request but never beyond the number of results that
+         * could still be needed.
+         *
+         * @param maxNeeded maximum number of further results that could be used from this repository
+         * @param requestControl control for issuing the request
+         * @return boolean flag
+         */
+        private boolean hasNext(int                        maxNeeded,
+                                RepositoryRequestControl   requestControl)
+        {
+            if (buffer.isEmpty() && (! exhausted) && (maxNeeded > 0))
+            {
+                this.retrieveNextPage(Math.min(Math.min(nextPageSize, maxRepositoryPage), maxNeeded), requestControl);
+            }
+
+            return ! buffer.isEmpty();
+        }
+
+
+        /**
+         * Return the next buffered result without removing it.
+         *
+         * @return instance
+         */
+        private T peek()
+        {
+            return buffer.peekFirst();
+        }
+
+
+        /**
+         * Remove and return the next buffered result.
+         *
+         * @return instance
+         */
+        private T next()
+        {
+            consumedOffset++;
+
+            return buffer.pollFirst();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -21,7 +22,7 @@ import java.util.List;
  * FindEntitiesByClassificationExecutor is the executor for the findEntitiesByClassification request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindEntitiesByClassificationExecutor extends PageableRepositoryExecutorBase
+public class FindEntitiesByClassificationExecutor extends PageableRepositoryExecutorBase<EntityDetail>
 {
     private String             classificationName;
     private InstanceProperties matchClassificationProperties;
@@ -52,6 +53,7 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -68,6 +70,7 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
                                                 String                            sequencingProperty,
                                                 SequencingOrder                   sequencingOrder,
                                                 int                               pageSize,
+                                                FederatedPagingContinuations      pagingContinuations,
                                                 String                            localMetadataCollectionId,
                                                 OMRSAuditLog                      auditLog,
                                                 OMRSRepositoryValidator           repositoryValidator,
@@ -85,7 +88,15 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
              sequencingOrder,
              pageSize,
              new EntityAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromEntityElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<EntityDetail>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        EntityDetail::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(classificationName + ":" + matchClassificationProperties + ":" + matchCriteria);
     }
 
 
@@ -112,21 +123,23 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator location for results and returned exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private FindEntitiesByClassificationExecutor(String                    userId,
-                                                 String                    entityTypeGUID,
-                                                 String                    classificationName,
-                                                 InstanceProperties        matchClassificationProperties,
-                                                 MatchCriteria             matchCriteria,
-                                                 int                       fromEntityElement,
-                                                 List<InstanceStatus>      limitResultsByStatus,
-                                                 Date                      asOfTime,
-                                                 String                    sequencingProperty,
-                                                 SequencingOrder           sequencingOrder,
-                                                 int                       pageSize,
-                                                 EntityAccumulator         accumulator,
-                                                 String                    methodName)
+    private FindEntitiesByClassificationExecutor(String                                 userId,
+                                                 String                                 entityTypeGUID,
+                                                 String                                 classificationName,
+                                                 InstanceProperties                     matchClassificationProperties,
+                                                 MatchCriteria                          matchCriteria,
+                                                 int                                    fromEntityElement,
+                                                 List<InstanceStatus>                   limitResultsByStatus,
+                                                 Date                                   asOfTime,
+                                                 String                                 sequencingProperty,
+                                                 SequencingOrder                        sequencingOrder,
+                                                 int                                    pageSize,
+                                                 EntityAccumulator                      accumulator,
+                                                 FederatedPagingCursor<EntityDetail>    pagingCursor,
+                                                 String                                 methodName)
     {
         super(userId,
               entityTypeGUID,
@@ -137,6 +150,7 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.classificationName = classificationName;
@@ -167,19 +181,24 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
                                                         sequencingOrder,
                                                         pageSize,
                                                         accumulator,
+                                                        pagingCursor,
                                                         methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<EntityDetail> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -191,15 +210,22 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
                                                                                          classificationName,
                                                                                          matchClassificationProperties,
                                                                                          matchCriteria,
-                                                                                         startingElement,
+                                                                                         fromElement,
                                                                                          limitResultsByStatus,
                                                                                          asOfTime,
                                                                                          sequencingProperty,
                                                                                          sequencingOrder,
-                                                                                         pageSize);
+                                                                                         repositoryPageSize);
 
             accumulator.addEntities(results, metadataCollectionId);
 
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
+
         }
         catch (InvalidParameterException error)
         {
@@ -238,7 +264,7 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -269,7 +295,7 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
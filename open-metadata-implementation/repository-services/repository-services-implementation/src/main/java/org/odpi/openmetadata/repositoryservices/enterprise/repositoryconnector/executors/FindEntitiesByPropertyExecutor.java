@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -21,7 +22,7 @@ import java.util.List;
  * FindEntitiesByPropertyExecutor is the executor for the findEntitiesByProperty request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBase
+public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBase<EntityDetail>
 {
     private InstanceProperties matchProperties;
     private MatchCriteria      matchCriteria;
@@ -51,6 +52,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -67,6 +69,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
                                           String                    sequencingProperty,
                                           SequencingOrder           sequencingOrder,
                                           int                       pageSize,
+                                          FederatedPagingContinuations pagingContinuations,
                                           String                    localMetadataCollectionId,
                                           OMRSAuditLog              auditLog,
                                           OMRSRepositoryValidator   repositoryValidator,
@@ -84,7 +87,15 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
              sequencingOrder,
              pageSize,
              new EntityAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromEntityElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<EntityDetail>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        EntityDetail::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(matchProperties + ":" + matchCriteria + ":" + limitResultsByClassification);
     }
 
 
@@ -110,21 +121,23 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator location for results and returned exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private FindEntitiesByPropertyExecutor(String                    userId,
-                                           String                    entityTypeGUID,
-                                           InstanceProperties        matchProperties,
-                                           MatchCriteria             matchCriteria,
-                                           int                       fromEntityElement,
-                                           List<InstanceStatus>      limitResultsByStatus,
-                                           List<String>              limitResultsByClassification,
-                                            Date                      asOfTime,
-                                           String                    sequencingProperty,
-                                           SequencingOrder           sequencingOrder,
-                                           int                       pageSize,
-                                           EntityAccumulator         accumulator,
-                                           String                    methodName)
+    private FindEntitiesByPropertyExecutor(String                                 userId,
+                                           String                                 entityTypeGUID,
+                                           InstanceProperties                     matchProperties,
+                                           MatchCriteria                          matchCriteria,
+                                           int                                    fromEntityElement,
+                                           List<InstanceStatus>                   limitResultsByStatus,
+                                           List<String>                           limitResultsByClassification,
+                                           Date                                   asOfTime,
+                                           String                                 sequencingProperty,
+                                           SequencingOrder                        sequencingOrder,
+                                           int                                    pageSize,
+                                           EntityAccumulator                      accumulator,
+                                           FederatedPagingCursor<EntityDetail>    pagingCursor,
+                                           String                                 methodName)
     {
         super(userId,
               entityTypeGUID,
@@ -135,6 +148,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.matchProperties = matchProperties;
@@ -165,19 +179,24 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
                                                   sequencingOrder,
                                                   pageSize,
                                                   accumulator,
+                                                  pagingCursor,
                                                   methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<EntityDetail> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -188,15 +207,22 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
                                                                                    instanceTypeGUID,
                                                                                    matchProperties,
                                                                                    matchCriteria,
-                                                                                   startingElement,
+                                                                                   fromElement,
                                                                                    limitResultsByStatus,
                                                                                    limitResultsByClassification,
                                                                                    asOfTime,
                                                                                    sequencingProperty,
                                                                                    sequencingOrder,
-                                                                                   pageSize);
+                                                                                   repositoryPageSize);
 
             accumulator.addEntities(results, metadataCollectionId);
+
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
         }
         catch (InvalidParameterException error)
         {
@@ -231,7 +257,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -262,7 +288,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -19,7 +20,7 @@ import java.util.List;
  * FindEntitiesByPropertyValueExecutor is the executor for the findEntitiesByPropertyValue request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecutorBase
+public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecutorBase<EntityDetail>
 {
     private String             searchCriteria;
     private List<String>       limitResultsByClassification;
@@ -49,6 +50,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -64,6 +66,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
                                                String                    sequencingProperty,
                                                SequencingOrder           sequencingOrder,
                                                int                       pageSize,
+                                               FederatedPagingContinuations pagingContinuations,
                                                String                    localMetadataCollectionId,
                                                OMRSAuditLog              auditLog,
                                                OMRSRepositoryValidator   repositoryValidator,
@@ -80,7 +83,15 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
              sequencingOrder,
              pageSize,
              new EntityAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromEntityElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<EntityDetail>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        EntityDetail::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(searchCriteria + ":" + limitResultsByClassification);
     }
 
 
@@ -107,20 +118,22 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator location for results and returned exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private FindEntitiesByPropertyValueExecutor(String                userId,
-                                                String                entityTypeGUID,
-                                                String                searchCriteria,
-                                                int                   fromEntityElement,
-                                                List<InstanceStatus>  limitResultsByStatus,
-                                                List<String>          limitResultsByClassification,
-                                                Date                  asOfTime,
-                                                String                sequencingProperty,
-                                                SequencingOrder       sequencingOrder,
-                                                int                   pageSize,
-                                                EntityAccumulator     accumulator,
-                                                String                methodName)
+    private FindEntitiesByPropertyValueExecutor(String                                 userId,
+                                                String                                 entityTypeGUID,
+                                                String                                 searchCriteria,
+                                                int                                    fromEntityElement,
+                                                List<InstanceStatus>                   limitResultsByStatus,
+                                                List<String>                           limitResultsByClassification,
+                                                Date                                   asOfTime,
+                                                String                                 sequencingProperty,
+                                                SequencingOrder                        sequencingOrder,
+                                                int                                    pageSize,
+                                                EntityAccumulator                      accumulator,
+                                                FederatedPagingCursor<EntityDetail>    pagingCursor,
+                                                String                                 methodName)
     {
         super(userId,
               entityTypeGUID,
@@ -131,6 +144,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.searchCriteria = searchCriteria;
@@ -159,19 +173,24 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
                                                        sequencingOrder,
                                                        pageSize,
                                                        accumulator,
+                                                       pagingCursor,
                                                        methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<EntityDetail> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -181,15 +200,22 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
             List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
                                                                                         instanceTypeGUID,
                                                                                         searchCriteria,
-                                                                                        startingElement,
+                                                                                        fromElement,
                                                                                         limitResultsByStatus,
                                                                                         limitResultsByClassification,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        repositoryPageSize);
 
             accumulator.addEntities(results, metadataCollectionId);
+
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
         }
         catch (InvalidParameterException error)
         {
@@ -224,7 +250,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -255,7 +281,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -22,7 +23,7 @@ import java.util.List;
  * FindRelationshipsByPropertyExecutor is the executor for the findRelationshipsByProperty request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecutorBase
+public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecutorBase<Relationship>
 {
     private InstanceProperties matchProperties;
     private MatchCriteria      matchCriteria;
@@ -53,6 +54,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -68,6 +70,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
                                                String                    sequencingProperty,
                                                SequencingOrder           sequencingOrder,
                                                int                       pageSize,
+                                               FederatedPagingContinuations pagingContinuations,
                                                String                    localMetadataCollectionId,
                                                OMRSAuditLog              auditLog,
                                                OMRSRepositoryValidator   repositoryValidator,
@@ -84,7 +87,15 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
              sequencingOrder,
              pageSize,
              new RelationshipAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromRelationshipElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<Relationship>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        Relationship::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(matchProperties + ":" + matchCriteria);
     }
 
 
@@ -112,20 +123,22 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
      * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator captures results and exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private FindRelationshipsByPropertyExecutor(String                    userId,
-                                                String                    relationshipTypeGUID,
-                                                InstanceProperties        matchProperties,
-                                                MatchCriteria             matchCriteria,
-                                                int                       fromRelationshipElement,
-                                                List<InstanceStatus>      limitResultsByStatus,
-                                                Date                      asOfTime,
-                                                String                    sequencingProperty,
-                                                SequencingOrder           sequencingOrder,
-                                                int                       pageSize,
-                                                RelationshipAccumulator   accumulator,
-                                                String                    methodName)
+    private FindRelationshipsByPropertyExecutor(String                                 userId,
+                                                String                                 relationshipTypeGUID,
+                                                InstanceProperties                     matchProperties,
+                                                MatchCriteria                          matchCriteria,
+                                                int                                    fromRelationshipElement,
+                                                List<InstanceStatus>                   limitResultsByStatus,
+                                                Date                                   asOfTime,
+                                                String                                 sequencingProperty,
+                                                SequencingOrder                        sequencingOrder,
+                                                int                                    pageSize,
+                                                RelationshipAccumulator                accumulator,
+                                                FederatedPagingCursor<Relationship>    pagingCursor,
+                                                String                                 methodName)
     {
         super(userId,
               relationshipTypeGUID,
@@ -136,6 +149,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.matchProperties = matchProperties;
@@ -165,19 +179,24 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
                                                        sequencingOrder,
                                                        pageSize,
                                                        accumulator,
+                                                       pagingCursor,
                                                        methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<Relationship> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -188,14 +207,21 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
                                                                                         instanceTypeGUID,
                                                                                         matchProperties,
                                                                                         matchCriteria,
-                                                                                        startingElement,
+                                                                                        fromElement,
                                                                                         limitResultsByStatus,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        repositoryPageSize);
 
             accumulator.addRelationships(results, metadataCollectionId);
+
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
         }
         catch (InvalidParameterException error)
         {
@@ -230,7 +256,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -260,7 +286,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -20,7 +21,7 @@ import java.util.List;
  * FindRelationshipsByPropertyValueExecutor is the executor for the findRelationshipsByPropertyValue request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindRelationshipsByPropertyValueExecutor extends PageableRepositoryExecutorBase
+public class FindRelationshipsByPropertyValueExecutor extends PageableRepositoryExecutorBase<Relationship>
 {
     private String searchCriteria;
 
@@ -49,6 +50,7 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -63,6 +65,7 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
                                                     String                    sequencingProperty,
                                                     SequencingOrder           sequencingOrder,
                                                     int                       pageSize,
+                                                    FederatedPagingContinuations pagingContinuations,
                                                     String                    localMetadataCollectionId,
                                                     OMRSAuditLog              auditLog,
                                                     OMRSRepositoryValidator   repositoryValidator,
@@ -78,7 +81,15 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
              sequencingOrder,
              pageSize,
              new RelationshipAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromRelationshipElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<Relationship>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        Relationship::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(searchCriteria);
     }
 
 
@@ -105,19 +116,21 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
      * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator captures results and exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private FindRelationshipsByPropertyValueExecutor(String                    userId,
-                                                     String                    relationshipTypeGUID,
-                                                     String                    searchCriteria,
-                                                     int                       fromRelationshipElement,
-                                                     List<InstanceStatus>      limitResultsByStatus,
-                                                     Date                      asOfTime,
-                                                     String                    sequencingProperty,
-                                                     SequencingOrder           sequencingOrder,
-                                                     int                       pageSize,
-                                                     RelationshipAccumulator   accumulator,
-                                                     String                    methodName)
+    private FindRelationshipsByPropertyValueExecutor(String                                 userId,
+                                                     String                                 relationshipTypeGUID,
+                                                     String                                 searchCriteria,
+                                                     int                                    fromRelationshipElement,
+                                                     List<InstanceStatus>                   limitResultsByStatus,
+                                                     Date                                   asOfTime,
+                                                     String                                 sequencingProperty,
+                                                     SequencingOrder                        sequencingOrder,
+                                                     int                                    pageSize,
+                                                     RelationshipAccumulator                accumulator,
+                                                     FederatedPagingCursor<Relationship>    pagingCursor,
+                                                     String                                 methodName)
     {
         super(userId,
               relationshipTypeGUID,
@@ -128,6 +141,7 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.searchCriteria = searchCriteria;
@@ -154,19 +168,24 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
                                                             sequencingOrder,
                                                             pageSize,
                                                             accumulator,
+                                                            pagingCursor,
                                                             methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<Relationship> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -176,14 +195,21 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
             List<Relationship> results = metadataCollection.findRelationshipsByPropertyValue(userId,
                                                                                              instanceTypeGUID,
                                                                                              searchCriteria,
-                                                                                             startingElement,
+                                                                                             fromElement,
                                                                                              limitResultsByStatus,
                                                                                              asOfTime,
                                                                                              sequencingProperty,
                                                                                              sequencingOrder,
-                                                                                             pageSize);
+                                                                                             repositoryPageSize);
 
             accumulator.addRelationships(results, metadataCollectionId);
+
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
         }
         catch (InvalidParameterException error)
         {
@@ -218,7 +244,7 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -248,7 +274,7 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
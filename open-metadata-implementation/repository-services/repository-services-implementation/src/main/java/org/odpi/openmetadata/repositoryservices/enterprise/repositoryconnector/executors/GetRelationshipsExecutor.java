@@ -0,0 +1,152 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.List;
+
+/**
+ * GetRelationshipsExecutor is the executor for the getRelationships request.  The requested relationships may be
+ * spread across the repositories in the cohort(s) so every repository is called.
+ * This request can be issued in parallel - the call to each request potentially running in a different thread.
+ */
+public class GetRelationshipsExecutor extends CloneableRepositoryExecutorBase
+{
+    private List<String>            guids;
+    private RelationshipAccumulator accumulator;
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
+     * @param auditLog logging destination
+     * @param repositoryValidator validator for resulting relationships
+     * @param methodName calling method
+     */
+    public GetRelationshipsExecutor(String                    userId,
+                                    List<String>              guids,
+                                    String                    localMetadataCollectionId,
+                                    OMRSAuditLog              auditLog,
+                                    OMRSRepositoryValidator   repositoryValidator,
+                                    String                    methodName)
+    {
+        this(userId,
+             guids,
+             new RelationshipAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             methodName);
+    }
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param accumulator location for results and returned exceptions
+     * @param methodName calling method
+     */
+    private GetRelationshipsExecutor(String                    userId,
+                                     List<String>              guids,
+                                     RelationshipAccumulator   accumulator,
+                                     String                    methodName)
+    {
+        super(userId, methodName, accumulator);
+
+        this.guids = guids;
+        this.accumulator = accumulator;
+    }
+
+
+    /**
+     * Return a clone of this executor with the same command parameters and accumulator instance.
+     * This is used when setting up the parallel execution of the work.  Each clone executes
+     * the calls to a single open metadata repository.
+     *
+     * @return clone of this executor
+     */
+    public CloneableRepositoryExecutor getClone()
+    {
+        return new GetRelationshipsExecutor(userId, guids, accumulator, methodName);
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  The relationships returned are passed to the
+     * accumulator which keeps the latest version of each relationship.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        try
+        {
+            /*
+             * Issue the request
+             */
+            List<Relationship> results = metadataCollection.getRelationships(userId, guids);
+
+            accumulator.addRelationships(results, metadataCollectionId);
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(metadataCollectionId, error);
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return the results or exception.
+     *
+     * @param repositoryConnector enterprise connector
+     * @return list of relationships in the order of the requested guids.  Null means none were found.
+     * @throws InvalidParameterException the guid list is null or contains a null guid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector) throws InvalidParameterException,
+                                                                                                       RepositoryErrorException,
+                                                                                                       UserNotAuthorizedException
+    {
+        if (accumulator.resultsReturned())
+        {
+            return accumulator.getResults(repositoryConnector, guids);
+        }
+
+        accumulator.throwCapturedUserNotAuthorizedException();
+        accumulator.throwCapturedRepositoryErrorException();
+        accumulator.throwCapturedThrowableException(methodName);
+        accumulator.throwCapturedInvalidParameterException();
+
+        return null;
+    }
+}
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -20,7 +21,7 @@ import java.util.List;
  * GetRelationshipsForEntityExecutor is the executor for the getRelationshipsForEntity request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecutorBase
+public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecutorBase<Relationship>
 {
     private String                  entityGUID;
     private RelationshipAccumulator accumulator;
@@ -46,6 +47,7 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize  the maximum number of result classifications that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param pagingContinuations positions reached in the repositories by requests for earlier pages
      * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
      * @param auditLog logging destination
      * @param repositoryValidator validator for resulting relationships
@@ -60,6 +62,7 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
                                              String                  sequencingProperty,
                                              SequencingOrder         sequencingOrder,
                                              int                     pageSize,
+                                             FederatedPagingContinuations pagingContinuations,
                                              String                  localMetadataCollectionId,
                                              OMRSAuditLog            auditLog,
                                              OMRSRepositoryValidator repositoryValidator,
@@ -75,7 +78,15 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
              sequencingOrder,
              pageSize,
              new RelationshipAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             new FederatedPagingCursor<>(fromRelationshipElement,
+                                         pageSize,
+                                         new InstanceSequencingComparator<Relationship>(sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        Relationship::getProperties),
+                                         pagingContinuations),
              methodName);
+
+        super.initializePaging(entityGUID);
     }
 
 
@@ -100,19 +111,21 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
      * @param pageSize  the maximum number of result classifications that can be returned on this request.  Zero means
      *                 unrestricted return results size.
      * @param accumulator captures results and exceptions
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
-    private GetRelationshipsForEntityExecutor(String                  userId,
-                                              String                  entityGUID,
-                                              String                  relationshipTypeGUID,
-                                              int                     fromRelationshipElement,
-                                              List<InstanceStatus>    limitResultsByStatus,
-                                              Date                    asOfTime,
-                                              String                  sequencingProperty,
-                                              SequencingOrder         sequencingOrder,
-                                              int                     pageSize,
-                                              RelationshipAccumulator accumulator,
-                                              String                  methodName)
+    private GetRelationshipsForEntityExecutor(String                                 userId,
+                                              String                                 entityGUID,
+                                              String                                 relationshipTypeGUID,
+                                              int                                    fromRelationshipElement,
+                                              List<InstanceStatus>                   limitResultsByStatus,
+                                              Date                                   asOfTime,
+                                              String                                 sequencingProperty,
+                                              SequencingOrder                        sequencingOrder,
+                                              int                                    pageSize,
+                                              RelationshipAccumulator                accumulator,
+                                              FederatedPagingCursor<Relationship>    pagingCursor,
+                                              String                                 methodName)
     {
         super(userId,
               relationshipTypeGUID,
@@ -123,6 +136,7 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
               pageSize,
               asOfTime,
               accumulator,
+              pagingCursor,
               methodName);
 
         this.entityGUID = entityGUID;
@@ -149,19 +163,24 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
                                                      sequencingOrder,
                                                      pageSize,
                                                      accumulator,
+                                                     pagingCursor,
                                                      methodName);
     }
 
 
     /**
-     * Perform the required action for the supplied repository.
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
      *
      * @param metadataCollectionId unique identifier for the metadata collection for the repository
      * @param metadataCollection metadata collection object for the repository
-     * @return boolean true means that the required results have been achieved
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
      */
-    public boolean issueRequestToRepository(String                 metadataCollectionId,
-                                            OMRSMetadataCollection metadataCollection)
+    List<Relationship> retrievePage(String                 metadataCollectionId,
+                                    OMRSMetadataCollection metadataCollection,
+                                    int                    fromElement,
+                                    int                    repositoryPageSize)
     {
         try
         {
@@ -171,14 +190,21 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
             List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
                                                                                       entityGUID,
                                                                                       instanceTypeGUID,
-                                                                                      startingElement,
+                                                                                      fromElement,
                                                                                       limitResultsByStatus,
                                                                                       asOfTime,
                                                                                       sequencingProperty,
                                                                                       sequencingOrder,
-                                                                                      pageSize);
+                                                                                      repositoryPageSize);
 
             accumulator.addRelationships(results, metadataCollectionId);
+
+            if (results == null)
+            {
+                return new ArrayList<>();
+            }
+
+            return results;
         }
         catch (InvalidParameterException error)
         {
@@ -217,7 +243,7 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
             accumulator.captureGenericException(metadataCollectionId, error);
         }
 
-        return true;
+        return null;
     }
 
 
@@ -248,7 +274,7 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, pagingCursor.getPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -0,0 +1,170 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * InstanceSequencingComparator orders instances in the way requested by the sequencing parameters of a
+ * find request.  It is used to merge the pages of results returned by the members of the cohort(s).
+ * When no ordering is requested, all instances are treated as equal.
+ *
+ * @param <T> type of instance
+ */
+class InstanceSequencingComparator<T extends InstanceHeader> implements Comparator<T>
+{
+    private String                            sequencingProperty;
+    private SequencingOrder                   sequencingOrder;
+    private Function<T, InstanceProperties>   propertiesExtractor;
+
+
+    /**
+     * Constructor supplies the sequencing parameters from the request.
+     *
+     * @param sequencingProperty property used for ordering (optional)
+     * @param sequencingOrder ordering of results (null means any order)
+     * @param propertiesExtractor function to retrieve the properties from an instance
+     */
+    InstanceSequencingComparator(String                           sequencingProperty,
+                                 SequencingOrder                  sequencingOrder,
+                                 Function<T, InstanceProperties>  propertiesExtractor)
+    {
+        this.sequencingProperty = sequencingProperty;
+        this.sequencingOrder = sequencingOrder;
+        this.propertiesExtractor = propertiesExtractor;
+    }
+
+
+    /**
+     * Compare two instances according to the sequencing order.
+     *
+     * @param instance1 first instance
+     * @param instance2 second instance
+     * @return negative if instance1 should be returned first, positive if instance2 should be returned first
+     */
+    @Override
+    public int compare(T   instance1,
+                       T   instance2)
+    {
+        if (sequencingOrder == null)
+        {
+            return 0;
+        }
+
+        switch (sequencingOrder)
+        {
+            case GUID:
+                return compareValues(instance1.getGUID(), instance2.getGUID(), false);
+
+            case CREATION_DATE_RECENT:
+                return compareValues(instance1.getCreateTime(), instance2.getCreateTime(), true);
+
+            case CREATION_DATE_OLDEST:
+                return compareValues(instance1.getCreateTime(), instance2.getCreateTime(), false);
+
+            case LAST_UPDATE_RECENT:
+                return compareValues(getLastUpdateTime(instance1), getLastUpdateTime(instance2), true);
+
+            case LAST_UPDATE_OLDEST:
+                return compareValues(getLastUpdateTime(instance1), getLastUpdateTime(instance2), false);
+
+            case PROPERTY_ASCENDING:
+            case PROPERTY_DESCENDING:
+                if (sequencingProperty == null)
+                {
+                    return 0;
+                }
+
+                return OMRSRepositoryContentHelper.compareProperties(propertiesExtractor.apply(instance1),
+                                                                     propertiesExtractor.apply(instance2),
+                                                                     sequencingProperty,
+                                                                     sequencingOrder);
+
+            default:
+                return 0;
+        }
+    }
+
+
+    /**
+     * Return whether each repository can be relied on to return its results in this order.  The property orders
+     * are applied by the repositories' queries.  The GUID and date orders are not honoured consistently
+     * across the repository implementations, so the results for these orders need to be sorted after retrieval.
+     *
+     * @return boolean flag
+     */
+    boolean isHonouredByRepositories()
+    {
+        if (sequencingOrder == null)
+        {
+            return true;
+        }
+
+        switch (sequencingOrder)
+        {
+            case GUID:
+            case CREATION_DATE_RECENT:
+            case CREATION_DATE_OLDEST:
+            case LAST_UPDATE_RECENT:
+            case LAST_UPDATE_OLDEST:
+                return false;
+
+            default:
+                return true;
+        }
+    }
+
+
+    /**
+     * Return the time that the instance was last changed.  Instances that have never been updated
+     * use their create time.
+     *
+     * @param instance instance to test
+     * @return date or null
+     */
+    private static Date getLastUpdateTime(InstanceHeader   instance)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime();
+        }
+
+        return instance.getCreateTime();
+    }
+
+
+    /**
+     * Compare two values where either may be null.  Null values sort last whatever the direction.
+     *
+     * @param value1 first value
+     * @param value2 second value
+     * @param descending true means highest value first
+     * @param <V> type of value
+     * @return sort result
+     */
+    private static <V extends Comparable<V>> int compareValues(V         value1,
+                                                               V         value2,
+                                                               boolean   descending)
+    {
+        if (value1 == null)
+        {
+            return (value2 == null) ? 0 : 1;
+        }
+
+        if (value2 == null)
+        {
+            return -1;
+        }
+
+        int sortResult = value1.compareTo(value2);
+
+        return descending ? -sortResult : sortResult;
+    }
+}
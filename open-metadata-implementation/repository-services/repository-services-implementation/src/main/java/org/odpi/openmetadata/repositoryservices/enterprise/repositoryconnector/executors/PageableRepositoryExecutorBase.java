@@ -3,7 +3,9 @@
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryInstanceAccumulatorBase;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
@@ -12,10 +14,14 @@ import java.util.Date;
 import java.util.List;
 
 /**
- * CloneableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
- * parallel so the call to each repository runs in a different thread.
+ * PageableRepositoryExecutorBase provides a base class for executors of paged find requests.  The executors
+ * can be cloned and run in parallel so the call to each repository runs in a different thread.  The clones
+ * share a FederatedPagingCursor that requests the results from each repository a page at a time and merges
+ * them into the requested page.
+ *
+ * @param <T> type of instance returned by the request
  */
-abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecutorBase
+abstract class PageableRepositoryExecutorBase<T extends InstanceHeader> extends CloneableRepositoryExecutorBase
 {
     int  startingElement;
     int  pageSize;
@@ -26,6 +32,8 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     SequencingOrder      sequencingOrder;
     Date                 asOfTime;
 
+    FederatedPagingCursor<T>             pagingCursor;
+
     private QueryInstanceAccumulatorBase queryInstanceAccumulator;
 
     /**
@@ -41,6 +49,7 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
      * @param pageSize maximum number of elements that can be returned
      * @param asOfTime historical query
      * @param accumulator location for results
+     * @param pagingCursor cursor for merging the results
      * @param methodName calling method
      */
     PageableRepositoryExecutorBase(String                       userId,
@@ -52,6 +61,7 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
                                    int                          pageSize,
                                    Date                         asOfTime,
                                    QueryInstanceAccumulatorBase accumulator,
+                                   FederatedPagingCursor<T>     pagingCursor,
                                    String                       methodName)
     {
         super(userId, methodName, accumulator);
@@ -64,10 +74,77 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
         this.pageSize = pageSize;
         this.asOfTime = asOfTime;
 
+        this.pagingCursor = pagingCursor;
         this.queryInstanceAccumulator = accumulator;
     }
 
 
+    /**
+     * Pass the parameters that identify the query to the paging cursor.  This allows a request for the
+     * page following a previous request to resume from where the previous request stopped.
+     * It is called once the executor is fully constructed.
+     *
+     * @param queryCriteria string made up of the request specific search criteria
+     */
+    void initializePaging(String   queryCriteria)
+    {
+        pagingCursor.setQueryKey(methodName + ":" +
+                                 userId + ":" +
+                                 instanceTypeGUID + ":" +
+                                 limitResultsByStatus + ":" +
+                                 asOfTime + ":" +
+                                 sequencingProperty + ":" +
+                                 sequencingOrder + ":" +
+                                 queryCriteria);
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  This retrieves the first page of results
+     * from the repository.  Further pages are retrieved as the results are merged.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        pagingCursor.addRepository(metadataCollectionId, metadataCollection, this);
+
+        return true;
+    }
+
+
+    /**
+     * Merge the first pages of results from the repositories into the requested page.  Any further pages that
+     * are needed are requested through the federation control.
+     *
+     * @param requestControl control for issuing the requests for further pages
+     */
+    @Override
+    public void completeRequest(RepositoryRequestControl   requestControl)
+    {
+        pagingCursor.mergePages(requestControl);
+    }
+
+
+    /**
+     * Issue the request for a page of results to a repository and pass the results to the accumulator.
+     * Any exception is captured in the accumulator.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element number in the repository's results
+     * @param repositoryPageSize maximum number of results to request (zero means all)
+     * @return list of results (empty if none) or null if the request failed
+     */
+    abstract List<T> retrievePage(String                 metadataCollectionId,
+                                  OMRSMetadataCollection metadataCollection,
+                                  int                    fromElement,
+                                  int                    repositoryPageSize);
+
+
     /**
      * Return any of the exceptions that are common to paging requests.
      *
@@ -0,0 +1,24 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import java.util.concurrent.Callable;
+
+/**
+ * RepositoryRequestControl is implemented by a federation control to issue the further requests that an
+ * executor needs to make to a repository once the first request to each repository has completed.
+ * The further requests are subject to the same timeout and cancellation as the first requests.
+ */
+public interface RepositoryRequestControl
+{
+    /**
+     * Issue a request to a repository and wait for its result.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param request request to issue
+     * @param <V> type of result
+     * @return result of the request or null if the request failed or was cancelled
+     */
+    <V> V issueFollowOnRequest(String       metadataCollectionId,
+                               Callable<V>  request);
+}
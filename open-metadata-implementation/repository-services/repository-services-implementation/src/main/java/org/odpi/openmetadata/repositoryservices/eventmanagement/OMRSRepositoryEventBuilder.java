@@ -24,7 +24,7 @@ public abstract class OMRSRepositoryEventBuilder extends OMRSRepositoryEventProc
      *
      * @param eventProcessorName string name
      */
-    OMRSRepositoryEventBuilder(String eventProcessorName)
+    protected OMRSRepositoryEventBuilder(String eventProcessorName)
     {
         super(eventProcessorName);
     }
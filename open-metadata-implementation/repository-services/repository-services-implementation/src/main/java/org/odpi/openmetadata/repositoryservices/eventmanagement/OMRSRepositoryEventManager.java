@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.eventmanagement;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -43,8 +44,8 @@ public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
     private boolean                                   isActive               = false;
     private List<OMRSTypeDefEvent>                    typeDefEventBuffer     = new ArrayList<>();
     private List<BufferedInstanceEvent>               instanceEventBuffer    = new ArrayList<>();
-    private List<OMRSTypeDefEventProcessorInterface>  typeDefEventConsumers  = new ArrayList<>();
-    private List<OMRSInstanceEventProcessorInterface> instanceEventConsumers = new ArrayList<>();
+    private List<OMRSTypeDefEventProcessorInterface>  typeDefEventConsumers  = new CopyOnWriteArrayList<>();
+    private List<OMRSInstanceEventProcessorInterface> instanceEventConsumers = new CopyOnWriteArrayList<>();
     private OMRSRepositoryContentValidator            repositoryValidator;   /* set in constructor */
     private OMRSRepositoryEventExchangeRule           exchangeRule;          /* set in constructor */
 
@@ -203,6 +204,22 @@ public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
     }
 
 
+    /**
+     * Removes a repository event processor that was added with registerRepositoryEventProcessor.  This is used by
+     * components, such as the enterprise instance cache, that only need events for part of the server's lifetime.
+     *
+     * @param repositoryEventProcessor the consumer of instance events that is no longer needed
+     */
+    public void unregisterRepositoryEventProcessor(OMRSRepositoryEventProcessor repositoryEventProcessor)
+    {
+        log.debug("Unregistering event processor " + repositoryEventProcessor.getEventProcessorName()
+                          + " from event manager " + super.getEventProcessorName());
+
+        instanceEventConsumers.remove(repositoryEventProcessor);
+        typeDefEventConsumers.remove(repositoryEventProcessor);
+    }
+
+
     /**
      * Indicate that all of the event processors are registered and it is ready to
      * process events.
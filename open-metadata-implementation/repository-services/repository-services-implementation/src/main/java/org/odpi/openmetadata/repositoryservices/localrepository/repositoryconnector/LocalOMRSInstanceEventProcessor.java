@@ -6,7 +6,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.events.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
@@ -21,6 +24,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -1667,6 +1672,9 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
      * An open metadata repository is passing information about a collection of entities and relationships
      * with the other repositories in the cohort.
      *
+     * Each instance is checked in the same way as a single new entity or relationship event.  The instances
+     * that pass the checks are then passed to the local repository in one call so that it can save them together.
+     *
      * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
      *                   local repository, or event mapper name.
      * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
@@ -1689,8 +1697,106 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
-                                                                instances);
+            if (instances == null)
+            {
+                return;
+            }
+
+            List<EntityDetail> entitiesToSave = new ArrayList<>();
+
+            if (instances.getEntities() != null)
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    try
+                    {
+                        if (isReferenceEntityToSave(sourceName, methodName, originatorServerName, entity))
+                        {
+                            entitiesToSave.add(entity);
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        handleUnexpectedErrorFromEvent(error,
+                                                       methodName,
+                                                       originatorServerName,
+                                                       originatorMetadataCollectionId);
+                    }
+                }
+            }
+
+            List<Relationship> relationshipsToSave = new ArrayList<>();
+
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
+                {
+                    try
+                    {
+                        if (isReferenceRelationshipToSave(sourceName, methodName, relationship))
+                        {
+                            relationshipsToSave.add(relationship);
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        handleUnexpectedErrorFromEvent(error,
+                                                       methodName,
+                                                       originatorServerName,
+                                                       originatorMetadataCollectionId);
+                    }
+                }
+            }
+
+            if ((! entitiesToSave.isEmpty()) || (! relationshipsToSave.isEmpty()))
+            {
+                try
+                {
+                    localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
+                                                                        new InstanceGraph(entitiesToSave, relationshipsToSave));
+                }
+                catch (Throwable batchError)
+                {
+                    /*
+                     * The batch stops at the first instance that can not be saved, although the repository may
+                     * have committed some of the instances before it.  Process the instances one at a time, as if
+                     * they had arrived as separate events, so that only the instances in error are lost.  The
+                     * instances already stored at this version are skipped rather than saved again.
+                     */
+                    log.debug("Batch of reference copies not saved; saving one at a time: {}", batchError.getMessage());
+
+                    for (EntityDetail entity : entitiesToSave)
+                    {
+                        updateReferenceEntity(sourceName,
+                                              methodName,
+                                              originatorMetadataCollectionId,
+                                              originatorServerName,
+                                              entity);
+                    }
+
+                    for (Relationship relationship : relationshipsToSave)
+                    {
+                        try
+                        {
+                            if (! isReferenceRelationshipStored(relationship))
+                            {
+                                updateReferenceRelationship(sourceName,
+                                                            methodName,
+                                                            originatorMetadataCollectionId,
+                                                            originatorServerName,
+                                                            relationship);
+                            }
+                        }
+                        catch (Throwable error)
+                        {
+                            handleUnexpectedErrorFromEvent(error,
+                                                           methodName,
+                                                           originatorServerName,
+                                                           originatorMetadataCollectionId);
+                        }
+                    }
+                }
+            }
         }
         catch (Throwable error)
         {
@@ -2133,33 +2239,11 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
-            final String entityParameterName = "entity";
-
             verifyEventProcessor(methodName);
-            repositoryValidator.validateReferenceInstanceHeader(sourceName,
-                                                                localMetadataCollectionId,
-                                                                entityParameterName,
-                                                                entity,
-                                                                methodName);
 
-            EntityDetail storedEntity = localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
-                                                                              entity.getGUID());
-
-            /*
-             * Verify that the incoming instance is compatible with the stored instance.
-             */
-            if (compareAndValidateReferenceInstance(originatorServerName,
-                                                    entity,
-                                                    storedEntity,
-                                                    methodName))
+            if (isReferenceEntityToSave(sourceName, methodName, originatorServerName, entity))
             {
-                /*
-                 * Verify that the rules allow the entity to be saved
-                 */
-                if (verifyEventToSave(sourceName, entity))
-                {
-                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
-                }
+                localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
             }
         }
         catch (Throwable error)
@@ -2172,6 +2256,49 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Validate an incoming reference entity and determine whether it should be saved in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.
+     * @param methodName                     name of the event method
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the entity
+     * @return boolean indicating that the entity is a newer version than the one stored and that the rules allow
+     * it to be saved
+     * @throws InvalidParameterException the entity is not valid
+     * @throws RepositoryErrorException there is a problem retrieving the stored entity
+     * @throws UserNotAuthorizedException the server's userId is not permitted to retrieve the stored entity
+     */
+    private boolean isReferenceEntityToSave(String       sourceName,
+                                            String       methodName,
+                                            String       originatorServerName,
+                                            EntityDetail entity) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        UserNotAuthorizedException
+    {
+        final String entityParameterName = "entity";
+
+        repositoryValidator.validateReferenceInstanceHeader(sourceName,
+                                                            localMetadataCollectionId,
+                                                            entityParameterName,
+                                                            entity,
+                                                            methodName);
+
+        EntityDetail storedEntity = localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
+                                                                          entity.getGUID());
+
+        /*
+         * Verify that the incoming instance is compatible with the stored instance and
+         * that the rules allow the entity to be saved
+         */
+        return ((compareAndValidateReferenceInstance(originatorServerName,
+                                                     entity,
+                                                     storedEntity,
+                                                     methodName)) &&
+                (verifyEventToSave(sourceName, entity)));
+    }
+
+
     /**
      * The incoming instance is properly formed.  Is it compatible (and a newer version) than the instance
      * that is stored?
@@ -2393,16 +2520,9 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
-            final String     relationshipParameterName = "relationship";
-
             verifyEventProcessor(methodName);
-            repositoryValidator.validateReferenceInstanceHeader(sourceName,
-                                                                localMetadataCollectionId,
-                                                                relationshipParameterName,
-                                                                relationship,
-                                                                methodName);
 
-            if (verifyEventToSave(sourceName, relationship))
+            if (isReferenceRelationshipToSave(sourceName, methodName, relationship))
             {
                 localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
                                                                       relationship);
@@ -2418,6 +2538,55 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Validate an incoming reference relationship and determine whether the rules allow it to be saved in the
+     * local repository.
+     *
+     * @param sourceName                     name of the source of the event.
+     * @param methodName                     name of the event method
+     * @param relationship                   details of the relationship
+     * @return boolean indicating that the relationship should be saved
+     * @throws InvalidParameterException the relationship is not valid
+     * @throws RepositoryErrorException there is a problem validating the relationship
+     */
+    private boolean isReferenceRelationshipToSave(String       sourceName,
+                                                  String       methodName,
+                                                  Relationship relationship) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String relationshipParameterName = "relationship";
+
+        repositoryValidator.validateReferenceInstanceHeader(sourceName,
+                                                            localMetadataCollectionId,
+                                                            relationshipParameterName,
+                                                            relationship,
+                                                            methodName);
+
+        return verifyEventToSave(sourceName, relationship);
+    }
+
+
+    /**
+     * Determine whether the local repository already holds this version, or a later version, of a reference
+     * relationship - for example because it was committed by a batch save that then failed on a later instance.
+     *
+     * @param relationship                   details of the relationship
+     * @return boolean indicating that the relationship does not need to be saved again
+     * @throws InvalidParameterException the relationship's guid is not valid
+     * @throws RepositoryErrorException there is a problem retrieving the stored relationship
+     * @throws UserNotAuthorizedException the server's userId is not permitted to retrieve the stored relationship
+     */
+    private boolean isReferenceRelationshipStored(Relationship relationship) throws InvalidParameterException,
+                                                                                    RepositoryErrorException,
+                                                                                    UserNotAuthorizedException
+    {
+        Relationship storedRelationship = localMetadataCollection.isRelationshipKnown(localRepositoryConnector.getServerUserId(),
+                                                                                      relationship.getGUID());
+
+        return ((storedRelationship != null) && (storedRelationship.getVersion() >= relationship.getVersion()));
+    }
+
+
     /**
      * Validate that this event processor is correctly initialized.
      *
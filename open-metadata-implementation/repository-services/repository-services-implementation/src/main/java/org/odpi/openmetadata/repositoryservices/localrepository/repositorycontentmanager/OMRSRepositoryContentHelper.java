@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -3248,43 +3249,12 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
                                                    int                  pageSize) throws PagingErrorException,
                                                                                          PropertyErrorException
     {
-        if (fullResults == null)
-        {
-            return null;
-        }
-
-        if (fullResults.isEmpty())
-        {
-            return null;
-        }
-
-        if (pageSize == 0)
-        {
-            return fullResults;
-        }
-
-        int fullResultsSize = fullResults.size();
-
-        Collections.sort(fullResults,
-                         new java.util.Comparator<EntityDetail>()
-                         {
-                             @Override
-                             public int compare(final EntityDetail object1, final EntityDetail object2)
-                             {
-                                 return OMRSRepositoryContentHelper.compareProperties(object1.getProperties(),
-                                                                                      object2.getProperties(),
-                                                                                      sequencingProperty,
-                                                                                      sequencingOrder);
-                             }
-                         });
-
-        if ((fromElement == 0) && (pageSize > fullResults.size()))
-        {
-            return fullResults;
-        }
-
-        int toIndex = getToIndex(fromElement, pageSize, fullResultsSize);
-        return new ArrayList<>(fullResults.subList(fromElement, toIndex));
+        return this.formatInstanceResults(fullResults,
+                                          fromElement,
+                                          sequencingProperty,
+                                          sequencingOrder,
+                                          pageSize,
+                                          EntityDetail::getProperties);
     }
 
 
@@ -3311,6 +3281,37 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
                                                          SequencingOrder      sequencingOrder,
                                                          int                  pageSize) throws PagingErrorException,
                                                                                                PropertyErrorException
+    {
+        return this.formatInstanceResults(fullResults,
+                                          fromElement,
+                                          sequencingProperty,
+                                          sequencingOrder,
+                                          pageSize,
+                                          Relationship::getProperties);
+    }
+
+
+    /**
+     * Select the requested page of instances.  The sequencing property value of each instance is extracted once.
+     * When the page ends well before the end of the results, a bounded heap holds the first fromElement + pageSize
+     * instances rather than sorting the complete list.  Instances with equal property values keep their original
+     * order, as they would with a stable sort.
+     *
+     * @param fullResults the full list of results in an arbitrary order
+     * @param fromElement the starting element number of the instances to return
+     * @param sequencingProperty name of the property that is to be used to sequence the results (may be null)
+     * @param sequencingOrder enum defining how the results should be ordered
+     * @param pageSize the maximum number of result instances that can be returned on this request (zero means all)
+     * @param propertiesAccessor function returning the properties of an instance
+     * @param <T> type of instance
+     * @return results array as requested
+     */
+    private <T> List<T> formatInstanceResults(List<T>                          fullResults,
+                                              int                              fromElement,
+                                              String                           sequencingProperty,
+                                              SequencingOrder                  sequencingOrder,
+                                              int                              pageSize,
+                                              Function<T, InstanceProperties>  propertiesAccessor)
     {
         if (fullResults == null)
         {
@@ -3334,33 +3335,126 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
             return null;
         }
 
-        Collections.sort(fullResults,
-                         new java.util.Comparator<Relationship>()
-                        {
-                            @Override
-                            public int compare(final Relationship object1, final Relationship object2)
-                            {
-                                return OMRSRepositoryContentHelper.compareProperties(object1.getProperties(),
-                                                                                     object2.getProperties(),
-                                                                                     sequencingProperty,
-                                                                                     sequencingOrder);
-                            }
-                        });
+        int toIndex = getToIndex(fromElement, pageSize, fullResultsSize);
 
-        if ((fromElement == 0) && (pageSize > fullResults.size()))
+        /*
+         * Without a sequencing property every instance compares as equal, so the results keep their current order.
+         */
+        if (sequencingProperty == null)
         {
-            return fullResults;
+            if ((fromElement == 0) && (pageSize > fullResultsSize))
+            {
+                return fullResults;
+            }
+
+            return new ArrayList<>(fullResults.subList(fromElement, toIndex));
         }
 
-        int toIndex = getToIndex(fromElement, pageSize, fullResultsSize);
+        List<SequencingKey<T>> sequencingKeys = new ArrayList<>(fullResultsSize);
+        int                    position       = 0;
+
+        for (T instance : fullResults)
+        {
+            sequencingKeys.add(new SequencingKey<>(instance,
+                                                   position++,
+                                                   propertiesAccessor.apply(instance),
+                                                   sequencingProperty));
+        }
+
+        Comparator<SequencingKey<T>> comparator = (key1, key2) ->
+        {
+            int sortResult = compareValues(key1.typeName, key1.value, key2.typeName, key2.value, sequencingOrder);
+
+            return (sortResult != 0) ? sortResult : Integer.compare(key1.position, key2.position);
+        };
+
+        List<SequencingKey<T>> sortedKeys;
+
+        if (toIndex >= fullResultsSize / 2)
+        {
+            sequencingKeys.sort(comparator);
+            sortedKeys = sequencingKeys;
+        }
+        else
+        {
+            /*
+             * The head of the heap is the last of the instances selected so far.
+             */
+            PriorityQueue<SequencingKey<T>> selectedKeys = new PriorityQueue<>(toIndex, comparator.reversed());
+
+            for (SequencingKey<T> sequencingKey : sequencingKeys)
+            {
+                if (selectedKeys.size() < toIndex)
+                {
+                    selectedKeys.add(sequencingKey);
+                }
+                else if (comparator.compare(sequencingKey, selectedKeys.peek()) < 0)
+                {
+                    selectedKeys.poll();
+                    selectedKeys.add(sequencingKey);
+                }
+            }
+
+            sortedKeys = new ArrayList<>(selectedKeys);
+            sortedKeys.sort(comparator);
+        }
 
-        return new ArrayList<>(fullResults.subList(fromElement, toIndex));
+        List<T> results = new ArrayList<>(toIndex - fromElement);
+
+        for (int index = fromElement; index < toIndex; index++)
+        {
+            results.add(sortedKeys.get(index).instance);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * SequencingKey holds an instance with the type and value of its sequencing property so that the
+     * property value is only extracted once when the instances are sorted.
+     *
+     * @param <T> type of instance
+     */
+    private static class SequencingKey<T>
+    {
+        private final T      instance;
+        private final int    position;
+        private       String typeName = null;
+        private       Object value    = null;
+
+
+        /**
+         * Extract the sequencing property from the instance's properties.
+         *
+         * @param instance instance to sort
+         * @param position position of the instance in the original results
+         * @param properties properties of the instance
+         * @param propertyName name of the sequencing property
+         */
+        SequencingKey(T                  instance,
+                      int                position,
+                      InstanceProperties properties,
+                      String             propertyName)
+        {
+            this.instance = instance;
+            this.position = position;
+
+            PrimitivePropertyValue primitivePropertyValue = getPrimitiveSequencingValue(properties, propertyName);
+
+            if (primitivePropertyValue != null)
+            {
+                this.typeName = primitivePropertyValue.getTypeName();
+                this.value    = primitivePropertyValue.getPrimitiveValue();
+            }
+        }
     }
 
 
     /**
      * Compare the properties of two instances and determine the sort order based on the nominated property value and
-     * sort order.
+     * sort order.  This is also used by the enterprise connector when it merges the pages of results returned
+     * by the members of the cohort(s).
      *
      * @param instance1Properties properties from first instance
      * @param instance2Properties properties from second instance
@@ -3368,10 +3462,10 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
      * @param sequencingOrder ascending or descending order
      * @return sort result
      */
-    private static int  compareProperties(InstanceProperties     instance1Properties,
-                                          InstanceProperties     instance2Properties,
-                                          String                 propertyName,
-                                          SequencingOrder        sequencingOrder)
+    public static int  compareProperties(InstanceProperties     instance1Properties,
+                                         InstanceProperties     instance2Properties,
+                                         String                 propertyName,
+                                         SequencingOrder        sequencingOrder)
     {
 
         // todo need to add support for properties in the instance header eg createdBy
@@ -3381,49 +3475,79 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
           * pair of instances. There is no guarantee the list is homogeneous or that
           * the objects to be compared are of the same type.
           */
-
-         int    sortResult;
          String o1PropertyTypeName = null;
          String o2PropertyTypeName = null;
          Object o1PropertyValue    = null;
          Object o2PropertyValue    = null;
 
+         PrimitivePropertyValue o1PropValue = getPrimitiveSequencingValue(instance1Properties, propertyName);
+         if (o1PropValue != null)
+         {
+             o1PropertyTypeName = o1PropValue.getTypeName();
+             o1PropertyValue = o1PropValue.getPrimitiveValue();
+         }
+
+         PrimitivePropertyValue o2PropValue = getPrimitiveSequencingValue(instance2Properties, propertyName);
+         if (o2PropValue != null)
+         {
+             o2PropertyTypeName = o2PropValue.getTypeName();
+             o2PropertyValue = o2PropValue.getPrimitiveValue();
+         }
+
+         return compareValues(o1PropertyTypeName, o1PropertyValue, o2PropertyTypeName, o2PropertyValue, sequencingOrder);
+    }
+
+
+    /**
+     * Return the named property if it is a primitive.  Other categories of property are not used for sequencing.
+     *
+     * @param properties properties of an instance
+     * @param propertyName name of property to sequence on
+     * @return primitive property value or null
+     */
+    private static PrimitivePropertyValue getPrimitiveSequencingValue(InstanceProperties properties,
+                                                                      String             propertyName)
+    {
+        if (properties != null)
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+            if ((propertyValue != null) &&
+                (propertyValue.getInstancePropertyCategory() == InstancePropertyCategory.PRIMITIVE))
+            {
+                return (PrimitivePropertyValue) propertyValue;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Compare the values of the sequencing property from two instances.
+     *
+     * @param o1PropertyTypeName type of the value from the first instance (null if it has no value)
+     * @param o1PropertyValue value from the first instance
+     * @param o2PropertyTypeName type of the value from the second instance (null if it has no value)
+     * @param o2PropertyValue value from the second instance
+     * @param sequencingOrder ascending or descending order
+     * @return sort result
+     */
+    private static int compareValues(String          o1PropertyTypeName,
+                                     Object          o1PropertyValue,
+                                     String          o2PropertyTypeName,
+                                     Object          o2PropertyValue,
+                                     SequencingOrder sequencingOrder)
+    {
+         int    sortResult;
+
          /*
-          * If instance1 has the named property, retrieve its value. Same for instance2.
           * If neither object has the property return 0
           * If one object has the property sort that higher: +1 if instance1, -1 if instance2
           * If both have a value for the property, of different types, return 0.
           * If both have a value for the property, of the same type, compare them...
           * This is only performed for primitives, anything else is treated as ignored
           */
-         if (instance1Properties != null)
-         {
-             InstancePropertyValue o1PropValue = instance1Properties.getPropertyValue(propertyName);
-             if (o1PropValue != null)
-             {
-                 InstancePropertyCategory o1PropCat = o1PropValue.getInstancePropertyCategory();
-                 if (o1PropCat == InstancePropertyCategory.PRIMITIVE)
-                 {
-                     o1PropertyTypeName = o1PropValue.getTypeName();
-                     o1PropertyValue = ((PrimitivePropertyValue) o1PropValue).getPrimitiveValue();
-                 }
-             }
-         }
-
-         if (instance2Properties != null)
-         {
-             InstancePropertyValue o2PropValue = instance2Properties.getPropertyValue(propertyName);
-             if (o2PropValue != null)
-             {
-                 InstancePropertyCategory o2PropCat = o2PropValue.getInstancePropertyCategory();
-                 if (o2PropCat == InstancePropertyCategory.PRIMITIVE)
-                 {
-                     o2PropertyTypeName = o2PropValue.getTypeName();
-                     o2PropertyValue = ((PrimitivePropertyValue) o2PropValue).getPrimitiveValue();
-                 }
-             }
-         }
-
          if (o1PropertyTypeName == null && o2PropertyTypeName == null)
          {
              sortResult = 0;
@@ -3452,7 +3576,6 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
          }
 
          return sortResult;
-
     }
 
 
@@ -3483,6 +3606,7 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
             case "short":
                 sortOrder = ((Short) v1).compareTo((Short) v2);
                 break;
+            case "int":
             case "integer":
                 sortOrder = ((Integer) v1).compareTo((Integer) v2);
                 break;
@@ -3505,7 +3629,11 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
                 sortOrder = ((String) v1).compareTo((String) v2);
                 break;
             case "date":
-                sortOrder = ((Date) v1).compareTo((Date) v2);
+                /*
+                 * Date primitives are stored as a Long (milliseconds since the epoch).
+                 */
+                sortOrder = Long.compare((v1 instanceof Date) ? ((Date) v1).getTime() : ((Number) v1).longValue(),
+                                         (v2 instanceof Date) ? ((Date) v2).getTime() : ((Number) v2).longValue());
                 break;
             default:
                 log.debug("Property type not catered for in compare function");
@@ -3600,6 +3728,7 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
     public boolean isContainsRegex(String searchString)
     {
         return searchString != null
+                && searchString.length() >= 4
                 && searchString.startsWith(".*")
                 && searchString.endsWith(".*")
                 && isExactMatchRegex(searchString.substring(2, searchString.length() - 2));
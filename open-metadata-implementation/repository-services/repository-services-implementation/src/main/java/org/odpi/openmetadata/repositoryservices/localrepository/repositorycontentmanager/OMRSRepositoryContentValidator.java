@@ -3636,7 +3636,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (OMRSSearchCriteriaMatcher.getMatcher(matchPropertyValueString).matches(instancePropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3699,7 +3699,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (matchValue.matches(expectedValue))
+                        if (OMRSSearchCriteriaMatcher.getMatcher(expectedValue).matches(matchValue))
                         {
                             result = true;
                         }
@@ -4037,99 +4037,114 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             return false;
         }
 
-        Iterator<String>  propertyNames = properties.getPropertyNames();
-
         try
         {
-            while (propertyNames.hasNext())
-            {
-                InstancePropertyValue  propertyValue = properties.getPropertyValue(propertyNames.next());
+            return this.verifyInstancePropertiesMatchSearchCriteria(properties,
+                                                                    OMRSSearchCriteriaMatcher.getMatcher(searchCriteria));
+        }
+        catch (Throwable   error)
+        {
+            /*
+             * Probably a class cast error which should never occur.
+             */
+            OMRSErrorCode errorCode = OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE;
+            String errorMessage = errorCode.getErrorMessageId()
+                                + errorCode.getFormattedErrorMessage(sourceName, methodName);
 
-                switch (propertyValue.getInstancePropertyCategory())
-                {
-                    case PRIMITIVE:
-                        PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
-                        if (primitivePropertyValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
-                        {
-                            String   stringProperty = (String)primitivePropertyValue.getPrimitiveValue();
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction(),
+                                               error);
+        }
+    }
 
-                            if (stringProperty != null)
-                            {
-                                if (stringProperty.matches(searchCriteria))
-                                {
-                                    return true;
-                                }
-                            }
-                        }
-                        break;
 
-                    case ENUM:
-                        EnumPropertyValue enumPropertyValue = (EnumPropertyValue)propertyValue;
+    /**
+     * Search for property values matching the compiled search criteria.  Nested struct, array and map
+     * values are searched with the same matcher.
+     *
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteriaMatcher compiled search criteria
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(InstanceProperties         properties,
+                                                                OMRSSearchCriteriaMatcher  searchCriteriaMatcher)
+    {
+        if (properties == null)
+        {
+            return false;
+        }
 
-                        String  enumValue = enumPropertyValue.getSymbolicName();
-                        if (enumValue != null)
+        Iterator<String>  propertyNames = properties.getPropertyNames();
+
+        while (propertyNames.hasNext())
+        {
+            InstancePropertyValue  propertyValue = properties.getPropertyValue(propertyNames.next());
+
+            switch (propertyValue.getInstancePropertyCategory())
+            {
+                case PRIMITIVE:
+                    PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+                    if (primitivePropertyValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
+                    {
+                        String   stringProperty = (String)primitivePropertyValue.getPrimitiveValue();
+
+                        if (stringProperty != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (searchCriteriaMatcher.matches(stringProperty))
                             {
                                 return true;
                             }
                         }
-                        break;
+                    }
+                    break;
 
-                    case STRUCT:
-                        StructPropertyValue structPropertyValue = (StructPropertyValue)propertyValue;
+                case ENUM:
+                    EnumPropertyValue enumPropertyValue = (EnumPropertyValue)propertyValue;
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        structPropertyValue.getAttributes(),
-                                                                        searchCriteria,
-                                                                        methodName))
+                    String  enumValue = enumPropertyValue.getSymbolicName();
+                    if (enumValue != null)
+                    {
+                        if (searchCriteriaMatcher.matches(enumValue))
                         {
                             return true;
                         }
-                        break;
+                    }
+                    break;
 
-                    case ARRAY:
-                        ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue)propertyValue;
+                case STRUCT:
+                    StructPropertyValue structPropertyValue = (StructPropertyValue)propertyValue;
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        arrayPropertyValue.getArrayValues(),
-                                                                        searchCriteria,
-                                                                        methodName))
-                        {
-                            return true;
-                        }
-                        break;
+                    if (verifyInstancePropertiesMatchSearchCriteria(structPropertyValue.getAttributes(),
+                                                                    searchCriteriaMatcher))
+                    {
+                        return true;
+                    }
+                    break;
 
-                    case MAP:
-                        MapPropertyValue mapPropertyValue = (MapPropertyValue)propertyValue;
+                case ARRAY:
+                    ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue)propertyValue;
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        mapPropertyValue.getMapValues(),
-                                                                        searchCriteria,
-                                                                        methodName))
-                        {
-                            return true;
-                        }
-                        break;
-                }
-            }
-        }
-        catch (Throwable   error)
-        {
-            /*
-             * Probably a class cast error which should never occur.
-             */
-            OMRSErrorCode errorCode = OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE;
-            String errorMessage = errorCode.getErrorMessageId()
-                                + errorCode.getFormattedErrorMessage(sourceName, methodName);
+                    if (verifyInstancePropertiesMatchSearchCriteria(arrayPropertyValue.getArrayValues(),
+                                                                    searchCriteriaMatcher))
+                    {
+                        return true;
+                    }
+                    break;
 
-            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
-                                               this.getClass().getName(),
-                                               methodName,
-                                               errorMessage,
-                                               errorCode.getSystemAction(),
-                                               errorCode.getUserAction(),
-                                               error);
+                case MAP:
+                    MapPropertyValue mapPropertyValue = (MapPropertyValue)propertyValue;
+
+                    if (verifyInstancePropertiesMatchSearchCriteria(mapPropertyValue.getMapValues(),
+                                                                    searchCriteriaMatcher))
+                    {
+                        return true;
+                    }
+                    break;
+            }
         }
 
         return false;
@@ -0,0 +1,168 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * OMRSSearchCriteriaMatcher tests string property values against a search criteria regular expression.
+ * The same search criteria is tested against every property of every candidate instance in a find request, so
+ * the compiled matchers are held in a bounded cache rather than compiling the regular expression for each value.
+ * <p>
+ *     The exact match, contains, starts with and ends with forms built by the getExactMatchRegex,
+ *     getContainsRegex, getStartsWithRegex and getEndsWithRegex methods of OMRSRepositoryContentHelper
+ *     are tested with plain string operations.  The ".*" of these forms does not match line terminators so values
+ *     that contain line terminators are tested with the compiled pattern to return the same result as
+ *     String.matches().
+ * </p>
+ */
+class OMRSSearchCriteriaMatcher
+{
+    private static final int                                    maxCacheSize = 500;
+    private static final Map<String, OMRSSearchCriteriaMatcher> matcherCache = new ConcurrentHashMap<>();
+
+    /*
+     * The regex detection methods do not use the repository content manager.
+     */
+    private static final OMRSRepositoryContentHelper regexHelper = new OMRSRepositoryContentHelper(null);
+
+    private enum MatchType
+    {
+        EXACT,
+        CONTAINS,
+        STARTS_WITH,
+        ENDS_WITH,
+        REGEX
+    }
+
+    private final MatchType matchType;
+    private final String    literal;
+    private final Pattern   pattern;
+
+
+    /**
+     * Constructor analyses and compiles the search criteria.
+     *
+     * @param searchCriteria regular expression
+     * @throws java.util.regex.PatternSyntaxException the search criteria is not a valid regular expression
+     */
+    private OMRSSearchCriteriaMatcher(String searchCriteria)
+    {
+        if (regexHelper.isExactMatchRegex(searchCriteria))
+        {
+            this.matchType = MatchType.EXACT;
+        }
+        else if (regexHelper.isContainsRegex(searchCriteria))
+        {
+            this.matchType = MatchType.CONTAINS;
+        }
+        else if (regexHelper.isStartsWithRegex(searchCriteria))
+        {
+            this.matchType = MatchType.STARTS_WITH;
+        }
+        else if (regexHelper.isEndsWithRegex(searchCriteria))
+        {
+            this.matchType = MatchType.ENDS_WITH;
+        }
+        else
+        {
+            this.matchType = MatchType.REGEX;
+        }
+
+        if (matchType == MatchType.REGEX)
+        {
+            this.literal = null;
+        }
+        else
+        {
+            this.literal = regexHelper.getUnqualifiedLiteralString(searchCriteria);
+        }
+
+        this.pattern = Pattern.compile(searchCriteria);
+    }
+
+
+    /**
+     * Return the matcher for the search criteria.  The cache is cleared when it is full since the search
+     * criteria in use change slowly compared with the number of values tested.
+     *
+     * @param searchCriteria regular expression
+     * @return matcher
+     * @throws java.util.regex.PatternSyntaxException the search criteria is not a valid regular expression
+     */
+    static OMRSSearchCriteriaMatcher getMatcher(String searchCriteria)
+    {
+        OMRSSearchCriteriaMatcher matcher = matcherCache.get(searchCriteria);
+
+        if (matcher == null)
+        {
+            matcher = new OMRSSearchCriteriaMatcher(searchCriteria);
+
+            if (matcherCache.size() >= maxCacheSize)
+            {
+                matcherCache.clear();
+            }
+
+            matcherCache.put(searchCriteria, matcher);
+        }
+
+        return matcher;
+    }
+
+
+    /**
+     * Return true if the whole value matches the search criteria - the same result as value.matches(searchCriteria).
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    boolean matches(String value)
+    {
+        if (matchType == MatchType.EXACT)
+        {
+            return literal.equals(value);
+        }
+
+        if ((matchType == MatchType.REGEX) || (hasLineTerminator(value)))
+        {
+            return pattern.matcher(value).matches();
+        }
+
+        switch (matchType)
+        {
+            case CONTAINS:
+                return value.contains(literal);
+
+            case STARTS_WITH:
+                return value.startsWith(literal);
+
+            default:
+                return value.endsWith(literal);
+        }
+    }
+
+
+    /**
+     * Return true if the value contains a character that "." does not match.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    private static boolean hasLineTerminator(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char character = value.charAt(i);
+
+            if ((character == '\n') || (character == '\r') ||
+                (character == '\u0085') || (character == '\u2028') || (character == '\u2029'))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
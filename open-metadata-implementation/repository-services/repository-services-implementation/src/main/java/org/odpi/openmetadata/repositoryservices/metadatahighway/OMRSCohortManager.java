@@ -220,6 +220,15 @@ public class OMRSCohortManager
                 this.cohortRepositoryEventManager.registerRepositoryEventProcessor(enterpriseEventPublisher);
             }
 
+            /*
+             * The connection consumer passes the cohort's instance events to the components that cache instances
+             * retrieved through the enterprise repository services so they know when their copies are out of date.
+             */
+            if (connectionConsumer != null)
+            {
+                connectionConsumer.addCohortEventManager(cohortName, this.cohortRepositoryEventManager);
+            }
+
             this.cohortConnectionStatus = CohortConnectionStatus.NEW;
 
 
@@ -1978,6 +1978,66 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known, or are only proxies, are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * list of EntityDetail structures in the order of the requested guids (null means none were found) or
+     * InvalidParameterException the guid list is null or contains a null guid or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityListResponse getEntityDetails(String          serverName,
+                                               String          userId,
+                                               GUIDListRequest guids)
+    {
+        final  String   methodName = "getEntityDetails";
+
+        log.debug("Calling method: " + methodName);
+
+        EntityListResponse response = new EntityListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guids != null)
+            {
+                response.setEntities(metadataCollection.getEntityDetails(userId, guids.getGUIDs()));
+            }
+            else
+            {
+                response.setEntities(metadataCollection.getEntityDetails(userId, null));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Throwable error)
+        {
+            captureThrowable(response, error, methodName, instanceHandler.getAuditLog(userId, serverName, methodName));
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -3215,6 +3275,66 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that are not known are left out
+     * of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return RelationshipListResponse:
+     * list of relationships in the order of the requested guids (null means none were found) or
+     * InvalidParameterException the guid list is null or contains a null guid or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public RelationshipListResponse getRelationships(String          serverName,
+                                                     String          userId,
+                                                     GUIDListRequest guids)
+    {
+        final  String   methodName = "getRelationships";
+
+        log.debug("Calling method: " + methodName);
+
+        RelationshipListResponse response = new RelationshipListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guids != null)
+            {
+                response.setRelationships(metadataCollection.getRelationships(userId, guids.getGUIDs()));
+            }
+            else
+            {
+                response.setRelationships(metadataCollection.getRelationships(userId, null));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Throwable error)
+        {
+            captureThrowable(response, error, methodName, instanceHandler.getAuditLog(userId, serverName, methodName));
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be broken into pages.
@@ -0,0 +1,194 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * OMRSOpenMetadataTypesSnapshotBenchmark measures the time taken to seed the repository content managers
+ * of a platform of servers with the open metadata types, first building the types archive for each server
+ * and then using the shared snapshot.  It also measures the time to build the snapshot compared with parsing
+ * the same types from a JSON file, which is why the snapshot is not saved and loaded from disk.
+ * It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DtypesBenchmark
+ * </pre>
+ * The number of servers started in each round can be changed with -DtypesBenchmarkServers=n.
+ */
+public class OMRSOpenMetadataTypesSnapshotBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSOpenMetadataTypesSnapshotBenchmark.class);
+
+    private static final int warmUpRounds   = 3;
+    private static final int measuredRounds = 5;
+
+
+    /**
+     * Log the time to seed the servers' content managers with and without the shared snapshot.
+     */
+    @Test
+    public void measureStartUpTime()
+    {
+        int serverCount = Integer.getInteger("typesBenchmarkServers", 20);
+
+        long buildTime    = this.measure(serverCount, () -> new OpenMetadataTypesArchive().getOpenMetadataArchive());
+        long snapshotTime = this.measure(serverCount, () -> OMRSOpenMetadataTypesSnapshot.getInstance().getOpenMetadataArchive());
+
+        log.info("Seeding " + serverCount + " servers with the open metadata types: archive built per server="
+                         + buildTime + "ms, shared snapshot=" + snapshotTime + "ms");
+    }
+
+
+    /**
+     * Log the time to build the snapshot compared with parsing the same types from a JSON file.
+     *
+     * @throws Exception unable to create the JSON file
+     */
+    @Test
+    public void measureSnapshotFile() throws Exception
+    {
+        File         snapshotFile = File.createTempFile("OpenMetadataTypesSnapshot", ".json");
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try
+        {
+            objectMapper.writeValue(snapshotFile, OMRSOpenMetadataTypesSnapshot.getInstance().getOpenMetadataArchive());
+
+            long buildTime = this.measure(() -> new OMRSOpenMetadataTypesSnapshot());
+            long parseTime = this.measure(() ->
+            {
+                try
+                {
+                    objectMapper.readValue(snapshotFile, OpenMetadataArchive.class);
+                }
+                catch (Exception error)
+                {
+                    throw new IllegalStateException(error);
+                }
+            });
+
+            log.info("Creating the open metadata types snapshot: built=" + buildTime + "ms, parsed from "
+                             + snapshotFile.length() + " byte JSON file=" + parseTime + "ms");
+        }
+        finally
+        {
+            snapshotFile.delete();
+        }
+    }
+
+
+    /**
+     * Return the best time of the measured rounds to seed the requested number of content managers
+     * with the archives returned by the supplier.
+     *
+     * @param serverCount number of servers to seed in each round
+     * @param archiveSupplier source of the open metadata types archive for each server
+     * @return elapsed milliseconds
+     */
+    private long measure(int                           serverCount,
+                         Supplier<OpenMetadataArchive> archiveSupplier)
+    {
+        OMRSRepositoryContentManager checkedContentManager = this.seedContentManager(archiveSupplier.get());
+
+        assertEquals(checkedContentManager.getKnownTypeDefGallery().getTypeDefs().size(),
+                     archiveSupplier.get().getArchiveTypeStore().getNewTypeDefs().size());
+
+        return this.measure(() ->
+        {
+            for (int server = 0; server < serverCount; server++)
+            {
+                this.seedContentManager(archiveSupplier.get());
+            }
+        });
+    }
+
+
+    /**
+     * Pass the types from the archive to a new content manager in the same way as the archive manager.
+     *
+     * @param openMetadataTypes open metadata types archive
+     * @return seeded content manager
+     */
+    private OMRSRepositoryContentManager seedContentManager(OpenMetadataArchive openMetadataTypes)
+    {
+        OMRSRepositoryContentManager  contentManager = new OMRSRepositoryContentManager(this.getAuditLog());
+        OpenMetadataArchiveProperties properties     = openMetadataTypes.getArchiveProperties();
+        OpenMetadataArchiveTypeStore  typeStore      = openMetadataTypes.getArchiveTypeStore();
+
+        contentManager.setOpenMetadataTypesOriginGUID(properties.getArchiveGUID());
+
+        for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+        {
+            contentManager.processNewAttributeTypeDefEvent(properties.getOriginatorName(),
+                                                           properties.getArchiveGUID(),
+                                                           properties.getArchiveName(),
+                                                           null,
+                                                           properties.getOriginatorOrganization(),
+                                                           attributeTypeDef);
+        }
+
+        for (TypeDef typeDef : typeStore.getNewTypeDefs())
+        {
+            contentManager.processNewTypeDefEvent(properties.getOriginatorName(),
+                                                  properties.getArchiveGUID(),
+                                                  properties.getArchiveName(),
+                                                  null,
+                                                  properties.getOriginatorOrganization(),
+                                                  typeDef);
+        }
+
+        return contentManager;
+    }
+
+
+    /**
+     * Return the best time of the measured rounds after warming up.
+     *
+     * @param work work to time
+     * @return elapsed milliseconds
+     */
+    private long measure(Runnable work)
+    {
+        long bestTime = Long.MAX_VALUE;
+
+        for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+        {
+            long startTime = System.nanoTime();
+
+            work.run();
+
+            long elapsedTime = (System.nanoTime() - startTime) / 1000000;
+
+            if (round >= warmUpRounds)
+            {
+                bestTime = Math.min(bestTime, elapsedTime);
+            }
+        }
+
+        return bestTime;
+    }
+
+
+    private OMRSAuditLog getAuditLog()
+    {
+        return new OMRSAuditLog(new OMRSAuditLogDestination(null), OMRSAuditingComponent.REPOSITORY_CONTENT_MANAGER);
+    }
+}
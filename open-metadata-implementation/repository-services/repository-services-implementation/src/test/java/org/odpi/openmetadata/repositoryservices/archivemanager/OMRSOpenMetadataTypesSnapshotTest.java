@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the open metadata types snapshot is shared, can not be changed by the servers that use it,
+ * and rejects inconsistent types.
+ */
+public class OMRSOpenMetadataTypesSnapshotTest
+{
+    /**
+     * Every caller gets the same snapshot with the same types as a freshly built archive, and changing the
+     * types returned to one caller does not change them for the next.
+     */
+    @Test
+    public void testSharedTypes()
+    {
+        OMRSOpenMetadataTypesSnapshot snapshot = OMRSOpenMetadataTypesSnapshot.getInstance();
+
+        assertSame(OMRSOpenMetadataTypesSnapshot.getInstance(), snapshot);
+        assertEquals(snapshot.getArchiveGUID(), new OpenMetadataTypesArchive().getArchiveGUID());
+
+        List<TypeDef> builtTypeDefs    = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore().getNewTypeDefs();
+        List<TypeDef> snapshotTypeDefs = snapshot.getOpenMetadataArchive().getArchiveTypeStore().getNewTypeDefs();
+
+        assertEquals(snapshotTypeDefs, builtTypeDefs);
+
+        String originalName = snapshotTypeDefs.get(0).getName();
+
+        snapshotTypeDefs.get(0).setName("ChangedName");
+        snapshot.getOpenMetadataArchive().setArchiveTypeStore(null);
+
+        assertEquals(snapshot.getOpenMetadataArchive().getArchiveTypeStore().getNewTypeDefs().get(0).getName(), originalName);
+    }
+
+
+    /**
+     * Types that refer to a type missing from the archive are rejected.
+     */
+    @Test
+    public void testUnresolvedType()
+    {
+        OpenMetadataArchive          openMetadataTypes = new OpenMetadataTypesArchive().getOpenMetadataArchive();
+        OpenMetadataArchiveTypeStore typeStore         = openMetadataTypes.getArchiveTypeStore();
+        List<TypeDef>                typeDefs          = new ArrayList<>();
+
+        OMRSOpenMetadataTypesSnapshot.validateTypes(openMetadataTypes);
+
+        for (TypeDef typeDef : typeStore.getNewTypeDefs())
+        {
+            if (! "Referenceable".equals(typeDef.getName()))
+            {
+                typeDefs.add(typeDef);
+            }
+        }
+
+        typeStore.setNewTypeDefs(typeDefs);
+        openMetadataTypes.setArchiveTypeStore(typeStore);
+
+        try
+        {
+            OMRSOpenMetadataTypesSnapshot.validateTypes(openMetadataTypes);
+            fail("Missing super type not detected");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            assertTrue(error.getErrorMessage().contains("OMRS-ARCHIVE-BUILDER-400-013"));
+            assertTrue(error.getErrorMessage().contains("Referenceable"));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the hit, miss, eviction and invalidation behaviour of the enterprise instance cache.
+ */
+public class EnterpriseOMRSInstanceCacheTest
+{
+    private static final String userId      = "testUser";
+    private static final String otherUserId = "otherUser";
+
+
+    /**
+     * Only users that have retrieved an instance are given the cached copy, and the copy is not shared.
+     */
+    @Test
+    public void testHitsAndMisses()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache("test", 10, 60000);
+
+        assertNull(cache.getEntityDetail(userId, "entity-1"));
+
+        cache.cacheEntityDetail(userId, getEntity("entity-1", 1), cache.getInvalidationGeneration());
+
+        EntityDetail cachedEntity = cache.getEntityDetail(userId, "entity-1");
+        assertNotNull(cachedEntity);
+        assertEquals(cachedEntity.getVersion(), 1);
+        assertNotSame(cachedEntity, cache.getEntityDetail(userId, "entity-1"));
+
+        assertNull(cache.getEntityDetail(otherUserId, "entity-1"));
+        assertNull(cache.getRelationship(userId, "entity-1"));
+
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 3);
+    }
+
+
+    /**
+     * The least recently used instance is evicted when the cache is full and expired instances are not returned.
+     */
+    @Test
+    public void testEviction() throws Exception
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache("test", 2, 60000);
+
+        cache.cacheEntityDetail(userId, getEntity("entity-1", 1), cache.getInvalidationGeneration());
+        cache.cacheEntityDetail(userId, getEntity("entity-2", 1), cache.getInvalidationGeneration());
+        assertNotNull(cache.getEntityDetail(userId, "entity-1"));
+        cache.cacheRelationship(userId, getRelationship("relationship-1", 1), cache.getInvalidationGeneration());
+
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.getEvictionCount(), 1);
+        assertNull(cache.getEntityDetail(userId, "entity-2"));
+        assertNotNull(cache.getEntityDetail(userId, "entity-1"));
+        assertNotNull(cache.getRelationship(userId, "relationship-1"));
+
+        EnterpriseOMRSInstanceCache shortLivedCache = new EnterpriseOMRSInstanceCache("test", 2, 1);
+
+        shortLivedCache.cacheEntityDetail(userId, getEntity("entity-1", 1), shortLivedCache.getInvalidationGeneration());
+        Thread.sleep(5);
+        assertNull(shortLivedCache.getEntityDetail(userId, "entity-1"));
+        assertEquals(shortLivedCache.getEvictionCount(), 1);
+    }
+
+
+    /**
+     * Instance events remove the instances they change, but not newer copies of them.
+     */
+    @Test
+    public void testInvalidation()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache("test", 10, 60000);
+
+        cache.cacheEntityDetail(userId, getEntity("entity-1", 3), cache.getInvalidationGeneration());
+        cache.cacheRelationship(userId, getRelationship("relationship-1", 1), cache.getInvalidationGeneration());
+        cache.cacheEntityDetail(userId, getEntity("entity-2", 1), cache.getInvalidationGeneration());
+
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                                                              getEntity("entity-1", 2)));
+        assertNotNull(cache.getEntityDetail(userId, "entity-1"));
+
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                                                              getEntity("entity-1", 4)));
+        assertNull(cache.getEntityDetail(userId, "entity-1"));
+
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_RELATIONSHIP_EVENT,
+                                                              "typeGUID",
+                                                              "typeName",
+                                                              "relationship-1"));
+        assertNull(cache.getRelationship(userId, "relationship-1"));
+
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.REFRESH_ENTITY_REQUEST,
+                                                              "typeGUID",
+                                                              "typeName",
+                                                              "entity-2"));
+        assertNotNull(cache.getEntityDetail(userId, "entity-2"));
+
+        assertEquals(cache.getInvalidationCount(), 2);
+    }
+
+
+    /**
+     * An instance retrieved before an event removed it is not cached once the event has been processed.
+     */
+    @Test
+    public void testInvalidationDuringRetrieval()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache("test", 10, 60000);
+
+        long entityGeneration = cache.getInvalidationGeneration();
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                                                              getEntity("entity-1", 2)));
+        cache.cacheEntityDetail(userId, getEntity("entity-1", 1), entityGeneration);
+        assertNull(cache.getEntityDetail(userId, "entity-1"));
+
+        long relationshipGeneration = cache.getInvalidationGeneration();
+        cache.sendInstanceEvent("test", new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_RELATIONSHIP_EVENT,
+                                                              "typeGUID",
+                                                              "typeName",
+                                                              "relationship-1"));
+        cache.cacheRelationship(userId, getRelationship("relationship-1", 1), relationshipGeneration);
+        assertNull(cache.getRelationship(userId, "relationship-1"));
+        assertEquals(cache.getSize(), 0);
+
+        /*
+         * Requests that start after the event are cached as normal.
+         */
+        cache.cacheEntityDetail(userId, getEntity("entity-1", 2), cache.getInvalidationGeneration());
+        assertNotNull(cache.getEntityDetail(userId, "entity-1"));
+    }
+
+
+    private static EntityDetail getEntity(String guid, long version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    private static Relationship getRelationship(String guid, long version)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+
+        return relationship;
+    }
+}
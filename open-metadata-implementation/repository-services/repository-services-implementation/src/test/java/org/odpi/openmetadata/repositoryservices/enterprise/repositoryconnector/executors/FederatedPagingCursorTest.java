@@ -0,0 +1,570 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the merging of pages of results from multiple repositories.
+ */
+public class FederatedPagingCursorTest
+{
+    private static final String nameProperty = "qualifiedName";
+
+
+    /**
+     * Test executor that serves the results for each repository from a list and records the requests.
+     */
+    private static class TestExecutor extends PageableRepositoryExecutorBase<EntityDetail>
+    {
+        private Map<String, List<EntityDetail>> repositoryResults;
+        private List<String>                    requests;
+        private EntityAccumulator               accumulator;
+
+        TestExecutor(String                          userId,
+                     String                          queryName,
+                     SequencingOrder                 sequencingOrder,
+                     int                             startingElement,
+                     int                             pageSize,
+                     FederatedPagingContinuations    continuations,
+                     Map<String, List<EntityDetail>> repositoryResults,
+                     List<String>                    requests)
+        {
+            this(userId,
+                 sequencingOrder,
+                 startingElement,
+                 pageSize,
+                 repositoryResults,
+                 requests,
+                 new EntityAccumulator(null, null, null),
+                 new FederatedPagingCursor<>(startingElement,
+                                             pageSize,
+                                             new InstanceSequencingComparator<EntityDetail>(nameProperty,
+                                                                                            sequencingOrder,
+                                                                                            EntityDetail::getProperties),
+                                             continuations));
+
+            super.initializePaging(queryName);
+        }
+
+        private TestExecutor(String                              userId,
+                             SequencingOrder                     sequencingOrder,
+                             int                                 startingElement,
+                             int                                 pageSize,
+                             Map<String, List<EntityDetail>>     repositoryResults,
+                             List<String>                        requests,
+                             EntityAccumulator                   accumulator,
+                             FederatedPagingCursor<EntityDetail> pagingCursor)
+        {
+            super(userId,
+                  null,
+                  startingElement,
+                  null,
+                  nameProperty,
+                  sequencingOrder,
+                  pageSize,
+                  null,
+                  accumulator,
+                  pagingCursor,
+                  "testMethod");
+
+            this.repositoryResults = repositoryResults;
+            this.requests = requests;
+            this.accumulator = accumulator;
+        }
+
+        public CloneableRepositoryExecutor getClone()
+        {
+            return new TestExecutor(userId, sequencingOrder, startingElement, pageSize, repositoryResults, requests, accumulator, pagingCursor);
+        }
+
+        List<EntityDetail> retrievePage(String                 metadataCollectionId,
+                                        OMRSMetadataCollection metadataCollection,
+                                        int                    fromElement,
+                                        int                    repositoryPageSize)
+        {
+            List<EntityDetail> allResults = repositoryResults.get(metadataCollectionId);
+            int                toElement  = (repositoryPageSize == 0) ? allResults.size()
+                                                                      : Math.min(allResults.size(), fromElement + repositoryPageSize);
+
+            synchronized (requests)
+            {
+                requests.add(metadataCollectionId + ":" + fromElement + ":" + repositoryPageSize);
+            }
+
+            List<EntityDetail> results = new ArrayList<>(allResults.subList(Math.min(fromElement, toElement), toElement));
+
+            if (sequencingOrder == SequencingOrder.GUID)
+            {
+                /*
+                 * The repository selects the right results but returns them in no particular order.
+                 */
+                Collections.shuffle(results, new Random(fromElement));
+            }
+
+            accumulator.addEntities(results, metadataCollectionId);
+
+            return results;
+        }
+
+        List<String> getPage()
+        {
+            List<String>       pageGUIDs = new ArrayList<>();
+            List<EntityDetail> results   = accumulator.getResults(null, pagingCursor.getPageGUIDs());
+
+            if (results != null)
+            {
+                for (EntityDetail entity : results)
+                {
+                    pageGUIDs.add(entity.getGUID());
+                }
+            }
+
+            return pageGUIDs;
+        }
+    }
+
+
+    /**
+     * Request control that records the follow-on requests and can simulate a timeout.
+     */
+    private static class TestRequestControl implements RepositoryRequestControl
+    {
+        private List<String> followOnRequests = new ArrayList<>();
+        private boolean      timedOut;
+
+        TestRequestControl(boolean timedOut)
+        {
+            this.timedOut = timedOut;
+        }
+
+        public <V> V issueFollowOnRequest(String       metadataCollectionId,
+                                          Callable<V>  request)
+        {
+            followOnRequests.add(metadataCollectionId);
+
+            if (timedOut)
+            {
+                return null;
+            }
+
+            try
+            {
+                return request.call();
+            }
+            catch (Exception error)
+            {
+                return null;
+            }
+        }
+    }
+
+
+    private Map<String, List<EntityDetail>> getRepositoryResults()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = new HashMap<>();
+
+        /*
+         * Three repositories with interleaved GUIDs (and qualified names), already sorted.  Repository "r3" also
+         * holds a reference copy of every fifth entity from "r1".
+         */
+        for (String repository : new String[] { "r1", "r2", "r3" })
+        {
+            repositoryResults.put(repository, new ArrayList<>());
+        }
+
+        for (int i = 0; i < 300; i++)
+        {
+            EntityDetail entity = getEntity(i);
+
+            repositoryResults.get("r" + ((i % 3) + 1)).add(entity);
+
+            if ((i % 3 == 0) && (i % 5 == 0))
+            {
+                repositoryResults.get("r3").add(entity);
+            }
+        }
+
+        repositoryResults.get("r3").sort((entity1, entity2) -> entity1.getGUID().compareTo(entity2.getGUID()));
+
+        return repositoryResults;
+    }
+
+
+    private EntityDetail getEntity(int   entityNumber)
+    {
+        EntityDetail           entity        = new EntityDetail();
+        InstanceProperties     properties    = new InstanceProperties();
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setTypeName("string");
+        propertyValue.setPrimitiveValue(String.format("name-%05d", entityNumber));
+        properties.setProperty(nameProperty, propertyValue);
+
+        entity.setGUID(String.format("guid-%05d", entityNumber));
+        entity.setVersion(1L);
+        entity.setProperties(properties);
+
+        return entity;
+    }
+
+
+    private List<String> issueRequest(TestExecutor   executor)
+    {
+        executor.issueRequestToRepository("r1", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r2", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r3", null);
+
+        return executor.getPage();
+    }
+
+
+    private List<String> getExpectedPage(int   startingElement,
+                                         int   pageSize)
+    {
+        List<String> expectedPage = new ArrayList<>();
+
+        for (int i = startingElement; i < Math.min(startingElement + pageSize, 300); i++)
+        {
+            expectedPage.add(String.format("guid-%05d", i));
+        }
+
+        return expectedPage;
+    }
+
+
+    @Test
+    void testFirstPage()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+
+        List<String> page = issueRequest(new TestExecutor("testUser",
+                                                          "testFirstPage",
+                                                          SequencingOrder.PROPERTY_ASCENDING,
+                                                          0,
+                                                          10,
+                                                          new FederatedPagingContinuations(),
+                                                          repositoryResults,
+                                                          requests));
+
+        assertEquals(page, getExpectedPage(0, 10));
+
+        /*
+         * One page from each repository fills the requested page.
+         */
+        assertEquals(requests.size(), 3);
+    }
+
+
+    @Test
+    void testDeepPageWithoutContinuation()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+
+        List<String> page = issueRequest(new TestExecutor("testUser",
+                                                          "testDeepPage",
+                                                          SequencingOrder.PROPERTY_ASCENDING,
+                                                          50,
+                                                          10,
+                                                          new FederatedPagingContinuations(),
+                                                          repositoryResults,
+                                                          requests));
+
+        assertEquals(page, getExpectedPage(50, 10));
+
+        for (String request : requests)
+        {
+            assertTrue(Integer.parseInt(request.split(":")[2]) <= 60, request);
+        }
+    }
+
+
+    @Test
+    void testContinuation()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+        FederatedPagingContinuations    continuations     = new FederatedPagingContinuations();
+
+        for (int startingElement = 0; startingElement < 300; startingElement = startingElement + 25)
+        {
+            requests.clear();
+
+            List<String> page = issueRequest(new TestExecutor("testUser",
+                                                              "testContinuation",
+                                                              SequencingOrder.PROPERTY_ASCENDING,
+                                                              startingElement,
+                                                              25,
+                                                              continuations,
+                                                              repositoryResults,
+                                                              requests));
+
+            assertEquals(page, getExpectedPage(startingElement, 25));
+
+            if (startingElement > 0)
+            {
+                /*
+                 * Each repository is resumed from where the previous page stopped.
+                 */
+                for (String request : requests)
+                {
+                    assertNotEquals(request.split(":")[1], "0", request);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void testContinuationNotSharedBetweenUsersOrConnectors()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+        FederatedPagingContinuations    continuations     = new FederatedPagingContinuations();
+
+        issueRequest(new TestExecutor("testUser",
+                                      "testScope",
+                                      SequencingOrder.PROPERTY_ASCENDING,
+                                      0,
+                                      25,
+                                      continuations,
+                                      repositoryResults,
+                                      requests));
+
+        /*
+         * A different user asking for the next page of the same query starts from the beginning.
+         */
+        requests.clear();
+
+        List<String> page = issueRequest(new TestExecutor("otherUser",
+                                                          "testScope",
+                                                          SequencingOrder.PROPERTY_ASCENDING,
+                                                          25,
+                                                          25,
+                                                          continuations,
+                                                          repositoryResults,
+                                                          requests));
+
+        assertEquals(page, getExpectedPage(25, 25));
+
+        for (String request : requests)
+        {
+            assertTrue(request.contains(":0:"), request);
+        }
+
+        /*
+         * So does the same user through a different enterprise connector.
+         */
+        requests.clear();
+
+        page = issueRequest(new TestExecutor("testUser",
+                                             "testScope",
+                                             SequencingOrder.PROPERTY_ASCENDING,
+                                             25,
+                                             25,
+                                             new FederatedPagingContinuations(),
+                                             repositoryResults,
+                                             requests));
+
+        assertEquals(page, getExpectedPage(25, 25));
+
+        for (String request : requests)
+        {
+            assertTrue(request.contains(":0:"), request);
+        }
+    }
+
+
+    @Test
+    void testUnlimitedPageSize()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+
+        List<String> page = issueRequest(new TestExecutor("testUser",
+                                                          "testUnlimited",
+                                                          SequencingOrder.PROPERTY_ASCENDING,
+                                                          0,
+                                                          0,
+                                                          new FederatedPagingContinuations(),
+                                                          repositoryResults,
+                                                          requests));
+
+        assertEquals(page, getExpectedPage(0, 300));
+        assertEquals(requests.size(), 3);
+    }
+
+
+    @Test
+    void testOrderNotHonouredByRepositories()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+        FederatedPagingContinuations    continuations     = new FederatedPagingContinuations();
+
+        /*
+         * The repositories return their results in no particular order.  The GUID order is not relied on
+         * so the results up to the end of the requested page are retrieved from each repository and sorted.
+         */
+        for (int startingElement = 0; startingElement < 100; startingElement = startingElement + 25)
+        {
+            requests.clear();
+
+            List<String> page = issueRequest(new TestExecutor("testUser",
+                                                              "testGUIDOrder",
+                                                              SequencingOrder.GUID,
+                                                              startingElement,
+                                                              25,
+                                                              continuations,
+                                                              repositoryResults,
+                                                              requests));
+
+            assertEquals(page, getExpectedPage(startingElement, 25));
+
+            Map<String, Integer> retrievedCounts = new HashMap<>();
+
+            for (String request : requests)
+            {
+                String[] requestFields = request.split(":");
+
+                retrievedCounts.merge(requestFields[0], Integer.parseInt(requestFields[2]), Integer::sum);
+            }
+
+            assertEquals(retrievedCounts.size(), 3);
+
+            for (String repository : retrievedCounts.keySet())
+            {
+                assertTrue(requests.contains(repository + ":0:" + Math.min(startingElement + 25, 1000)));
+                assertEquals((int)retrievedCounts.get(repository), startingElement + 25, repository);
+            }
+        }
+    }
+
+
+    @Test
+    void testDuplicatesNotNextToOneAnother()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = new HashMap<>();
+        List<String>                    requests          = new ArrayList<>();
+        FederatedPagingContinuations    continuations     = new FederatedPagingContinuations();
+        List<String>                    allPages          = new ArrayList<>();
+
+        /*
+         * With no ordering each repository's results are merged in turn, so the reference copies in "r2" and
+         * "r3" are merged more than a thousand results after the originals in "r1".
+         */
+        for (String repository : new String[] { "r1", "r2", "r3" })
+        {
+            repositoryResults.put(repository, new ArrayList<>());
+        }
+
+        for (int i = 0; i < 1200; i++)
+        {
+            repositoryResults.get("r1").add(getEntity(i));
+        }
+
+        for (int i = 1200; i < 1300; i++)
+        {
+            repositoryResults.get("r2").add(getEntity(i));
+            repositoryResults.get("r3").add(getEntity(i - 1200));
+        }
+
+        for (int startingElement = 0; startingElement < 1350; startingElement = startingElement + 25)
+        {
+            allPages.addAll(issueRequest(new TestExecutor("testUser",
+                                                          "testNoOrder",
+                                                          SequencingOrder.ANY,
+                                                          startingElement,
+                                                          25,
+                                                          continuations,
+                                                          repositoryResults,
+                                                          requests)));
+        }
+
+        assertEquals(allPages.size(), 1300);
+        assertEquals(new HashSet<>(allPages).size(), 1300);
+    }
+
+
+    @Test
+    void testFollowOnRequestsUseRequestControl()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+        TestRequestControl              requestControl    = new TestRequestControl(false);
+        TestExecutor                    executor          = new TestExecutor("testUser",
+                                                                             "testFollowOn",
+                                                                             SequencingOrder.PROPERTY_ASCENDING,
+                                                                             50,
+                                                                             10,
+                                                                             new FederatedPagingContinuations(),
+                                                                             repositoryResults,
+                                                                             requests);
+
+        executor.issueRequestToRepository("r1", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r2", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r3", null);
+
+        assertEquals(requests.size(), 3);
+
+        executor.completeRequest(requestControl);
+
+        /*
+         * The first pages were retrieved by the clones.  Every further page went through the request control.
+         */
+        assertFalse(requestControl.followOnRequests.isEmpty());
+        assertEquals(requests.size(), 3 + requestControl.followOnRequests.size());
+        assertEquals(executor.getPage(), getExpectedPage(50, 10));
+    }
+
+
+    @Test
+    void testFollowOnRequestsTimedOut()
+    {
+        Map<String, List<EntityDetail>> repositoryResults = getRepositoryResults();
+        List<String>                    requests          = new ArrayList<>();
+        TestRequestControl              requestControl    = new TestRequestControl(true);
+        TestExecutor                    executor          = new TestExecutor("testUser",
+                                                                             "testTimeout",
+                                                                             SequencingOrder.PROPERTY_ASCENDING,
+                                                                             50,
+                                                                             10,
+                                                                             new FederatedPagingContinuations(),
+                                                                             repositoryResults,
+                                                                             requests);
+
+        executor.issueRequestToRepository("r1", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r2", null);
+        ((TestExecutor)executor.getClone()).issueRequestToRepository("r3", null);
+
+        executor.completeRequest(requestControl);
+
+        /*
+         * The first pages do not reach element 50 and the requests for further pages timed out.
+         */
+        assertFalse(requestControl.followOnRequests.isEmpty());
+        assertEquals(requests.size(), 3);
+        assertTrue(executor.getPage().isEmpty());
+    }
+}
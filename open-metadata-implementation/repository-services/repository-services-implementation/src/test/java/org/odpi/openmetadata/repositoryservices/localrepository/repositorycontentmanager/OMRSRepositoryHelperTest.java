@@ -3,7 +3,11 @@
 package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PropertyErrorException;
@@ -113,6 +117,72 @@ public class OMRSRepositoryHelperTest
 
     }
 
+    @Test
+    void testformatEntityResultsSequencing() throws PropertyErrorException, PagingErrorException {
+        // 100 entities with values 0..49 twice over (in a scrambled order) and 5 without the property
+        List<EntityDetail> fullResults = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            fullResults.add(createEntity("entity-" + i, (i * 37) % 50));
+        }
+        for (int i = 0; i < 5; i++) {
+            fullResults.add(createEntity("empty-" + i, null));
+        }
+
+        // first page uses the bounded heap - entities without the property sort first, then equal values keep their order
+        List<EntityDetail> entities = createHelper().formatEntityResults(new ArrayList<>(fullResults),
+                0,
+                "value",
+                SequencingOrder.PROPERTY_ASCENDING,
+                9);
+        assertEquals(entities.size(), 9);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(entities.get(i).getGUID(), "empty-" + i);
+        }
+        assertEquals(getValue(entities.get(5)), 0);
+        assertEquals(getValue(entities.get(6)), 0);
+        assertEquals(entities.get(5).getGUID(), "entity-0");
+        assertEquals(entities.get(6).getGUID(), "entity-50");
+        assertEquals(getValue(entities.get(7)), 1);
+
+        // a later page is the same slice as a full sort would give
+        List<EntityDetail> allEntities = createHelper().formatEntityResults(new ArrayList<>(fullResults),
+                0,
+                "value",
+                SequencingOrder.PROPERTY_DESCENDING,
+                1000);
+        entities = createHelper().formatEntityResults(new ArrayList<>(fullResults),
+                20,
+                "value",
+                SequencingOrder.PROPERTY_DESCENDING,
+                10);
+        assertEquals(entities, allEntities.subList(20, 30));
+        assertEquals(getValue(allEntities.get(0)), 49);
+
+        // beyond the end of the results
+        assertNull(createHelper().formatEntityResults(fullResults, 200, "value", SequencingOrder.PROPERTY_ASCENDING, 10));
+    }
+
+    private EntityDetail createEntity(String guid, Integer value) {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+
+        if (value != null) {
+            PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+            propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT);
+            propertyValue.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT.getName());
+            propertyValue.setPrimitiveValue(value);
+
+            InstanceProperties properties = new InstanceProperties();
+            properties.setProperty("value", propertyValue);
+            entity.setProperties(properties);
+        }
+        return entity;
+    }
+
+    private int getValue(EntityDetail entity) {
+        return (Integer) ((PrimitivePropertyValue) entity.getProperties().getPropertyValue("value")).getPrimitiveValue();
+    }
+
     @Test
     void testRegexHelpers() {
 
@@ -0,0 +1,112 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.util.function.Predicate;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * OMRSSearchCriteriaMatcherBenchmark measures the number of property values per second that can be tested
+ * against each form of search criteria, first with String.matches() and then with OMRSSearchCriteriaMatcher.
+ * It is not part of the normal build - run it with:
+ * <pre>
+ *     mvn test -DsearchBenchmark
+ * </pre>
+ * The number of values tested in each round can be changed with -DsearchBenchmarkValues=n.
+ */
+public class OMRSSearchCriteriaMatcherBenchmark
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSSearchCriteriaMatcherBenchmark.class);
+
+    private static final int warmUpRounds   = 3;
+    private static final int measuredRounds = 5;
+
+
+    /**
+     * Log the throughput of each form of search criteria.
+     */
+    @Test
+    public void measureThroughput()
+    {
+        OMRSRepositoryContentHelper repositoryHelper = new OMRSRepositoryContentHelper(null);
+
+        int      valueCount = Integer.getInteger("searchBenchmarkValues", 200000);
+        String[] values     = new String[valueCount];
+
+        for (int i = 0; i < valueCount; i++)
+        {
+            values[i] = "Property value " + i + " for the benchmark entity";
+        }
+
+        String[] searchCriteria = { repositoryHelper.getExactMatchRegex("Property value 42 for the benchmark entity"),
+                                    repositoryHelper.getContainsRegex("value 42 "),
+                                    repositoryHelper.getStartsWithRegex("Property value 42"),
+                                    repositoryHelper.getEndsWithRegex("2 for the benchmark entity"),
+                                    "Property value [0-9]*2 .*" };
+
+        for (String regex : searchCriteria)
+        {
+            OMRSSearchCriteriaMatcher matcher = OMRSSearchCriteriaMatcher.getMatcher(regex);
+
+            long stringMatchesRate = this.measure(values, (value) -> value.matches(regex));
+            long matcherRate       = this.measure(values, matcher::matches);
+
+            assertEquals(this.count(values, matcher::matches), this.count(values, (value) -> value.matches(regex)));
+
+            log.info("Search criteria " + regex + ": String.matches=" + stringMatchesRate
+                             + " values/s, OMRSSearchCriteriaMatcher=" + matcherRate + " values/s");
+        }
+    }
+
+
+    /**
+     * Return the best rate of the measured rounds after warming up.
+     *
+     * @param values values to test
+     * @param matcher match function
+     * @return values tested per second
+     */
+    private long measure(String[]          values,
+                         Predicate<String> matcher)
+    {
+        long bestRate = 0;
+
+        for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+        {
+            long startTime = System.nanoTime();
+
+            this.count(values, matcher);
+
+            long elapsedTime = Math.max(1, System.nanoTime() - startTime);
+
+            if (round >= warmUpRounds)
+            {
+                bestRate = Math.max(bestRate, (values.length * 1000000000L) / elapsedTime);
+            }
+        }
+
+        return bestRate;
+    }
+
+
+    private int count(String[]          values,
+                      Predicate<String> matcher)
+    {
+        int matchCount = 0;
+
+        for (String value : values)
+        {
+            if (matcher.test(value))
+            {
+                matchCount++;
+            }
+        }
+
+        return matchCount;
+    }
+}
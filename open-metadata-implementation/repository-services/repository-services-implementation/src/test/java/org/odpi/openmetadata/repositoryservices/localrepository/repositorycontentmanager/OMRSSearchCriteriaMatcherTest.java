@@ -0,0 +1,76 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test that the search criteria matcher returns the same results as String.matches().
+ */
+public class OMRSSearchCriteriaMatcherTest
+{
+    private static final OMRSRepositoryContentHelper repositoryHelper = new OMRSRepositoryContentHelper(null);
+
+
+    /**
+     * Each form of search criteria is tested against values that do and do not match, including values with
+     * line terminators and literals containing regular expression characters.
+     */
+    @Test
+    public void testMatchesSameAsRegex()
+    {
+        String[] searchStrings = { "Customer", "cust.mer", "a\\Eb", "" };
+        String[] values        = { "Customer", "CustomerDetails", "OldCustomer", "My Customer Record", "cust.mer",
+                                   "customer", "a\\Eb", "x a\\Eb", "Customer\nDetails", "Old\rCustomer",
+                                   "Customer ", "", "\n" };
+
+        for (String searchString : searchStrings)
+        {
+            this.checkMatches(repositoryHelper.getExactMatchRegex(searchString), values);
+            this.checkMatches(repositoryHelper.getContainsRegex(searchString), values);
+            this.checkMatches(repositoryHelper.getStartsWithRegex(searchString), values);
+            this.checkMatches(repositoryHelper.getEndsWithRegex(searchString), values);
+        }
+
+        this.checkMatches("Cust.*", values);
+        this.checkMatches("(?s).*Customer.*", values);
+        this.checkMatches(".*", values);
+    }
+
+
+    /**
+     * Compiled search criteria are reused and invalid regular expressions are rejected.
+     */
+    @Test
+    public void testCache()
+    {
+        assertSame(OMRSSearchCriteriaMatcher.getMatcher("Cust.*"), OMRSSearchCriteriaMatcher.getMatcher("Cust.*"));
+
+        try
+        {
+            OMRSSearchCriteriaMatcher.getMatcher("Cust[");
+            throw new AssertionError("Invalid regular expression accepted");
+        }
+        catch (PatternSyntaxException error)
+        {
+            // expected
+        }
+    }
+
+
+    private void checkMatches(String   searchCriteria,
+                              String[] values)
+    {
+        OMRSSearchCriteriaMatcher matcher = OMRSSearchCriteriaMatcher.getMatcher(searchCriteria);
+
+        for (String value : values)
+        {
+            assertEquals(matcher.matches(value), value.matches(searchCriteria), searchCriteria + " against " + value);
+        }
+    }
+}
@@ -711,6 +711,30 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * Entities that are not known, or are only proxies, are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * list of EntityDetail structures in the order of the requested guids (null means none were found) or
+     * InvalidParameterException the guid list is null or contains a null guid or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/instances/entities/by-guids")
+
+    public EntityListResponse getEntityDetails(@PathVariable String          serverName,
+                                               @PathVariable String          userId,
+                                               @RequestBody  GUIDListRequest guids)
+    {
+        return restAPI.getEntityDetails(serverName, userId, guids);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1039,6 +1063,30 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that are not known are left out
+     * of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return RelationshipListResponse:
+     * list of relationships in the order of the requested guids (null means none were found) or
+     * InvalidParameterException the guid list is null or contains a null guid or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/instances/relationships/by-guids")
+
+    public RelationshipListResponse getRelationships(@PathVariable String          serverName,
+                                                     @PathVariable String          userId,
+                                                     @RequestBody  GUIDListRequest guids)
+    {
+        return restAPI.getRelationships(serverName, userId, guids);
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be broken into pages.